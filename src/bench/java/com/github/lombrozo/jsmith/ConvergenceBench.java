@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith;
+
+import com.github.lombrozo.jsmith.antlr.Context;
+import com.github.lombrozo.jsmith.antlr.rules.WrongPathException;
+import com.github.lombrozo.jsmith.antlr.semantic.Scope;
+import com.github.lombrozo.jsmith.antlr.view.Node;
+import com.github.lombrozo.jsmith.random.ArrayConvergenceStrategy;
+import com.github.lombrozo.jsmith.random.ChoosingStrategy;
+import com.github.lombrozo.jsmith.random.ConvergenceStrategy;
+import com.github.lombrozo.jsmith.random.Rand;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.cactoos.io.ResourceOf;
+import org.cactoos.text.TextOf;
+import org.cactoos.text.UncheckedText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for choosing strategies.
+ * Generates Java programs with {@link ConvergenceStrategy} and
+ * {@link ArrayConvergenceStrategy} from the same compiled grammar.
+ * @since 0.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=error")
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+public class ConvergenceBench {
+
+    /**
+     * Starting rule.
+     */
+    private static final String RULE = "compilationUnit";
+
+    /**
+     * Number of distinct seeds.
+     * The same seeds are used in each iteration, since the size of programs
+     * varies a lot and an endless stream of seeds makes the results too noisy.
+     */
+    private static final long SEEDS = 64L;
+
+    /**
+     * Strategy under test.
+     */
+    @Param({"map", "array"})
+    public String strategy;
+
+    /**
+     * Grammar compiled once for all the programs.
+     */
+    private CompiledGrammar grammar;
+
+    /**
+     * Seed of the next program.
+     */
+    private long seed;
+
+    /**
+     * Compile the grammar.
+     * @throws WrongPathException If the warm-up generation failed.
+     */
+    @Setup
+    public void setup() throws WrongPathException {
+        this.grammar = new CompiledGrammar(
+            Arrays.stream(
+                new String[]{
+                    "grammars/Java8ReducedParser.g4",
+                    "grammars/Java8ReducedLexer.g4",
+                }
+            )
+                .map(ResourceOf::new)
+                .map(TextOf::new)
+                .map(UncheckedText::new)
+                .map(UncheckedText::asString)
+                .collect(Collectors.toList())
+        );
+        this.generate();
+    }
+
+    /**
+     * Generate a program.
+     * @return Generated program.
+     * @throws WrongPathException If the generation failed.
+     */
+    @Benchmark
+    public Node generate() throws WrongPathException {
+        this.seed = (this.seed + 1) % ConvergenceBench.SEEDS;
+        final Params params = new Params(this.seed);
+        final ChoosingStrategy choosing;
+        if ("array".equals(this.strategy)) {
+            choosing = new ArrayConvergenceStrategy(params, this.grammar.ids());
+        } else {
+            choosing = new ConvergenceStrategy(params);
+        }
+        final Rand rand = new Rand(this.seed, this.grammar.automata());
+        return this.grammar.generate(
+            ConvergenceBench.RULE,
+            new Context(new Scope(rand), choosing, rand)
+        );
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.cactoos.io.ResourceOf;
+import org.cactoos.text.TextOf;
+import org.cactoos.text.UncheckedText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link RandomScript} generation with each bundled grammar.
+ * The grammar is compiled once, so only the generation itself is measured.
+ * @since 0.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=error")
+@State(Scope.Thread)
+public class GrammarBench {
+
+    /**
+     * Number of distinct seeds.
+     * The same seeds are used in each iteration, since the size of programs
+     * varies a lot and an endless stream of seeds makes the results too noisy.
+     */
+    private static final long SEEDS = 64L;
+
+    /**
+     * Grammar under test.
+     */
+    @Param({"Simple", "Arithmetic", "Json", "CSV", "http", "Java8Reduced"})
+    public String grammar;
+
+    /**
+     * Compiled grammar.
+     */
+    private CompiledGrammar compiled;
+
+    /**
+     * Starting rule of the grammar.
+     */
+    private String rule;
+
+    /**
+     * Seed of the next program.
+     */
+    private long seed;
+
+    /**
+     * Compile the grammar.
+     */
+    @Setup
+    public void setup() {
+        final List<String> files;
+        switch (this.grammar) {
+            case "Simple":
+                files = Arrays.asList("grammars/Simple.g4");
+                this.rule = "expr";
+                break;
+            case "Arithmetic":
+                files = Arrays.asList("grammars/Arithmetic.g4");
+                this.rule = "prog";
+                break;
+            case "Json":
+                files = Arrays.asList("grammars/Json.g4");
+                this.rule = "json";
+                break;
+            case "CSV":
+                files = Arrays.asList("grammars/CSV.g4");
+                this.rule = "csvFile";
+                break;
+            case "http":
+                files = Arrays.asList("grammars/http.g4");
+                this.rule = "http_message";
+                break;
+            case "Java8Reduced":
+                files = Arrays.asList(
+                    "grammars/Java8ReducedParser.g4", "grammars/Java8ReducedLexer.g4"
+                );
+                this.rule = "compilationUnit";
+                break;
+            default:
+                throw new IllegalArgumentException(
+                    String.format("Unknown grammar '%s'", this.grammar)
+                );
+        }
+        this.compiled = new CompiledGrammar(
+            files.stream()
+                .map(ResourceOf::new)
+                .map(TextOf::new)
+                .map(UncheckedText::new)
+                .map(UncheckedText::asString)
+                .collect(Collectors.toList())
+        );
+        this.generate();
+    }
+
+    /**
+     * Generate a program.
+     * @return Generated program.
+     */
+    @Benchmark
+    public String generate() {
+        this.seed = (this.seed + 1) % GrammarBench.SEEDS;
+        return new RandomScript(new Params(this.seed), this.compiled)
+            .generate(this.rule)
+            .output();
+    }
+
+    /**
+     * Generate a program with the labeled text tree.
+     * Without annotations in the grammar {@link #generate()} builds only the
+     * plain text, so this is the cost of the tree; run with {@code -prof gc}
+     * to compare the allocations.
+     * @return Generated program.
+     */
+    @Benchmark
+    public String tree() {
+        this.seed = (this.seed + 1) % GrammarBench.SEEDS;
+        return new RandomScript(new Params(this.seed).tree(), this.compiled)
+            .generate(this.rule)
+            .output();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith;
+
+import com.github.lombrozo.jsmith.format.EclipseFormat;
+import com.github.lombrozo.jsmith.format.Format;
+import com.github.lombrozo.jsmith.format.IndentFormat;
+import com.github.lombrozo.jsmith.format.RawFormat;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link RandomJavaClass}.
+ * Measures the whole way of a random class: grammar compilation,
+ * generation and formatting, with each of the formats.
+ * @since 0.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=error")
+@State(Scope.Thread)
+public class RandomJavaClassBench {
+
+    /**
+     * Number of distinct seeds.
+     * The same seeds are used in each iteration, since the size of programs
+     * varies a lot and an endless stream of seeds makes the results too noisy.
+     */
+    private static final long SEEDS = 64L;
+
+    /**
+     * Format under test.
+     */
+    @Param({"eclipse", "indent", "raw"})
+    public String mode;
+
+    /**
+     * Format of the classes.
+     */
+    private Format format;
+
+    /**
+     * Seed of the next class.
+     */
+    private long seed;
+
+    /**
+     * Choose the format.
+     */
+    @Setup
+    public void setup() {
+        switch (this.mode) {
+            case "eclipse":
+                this.format = new EclipseFormat();
+                break;
+            case "indent":
+                this.format = new IndentFormat();
+                break;
+            case "raw":
+                this.format = new RawFormat();
+                break;
+            default:
+                throw new IllegalArgumentException(
+                    String.format("Unknown format '%s'", this.mode)
+                );
+        }
+    }
+
+    /**
+     * Generate a formatted class.
+     * @return Source code of the class.
+     */
+    @Benchmark
+    public String src() {
+        this.seed = (this.seed + 1) % RandomJavaClassBench.SEEDS;
+        return new RandomJavaClass(new Params(this.seed), this.format).src();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.cactoos.io.ResourceOf;
+import org.cactoos.text.TextOf;
+import org.cactoos.text.UncheckedText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link RandomScript} generation of Java programs.
+ * Compares generation with a grammar compiled once and shared between all the
+ * programs against generation where the grammar is compiled for each program.
+ * Programs of the same size, limited by the token budget, are measured too,
+ * since their throughput is much less noisy.
+ * @since 0.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=error")
+@State(Scope.Thread)
+public class RandomScriptBench {
+
+    /**
+     * Parser grammar.
+     */
+    private static final String PARSER = "grammars/Java8ReducedParser.g4";
+
+    /**
+     * Lexer grammar.
+     */
+    private static final String LEXER = "grammars/Java8ReducedLexer.g4";
+
+    /**
+     * Starting rule.
+     */
+    private static final String RULE = "compilationUnit";
+
+    /**
+     * Number of distinct seeds.
+     * The same seeds are used in each iteration, since the size of programs
+     * varies a lot and an endless stream of seeds makes the results too noisy.
+     */
+    private static final long SEEDS = 64L;
+
+    /**
+     * Token budget of the programs of the same size.
+     */
+    private static final long TOKENS = 1000L;
+
+    /**
+     * Grammar compiled once for all the programs.
+     */
+    private CompiledGrammar grammar;
+
+    /**
+     * Seed of the next program.
+     */
+    private long seed;
+
+    /**
+     * Compile the shared grammar.
+     */
+    @Setup
+    public void setup() {
+        this.grammar = new CompiledGrammar(
+            Arrays.stream(new String[]{RandomScriptBench.PARSER, RandomScriptBench.LEXER})
+                .map(ResourceOf::new)
+                .map(TextOf::new)
+                .map(UncheckedText::new)
+                .map(UncheckedText::asString)
+                .collect(Collectors.toList())
+        );
+        new RandomScript(new Params(0L), this.grammar).generate(RandomScriptBench.RULE);
+    }
+
+    /**
+     * Generate a program with the grammar compiled once.
+     * @return Generated program.
+     */
+    @Benchmark
+    public String compiledOnce() {
+        return new RandomScript(new Params(this.next()), this.grammar)
+            .generate(RandomScriptBench.RULE)
+            .output();
+    }
+
+    /**
+     * Generate a program of about {@link #TOKENS} tokens with the grammar compiled once.
+     * @return Generated program.
+     */
+    @Benchmark
+    public String sized() {
+        return new RandomScript(
+            new Params(this.next()).tokens(RandomScriptBench.TOKENS),
+            this.grammar
+        ).generate(RandomScriptBench.RULE).output();
+    }
+
+    /**
+     * Generate a program of about {@link #TOKENS} tokens packed into the arena.
+     * @return Generated program.
+     */
+    @Benchmark
+    public String arena() {
+        return new RandomScript(
+            new Params(this.next()).tokens(RandomScriptBench.TOKENS),
+            this.grammar
+        ).arena(RandomScriptBench.RULE).text().output();
+    }
+
+    /**
+     * Generate a program compiling the grammar each time.
+     * @return Generated program.
+     */
+    @Benchmark
+    public String compiledEachTime() {
+        return new RandomScript(
+            new Params(this.next()),
+            new ResourceOf(RandomScriptBench.PARSER),
+            new ResourceOf(RandomScriptBench.LEXER)
+        ).generate(RandomScriptBench.RULE).output();
+    }
+
+    /**
+     * Seed for the next program.
+     * @return Seed.
+     */
+    private long next() {
+        this.seed = (this.seed + 1) % RandomScriptBench.SEEDS;
+        return this.seed;
+    }
+}
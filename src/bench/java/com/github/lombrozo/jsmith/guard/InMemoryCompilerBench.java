@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import com.github.lombrozo.jsmith.RandomJavaClass;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link InMemoryCompiler#compile(String)}.
+ * Compiles small classes that differ only in their names and constants,
+ * so the cost of a single javac task and class loading is measured.
+ * Also compares compilation of generated {@link RandomJavaClass} sources one by one
+ * with {@link InMemoryCompiler#compileAll(List)} and with the analysis only by
+ * {@link InMemoryCompiler#check(String)} and {@link InMemoryCompiler#checkAll(List)},
+ * the scores of all of them are in classes per second.
+ * @since 0.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=error")
+@State(Scope.Thread)
+public class InMemoryCompilerBench {
+
+    /**
+     * Number of distinct classes.
+     */
+    private static final int CLASSES = 64;
+
+    /**
+     * Number of generated classes in one batch.
+     */
+    private static final int BATCH = 128;
+
+    /**
+     * Compiler under test.
+     */
+    private final InMemoryCompiler compiler = new InMemoryCompiler();
+
+    /**
+     * Index of the next class.
+     */
+    private int index;
+
+    /**
+     * Generated sources that can be compiled.
+     */
+    private List<String> sources;
+
+    /**
+     * Generate the sources and drop the ones that can't be compiled,
+     * so both modes compile the same classes.
+     */
+    @Setup
+    public void setup() {
+        this.sources = this.compiler.compileAll(
+            LongStream.range(0L, InMemoryCompilerBench.BATCH * 2L)
+                .mapToObj(seed -> new RandomJavaClass(seed).src())
+                .collect(Collectors.toList())
+        ).stream()
+            .filter(Compiled::successful)
+            .map(Compiled::source)
+            .limit(InMemoryCompilerBench.BATCH)
+            .collect(Collectors.toList());
+        if (this.sources.size() < InMemoryCompilerBench.BATCH) {
+            throw new IllegalStateException(
+                String.format("Only %d generated classes can be compiled", this.sources.size())
+            );
+        }
+    }
+
+    /**
+     * Compile a class.
+     * @return Compiled class.
+     */
+    @Benchmark
+    public Class<?> compile() {
+        this.index = (this.index + 1) % InMemoryCompilerBench.CLASSES;
+        return this.compiler.compile(
+            String.format(
+                "public class Sample%1$d { public int value() { return %1$d * 2; } }",
+                this.index
+            )
+        );
+    }
+
+    /**
+     * Compile generated classes one by one, in a javac task per class.
+     * @return Number of compiled classes.
+     */
+    @Benchmark
+    @OperationsPerInvocation(InMemoryCompilerBench.BATCH)
+    public int single() {
+        int res = 0;
+        for (final String src : this.sources) {
+            this.compiler.compile(src);
+            ++res;
+        }
+        return res;
+    }
+
+    /**
+     * Compile generated classes in one javac task.
+     * @return Compilation results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(InMemoryCompilerBench.BATCH)
+    public List<Compiled> batch() {
+        return this.compiler.compileAll(this.sources);
+    }
+
+    /**
+     * Check generated classes one by one without generating bytecode.
+     * @return Number of checked classes.
+     */
+    @Benchmark
+    @OperationsPerInvocation(InMemoryCompilerBench.BATCH)
+    public int check() {
+        int res = 0;
+        for (final String src : this.sources) {
+            res += this.compiler.check(src).size();
+        }
+        return res;
+    }
+
+    /**
+     * Check generated classes in one javac task without generating bytecode.
+     * @return Diagnostics of each class.
+     */
+    @Benchmark
+    @OperationsPerInvocation(InMemoryCompilerBench.BATCH)
+    public List<List<Diagnostic<? extends JavaFileObject>>> checkAll() {
+        return this.compiler.checkAll(this.sources);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import com.github.lombrozo.jsmith.RandomJavaClass;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.cactoos.io.ResourceOf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link SyntaxGuard#verify(String)} with the full Java 8 grammar.
+ * The programs are random Java classes, they are generated by the reduced
+ * Java 8 grammar, so the full one accepts all of them. The full grammar is
+ * close to the specification and needs a lot of full-context predictions,
+ * which makes it the main target of {@link SyntaxGuard#fast()}.
+ * @since 0.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=error")
+@State(Scope.Thread)
+public class JavaSyntaxGuardBench {
+
+    /**
+     * Number of distinct programs.
+     */
+    private static final int PROGRAMS = 64;
+
+    /**
+     * Engine under test.
+     */
+    @Param({"compiled", "interpreted"})
+    public String engine;
+
+    /**
+     * Verification mode, see {@link SyntaxGuard#fast()}.
+     */
+    @Param({"full", "fast"})
+    public String mode;
+
+    /**
+     * Temporary directory for the generated parser.
+     */
+    private Path temp;
+
+    /**
+     * Guard under test.
+     */
+    private SyntaxGuard guard;
+
+    /**
+     * Programs to verify.
+     */
+    private String[] programs;
+
+    /**
+     * Index of the next program.
+     */
+    private int index;
+
+    /**
+     * Prepare the guard and the programs.
+     * @throws Exception If the guard can't be prepared.
+     */
+    @Setup
+    public void setup() throws Exception {
+        this.temp = Files.createTempDirectory("jsmith-java-guard-bench");
+        final SyntaxGuard full = SyntaxGuardBench.guard(
+            this.engine,
+            this.temp,
+            "compilationUnit",
+            new ResourceOf("grammars/Java8Lexer.g4"),
+            new ResourceOf("grammars/Java8Parser.g4")
+        );
+        if ("fast".equals(this.mode)) {
+            this.guard = full.fast();
+        } else {
+            this.guard = full;
+        }
+        this.programs = new String[JavaSyntaxGuardBench.PROGRAMS];
+        for (int idx = 0; idx < JavaSyntaxGuardBench.PROGRAMS; ++idx) {
+            this.programs[idx] = new RandomJavaClass(idx).src();
+        }
+        this.verify();
+    }
+
+    /**
+     * Remove the generated parser.
+     * @throws IOException If the files can't be removed.
+     */
+    @TearDown
+    public void clean() throws IOException {
+        SyntaxGuardBench.delete(this.temp);
+    }
+
+    /**
+     * Verify a program.
+     * @return Verified program.
+     * @throws InvalidSyntax If the program is invalid.
+     */
+    @Benchmark
+    public String verify() throws InvalidSyntax {
+        this.index = (this.index + 1) % JavaSyntaxGuardBench.PROGRAMS;
+        final String program = this.programs[this.index];
+        this.guard.verify(program);
+        return program;
+    }
+}
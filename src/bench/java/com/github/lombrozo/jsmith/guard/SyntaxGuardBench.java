@@ -0,0 +1,203 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import com.github.lombrozo.jsmith.RandomScript;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.cactoos.io.ResourceOf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link SyntaxGuard#verify(String)} with each engine and mode.
+ * The guard is prepared once, so only the lexing and parsing of
+ * the already generated programs is measured.
+ * @since 0.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=error")
+@State(Scope.Thread)
+public class SyntaxGuardBench {
+
+    /**
+     * Number of distinct programs.
+     */
+    private static final int PROGRAMS = 64;
+
+    /**
+     * Engine under test.
+     */
+    @Param({"compiled", "interpreted"})
+    public String engine;
+
+    /**
+     * Verification mode, see {@link SyntaxGuard#fast()}.
+     */
+    @Param({"full", "fast"})
+    public String mode;
+
+    /**
+     * Grammar and its top rule, the grammars of 'SyntaxGenerationIT'.
+     */
+    @Param({
+        "grammars/Simple.g4:expr",
+        "grammars/Arithmetic.g4:prog",
+        "grammars/labeled/Arithmetic.g4:prog",
+        "grammars/labeled/Assignments.g4:prog",
+        "grammars/Recursive.g4:expr",
+        "grammars/Json.g4:json",
+        "grammars/CSV.g4:csvFile",
+        "grammars/http.g4:http_message",
+    })
+    public String grammar;
+
+    /**
+     * Temporary directory for the generated parser.
+     */
+    private Path temp;
+
+    /**
+     * Guard under test.
+     */
+    private SyntaxGuard guard;
+
+    /**
+     * Programs to verify.
+     */
+    private String[] programs;
+
+    /**
+     * Index of the next program.
+     */
+    private int index;
+
+    /**
+     * Prepare the guard and the programs.
+     * @throws Exception If the guard can't be prepared.
+     */
+    @Setup
+    public void setup() throws Exception {
+        this.temp = Files.createTempDirectory("jsmith-guard-bench");
+        final String[] parts = this.grammar.split(":");
+        final ResourceOf input = new ResourceOf(parts[0]);
+        final String rule = parts[1];
+        final SyntaxGuard full = SyntaxGuardBench.guard(this.engine, this.temp, rule, input);
+        if ("fast".equals(this.mode)) {
+            this.guard = full.fast();
+        } else {
+            this.guard = full;
+        }
+        this.programs = new String[SyntaxGuardBench.PROGRAMS];
+        for (int idx = 0; idx < SyntaxGuardBench.PROGRAMS; ++idx) {
+            this.programs[idx] = new RandomScript(input).generate(rule).output();
+        }
+        this.verify();
+    }
+
+    /**
+     * Remove the generated parser.
+     * @throws IOException If the files can't be removed.
+     */
+    @TearDown
+    public void clean() throws IOException {
+        SyntaxGuardBench.delete(this.temp);
+    }
+
+    /**
+     * Verify a program.
+     * @return Verified program.
+     * @throws InvalidSyntax If the program is invalid.
+     */
+    @Benchmark
+    public String verify() throws InvalidSyntax {
+        this.index = (this.index + 1) % SyntaxGuardBench.PROGRAMS;
+        final String program = this.programs[this.index];
+        this.guard.verify(program);
+        return program;
+    }
+
+    /**
+     * Create a guard.
+     * @param engine Engine name.
+     * @param temp Temporary directory, the cache of compiled parsers is kept there too.
+     * @param rule Top rule.
+     * @param grammars Grammars.
+     * @return Guard.
+     */
+    static SyntaxGuard guard(
+        final String engine,
+        final Path temp,
+        final String rule,
+        final ResourceOf... grammars
+    ) {
+        final Engine chosen;
+        switch (engine) {
+            case "compiled":
+                chosen = new CompiledEngine(
+                    new ParserCache(temp.resolve("cache")), temp, grammars
+                );
+                break;
+            case "interpreted":
+                chosen = new InterpretedEngine(grammars);
+                break;
+            default:
+                throw new IllegalArgumentException(
+                    String.format("Unknown engine '%s'", engine)
+                );
+        }
+        return new SyntaxGuard(rule, chosen);
+    }
+
+    /**
+     * Remove a directory with all its files.
+     * @param dir Directory.
+     * @throws IOException If the files can't be removed.
+     */
+    static void delete(final Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
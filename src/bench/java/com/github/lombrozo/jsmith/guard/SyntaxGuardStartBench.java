@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import com.github.lombrozo.jsmith.RandomScript;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.cactoos.io.ResourceOf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the startup of {@link SyntaxGuard} with each engine.
+ * Measures the creation of a guard together with the first verification,
+ * which prepares lexer and parser. The 'compiled' engine starts with an
+ * empty cache each time, so it pays for code generation and compilation.
+ * @since 0.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=error")
+@State(Scope.Thread)
+public class SyntaxGuardStartBench {
+
+    /**
+     * Engine under test.
+     */
+    @Param({"compiled", "interpreted"})
+    public String engine;
+
+    /**
+     * Grammar and its top rule, the grammars of 'SyntaxGenerationIT'.
+     */
+    @Param({
+        "grammars/Simple.g4:expr",
+        "grammars/Arithmetic.g4:prog",
+        "grammars/labeled/Arithmetic.g4:prog",
+        "grammars/labeled/Assignments.g4:prog",
+        "grammars/Recursive.g4:expr",
+        "grammars/Json.g4:json",
+        "grammars/CSV.g4:csvFile",
+        "grammars/http.g4:http_message",
+    })
+    public String grammar;
+
+    /**
+     * Grammar input.
+     */
+    private ResourceOf input;
+
+    /**
+     * Top rule.
+     */
+    private String rule;
+
+    /**
+     * Program to verify.
+     */
+    private String program;
+
+    /**
+     * Temporary directory for the generated parser and its cache.
+     */
+    private Path temp;
+
+    /**
+     * Generate the program to verify.
+     */
+    @Setup(Level.Trial)
+    public void program() {
+        final String[] parts = this.grammar.split(":");
+        this.input = new ResourceOf(parts[0]);
+        this.rule = parts[1];
+        this.program = new RandomScript(this.input).generate(this.rule).output();
+    }
+
+    /**
+     * Prepare an empty temporary directory.
+     * @throws IOException If the directory can't be created.
+     */
+    @Setup(Level.Invocation)
+    public void setup() throws IOException {
+        this.temp = Files.createTempDirectory("jsmith-guard-start-bench");
+    }
+
+    /**
+     * Remove the temporary directory.
+     * @throws IOException If the files can't be removed.
+     */
+    @TearDown(Level.Invocation)
+    public void clean() throws IOException {
+        SyntaxGuardBench.delete(this.temp);
+    }
+
+    /**
+     * Create a guard and verify a program.
+     * @return Verified guard.
+     * @throws InvalidSyntax If the program is invalid.
+     */
+    @Benchmark
+    public SyntaxGuard start() throws InvalidSyntax {
+        final SyntaxGuard guard = SyntaxGuardBench.guard(
+            this.engine, this.temp, this.rule, this.input
+        );
+        guard.verify(this.program);
+        return guard;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.pipeline;
+
+import com.github.lombrozo.jsmith.RandomScript;
+import com.github.lombrozo.jsmith.antlr.view.Text;
+import com.github.lombrozo.jsmith.guard.CompiledEngine;
+import com.github.lombrozo.jsmith.guard.Duplicates;
+import com.github.lombrozo.jsmith.guard.ParserCache;
+import com.github.lombrozo.jsmith.guard.SyntaxGuard;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.cactoos.io.ResourceOf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link Pipeline} of generation and verification of programs.
+ * Compares the pipeline with the sequential stream, where each program is
+ * generated and verified one after another, and with the pipeline that
+ * drops the duplicate programs before their verification.
+ * @since 0.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=error")
+@State(Scope.Benchmark)
+public class PipelineBench {
+
+    /**
+     * Number of programs in one invocation.
+     */
+    private static final int PROGRAMS = 256;
+
+    /**
+     * Top rule.
+     */
+    private static final String TOP = "json";
+
+    /**
+     * Number of workers of each stage.
+     */
+    @Param({"1", "2", "4"})
+    public int workers;
+
+    /**
+     * Temporary directory for the generated parser.
+     */
+    private Path temp;
+
+    /**
+     * Generator.
+     */
+    private RandomScript script;
+
+    /**
+     * Guard.
+     */
+    private SyntaxGuard guard;
+
+    /**
+     * Index of the first program of the next invocation.
+     */
+    private long first;
+
+    /**
+     * Prepare the generator and the guard.
+     * @throws IOException If the temporary directory can't be created.
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.temp = Files.createTempDirectory("jsmith-pipeline-bench");
+        final ResourceOf grammar = new ResourceOf("grammars/Json.g4");
+        this.script = new RandomScript(grammar);
+        this.guard = new SyntaxGuard(
+            PipelineBench.TOP,
+            new CompiledEngine(new ParserCache(this.temp.resolve("cache")), this.temp, grammar)
+        ).fast();
+    }
+
+    /**
+     * Remove the generated parser.
+     * @throws IOException If the files can't be removed.
+     */
+    @TearDown
+    public void clean() throws IOException {
+        try (Stream<Path> files = Files.walk(this.temp)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * Generate and verify programs one after another.
+     * @return Number of verified programs.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PipelineBench.PROGRAMS)
+    public long sequential() {
+        final long start = this.next();
+        long res = 0L;
+        for (long index = start; index < start + PipelineBench.PROGRAMS; ++index) {
+            this.guard.verifySilently(this.script.generate(PipelineBench.TOP, index));
+            ++res;
+        }
+        return res;
+    }
+
+    /**
+     * Generate and verify programs in the pipeline.
+     * @return Counters of the stages.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PipelineBench.PROGRAMS)
+    public List<Metrics> pipelined() {
+        final long start = this.next();
+        return new Pipeline<Text>(
+            "generate",
+            this.workers,
+            index -> this.script.generate(PipelineBench.TOP, start + index)
+        )
+            .then(
+                "verify",
+                this.workers,
+                64,
+                text -> {
+                    this.guard.verifySilently(text);
+                    return text;
+                }
+            )
+            .run(PipelineBench.PROGRAMS);
+    }
+
+    /**
+     * Generate programs, drop the duplicates and verify the rest in the pipeline.
+     * @return Counters of the stages.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PipelineBench.PROGRAMS)
+    public List<Metrics> deduplicated() {
+        final long start = this.next();
+        final Duplicates duplicates = new Duplicates();
+        return new Pipeline<Text>(
+            "generate",
+            this.workers,
+            index -> this.script.generate(PipelineBench.TOP, start + index)
+        )
+            .filter("dedup", 1, 64, duplicates::unique)
+            .then(
+                "verify",
+                this.workers,
+                64,
+                text -> {
+                    this.guard.verifySilently(text);
+                    return text;
+                }
+            )
+            .run(PipelineBench.PROGRAMS);
+    }
+
+    /**
+     * Index of the first program of the next invocation.
+     * @return Index.
+     */
+    private long next() {
+        final long res = this.first;
+        this.first = (this.first + PipelineBench.PROGRAMS) % 4096L;
+        return res;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for a single choice of {@link Convergence} and {@link ArrayConvergence}.
+ * Each choice is made on a fresh copy of the same convergence, just like the
+ * generation does it on each step, so the copy-on-write of the weights is measured too.
+ * The static weights (factor 1.0) are measured both with {@link ArrayConvergence}
+ * and with the {@link AliasTables} sampling of {@link AliasStrategy}.
+ * @since 0.2
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=error")
+@State(Scope.Thread)
+public class ChooseBench {
+
+    /**
+     * Parent element.
+     */
+    private static final String PARENT = "parent";
+
+    /**
+     * Number of alternatives to choose from.
+     */
+    @Param({"2", "8", "32", "128"})
+    public int fanout;
+
+    /**
+     * Alternatives.
+     */
+    private List<String> children;
+
+    /**
+     * Map-based convergence with the weights of the parent.
+     */
+    private Convergence<String> map;
+
+    /**
+     * Array-based convergence with the weights of the parent.
+     */
+    private ArrayConvergence<String> array;
+
+    /**
+     * Array-based convergence without decay.
+     */
+    private ArrayConvergence<String> flat;
+
+    /**
+     * Alias tables of the parent.
+     */
+    private AliasTables<String> aliases;
+
+    /**
+     * Random generator for the alias sampling.
+     */
+    private Rand rand;
+
+    /**
+     * Prepare the convergences.
+     */
+    @Setup
+    public void setup() {
+        this.children = IntStream.range(0, this.fanout)
+            .mapToObj(index -> String.format("child-%d", index))
+            .collect(Collectors.toList());
+        this.map = new Convergence<>(0.5d, false);
+        this.map.choose(ChooseBench.PARENT, this.children);
+        this.array = new ArrayConvergence<>(0.5d, new Ids<>());
+        this.array.choose(ChooseBench.PARENT, this.children);
+        this.flat = new ArrayConvergence<>(1.0d, new Ids<>());
+        this.flat.choose(ChooseBench.PARENT, this.children);
+        this.aliases = new AliasTables<>();
+        this.rand = new Rand();
+    }
+
+    /**
+     * Choose with {@link Convergence}.
+     * @return Chosen element.
+     */
+    @Benchmark
+    public String map() {
+        return this.map.copy().choose(ChooseBench.PARENT, this.children);
+    }
+
+    /**
+     * Choose with {@link ArrayConvergence}.
+     * @return Chosen element.
+     */
+    @Benchmark
+    public String array() {
+        return this.array.copy().choose(ChooseBench.PARENT, this.children);
+    }
+
+    /**
+     * Choose with {@link ArrayConvergence} without decay.
+     * @return Chosen element.
+     */
+    @Benchmark
+    public String flat() {
+        return this.flat.copy().choose(ChooseBench.PARENT, this.children);
+    }
+
+    /**
+     * Choose from the alias table, as {@link AliasStrategy} does.
+     * @return Chosen element.
+     */
+    @Benchmark
+    public String alias() {
+        return this.children.get(
+            this.aliases.table(ChooseBench.PARENT, this.fanout).sample(this.rand.floating())
+        );
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith;
+
+import com.github.lombrozo.jsmith.antlr.AntlrListener;
+import com.github.lombrozo.jsmith.antlr.Context;
+import com.github.lombrozo.jsmith.antlr.Derivations;
+import com.github.lombrozo.jsmith.antlr.RuleGraph;
+import com.github.lombrozo.jsmith.antlr.Unlexer;
+import com.github.lombrozo.jsmith.antlr.Unparser;
+import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import com.github.lombrozo.jsmith.antlr.rules.WrongPathException;
+import com.github.lombrozo.jsmith.antlr.view.Node;
+import com.github.lombrozo.jsmith.random.AliasTables;
+import com.github.lombrozo.jsmith.random.Automata;
+import com.github.lombrozo.jsmith.random.Coverage;
+import com.github.lombrozo.jsmith.random.Ids;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.cactoos.scalar.Sticky;
+import org.cactoos.scalar.Synced;
+import org.cactoos.scalar.Unchecked;
+
+/**
+ * ANTLR grammars compiled into a graph of generation rules.
+ * Grammars are parsed only once, on the first generation, and the resulting
+ * {@link Unparser} and {@link Unlexer} rules are reused by all the next generations.
+ * The compiled rules are never changed afterward, all the state of a single
+ * generation is kept in the {@link Context}.
+ * Right after the compilation the shortest {@link Derivations} of all the rules
+ * are computed, so the generation never runs out of the depth budget.
+ * @since 0.2
+ */
+public final class CompiledGrammar {
+
+    /**
+     * Prefix of the semantic annotations in the grammar comments.
+     */
+    private static final String ANNOTATION = "$jsmith-";
+
+    /**
+     * ANTLR grammars.
+     * They might be as standalone grammars or as separate lexer and parser grammars.
+     */
+    private final List<String> grammars;
+
+    /**
+     * Whether the grammars have semantic annotations.
+     * Found only once, in the constructor.
+     */
+    private final boolean annotations;
+
+    /**
+     * Unparser with all the compiled rules.
+     * Compiled only once and then cached.
+     */
+    private final Unchecked<Unparser> unparser;
+
+    /**
+     * Shortest derivations of the compiled rules.
+     * Computed only once, right after the compilation.
+     */
+    private final Unchecked<Derivations> derivations;
+
+    /**
+     * Identifiers of the compiled rules.
+     * Shared by all the generations of this grammar.
+     */
+    private final Ids<Rule> ids;
+
+    /**
+     * Alias tables of the compiled rules for static weights.
+     * Shared by all the generations of this grammar.
+     */
+    private final AliasTables<Rule> aliases;
+
+    /**
+     * Coverage of the alternatives by all the generations of this grammar.
+     * Created only once, right after the compilation.
+     */
+    private final Unchecked<Coverage<Rule>> coverage;
+
+    /**
+     * Compiled regexes of the lexer rules.
+     * Shared by all the generations of this grammar.
+     */
+    private final Automata automata;
+
+    /**
+     * Constructor.
+     * @param grammars ANTLR grammars, either standalone or separate lexer and parser grammars.
+     */
+    public CompiledGrammar(final List<String> grammars) {
+        this(grammars, new Unlexer(), new Unparser());
+    }
+
+    /**
+     * Constructor.
+     * @param grammars ANTLR grammars, either standalone or separate lexer and parser grammars.
+     * @param unlexer Unlexer to fill with lexer rules.
+     * @param unparser Unparser to fill with parser rules.
+     */
+    public CompiledGrammar(
+        final List<String> grammars,
+        final Unlexer unlexer,
+        final Unparser unparser
+    ) {
+        this.grammars = grammars;
+        this.annotations = grammars.stream().anyMatch(
+            grammar -> grammar.contains(CompiledGrammar.ANNOTATION)
+        );
+        this.ids = new Ids<>();
+        this.aliases = new AliasTables<>();
+        this.automata = new Automata();
+        final RuleGraph graph = new RuleGraph(this.ids);
+        this.unparser = new Unchecked<>(
+            new Synced<>(
+                new Sticky<>(
+                    () -> {
+                        grammars.forEach(
+                            grammar -> CompiledGrammar.parse(grammar, unlexer, unparser, graph)
+                        );
+                        return unparser;
+                    }
+                )
+            )
+        );
+        this.derivations = new Unchecked<>(
+            new Synced<>(
+                new Sticky<>(() -> graph.derivations(this.unparser.value(), unlexer))
+            )
+        );
+        this.coverage = new Unchecked<>(
+            new Synced<>(
+                new Sticky<>(
+                    () -> {
+                        this.unparser.value();
+                        return new Coverage<>(graph.alternatives());
+                    }
+                )
+            )
+        );
+    }
+
+    /**
+     * Generate a node for the rule.
+     * @param rule Starting rule.
+     * @param context Generation context.
+     * @return Generated node.
+     * @throws WrongPathException If the generation failed.
+     */
+    public Node generate(final String rule, final Context context) throws WrongPathException {
+        return this.unparser.value().generate(
+            rule, context.withDerivations(this.derivations.value())
+        );
+    }
+
+    /**
+     * Shortest derivations of the compiled rules.
+     * @return Derivations shared by all the generations of this grammar.
+     */
+    public Derivations derivations() {
+        return this.derivations.value();
+    }
+
+    /**
+     * Are there semantic annotations in the grammars?
+     * The annotations are the {@code $jsmith-*} comments, the rules they
+     * produce need the labels and the attributes of the generated nodes.
+     * Without them the plain text is enough, see {@link Context#plain()}.
+     * @return True if any of the grammars has an annotation.
+     */
+    public boolean annotated() {
+        return this.annotations;
+    }
+
+    /**
+     * Identifiers of the compiled rules.
+     * @return Identifiers shared by all the generations of this grammar.
+     */
+    Ids<Rule> ids() {
+        return this.ids;
+    }
+
+    /**
+     * Alias tables of the compiled rules.
+     * @return Alias tables shared by all the generations of this grammar.
+     */
+    AliasTables<Rule> aliases() {
+        return this.aliases;
+    }
+
+    /**
+     * Coverage of the alternatives.
+     * @return Coverage shared by all the generations of this grammar.
+     */
+    public Coverage<Rule> coverage() {
+        return this.coverage.value();
+    }
+
+    /**
+     * Compiled regexes of the lexer rules.
+     * @return Regexes shared by all the generations of this grammar.
+     */
+    public Automata automata() {
+        return this.automata;
+    }
+
+    /**
+     * Simple ANTLR grammar specification in Lisp format.
+     * @return ANTLR grammar specification in Lisp format.
+     */
+    String specification() {
+        return this.grammars.stream()
+            .map(CompiledGrammar::parser)
+            .map(parser -> parser.grammarSpec().toStringTree(parser))
+            .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Parse ANTLR grammar.
+     * @param grammar ANTLR grammar.
+     * @param unlexer Unlexer to fill with lexer rules.
+     * @param unparser Unparser to fill with parser rules.
+     * @param graph Graph to record the compiled rules.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static void parse(
+        final String grammar,
+        final Unlexer unlexer,
+        final Unparser unparser,
+        final RuleGraph graph
+    ) {
+        final ANTLRv4Lexer lexer = new ANTLRv4Lexer(CharStreams.fromString(grammar));
+        final CommonTokenStream tokens = new CommonTokenStream(lexer);
+        final ANTLRv4Parser parser = new ANTLRv4Parser(tokens);
+        final ANTLRv4Parser.GrammarSpecContext spec = parser.grammarSpec();
+        new ParseTreeWalker().walk(new AntlrListener(tokens, unparser, unlexer, graph), spec);
+    }
+
+    /**
+     * Create ANTLR parser.
+     * @param grammar Antlr grammar.
+     * @return ANTLR parser.
+     */
+    private static ANTLRv4Parser parser(final String grammar) {
+        return new ANTLRv4Parser(
+            new CommonTokenStream(new ANTLRv4Lexer(CharStreams.fromString(grammar)))
+        );
+    }
+}
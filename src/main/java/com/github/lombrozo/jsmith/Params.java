@@ -23,6 +23,7 @@
  */
 package com.github.lombrozo.jsmith;
 
+import com.github.lombrozo.jsmith.antlr.Budget;
 import java.security.SecureRandom;
 import lombok.ToString;
 
@@ -46,6 +47,11 @@ public final class Params {
     @ToString.Exclude
     private static final SecureRandom DEFAULT_SEED = new SecureRandom();
 
+    /**
+     * No size limit.
+     */
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
     /**
      * Factor.
      */
@@ -56,6 +62,31 @@ public final class Params {
      */
     private final long seed;
 
+    /**
+     * Max number of tokens in the generated script.
+     */
+    private final long tokens;
+
+    /**
+     * Max number of bytes in the generated script.
+     */
+    private final long bytes;
+
+    /**
+     * Whether the generation is guided by the coverage.
+     */
+    private final boolean guided;
+
+    /**
+     * Whether the generation always builds the labeled text tree.
+     */
+    private final boolean labels;
+
+    /**
+     * Whether the generated terminals are labeled as tokens.
+     */
+    private final boolean typed;
+
     /**
      * Constructor.
      */
@@ -85,8 +116,123 @@ public final class Params {
      * @param seed Seed.
      */
     private Params(final double factor, final long seed) {
+        this(factor, seed, Params.UNLIMITED, Params.UNLIMITED, false, false, false);
+    }
+
+    /**
+     * Constructor.
+     * @param factor Factor.
+     * @param seed Seed.
+     * @param tokens Max number of tokens.
+     * @param bytes Max number of bytes.
+     * @param guided Whether the generation is guided by the coverage.
+     * @param labels Whether the generation always builds the labeled text tree.
+     * @param typed Whether the generated terminals are labeled as tokens.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private Params(
+        final double factor,
+        final long seed,
+        final long tokens,
+        final long bytes,
+        final boolean guided,
+        final boolean labels,
+        final boolean typed
+    ) {
         this.factor = factor;
         this.seed = seed;
+        this.tokens = tokens;
+        this.bytes = bytes;
+        this.guided = guided;
+        this.labels = labels;
+        this.typed = typed;
+    }
+
+    /**
+     * Params with the size budget in tokens.
+     * The generation keeps the script about this size: it skips the
+     * alternatives and repetitions that don't fit and repeats more
+     * when the budget is much larger than the usual script.
+     * @param max Max number of tokens.
+     * @return Params with the budget.
+     */
+    Params tokens(final long max) {
+        return new Params(
+            this.factor, this.seed, max, this.bytes, this.guided, this.labels, this.typed
+        );
+    }
+
+    /**
+     * Params with the size budget in bytes.
+     * The same as {@link #tokens(long)}, but the bytes are converted to tokens
+     * by the average length of the tokens generated so far.
+     * @param max Max number of bytes.
+     * @return Params with the budget.
+     */
+    Params bytes(final long max) {
+        return new Params(
+            this.factor, this.seed, this.tokens, max, this.guided, this.labels, this.typed
+        );
+    }
+
+    /**
+     * Params for the coverage-guided generation.
+     * Each generation prefers the alternatives of the grammar that the previous
+     * generations with the same compiled grammar have never chosen.
+     * @return Params with the coverage guidance.
+     */
+    Params coverage() {
+        return new Params(
+            this.factor, this.seed, this.tokens, this.bytes, true, this.labels, this.typed
+        );
+    }
+
+    /**
+     * Params that always build the labeled text tree.
+     * Without annotations in the grammar the generation builds only the plain
+     * text, so ask for the tree if the text is formatted or drawn.
+     * @return Params with the labeled tree.
+     */
+    Params tree() {
+        return new Params(
+            this.factor, this.seed, this.tokens, this.bytes, this.guided, true, this.typed
+        );
+    }
+
+    /**
+     * Params that label the generated terminals as tokens.
+     * Ask for them if the scripts are verified by the token mode of
+     * {@link com.github.lombrozo.jsmith.guard.SyntaxGuard#tokenized()},
+     * otherwise the tokens are lexed from the text again.
+     * @return Params with the labeled tokens.
+     */
+    Params tokenized() {
+        return new Params(
+            this.factor, this.seed, this.tokens, this.bytes, this.guided, this.labels, true
+        );
+    }
+
+    /**
+     * Params for one of many independent generations.
+     * The seed is derived from the current seed and the index by SplitMix64
+     * mixing, so close indexes give unrelated seeds, and the same index
+     * always gives the same seed.
+     * @param index Index of the generation.
+     * @return Params with the derived seed.
+     */
+    Params derived(final long index) {
+        long mixed = this.seed + (index + 1) * 0x9E37_79B9_7F4A_7C15L;
+        mixed = (mixed ^ mixed >>> 30) * 0xBF58_476D_1CE4_E5B9L;
+        mixed = (mixed ^ mixed >>> 27) * 0x94D0_49BB_1331_11EBL;
+        return new Params(
+            this.factor,
+            mixed ^ mixed >>> 31,
+            this.tokens,
+            this.bytes,
+            this.guided,
+            this.labels,
+            this.typed
+        );
     }
 
     /**
@@ -104,4 +250,37 @@ public final class Params {
     public long seed() {
         return this.seed;
     }
+
+    /**
+     * Whether the generation is guided by the coverage.
+     * @return True if the coverage guides the generation.
+     */
+    public boolean guided() {
+        return this.guided;
+    }
+
+    /**
+     * Whether the generation always builds the labeled text tree.
+     * @return True if the tree is built even without annotations in the grammar.
+     */
+    public boolean labeled() {
+        return this.labels;
+    }
+
+    /**
+     * Whether the generated terminals are labeled as tokens.
+     * @return True if the tokens are labeled.
+     */
+    public boolean typed() {
+        return this.typed;
+    }
+
+    /**
+     * Size budget of a single generation.
+     * Each call returns a fresh budget, since it counts the generated tokens.
+     * @return Budget.
+     */
+    public Budget budget() {
+        return new Budget(this.tokens, this.bytes);
+    }
 }
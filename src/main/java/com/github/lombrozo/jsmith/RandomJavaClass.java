@@ -23,30 +23,37 @@
  */
 package com.github.lombrozo.jsmith;
 
-import java.util.HashMap;
+import com.github.lombrozo.jsmith.format.EclipseFormat;
+import com.github.lombrozo.jsmith.format.Format;
+import java.util.Arrays;
 import org.cactoos.io.ResourceOf;
-import org.eclipse.jdt.core.ToolFactory;
-import org.eclipse.jdt.core.formatter.CodeFormatter;
-import org.eclipse.jface.text.BadLocationException;
-import org.eclipse.jface.text.Document;
-import org.eclipse.jface.text.IDocument;
-import org.eclipse.text.edits.TextEdit;
+import org.cactoos.scalar.Sticky;
+import org.cactoos.scalar.Synced;
+import org.cactoos.scalar.Unchecked;
+import org.cactoos.text.TextOf;
+import org.cactoos.text.UncheckedText;
 
 /**
  * Random Java class.
+ * The grammar is compiled once, on the first class, and then each next class
+ * reuses it. All the classes of the default Java grammar share the same
+ * compiled grammar, even if they are generated by different instances.
  * @since 0.1
  */
 public final class RandomJavaClass {
 
     /**
-     * ANTLR parser grammar for Java.
+     * Compiled default grammar for Java.
      */
-    private final String parser;
+    private static final Unchecked<CompiledGrammar> JAVA = RandomJavaClass.compiled(
+        "grammars/Java8ReducedParser.g4",
+        "grammars/Java8ReducedLexer.g4"
+    );
 
     /**
-     * ANTLR lexer grammar for Java.
+     * Compiled grammar for Java.
      */
-    private final String lexer;
+    private final Unchecked<CompiledGrammar> grammar;
 
     /**
      * Start rule.
@@ -58,6 +65,11 @@ public final class RandomJavaClass {
      */
     private final Params params;
 
+    /**
+     * Format of the source code.
+     */
+    private final Format format;
+
     /**
      * Default constructor.
      */
@@ -78,12 +90,16 @@ public final class RandomJavaClass {
      * @param params Generation parameters.
      */
     public RandomJavaClass(final Params params) {
-        this(
-            "grammars/Java8ReducedParser.g4",
-            "grammars/Java8ReducedLexer.g4",
-            "compilationUnit",
-            params
-        );
+        this(params, new EclipseFormat());
+    }
+
+    /**
+     * Constructor.
+     * @param params Generation parameters.
+     * @param format Format of the source code.
+     */
+    public RandomJavaClass(final Params params, final Format format) {
+        this(RandomJavaClass.JAVA, "compilationUnit", params, format);
     }
 
     /**
@@ -106,7 +122,6 @@ public final class RandomJavaClass {
      * @param lexer Lexer.
      * @param rule Rule.
      * @param params Params.
-     * @checkstyle ParameterNumberCheck (5 lines)
      */
     public RandomJavaClass(
         final String parser,
@@ -114,10 +129,50 @@ public final class RandomJavaClass {
         final String rule,
         final Params params
     ) {
-        this.parser = parser;
-        this.lexer = lexer;
+        this(parser, lexer, rule, params, new EclipseFormat());
+    }
+
+    /**
+     * Constructor.
+     * @param parser Parser.
+     * @param lexer Lexer.
+     * @param rule Rule.
+     * @param params Params.
+     * @param format Format of the source code.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public RandomJavaClass(
+        final String parser,
+        final String lexer,
+        final String rule,
+        final Params params,
+        final Format format
+    ) {
+        this(RandomJavaClass.compiled(parser, lexer), rule, params, format);
+    }
+
+    /**
+     * Constructor.
+     * @param grammar Compiled grammar for Java.
+     * @param rule Rule.
+     * @param params Params.
+     * @param format Format of the source code.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private RandomJavaClass(
+        final Unchecked<CompiledGrammar> grammar,
+        final String rule,
+        final Params params,
+        final Format format
+    ) {
+        this.grammar = grammar;
         this.rule = rule;
-        this.params = params;
+        if (format.tree()) {
+            this.params = params.tree();
+        } else {
+            this.params = params;
+        }
+        this.format = format;
     }
 
     /**
@@ -125,33 +180,29 @@ public final class RandomJavaClass {
      * @return Source code of the class.
      */
     public String src() {
-        final String output = new RandomScript(
-            this.params,
-            new ResourceOf(this.parser),
-            new ResourceOf(this.lexer)
-        ).generate(this.rule).output();
-        try {
-            final CodeFormatter formatter = ToolFactory.createCodeFormatter(new HashMap(0));
-            final TextEdit format = formatter.format(
-                CodeFormatter.K_COMPILATION_UNIT, output,
-                0,
-                output.length(),
-                0,
-                System.lineSeparator()
-            );
-            final IDocument document = new Document(output);
-            final String result;
-            if (format != null) {
-                format.apply(document);
-                result = document.get();
-            } else {
-                result = output;
-            }
-            return result;
-        } catch (final BadLocationException exception) {
-            throw new IllegalStateException(
-                String.format("Failed to format source code %n%s%n", output), exception
-            );
-        }
+        return this.format.apply(
+            new RandomScript(this.params, this.grammar.value()).generate(this.rule)
+        );
+    }
+
+    /**
+     * Grammar compiled on the first use.
+     * @param parser Parser.
+     * @param lexer Lexer.
+     * @return Compiled grammar.
+     */
+    private static Unchecked<CompiledGrammar> compiled(final String parser, final String lexer) {
+        return new Unchecked<>(
+            new Synced<>(
+                new Sticky<>(
+                    () -> new CompiledGrammar(
+                        Arrays.asList(
+                            new UncheckedText(new TextOf(new ResourceOf(parser))).asString(),
+                            new UncheckedText(new TextOf(new ResourceOf(lexer))).asString()
+                        )
+                    )
+                )
+            )
+        );
     }
 }
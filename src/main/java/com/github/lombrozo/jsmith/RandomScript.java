@@ -23,21 +23,31 @@
  */
 package com.github.lombrozo.jsmith;
 
-import com.github.lombrozo.jsmith.antlr.AntlrListener;
 import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.Unlexer;
 import com.github.lombrozo.jsmith.antlr.Unparser;
 import com.github.lombrozo.jsmith.antlr.rules.WrongPathException;
 import com.github.lombrozo.jsmith.antlr.semantic.Scope;
+import com.github.lombrozo.jsmith.antlr.view.Arena;
+import com.github.lombrozo.jsmith.antlr.view.Node;
 import com.github.lombrozo.jsmith.antlr.view.Text;
-import com.github.lombrozo.jsmith.random.ConvergenceStrategy;
+import com.github.lombrozo.jsmith.antlr.view.Tokens;
+import com.github.lombrozo.jsmith.random.AliasStrategy;
+import com.github.lombrozo.jsmith.random.ArrayConvergenceStrategy;
+import com.github.lombrozo.jsmith.random.ChoosingStrategy;
+import com.github.lombrozo.jsmith.random.CoverageStrategy;
 import com.github.lombrozo.jsmith.random.Rand;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
-import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CommonTokenStream;
-import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.Token;
 import org.cactoos.Input;
 import org.cactoos.text.TextOf;
 import org.cactoos.text.UncheckedText;
@@ -46,26 +56,17 @@ import org.cactoos.text.UncheckedText;
  * Random script generator.
  * This class represents a random script generator based on ANTLR grammar.
  * In other words, it consumes ANTLR grammar and generates random scripts based on it.
+ * Grammars are compiled only once, so it's much cheaper to reuse the same
+ * instance for many generations than to create a new one each time.
  * @since 0.1
  */
 @SuppressWarnings("PMD.ConstructorShouldDoInitialization")
 public final class RandomScript {
 
     /**
-     * ANTLR grammars.
-     * They might be as standalone grammars or as separate lexer and parser grammars.
+     * Compiled ANTLR grammars.
      */
-    private final List<String> grammars;
-
-    /**
-     * Unlexer instance.
-     */
-    private final Unlexer unlexer;
-
-    /**
-     * Unparser instance.
-     */
-    private final Unparser unparser;
+    private final CompiledGrammar grammar;
 
     /**
      * Params.
@@ -96,15 +97,6 @@ public final class RandomScript {
         );
     }
 
-    /**
-     * Constructor.
-     * @param params Generation params.
-     * @param grammars ANTLR grammars, either standalone or separate lexer and parser grammars.
-     */
-    private RandomScript(final Params params, final List<String> grammars) {
-        this(grammars, new Unlexer(), new Unparser(), params);
-    }
-
     /**
      * Constructor.
      * @param grammars ANTLR grammars, either standalone or separate lexer and parser grammars.
@@ -119,35 +111,148 @@ public final class RandomScript {
         final Unparser unparser,
         final Params params
     ) {
-        this.grammars = grammars;
-        this.unlexer = unlexer;
-        this.unparser = unparser;
+        this(params, new CompiledGrammar(grammars, unlexer, unparser));
+    }
+
+    /**
+     * Constructor.
+     * @param params Generation params.
+     * @param grammar Compiled grammar that might be shared between many scripts.
+     */
+    public RandomScript(final Params params, final CompiledGrammar grammar) {
+        this.grammar = grammar;
         this.params = params;
     }
 
+    /**
+     * Constructor.
+     * @param params Generation params.
+     * @param grammars ANTLR grammars, either standalone or separate lexer and parser grammars.
+     */
+    private RandomScript(final Params params, final List<String> grammars) {
+        this(params, new CompiledGrammar(grammars));
+    }
+
     /**
      * Generate random script text based on the starting rule.
+     * If the grammar has no semantic annotations, the text is generated as the
+     * plain text without the tree, unless the params ask for the tree,
+     * see {@link CompiledGrammar#annotated()}.
      * @param rule Starting rule.
      * @return Random script text.
      */
     public Text generate(final String rule) {
-        try {
-            final Scope scope = new Scope(new Rand(this.params.seed()));
-            this.grammars.forEach(this::parse);
-            return this.unparser.generate(
-                rule, new Context(scope, new ConvergenceStrategy(this.params))
-            ).text();
-        } catch (final WrongPathException exception) {
-            throw new IllegalStateException(
-                String.format(
-                    String.format(
-                        "Error generating random script with %s",
-                        this.params
-                    ),
-                    exception
-                )
+        return this.node(rule).text();
+    }
+
+    /**
+     * Generate random script as the labeled text tree.
+     * Without annotations in the grammar {@link #generate(String)} builds only
+     * the plain text, so ask for the tree if the text is formatted, drawn or
+     * verified by {@link com.github.lombrozo.jsmith.guard.SyntaxGuard}, which
+     * draws the tree of a wrong text, see
+     * {@link com.github.lombrozo.jsmith.guard.IllegalTextException#saveDot()}.
+     * @param rule Starting rule.
+     * @return Random script tree.
+     */
+    public Text tree(final String rule) {
+        return this.node(rule, false, this.params.typed()).text();
+    }
+
+    /**
+     * Generate random script as a flat tree.
+     * The tree is packed into arrays right from the generated nodes, so
+     * it's the cheapest way to keep many scripts or their trees in memory.
+     * @param rule Starting rule.
+     * @return Random script tree.
+     */
+    public Arena arena(final String rule) {
+        return new Arena(this.node(rule, false, this.params.typed()));
+    }
+
+    /**
+     * Generate random script and write it directly to the output.
+     * The script text is never built as a whole string, so this is the
+     * cheapest way to send huge scripts to a file or a socket.
+     * @param rule Starting rule.
+     * @param out Where to write the script.
+     * @throws IOException If writing fails.
+     */
+    public void generate(final String rule, final Appendable out) throws IOException {
+        this.node(rule).writeTo(out);
+    }
+
+    /**
+     * Generate random script as a list of tokens.
+     * The types of the tokens are resolved against the vocabulary of the lexer
+     * generated from the same grammar, so the tokens might be parsed without
+     * lexing the script again, see {@link Tokens}.
+     * @param rule Starting rule.
+     * @param lexer Lexer of the grammar.
+     * @return Tokens of the script without the end of file.
+     */
+    public List<Token> tokens(final String rule, final Lexer lexer) {
+        return new Tokens(this.node(rule, false, true).text()).list(lexer);
+    }
+
+    /**
+     * Generate one of many independent random scripts.
+     * The seed of the script is derived from the seed of this generator and
+     * the index, so it's the same script as the one with this index
+     * in {@link #generate(String, int, int)}.
+     * @param rule Starting rule.
+     * @param index Index of the script.
+     * @return Random script text.
+     */
+    public Text generate(final String rule, final long index) {
+        return new RandomScript(this.params.derived(index), this.grammar).generate(rule);
+    }
+
+    /**
+     * Generate many random scripts concurrently.
+     * All the scripts share the same compiled grammar, but each of them has
+     * its own seed derived from the seed of this generator and the script index.
+     * So, the output depends only on the seed and never on the number of threads.
+     * @param rule Starting rule.
+     * @param count Number of scripts.
+     * @param parallelism Number of threads.
+     * @return Random script texts in the order of their indexes.
+     */
+    public List<Text> generate(final String rule, final int count, final int parallelism) {
+        if (count < 0) {
+            throw new IllegalArgumentException(
+                String.format("Number of scripts can't be negative, but was %d", count)
             );
         }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                String.format("Parallelism must be positive, but was %d", parallelism)
+            );
+        }
+        final ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            final List<Future<Text>> tasks = new ArrayList<>(count);
+            for (int index = 0; index < count; ++index) {
+                final long current = index;
+                tasks.add(pool.submit(() -> this.generate(rule, current)));
+            }
+            final List<Text> res = new ArrayList<>(count);
+            for (final Future<Text> task : tasks) {
+                res.add(RandomScript.result(task));
+            }
+            return res;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Coverage of the grammar alternatives by the coverage-guided generations.
+     * The coverage is shared by all the scripts with the same compiled grammar.
+     * @return Percentage between 0 and 100.
+     */
+    public double coverage() {
+        return this.grammar.coverage().percentage();
     }
 
     /**
@@ -155,39 +260,91 @@ public final class RandomScript {
      * @return ANTLR grammar specification in Lisp format.
      */
     String specification() {
-        return this.grammars.stream()
-            .map(RandomScript::parser)
-            .map(parser -> parser.grammarSpec().toStringTree(parser))
-            .collect(Collectors.joining("\n"));
-    }
-
-    /**
-     * Parse ANTLR grammar.
-     * @param grammar ANTLR grammar.
-     */
-    private void parse(final String grammar) {
-        final ANTLRv4Lexer lexer = new ANTLRv4Lexer(CharStreams.fromString(grammar));
-        final CommonTokenStream tokens = new CommonTokenStream(lexer);
-        final ANTLRv4Parser parser = new ANTLRv4Parser(tokens);
-        final ANTLRv4Parser.GrammarSpecContext spec = parser.grammarSpec();
-        final ParseTreeWalker walker = new ParseTreeWalker();
-        final AntlrListener listener = new AntlrListener(
-            tokens,
-            this.unparser,
-            this.unlexer,
-            new Rand(this.params.seed())
-        );
-        walker.walk(listener, spec);
+        return this.grammar.specification();
     }
 
     /**
-     * Create ANTLR parser.
-     * @param grammar Antlr grammar.
-     * @return ANTLR parser.
+     * Wait for the result of a generation task.
+     * @param task Generation task.
+     * @return Generated text.
      */
-    private static ANTLRv4Parser parser(final String grammar) {
-        return new ANTLRv4Parser(
-            new CommonTokenStream(new ANTLRv4Lexer(CharStreams.fromString(grammar)))
+    private static Text result(final Future<Text> task) {
+        try {
+            return task.get();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generation was interrupted", exception);
+        } catch (final ExecutionException exception) {
+            final Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Generation failed", cause);
+        }
+    }
+
+    /**
+     * Strategy to choose alternatives.
+     * With the factor 1.0 the weights never decay, so the alternatives are
+     * sampled from static alias tables instead of keeping the convergence state.
+     * The coverage-guided generation goes to the uncovered alternatives first.
+     * @return Strategy.
+     */
+    private ChoosingStrategy strategy() {
+        final ChoosingStrategy res;
+        if (this.params.guided()) {
+            res = new CoverageStrategy(
+                this.params, this.grammar.ids(), this.grammar.coverage()
+            );
+        } else if (this.params.factor() == 1.0d) {
+            res = new AliasStrategy(this.params, this.grammar.aliases());
+        } else {
+            res = new ArrayConvergenceStrategy(this.params, this.grammar.ids());
+        }
+        return res;
+    }
+
+    /**
+     * Generate random script tree based on the starting rule.
+     * The tree is built only if somebody needs it.
+     * @param rule Starting rule.
+     * @return Random script tree, or just the plain text.
+     */
+    private Node node(final String rule) {
+        return this.node(
+            rule,
+            !this.params.labeled() && !this.params.typed() && !this.grammar.annotated(),
+            this.params.typed()
         );
     }
+
+    /**
+     * Generate random script tree based on the starting rule.
+     * @param rule Starting rule.
+     * @param plain Whether to generate only the plain text.
+     * @param typed Whether to label the terminals as tokens.
+     * @return Random script tree, or just the plain text.
+     */
+    private Node node(final String rule, final boolean plain, final boolean typed) {
+        try {
+            final Rand rand = new Rand(this.params.seed(), this.grammar.automata());
+            Context context = new Context(
+                new Scope(rand),
+                this.strategy(),
+                rand
+            ).withBudget(this.params.budget());
+            if (plain) {
+                context = context.withPlainText();
+            }
+            if (typed) {
+                context = context.withTokens();
+            }
+            return this.grammar.generate(rule, context);
+        } catch (final WrongPathException exception) {
+            throw new IllegalStateException(
+                String.format("Error generating random script with %s", this.params),
+                exception
+            );
+        }
+    }
 }
@@ -85,7 +85,7 @@ import com.github.lombrozo.jsmith.antlr.semantic.VariableDeclaration;
 import com.github.lombrozo.jsmith.antlr.semantic.VariableInitialization;
 import com.github.lombrozo.jsmith.antlr.semantic.VariableTarget;
 import com.github.lombrozo.jsmith.antlr.semantic.VariableUsage;
-import com.github.lombrozo.jsmith.random.Rand;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -124,14 +124,14 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
     private final BufferedTokenStream tokens;
 
     /**
-     * All declared identifiers.
+     * Reserved words that can't be used as identifiers.
      */
     private final Set<String> identifiers;
 
     /**
-     * Random generator.
+     * Graph of the created rules.
      */
-    private final Rand random;
+    private final RuleGraph graph;
 
     /**
      * Current rule.
@@ -143,16 +143,30 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
      * @param tokens Token stream.
      * @param unparser Unparser.
      * @param unlexer Unlexer.
-     * @param rand Random generator.
+     */
+    public AntlrListener(
+        final BufferedTokenStream tokens,
+        final Unparser unparser,
+        final Unlexer unlexer
+    ) {
+        this(tokens, unparser, unlexer, new RuleGraph());
+    }
+
+    /**
+     * Constructor.
+     * @param tokens Token stream.
+     * @param unparser Unparser.
+     * @param unlexer Unlexer.
+     * @param graph Graph to record all the created rules.
      * @checkstyle ParameterNumberCheck (5 lines)
      */
     public AntlrListener(
         final BufferedTokenStream tokens,
         final Unparser unparser,
         final Unlexer unlexer,
-        final Rand rand
+        final RuleGraph graph
     ) {
-        this(tokens, unparser, unlexer, rand, new Root());
+        this(tokens, unparser, unlexer, graph, new Root());
     }
 
     /**
@@ -160,7 +174,7 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
      * @param tokens Token stream.
      * @param unparser Unparser.
      * @param unlexer Unlexer.
-     * @param rand Random generator.
+     * @param graph Graph to record all the created rules.
      * @param root Current rule.
      * @checkstyle ParameterNumberCheck (5 lines)
      */
@@ -168,15 +182,15 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
         final BufferedTokenStream tokens,
         final Unparser unparser,
         final Unlexer unlexer,
-        final Rand rand,
+        final RuleGraph graph,
         final Rule root
     ) {
         this.tokens = tokens;
         this.unparser = unparser;
         this.unlexer = unlexer;
+        this.graph = graph;
         this.current = new Traced(root);
-        this.random = rand;
-        this.identifiers = new JavaKeywords().toSet();
+        this.identifiers = Collections.unmodifiableSet(new JavaKeywords().toSet());
     }
 
     @Override
@@ -207,7 +221,7 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
         );
         final Rule rule;
         if (comments.has(ScopeRule.COMMENT)) {
-            rule = new ScopeRule(new ParserRuleSpec(name, this.current), this.random);
+            rule = new ScopeRule(new ParserRuleSpec(name, this.current));
         } else {
             rule = new ParserRuleSpec(name, this.current);
         }
@@ -224,7 +238,9 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
 
     @Override
     public void enterAltList(final ANTLRv4Parser.AltListContext ctx) {
-        this.down(new AltList(this.current));
+        final Rule rule = new AltList(this.current);
+        this.graph.choice(rule);
+        this.down(rule);
         super.enterAltList(ctx);
     }
 
@@ -236,7 +252,9 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
 
     @Override
     public void enterRuleAltList(final ANTLRv4Parser.RuleAltListContext ctx) {
-        this.down(new RuleAltList(this.current));
+        final Rule rule = new RuleAltList(this.current);
+        this.graph.choice(rule);
+        this.down(rule);
         super.enterRuleAltList(ctx);
     }
 
@@ -276,6 +294,7 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
         if (comments.has(TypeRule.COMMENT)) {
             res = new TypeRule(res);
         }
+        this.graph.repetition(res);
         this.down(res);
         super.enterElement(ctx);
     }
@@ -300,7 +319,9 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
 
     @Override
     public void enterRuleref(final ANTLRv4Parser.RulerefContext ctx) {
-        this.down(new Ruleref(this.current, ctx.getText(), this.unparser));
+        final Rule rule = new Ruleref(this.current, ctx.getText(), this.unparser);
+        this.graph.reference(rule, ctx.getText());
+        this.down(rule);
         super.enterRuleref(ctx);
     }
 
@@ -317,11 +338,14 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
                 ctx.getStart().getTokenIndex(), ANTLRv4Lexer.COMMENT
             )
         );
-        Rule rule = new TerminalDef(this.current, this.unlexer, ctx.getText());
+        final Rule terminal = new TerminalDef(this.current, this.unlexer, ctx.getText());
+        this.graph.terminal(terminal, ctx.getText());
+        Rule rule = terminal;
         if (comments.has(UniqueRule.COMMENT)) {
-            rule = new UniqueRule(rule, this.identifiers);
+            rule = new UniqueRule(terminal, this.identifiers);
+            this.graph.edge(rule, terminal);
         }
-        this.current.append(rule);
+        this.attach(this.current, rule);
         super.enterTerminalDef(ctx);
     }
 
@@ -332,7 +356,9 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
 
     @Override
     public void enterEbnf(final ANTLRv4Parser.EbnfContext ctx) {
-        this.down(new Ebnf(this.current));
+        final Rule rule = new Ebnf(this.current);
+        this.graph.repetition(rule);
+        this.down(rule);
         super.enterEbnf(ctx);
     }
 
@@ -344,7 +370,8 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
 
     @Override
     public void enterEbnfSuffix(final ANTLRv4Parser.EbnfSuffixContext ctx) {
-        this.current.append(
+        this.attach(
+            this.current,
             new EbnfSuffix(
                 this.current,
                 Stream.of(ctx.QUESTION(0), ctx.STAR(), ctx.PLUS())
@@ -352,8 +379,7 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
                     .findFirst()
                     .orElseThrow(() -> new IllegalStateException("Can't find appropriate terminal"))
                     .getText(),
-                Optional.ofNullable(ctx.QUESTION(1)).map(ParseTree::getText).orElse(null),
-                this.random
+                Optional.ofNullable(ctx.QUESTION(1)).map(ParseTree::getText).orElse(null)
             )
         );
         super.enterEbnfSuffix(ctx);
@@ -405,7 +431,9 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
 
     @Override
     public void enterLexerAltList(final ANTLRv4Parser.LexerAltListContext ctx) {
-        this.down(new LexerAltList(this.current));
+        final Rule rule = new LexerAltList(this.current);
+        this.graph.choice(rule);
+        this.down(rule);
         super.enterLexerAltList(ctx);
     }
 
@@ -442,10 +470,11 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
     @Override
     public void enterLexerElement(final ANTLRv4Parser.LexerElementContext ctx) {
         final Rule element = new LexerElement(this.current);
+        this.graph.repetition(element);
         this.down(element);
         super.enterLexerElement(ctx);
         if (Objects.nonNull(ctx.QUESTION())) {
-            element.append(new EbnfSuffix("?", this.random));
+            this.attach(element, new EbnfSuffix("?"));
         }
     }
 
@@ -458,10 +487,11 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
     @Override
     public void enterLexerAtom(final ANTLRv4Parser.LexerAtomContext ctx) {
         final Rule atom = new LexerAtom(this.current);
+        this.graph.choice(atom);
         if (ctx.LEXER_CHAR_SET() != null) {
-            atom.append(new LexerCharSet(atom, ctx.LEXER_CHAR_SET().getText(), this.random));
+            this.attach(atom, new LexerCharSet(atom, ctx.LEXER_CHAR_SET().getText()));
         } else if (ctx.DOT() != null) {
-            atom.append(new Literal(ctx.DOT().getText()));
+            this.attach(atom, new Literal(ctx.DOT().getText()));
         }
         this.down(atom);
         super.enterLexerAtom(ctx);
@@ -487,7 +517,7 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
 
     @Override
     public void enterCharacterRange(final ANTLRv4Parser.CharacterRangeContext ctx) {
-        this.current.append(new CharacterRange(this.current, ctx.getText(), this.random));
+        this.attach(this.current, new CharacterRange(this.current, ctx.getText()));
         super.enterCharacterRange(ctx);
     }
 
@@ -803,10 +833,10 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
     public void enterSetElement(final ANTLRv4Parser.SetElementContext ctx) {
         final SetElement set = new SetElement(this.current);
         if (ctx.LEXER_CHAR_SET() != null) {
-            set.append(new LexerCharSet(set, ctx.LEXER_CHAR_SET().getText(), this.random));
+            this.attach(set, new LexerCharSet(set, ctx.LEXER_CHAR_SET().getText()));
         }
         if (ctx.STRING_LITERAL() != null) {
-            set.append(new Literal(ctx.STRING_LITERAL().getText()));
+            this.attach(set, new Literal(ctx.STRING_LITERAL().getText()));
         }
         this.down(set);
         super.enterSetElement(ctx);
@@ -823,10 +853,22 @@ public final class AntlrListener extends ANTLRv4ParserBaseListener {
      * @param rule Rule to go down.
      */
     private void down(final Rule rule) {
-        this.current.append(new Traced(new Safe(rule)));
+        final Rule traced = new Traced(new Safe(rule));
+        this.attach(this.current, traced);
+        this.graph.step(traced, rule);
         this.current = rule;
     }
 
+    /**
+     * Append the child rule to the parent rule.
+     * @param parent Parent rule.
+     * @param child Child rule.
+     */
+    private void attach(final Rule parent, final Rule child) {
+        parent.append(child);
+        this.graph.edge(parent, child);
+    }
+
     /**
      * Go up in the generation tree.
      * @checkstyle MethodNameCheck (5 lines)
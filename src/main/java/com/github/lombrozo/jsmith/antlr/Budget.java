@@ -0,0 +1,192 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr;
+
+import com.github.lombrozo.jsmith.antlr.view.Node;
+
+/**
+ * Size budget of the generation.
+ * The budget counts the tokens and the bytes of the tokens generated so far.
+ * The counters are shared by all the contexts of one generation, while each
+ * context keeps its own end, so a part of the generation might get only
+ * a portion of the remaining budget, see {@link #share(int)}.
+ * The budget is always measured in tokens. If the generation is limited by
+ * bytes, the remaining bytes are converted to tokens by the average length
+ * of the tokens generated so far.
+ * The unlimited budget never counts anything, so it costs nothing.
+ * @since 0.2
+ */
+public final class Budget {
+
+    /**
+     * No limit.
+     */
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    /**
+     * Average number of bytes in a token, until the first token is generated.
+     */
+    private static final long AVERAGE = 4L;
+
+    /**
+     * Generated tokens and bytes.
+     * Shared by all the contexts of the generation.
+     */
+    private final long[] spent;
+
+    /**
+     * Number of tokens where this part of the generation must end.
+     */
+    private final long tokens;
+
+    /**
+     * Number of bytes where the generation must end.
+     */
+    private final long bytes;
+
+    /**
+     * Constructor of the unlimited budget.
+     */
+    public Budget() {
+        this(Budget.UNLIMITED, Budget.UNLIMITED);
+    }
+
+    /**
+     * Constructor.
+     * @param tokens Max number of tokens.
+     * @param bytes Max number of bytes.
+     */
+    public Budget(final long tokens, final long bytes) {
+        this(new long[2], tokens, bytes);
+    }
+
+    /**
+     * Constructor.
+     * @param spent Generated tokens and bytes.
+     * @param tokens Number of tokens where the generation must end.
+     * @param bytes Number of bytes where the generation must end.
+     */
+    private Budget(final long[] spent, final long tokens, final long bytes) {
+        if (tokens < 0 || bytes < 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Budget can't be negative, but was %d tokens and %d bytes", tokens, bytes
+                )
+            );
+        }
+        this.spent = spent;
+        this.tokens = tokens;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Whether the budget limits the generation.
+     * @return True if there is a limit.
+     */
+    public boolean limited() {
+        return this.tokens != Budget.UNLIMITED || this.bytes != Budget.UNLIMITED;
+    }
+
+    /**
+     * Number of tokens that might be generated yet.
+     * @return Remaining tokens, zero if the budget is exceeded,
+     *  or {@link Long#MAX_VALUE} if the budget is unlimited.
+     */
+    public long remaining() {
+        long result = Budget.UNLIMITED;
+        if (this.tokens != Budget.UNLIMITED) {
+            result = Math.max(0L, this.tokens - this.spent[0]);
+        }
+        if (this.bytes != Budget.UNLIMITED) {
+            final long average;
+            if (this.spent[0] == 0) {
+                average = Budget.AVERAGE;
+            } else {
+                average = Math.max(1L, this.spent[1] / this.spent[0]);
+            }
+            result = Math.min(result, Math.max(0L, this.bytes - this.spent[1]) / average);
+        }
+        return result;
+    }
+
+    /**
+     * Portion of the remaining budget.
+     * The remaining tokens and bytes are split into equal parts, this budget
+     * ends after the first of them. The counters are still shared, so whatever
+     * is left unused by one part goes to the next one.
+     * @param parts Number of parts.
+     * @return Budget that ends after the first part.
+     */
+    public Budget share(final int parts) {
+        final Budget result;
+        if (this.limited()) {
+            result = new Budget(
+                this.spent,
+                Budget.part(this.tokens, this.spent[0], parts),
+                Budget.part(this.bytes, this.spent[1], parts)
+            );
+        } else {
+            result = this;
+        }
+        return result;
+    }
+
+    /**
+     * Count the generated token.
+     * @param token Generated token.
+     */
+    public void spend(final Node token) {
+        if (this.limited()) {
+            this.spent[0] += 1;
+            if (this.bytes != Budget.UNLIMITED) {
+                this.spent[1] += token.text().output().length();
+            }
+        }
+    }
+
+    /**
+     * Number of generated tokens.
+     * @return Tokens.
+     */
+    public long tokens() {
+        return this.spent[0];
+    }
+
+    /**
+     * End of the first part of the remaining limit.
+     * @param limit Limit, tokens or bytes.
+     * @param used Spent tokens or bytes.
+     * @param parts Number of parts.
+     * @return End of the part, or no limit if there was no limit.
+     */
+    private static long part(final long limit, final long used, final int parts) {
+        final long result;
+        if (limit == Budget.UNLIMITED) {
+            result = Budget.UNLIMITED;
+        } else {
+            result = Math.min(limit, used + Math.max(0L, limit - used) / Math.max(1, parts));
+        }
+        return result;
+    }
+}
@@ -24,14 +24,18 @@
 package com.github.lombrozo.jsmith.antlr;
 
 import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import com.github.lombrozo.jsmith.antlr.rules.Safe;
 import com.github.lombrozo.jsmith.antlr.semantic.Scope;
+import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
+import com.github.lombrozo.jsmith.antlr.view.Node;
+import com.github.lombrozo.jsmith.antlr.view.PlainNode;
+import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
 import com.github.lombrozo.jsmith.random.ChoosingStrategy;
 import com.github.lombrozo.jsmith.random.ConvergenceStrategy;
+import com.github.lombrozo.jsmith.random.Rand;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Context of the generation.
@@ -48,7 +52,7 @@ public final class Context {
     /**
      * Path of the rules that were visited during the generation.
      */
-    private final List<Rule> visited;
+    private final Path visited;
 
     /**
      * Current scope.
@@ -60,6 +64,45 @@ public final class Context {
      */
     private final Attributes attrs;
 
+    /**
+     * Random generator of the current generation.
+     * All the rules take randomness from here, so the same grammar
+     * might be reused for many generations.
+     */
+    private final Rand random;
+
+    /**
+     * Shortest derivations of the rules.
+     * They keep the generation path within the depth budget.
+     */
+    private final Derivations derivations;
+
+    /**
+     * Size budget of the generation.
+     */
+    private final Budget size;
+
+    /**
+     * Max depth of the generation path.
+     */
+    private final int limit;
+
+    /**
+     * Whether the rules generate only the plain text, without the tree.
+     */
+    private final boolean text;
+
+    /**
+     * Whether the terminals of the parser rules are labeled as tokens.
+     */
+    private final boolean typed;
+
+    /**
+     * Whether an enclosing attempt retries the failed paths,
+     * see {@link com.github.lombrozo.jsmith.antlr.rules.SeveralAttempts}.
+     */
+    private final boolean retry;
+
     /**
      * Constructor.
      * Uses the default {@link ConvergenceStrategy}.
@@ -77,6 +120,28 @@ public final class Context {
         this(convergence, new ArrayList<>(0), scope);
     }
 
+    /**
+     * Constructor.
+     * @param scope The scope.
+     * @param strategy The strategy used in the generation.
+     * @param rand Random generator of the generation.
+     */
+    public Context(final Scope scope, final ChoosingStrategy strategy, final Rand rand) {
+        this(
+            strategy,
+            new Path(),
+            scope,
+            new Attributes(),
+            rand,
+            new Derivations(),
+            new Budget(),
+            Safe.DEFAULT,
+            false,
+            false,
+            false
+        );
+    }
+
     /**
      * Constructor.
      * @param chain The path of the rules that were visited during the generation.
@@ -112,11 +177,61 @@ public final class Context {
         final List<Rule> visited,
         final Scope scope,
         final Attributes attributes
+    ) {
+        this(
+            strat,
+            new Path(visited),
+            scope,
+            attributes,
+            new Rand(),
+            new Derivations(),
+            new Budget(),
+            Safe.DEFAULT,
+            false,
+            false,
+            false
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param strat The strategy used in the generation.
+     * @param visited The path of the rules that were visited during the generation.
+     * @param scope The scope.
+     * @param attributes The labels.
+     * @param rand Random generator of the generation.
+     * @param derivations Shortest derivations of the rules.
+     * @param size Size budget of the generation.
+     * @param limit Max depth of the generation path.
+     * @param text Whether the rules generate only the plain text.
+     * @param typed Whether the terminals of the parser rules are labeled as tokens.
+     * @param retry Whether an enclosing attempt retries the failed paths.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private Context(
+        final ChoosingStrategy strat,
+        final Path visited,
+        final Scope scope,
+        final Attributes attributes,
+        final Rand rand,
+        final Derivations derivations,
+        final Budget size,
+        final int limit,
+        final boolean text,
+        final boolean typed,
+        final boolean retry
     ) {
         this.strat = strat;
         this.visited = visited;
         this.scope = scope;
         this.attrs = attributes;
+        this.random = rand;
+        this.derivations = derivations;
+        this.size = size;
+        this.limit = limit;
+        this.text = text;
+        this.typed = typed;
+        this.retry = retry;
     }
 
     /**
@@ -140,18 +255,23 @@ public final class Context {
      * Returns the next context with the rule added to the path.
      * Pay attention that each time when we proceed to the next rule, we create a new context.
      * The new context contains the copy of the {@link ChoosingStrategy} and the new path.
+     * Both of them share the state with the current context, so this step costs O(1).
      * @param rule The rule to add to the path.
      * @return The next context with the rule added to the path.
      */
     public Context next(final Rule rule) {
         return new Context(
             this.strat.copy(),
-            Stream.concat(
-                this.visited.stream(),
-                Stream.of(rule)
-            ).collect(Collectors.toList()),
+            this.visited.with(rule),
             this.scope,
-            this.attrs
+            this.attrs,
+            this.random,
+            this.derivations,
+            this.size,
+            this.limit,
+            this.text,
+            this.typed,
+            this.retry
         );
     }
 
@@ -161,11 +281,258 @@ public final class Context {
      * @return The next context with the scope.
      */
     public Context withScope(final Scope another) {
-        return new Context(this.strat, this.visited, another, this.attrs);
+        return new Context(
+            this.strat,
+            this.visited,
+            another,
+            this.attrs,
+            this.random,
+            this.derivations,
+            this.size,
+            this.limit,
+            this.text,
+            this.typed,
+            this.retry
+        );
     }
 
     public Context withAttributes(final Attributes attributes) {
-        return new Context(this.strat, this.visited, this.scope, this.attrs.add(attributes));
+        return new Context(
+            this.strat,
+            this.visited,
+            this.scope,
+            this.attrs.add(attributes),
+            this.random,
+            this.derivations,
+            this.size,
+            this.limit,
+            this.text,
+            this.typed,
+            this.retry
+        );
+    }
+
+    /**
+     * Returns the next context that keeps the generation within the depth budget.
+     * @param shortest Shortest derivations of the grammar rules.
+     * @return The next context with the derivations.
+     */
+    public Context withDerivations(final Derivations shortest) {
+        return new Context(
+            this.strat,
+            this.visited,
+            this.scope,
+            this.attrs,
+            this.random,
+            shortest,
+            this.size,
+            this.limit,
+            this.text,
+            this.typed,
+            this.retry
+        );
+    }
+
+    /**
+     * Returns the next context with the size budget.
+     * @param budget Size budget.
+     * @return The next context with the budget.
+     */
+    public Context withBudget(final Budget budget) {
+        return new Context(
+            this.strat,
+            this.visited,
+            this.scope,
+            this.attrs,
+            this.random,
+            this.derivations,
+            budget,
+            this.limit,
+            this.text,
+            this.typed,
+            this.retry
+        );
+    }
+
+    /**
+     * Returns the next context with another depth limit.
+     * The generation path never gets deeper than the limit: the
+     * {@link Derivations} prefer the alternatives that terminate in time,
+     * and {@link Safe} rules stop the paths that still get too deep.
+     * @param max Max depth of the generation path.
+     * @return The next context with the depth limit.
+     */
+    public Context withDepth(final int max) {
+        return new Context(
+            this.strat,
+            this.visited,
+            this.scope,
+            this.attrs,
+            this.random,
+            this.derivations,
+            this.size,
+            max,
+            this.text,
+            this.typed,
+            this.retry
+        );
+    }
+
+    /**
+     * Returns the next context where the rules generate only the plain text.
+     * The rules skip the labels, the attributes and the text tree, so use it
+     * only if nobody needs them: there are no semantic annotations in the
+     * grammar, and the text is neither formatted nor drawn.
+     * @return The next context that generates the plain text.
+     */
+    public Context withPlainText() {
+        return new Context(
+            this.strat,
+            this.visited,
+            this.scope,
+            this.attrs,
+            this.random,
+            this.derivations,
+            this.size,
+            this.limit,
+            true,
+            this.typed,
+            this.retry
+        );
+    }
+
+    /**
+     * Returns the next context where the terminals of the parser rules are
+     * labeled as tokens, see {@link com.github.lombrozo.jsmith.antlr.view.Labels#token()}.
+     * Use it only if the generated tokens are verified without lexing, since
+     * each labeled terminal costs an extra node of the tree.
+     * @return The next context that labels the tokens.
+     */
+    public Context withTokens() {
+        return new Context(
+            this.strat,
+            this.visited,
+            this.scope,
+            this.attrs,
+            this.random,
+            this.derivations,
+            this.size,
+            this.limit,
+            this.text,
+            true,
+            this.retry
+        );
+    }
+
+    /**
+     * Are the terminals of the parser rules labeled as tokens?
+     * @return True if the rules label the generated tokens.
+     */
+    public boolean tokenized() {
+        return this.typed;
+    }
+
+    /**
+     * Do the rules generate only the plain text?
+     * @return True if the rules skip the labels, the attributes and the tree.
+     */
+    public boolean plain() {
+        return this.text;
+    }
+
+    /**
+     * Returns the next context where the failed paths are retried.
+     * The failures inside of it are recovered, so they may skip their
+     * stack traces, see {@link #retried()}.
+     * @return The next context that retries the failed paths.
+     */
+    public Context withRetries() {
+        final Context result;
+        if (this.retry) {
+            result = this;
+        } else {
+            result = new Context(
+                this.strat,
+                this.visited,
+                this.scope,
+                this.attrs,
+                this.random,
+                this.derivations,
+                this.size,
+                this.limit,
+                this.text,
+                this.typed,
+                true
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Is a failed path retried by an enclosing attempt?
+     * If it isn't, the failure escapes the generation and keeps its stack trace.
+     * @return True if the failed paths are retried.
+     */
+    public boolean retried() {
+        return this.retry;
+    }
+
+    /**
+     * Node of the rule with the generated snippets.
+     * @param author Rule that produces the node.
+     * @param snippets Generated snippets.
+     * @return Labeled node, or just the plain text of the snippets.
+     */
+    public Node node(final Rule author, final Node... snippets) {
+        return this.node(author, Arrays.asList(snippets));
+    }
+
+    /**
+     * Node of the rule with the generated snippets.
+     * @param author Rule that produces the node.
+     * @param snippets Generated snippets.
+     * @return Labeled node, or just the plain text of the snippets.
+     */
+    public Node node(final Rule author, final List<Node> snippets) {
+        final Node result;
+        if (this.text) {
+            result = new PlainNode(snippets);
+        } else {
+            result = new IntermediateNode(author, snippets);
+        }
+        return result;
+    }
+
+    /**
+     * Leaf of the rule with the generated characters.
+     * @param author Rule that produces the leaf.
+     * @param chars Generated characters.
+     * @return Labeled leaf, or just the plain text.
+     */
+    public Node leaf(final Rule author, final String chars) {
+        final Node result;
+        if (this.text) {
+            result = new PlainNode(chars);
+        } else {
+            result = new TerminalNode(author, chars);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the next context with a portion of the remaining size budget.
+     * The context is returned as is if the budget is unlimited.
+     * @param parts Number of parts to split the remaining budget into.
+     * @return The next context with the first part of the budget.
+     */
+    public Context share(final int parts) {
+        final Context result;
+        if (this.size.limited()) {
+            result = this.withBudget(this.size.share(parts));
+        } else {
+            result = this;
+        }
+        return result;
     }
 
     /**
@@ -184,6 +551,67 @@ public final class Context {
         return this.strat;
     }
 
+    /**
+     * Choose one of the alternatives of the rule.
+     * Usually the choice is made by the {@link ChoosingStrategy}, but when the
+     * depth budget runs low only the alternatives that surely terminate are chosen.
+     * @param parent The rule that makes the choice.
+     * @param alternatives The alternatives.
+     * @return The chosen alternative.
+     */
+    public Rule choose(final Rule parent, final List<Rule> alternatives) {
+        return this.derivations.choose(parent, alternatives, this);
+    }
+
+    /**
+     * Checks whether the rule surely terminates within the remaining depth budget.
+     * @param rule The rule.
+     * @return True if the rule fits the budget.
+     */
+    public boolean affordable(final Rule rule) {
+        return this.derivations.affordable(rule, this);
+    }
+
+    /**
+     * Number of repetitions of the rule.
+     * Usually it's a random number between min and max, but it's reduced
+     * when the rule doesn't fit the depth or the size budget.
+     * @param rule The rule to repeat.
+     * @param min Minimal number of repetitions.
+     * @param max Maximal number of repetitions (inclusive).
+     * @return Number of repetitions.
+     */
+    public int repetitions(final Rule rule, final int min, final int max) {
+        return this.derivations.repetitions(rule, min, max, this);
+    }
+
+    /**
+     * Whether the repetition that the grammar doesn't bound, like {@code *}
+     * and {@code +}, might take one more derivation of the rule to fill
+     * a large size budget.
+     * @param rule The rule to repeat.
+     * @return True if one more derivation fits.
+     */
+    public boolean more(final Rule rule) {
+        return this.derivations.more(rule, this);
+    }
+
+    /**
+     * Returns the size budget of the generation.
+     * @return The budget.
+     */
+    public Budget budget() {
+        return this.size;
+    }
+
+    /**
+     * Returns the random generator of the current generation.
+     * @return The random generator.
+     */
+    public Rand rand() {
+        return this.random;
+    }
+
     /**
      * Returns the labels.
      * @return The labels.
@@ -194,9 +622,27 @@ public final class Context {
 
     /**
      * Returns the path of the rules that were visited during the generation.
+     * Pay attention, the path is built each time, so it costs O(depth).
+     * If you need only the length of the path, use {@link #depth()}.
      * @return The path of the rules that were visited during the generation.
      */
     public List<Rule> path() {
-        return Collections.unmodifiableList(this.visited);
+        return this.visited.rules();
+    }
+
+    /**
+     * Returns the number of rules that were visited during the generation.
+     * @return The length of the path.
+     */
+    public int depth() {
+        return this.visited.depth();
+    }
+
+    /**
+     * Returns the max depth of the generation path.
+     * @return The depth limit.
+     */
+    public int limit() {
+        return this.limit;
     }
 }
@@ -0,0 +1,288 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr;
+
+import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import com.github.lombrozo.jsmith.antlr.rules.Safe;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shortest derivations of the grammar rules.
+ * For each rule it keeps the minimal depth of the generation path required
+ * to derive the rule and the minimal number of terminals in the result.
+ * The depth is used as a budget: while the current path is far from the
+ * {@link Context#limit()} checked by {@link Safe}, all the choices are made by the
+ * {@link com.github.lombrozo.jsmith.random.ChoosingStrategy} as usual.
+ * When the budget runs low, only the alternatives that are guaranteed to
+ * terminate within the remaining depth are chosen, so the generation doesn't
+ * fail with {@link com.github.lombrozo.jsmith.antlr.rules.WrongPathException}.
+ * In the same way, the minimal and the expected number of tokens of each rule
+ * keep the generation within the size {@link Budget}: the alternatives that
+ * don't fit the remaining tokens are skipped, and the repetitions are cut
+ * or grown step by step to fill the budget.
+ * Rules unknown to the derivations are considered as free.
+ * @since 0.2
+ */
+public final class Derivations {
+
+    /**
+     * Minimal derivation depth of each rule.
+     */
+    private final Map<Rule, Integer> depths;
+
+    /**
+     * Minimal derivation size of each rule.
+     */
+    private final Map<Rule, Integer> sizes;
+
+    /**
+     * The deepest of the minimal derivations of the alternatives by the choice rule.
+     */
+    private final Map<Rule, Integer> deepest;
+
+    /**
+     * Minimal number of tokens of each rule.
+     */
+    private final Map<Rule, Integer> tokens;
+
+    /**
+     * Expected number of tokens of each rule.
+     */
+    private final Map<Rule, Double> expected;
+
+    /**
+     * The largest of the minimal numbers of tokens of the alternatives by the choice rule.
+     */
+    private final Map<Rule, Integer> heaviest;
+
+    /**
+     * Constructor of empty derivations that never interfere with the generation.
+     */
+    public Derivations() {
+        this(
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap()
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param depths Minimal derivation depth of each rule.
+     * @param sizes Minimal derivation size of each rule.
+     * @param deepest The deepest of the alternatives by the choice rule.
+     * @param tokens Minimal number of tokens of each rule.
+     * @param expected Expected number of tokens of each rule.
+     * @param heaviest The heaviest of the alternatives by the choice rule.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    Derivations(
+        final Map<Rule, Integer> depths,
+        final Map<Rule, Integer> sizes,
+        final Map<Rule, Integer> deepest,
+        final Map<Rule, Integer> tokens,
+        final Map<Rule, Double> expected,
+        final Map<Rule, Integer> heaviest
+    ) {
+        this.depths = depths;
+        this.sizes = sizes;
+        this.deepest = deepest;
+        this.tokens = tokens;
+        this.expected = expected;
+        this.heaviest = heaviest;
+    }
+
+    /**
+     * Minimal depth of the generation path required to derive the rule.
+     * @param rule Rule.
+     * @return Depth or {@link Integer#MAX_VALUE} if the rule never terminates.
+     */
+    public int depth(final Rule rule) {
+        return this.depths.getOrDefault(rule, 0);
+    }
+
+    /**
+     * Minimal number of terminals the rule derives.
+     * @param rule Rule.
+     * @return Size or {@link Integer#MAX_VALUE} if the rule never terminates.
+     */
+    public int size(final Rule rule) {
+        return this.sizes.getOrDefault(rule, 0);
+    }
+
+    /**
+     * Minimal number of tokens the rule derives.
+     * @param rule Rule.
+     * @return Tokens or {@link Integer#MAX_VALUE} if the rule never terminates.
+     */
+    public int tokens(final Rule rule) {
+        return this.tokens.getOrDefault(rule, 0);
+    }
+
+    /**
+     * Expected number of tokens the rule derives.
+     * @param rule Rule.
+     * @return Tokens.
+     */
+    public double expected(final Rule rule) {
+        return this.expected.getOrDefault(rule, 0.0);
+    }
+
+    /**
+     * Choose one of the alternatives.
+     * @param parent Choice rule.
+     * @param alternatives Alternatives of the rule.
+     * @param context Current context.
+     * @return Chosen alternative.
+     */
+    Rule choose(final Rule parent, final List<Rule> alternatives, final Context context) {
+        final int widest = this.deepest.getOrDefault(parent, RuleGraph.INFINITY);
+        final Rule result;
+        if (widest != RuleGraph.INFINITY && context.limit() - context.depth() <= widest) {
+            result = this.shortest(alternatives, context);
+        } else if (context.budget().remaining() < this.heaviest.getOrDefault(parent, 0)) {
+            result = this.smallest(alternatives, context);
+        } else {
+            result = context.strategy().choose(parent, alternatives);
+        }
+        return result;
+    }
+
+    /**
+     * Number of repetitions of the rule.
+     * Optional repetitions are skipped if the rule doesn't fit the depth budget.
+     * When the size budget is limited, the random number of repetitions is cut
+     * to the number of expected rule derivations that fit the remaining tokens.
+     * @param rule Rule to repeat.
+     * @param min Minimal number of repetitions.
+     * @param max Maximal number of repetitions (inclusive).
+     * @param context Current context.
+     * @return Number of repetitions.
+     */
+    int repetitions(final Rule rule, final int min, final int max, final Context context) {
+        final int result;
+        if (min == 0 && !this.affordable(rule, context)) {
+            result = 0;
+        } else {
+            final int usual = context.rand().range(min, max);
+            final Budget size = context.budget();
+            if (size.limited()) {
+                final long fit = (long) (size.remaining() / Math.max(1.0, this.expected(rule)));
+                result = Math.max(min, (int) Math.min(usual, fit));
+            } else {
+                result = usual;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether the unbounded repetition might take one more derivation of the rule.
+     * The repetition grows one derivation at a time, while the remaining
+     * tokens, measured after the previous derivation, still fit the expected
+     * tokens of the next one. The repetition gets only a share of the budget,
+     * see {@link Context#share(int)}, so it leaves the rest of the budget to
+     * the next parts of the script.
+     * @param rule Rule to repeat.
+     * @param context Current context.
+     * @return True if one more derivation fits.
+     */
+    boolean more(final Rule rule, final Context context) {
+        final Budget size = context.budget();
+        return size.limited()
+            && this.affordable(rule, context)
+            && size.remaining() >= Math.max(1.0, this.expected(rule));
+    }
+
+    /**
+     * Whether the rule can be derived within the remaining depth budget.
+     * @param rule Rule.
+     * @param context Current context.
+     * @return True if the rule terminates before the budget runs out.
+     */
+    boolean affordable(final Rule rule, final Context context) {
+        return this.depth(rule) < context.limit() - context.depth();
+    }
+
+    /**
+     * Choose randomly among the alternatives that fit the remaining budget.
+     * If none of them fits, the shallowest one is chosen.
+     * @param alternatives Alternatives.
+     * @param context Current context.
+     * @return Chosen alternative.
+     */
+    private Rule shortest(final List<Rule> alternatives, final Context context) {
+        final List<Rule> fit = new ArrayList<>(alternatives.size());
+        Rule shallowest = alternatives.get(0);
+        for (final Rule alternative : alternatives) {
+            if (this.affordable(alternative, context)) {
+                fit.add(alternative);
+            }
+            if (this.depth(alternative) < this.depth(shallowest)) {
+                shallowest = alternative;
+            }
+        }
+        final Rule result;
+        if (fit.isEmpty()) {
+            result = shallowest;
+        } else {
+            result = fit.get(context.rand().range(fit.size()));
+        }
+        return result;
+    }
+
+    /**
+     * Choose randomly among the alternatives that fit the remaining size budget.
+     * If none of them fits, the one with the fewest tokens is chosen.
+     * @param alternatives Alternatives.
+     * @param context Current context.
+     * @return Chosen alternative.
+     */
+    private Rule smallest(final List<Rule> alternatives, final Context context) {
+        final long remaining = context.budget().remaining();
+        final List<Rule> fit = new ArrayList<>(alternatives.size());
+        Rule lightest = alternatives.get(0);
+        for (final Rule alternative : alternatives) {
+            if (this.tokens(alternative) <= remaining) {
+                fit.add(alternative);
+            }
+            if (this.tokens(alternative) < this.tokens(lightest)) {
+                lightest = alternative;
+            }
+        }
+        final Rule result;
+        if (fit.isEmpty()) {
+            result = lightest;
+        } else {
+            result = fit.get(context.rand().range(fit.size()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr;
+
+import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Path of the rules visited during the generation.
+ * This is an immutable linked list where each path keeps only the last rule
+ * and the link to the previous path.
+ * So, all the paths of a single generation share their common prefixes and
+ * adding one more rule costs O(1).
+ * @since 0.2
+ */
+final class Path {
+
+    /**
+     * The last visited rule.
+     */
+    private final Rule last;
+
+    /**
+     * The path before the last rule.
+     */
+    private final Path previous;
+
+    /**
+     * Number of rules in the path.
+     */
+    private final int size;
+
+    /**
+     * Constructor of an empty path.
+     */
+    Path() {
+        this(null, null, 0);
+    }
+
+    /**
+     * Constructor.
+     * @param rules Rules in the order of visiting.
+     */
+    Path(final List<Rule> rules) {
+        this(Path.from(rules));
+    }
+
+    /**
+     * Copy constructor.
+     * @param path Path to copy.
+     */
+    private Path(final Path path) {
+        this(path.last, path.previous, path.size);
+    }
+
+    /**
+     * Constructor.
+     * @param last The last visited rule.
+     * @param previous The path before the last rule.
+     * @param size Number of rules in the path.
+     */
+    private Path(final Rule last, final Path previous, final int size) {
+        this.last = last;
+        this.previous = previous;
+        this.size = size;
+    }
+
+    /**
+     * Path with one more rule at the end.
+     * @param rule The rule to add.
+     * @return New path.
+     */
+    Path with(final Rule rule) {
+        return new Path(rule, this, this.size + 1);
+    }
+
+    /**
+     * Number of rules in the path.
+     * @return Depth of the path.
+     */
+    int depth() {
+        return this.size;
+    }
+
+    /**
+     * All the rules of the path in the order of visiting.
+     * Pay attention, this method costs O(depth), so use it only when it is really needed.
+     * @return Rules.
+     */
+    List<Rule> rules() {
+        final Rule[] res = new Rule[this.size];
+        Path current = this;
+        for (int index = this.size - 1; index >= 0; --index) {
+            res[index] = current.last;
+            current = current.previous;
+        }
+        return Collections.unmodifiableList(Arrays.asList(res));
+    }
+
+    /**
+     * Build a path from the list of rules.
+     * @param rules Rules in the order of visiting.
+     * @return Path.
+     */
+    private static Path from(final List<Rule> rules) {
+        Path res = new Path();
+        for (final Rule rule : new ArrayList<>(rules)) {
+            res = res.with(rule);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,593 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr;
+
+import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import com.github.lombrozo.jsmith.antlr.rules.Suffix;
+import com.github.lombrozo.jsmith.random.Ids;
+import com.github.lombrozo.jsmith.random.Multiplier;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Graph of the generation rules.
+ * The rules keep their children private, so {@link AntlrListener} records
+ * here how it links the rules while building them.
+ * Then the graph is used to compute the shortest derivations of all the rules,
+ * see {@link #derivations(Unparser, Unlexer)}.
+ * It also assigns the identifiers to the choice rules, so the generation
+ * only looks them up.
+ * @since 0.2
+ */
+public final class RuleGraph {
+
+    /**
+     * Unreachable depth or size.
+     */
+    static final int INFINITY = Integer.MAX_VALUE;
+
+    /**
+     * Number of sweeps over the graph to estimate the expected sizes.
+     * Each sweep unfolds the recursive rules one level deeper, so the
+     * estimates of the recursive rules don't grow without bounds.
+     */
+    private static final int SWEEPS = 3;
+
+    /**
+     * Vertices of the graph by their rules.
+     */
+    private final Map<Rule, Vertex> vertices;
+
+    /**
+     * Vertices in the order of creation.
+     * Children are always created after their parents.
+     */
+    private final List<Vertex> order;
+
+    /**
+     * Identifiers of the choice rules.
+     */
+    private final Ids<Rule> ids;
+
+    /**
+     * Constructor.
+     */
+    public RuleGraph() {
+        this(new Ids<>());
+    }
+
+    /**
+     * Constructor.
+     * @param ids Identifiers to assign to the choice rules.
+     */
+    public RuleGraph(final Ids<Rule> ids) {
+        this.vertices = new IdentityHashMap<>(0);
+        this.order = new ArrayList<>(0);
+        this.ids = ids;
+    }
+
+    /**
+     * Compute the shortest derivations of all the recorded rules.
+     * Depth and size of each rule are the least fixpoint of the rule equations,
+     * so the computation starts from {@link #INFINITY} for all the rules and
+     * decreases the values until nothing changes.
+     * Rules that can't be derived in a finite number of steps keep {@link #INFINITY}.
+     * The expected number of tokens starts from the minimal one and then is
+     * recomputed by a few sweeps over the graph, where each choice takes the
+     * mean of its alternatives and each repetition takes the average
+     * number of repetitions, see {@link #SWEEPS}.
+     * @param unparser Unparser to resolve rule references.
+     * @param unlexer Unlexer to resolve lexer rule references.
+     * @return Shortest derivations.
+     */
+    public Derivations derivations(final Unparser unparser, final Unlexer unlexer) {
+        synchronized (this.vertices) {
+            this.order.forEach(vertex -> vertex.resolve(this, unparser, unlexer));
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int index = this.order.size() - 1; index >= 0; --index) {
+                    changed |= this.order.get(index).relax();
+                }
+            }
+            this.order.forEach(Vertex::start);
+            for (int sweep = 0; sweep < RuleGraph.SWEEPS; ++sweep) {
+                for (int index = this.order.size() - 1; index >= 0; --index) {
+                    this.order.get(index).expect();
+                }
+            }
+            final Map<Rule, Integer> depths = new IdentityHashMap<>(this.order.size());
+            final Map<Rule, Integer> sizes = new IdentityHashMap<>(this.order.size());
+            final Map<Rule, Integer> deepest = new IdentityHashMap<>(0);
+            final Map<Rule, Integer> tokens = new IdentityHashMap<>(this.order.size());
+            final Map<Rule, Double> expected = new IdentityHashMap<>(this.order.size());
+            final Map<Rule, Integer> heaviest = new IdentityHashMap<>(0);
+            for (final Vertex vertex : this.order) {
+                depths.put(vertex.rule, vertex.depth);
+                sizes.put(vertex.rule, vertex.size);
+                tokens.put(vertex.rule, vertex.tokens);
+                expected.put(vertex.rule, vertex.expected);
+                if (vertex.kind == Kind.CHOICE) {
+                    deepest.put(vertex.rule, vertex.deepest());
+                    heaviest.put(vertex.rule, vertex.heaviest());
+                }
+            }
+            return new Derivations(depths, sizes, deepest, tokens, expected, heaviest);
+        }
+    }
+
+    /**
+     * Number of alternatives of all the recorded choice rules.
+     * @return Number of alternatives.
+     */
+    public int alternatives() {
+        synchronized (this.vertices) {
+            int result = 0;
+            for (final Vertex vertex : this.order) {
+                if (vertex.kind == Kind.CHOICE) {
+                    result += vertex.children.size();
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Record that the child rule is appended to the parent rule.
+     * @param parent Parent rule.
+     * @param child Child rule.
+     */
+    void edge(final Rule parent, final Rule child) {
+        synchronized (this.vertices) {
+            this.vertex(parent).children.add(this.vertex(child));
+        }
+    }
+
+    /**
+     * Record that the rule is a step of generation that increases the depth.
+     * @param step Rule that increases the depth, like {@link com.github.lombrozo.jsmith.antlr.rules.Traced}.
+     * @param rule Rule generated by the step.
+     */
+    void step(final Rule step, final Rule rule) {
+        this.kind(step, Kind.STEP);
+        this.edge(step, rule);
+    }
+
+    /**
+     * Record that the rule chooses one of its children.
+     * @param rule Rule.
+     */
+    void choice(final Rule rule) {
+        this.kind(rule, Kind.CHOICE);
+        this.ids.assign(rule);
+    }
+
+    /**
+     * Record that the rule repeats its first child.
+     * The second child, if any, is the suffix with the multiplier.
+     * @param rule Rule.
+     */
+    void repetition(final Rule rule) {
+        this.kind(rule, Kind.REPETITION);
+    }
+
+    /**
+     * Record that the rule generates a parser rule by its name.
+     * @param rule Rule.
+     * @param name Name of the parser rule.
+     */
+    void reference(final Rule rule, final String name) {
+        synchronized (this.vertices) {
+            final Vertex vertex = this.vertex(rule);
+            vertex.kind = Kind.REFERENCE;
+            vertex.name = name;
+        }
+    }
+
+    /**
+     * Record that the rule generates a lexer rule or a literal by its text.
+     * @param rule Rule.
+     * @param text Text of the terminal.
+     */
+    void terminal(final Rule rule, final String text) {
+        synchronized (this.vertices) {
+            final Vertex vertex = this.vertex(rule);
+            vertex.kind = Kind.TERMINAL;
+            vertex.name = text;
+        }
+    }
+
+    /**
+     * Set the kind of the rule.
+     * @param rule Rule.
+     * @param kind Kind.
+     */
+    private void kind(final Rule rule, final Kind kind) {
+        synchronized (this.vertices) {
+            this.vertex(rule).kind = kind;
+        }
+    }
+
+    /**
+     * Find or create the vertex of the rule.
+     * @param rule Rule.
+     * @return Vertex.
+     */
+    private Vertex vertex(final Rule rule) {
+        return this.vertices.computeIfAbsent(
+            rule,
+            key -> {
+                final Vertex vertex = new Vertex(key);
+                this.order.add(vertex);
+                return vertex;
+            }
+        );
+    }
+
+    /**
+     * Sum without overflow.
+     * @param first First addend.
+     * @param second Second addend.
+     * @return Sum or {@link #INFINITY}.
+     */
+    private static int plus(final int first, final int second) {
+        final long sum = (long) first + second;
+        final int result;
+        if (sum >= RuleGraph.INFINITY) {
+            result = RuleGraph.INFINITY;
+        } else {
+            result = (int) sum;
+        }
+        return result;
+    }
+
+    /**
+     * Kind of the rule, how it generates its children.
+     * @since 0.2
+     */
+    private enum Kind {
+        /**
+         * Generates all the children one by one.
+         */
+        SEQUENCE,
+
+        /**
+         * Generates the only child one level deeper.
+         */
+        STEP,
+
+        /**
+         * Generates one of the children.
+         */
+        CHOICE,
+
+        /**
+         * Repeats the first child according to the suffix.
+         */
+        REPETITION,
+
+        /**
+         * Generates a parser rule by name.
+         */
+        REFERENCE,
+
+        /**
+         * Generates a lexer rule or a literal by text.
+         */
+        TERMINAL
+    }
+
+    /**
+     * Vertex of the graph.
+     * @since 0.2
+     */
+    @SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+    private static final class Vertex {
+
+        /**
+         * Rule.
+         */
+        private final Rule rule;
+
+        /**
+         * Children in the order of appending.
+         */
+        private final List<Vertex> children;
+
+        /**
+         * Kind of the rule.
+         */
+        private Kind kind;
+
+        /**
+         * Name of the referenced rule or text of the terminal.
+         */
+        private String name;
+
+        /**
+         * Referenced vertex, resolved before the computation.
+         * Null if the reference leads to a literal or to an unknown rule.
+         */
+        private Vertex target;
+
+        /**
+         * Minimal depth of the derivation.
+         */
+        private int depth;
+
+        /**
+         * Minimal size of the derivation in terminals.
+         */
+        private int size;
+
+        /**
+         * Minimal number of tokens in the derivation.
+         */
+        private int tokens;
+
+        /**
+         * Expected number of tokens in the derivation.
+         */
+        private double expected;
+
+        /**
+         * Constructor.
+         * @param rule Rule.
+         */
+        Vertex(final Rule rule) {
+            this.rule = rule;
+            this.children = new ArrayList<>(1);
+            this.kind = Kind.SEQUENCE;
+            this.depth = RuleGraph.INFINITY;
+            this.size = RuleGraph.INFINITY;
+            this.tokens = RuleGraph.INFINITY;
+        }
+
+        /**
+         * Resolve the references before the computation.
+         * @param graph Graph.
+         * @param unparser Unparser with parser rules.
+         * @param unlexer Unlexer with lexer rules.
+         */
+        void resolve(final RuleGraph graph, final Unparser unparser, final Unlexer unlexer) {
+            this.depth = RuleGraph.INFINITY;
+            this.size = RuleGraph.INFINITY;
+            this.tokens = RuleGraph.INFINITY;
+            if (this.kind == Kind.REFERENCE) {
+                this.target = unparser.find(this.name).map(graph.vertices::get).orElse(null);
+            } else if (this.kind == Kind.TERMINAL) {
+                this.target = unlexer.find(this.name).map(graph.vertices::get).orElse(null);
+            }
+        }
+
+        /**
+         * Recompute depth, size and tokens from the children.
+         * @return True if anything decreased.
+         */
+        boolean relax() {
+            final int[] next = this.estimate();
+            final boolean result = next[0] < this.depth || next[1] < this.size
+                || next[2] < this.tokens;
+            this.depth = Math.min(this.depth, next[0]);
+            this.size = Math.min(this.size, next[1]);
+            this.tokens = Math.min(this.tokens, next[2]);
+            return result;
+        }
+
+        /**
+         * Start the expected number of tokens from the minimal one.
+         */
+        void start() {
+            if (this.tokens == RuleGraph.INFINITY) {
+                this.expected = 0.0;
+            } else {
+                this.expected = this.tokens;
+            }
+        }
+
+        /**
+         * Recompute the expected number of tokens from the children.
+         * Alternatives that never terminate are ignored.
+         */
+        void expect() {
+            switch (this.kind) {
+                case STEP:
+                    this.expected = this.children.get(0).expected;
+                    break;
+                case CHOICE:
+                    this.expected = this.mean();
+                    break;
+                case REPETITION:
+                    if (this.children.isEmpty()) {
+                        this.expected = 0.0;
+                    } else {
+                        this.expected = this.children.get(0).expected
+                            * this.multiplier().average();
+                    }
+                    break;
+                case REFERENCE:
+                    if (this.target == null) {
+                        this.expected = 0.0;
+                    } else {
+                        this.expected = this.target.expected;
+                    }
+                    break;
+                case TERMINAL:
+                    this.expected = 1.0;
+                    break;
+                default:
+                    double total = 0.0;
+                    for (final Vertex child : this.children) {
+                        total += child.expected;
+                    }
+                    this.expected = total;
+                    break;
+            }
+        }
+
+        /**
+         * Mean of the expected numbers of tokens of the children that terminate.
+         * @return Tokens.
+         */
+        private double mean() {
+            double sum = 0.0;
+            int finite = 0;
+            for (final Vertex child : this.children) {
+                if (child.tokens != RuleGraph.INFINITY) {
+                    sum += child.expected;
+                    ++finite;
+                }
+            }
+            return sum / Math.max(1, finite);
+        }
+
+        /**
+         * The deepest derivation among the shortest derivations of children.
+         * Children that never terminate are skipped, since no depth budget
+         * is enough for them anyway.
+         * @return Depth or {@link RuleGraph#INFINITY} if no child terminates.
+         */
+        int deepest() {
+            int result = RuleGraph.INFINITY;
+            for (final Vertex child : this.children) {
+                if (child.depth != RuleGraph.INFINITY) {
+                    if (result == RuleGraph.INFINITY) {
+                        result = child.depth;
+                    } else {
+                        result = Math.max(result, child.depth);
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * The largest of the minimal numbers of tokens of children.
+         * @return Tokens.
+         */
+        int heaviest() {
+            int result = 0;
+            for (final Vertex child : this.children) {
+                result = Math.max(result, child.tokens);
+            }
+            return result;
+        }
+
+        /**
+         * Estimate depth, size and tokens from the current values of children.
+         * @return Depth, size and tokens.
+         * @checkstyle CyclomaticComplexityCheck (70 lines)
+         * @checkstyle ExecutableStatementCountCheck (70 lines)
+         */
+        @SuppressWarnings("PMD.CognitiveComplexity")
+        private int[] estimate() {
+            int depth = 0;
+            int size = 0;
+            int tokens = 0;
+            switch (this.kind) {
+                case STEP:
+                    depth = RuleGraph.plus(1, this.children.get(0).depth);
+                    size = this.children.get(0).size;
+                    tokens = this.children.get(0).tokens;
+                    break;
+                case CHOICE:
+                    if (!this.children.isEmpty()) {
+                        depth = RuleGraph.INFINITY;
+                        size = RuleGraph.INFINITY;
+                        tokens = RuleGraph.INFINITY;
+                    }
+                    for (final Vertex child : this.children) {
+                        depth = Math.min(depth, child.depth);
+                        size = Math.min(size, child.size);
+                        tokens = Math.min(tokens, child.tokens);
+                    }
+                    break;
+                case REPETITION:
+                    if (!this.children.isEmpty() && !this.optional()) {
+                        depth = this.children.get(0).depth;
+                        size = this.children.get(0).size;
+                        tokens = this.children.get(0).tokens;
+                    }
+                    break;
+                case REFERENCE:
+                    if (this.target == null) {
+                        depth = RuleGraph.INFINITY;
+                        size = RuleGraph.INFINITY;
+                        tokens = RuleGraph.INFINITY;
+                    } else {
+                        depth = this.target.depth;
+                        size = this.target.size;
+                        tokens = this.target.tokens;
+                    }
+                    break;
+                case TERMINAL:
+                    if (this.target == null) {
+                        size = 1;
+                    } else {
+                        depth = this.target.depth;
+                        size = this.target.size;
+                    }
+                    tokens = 1;
+                    break;
+                default:
+                    if (this.children.isEmpty()) {
+                        size = 1;
+                    }
+                    for (final Vertex child : this.children) {
+                        depth = Math.max(depth, child.depth);
+                        size = RuleGraph.plus(size, child.size);
+                        tokens = RuleGraph.plus(tokens, child.tokens);
+                    }
+                    break;
+            }
+            return new int[] {depth, size, tokens};
+        }
+
+        /**
+         * Whether the repetition may have zero repetitions.
+         * @return True if the suffix allows zero repetitions.
+         */
+        private boolean optional() {
+            final Multiplier multiplier = this.multiplier();
+            return multiplier instanceof Multiplier.ZeroOrOne
+                || multiplier instanceof Multiplier.ZeroOrMore;
+        }
+
+        /**
+         * Multiplier of the repetition.
+         * @return Multiplier of the suffix or exactly one repetition if there is no suffix.
+         */
+        private Multiplier multiplier() {
+            final Multiplier result;
+            if (this.children.size() > 1 && this.children.get(1).rule instanceof Suffix) {
+                result = ((Suffix) this.children.get(1).rule).multiplier();
+            } else {
+                result = new Multiplier.One();
+            }
+            return result;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.github.lombrozo.jsmith.antlr.rules.WrongPathException;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Unparser that contains all parser rules.
@@ -67,6 +68,15 @@ public final class Unparser {
         return this;
     }
 
+    /**
+     * Find a parser rule.
+     * @param rule Rule name.
+     * @return Parser rule or empty if it is not found.
+     */
+    Optional<Rule> find(final String rule) {
+        return Optional.ofNullable(this.rules.get(rule));
+    }
+
     /**
      * Generate a string representation of the parser rule.
      * @param rule Rule.
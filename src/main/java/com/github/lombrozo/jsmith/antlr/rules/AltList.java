@@ -24,9 +24,7 @@
 package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
-import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
 import com.github.lombrozo.jsmith.antlr.view.Node;
-import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -102,15 +100,14 @@ public final class AltList implements Rule {
     public Node generate(final Context context) throws WrongPathException {
         final Node result;
         if (this.alternatives.isEmpty()) {
-            result = new TerminalNode(this.name(), "");
+            result = context.leaf(this, "");
         } else {
-            result = new IntermediateNode(
+            result = context.node(
                 this,
                 new SeveralAttempts(
                     this.name(),
-                    () -> context.strategy()
-                        .choose(this, this.alternatives)
-                        .generate(context)
+                    context,
+                    inner -> inner.choose(this, this.alternatives).generate(inner)
                 ).choose()
             );
         }
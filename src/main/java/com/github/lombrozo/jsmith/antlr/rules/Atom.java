@@ -24,7 +24,6 @@
 package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
-import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -93,7 +92,7 @@ public final class Atom implements Rule {
 
     @Override
     public Node generate(final Context context) throws WrongPathException {
-        return new IntermediateNode(this, this.item.get().generate(context));
+        return context.node(this, this.item.get().generate(context));
     }
 
     /**
@@ -25,8 +25,6 @@ package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.view.Node;
-import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
-import com.github.lombrozo.jsmith.random.Rand;
 import java.util.regex.Pattern;
 
 /**
@@ -61,25 +59,14 @@ public final class CharacterRange implements Rule, Negatable {
      */
     private final String text;
 
-    /**
-     * Random generator.
-     */
-    private final Rand rand;
-
     /**
      * Constructor.
      * @param parentr Parent rule.
      * @param text Range text.
-     * @param rand Random generator.
      */
-    public CharacterRange(
-        final Rule parentr,
-        final String text,
-        final Rand rand
-    ) {
+    public CharacterRange(final Rule parentr, final String text) {
         this.parentr = parentr;
         this.text = text;
-        this.rand = rand;
     }
 
     /**
@@ -90,15 +77,6 @@ public final class CharacterRange implements Rule, Negatable {
         this(new Root(), text);
     }
 
-    /**
-     * Constructor.
-     * @param parent Parent rule.
-     * @param text Range text.
-     */
-    private CharacterRange(final Rule parent, final String text) {
-        this(parent, text, new Rand());
-    }
-
     @Override
     public Rule parent() {
         return this.parentr;
@@ -107,7 +85,7 @@ public final class CharacterRange implements Rule, Negatable {
     @Override
     public Node generate(final Context context) {
         try {
-            return this.tryGenerate();
+            return this.tryGenerate(context);
         } catch (final IllegalArgumentException exception) {
             throw new IllegalArgumentException(
                 String.format("Can't choose random character from '%s' range", this.text),
@@ -133,14 +111,15 @@ public final class CharacterRange implements Rule, Negatable {
 
     @Override
     public Rule copy() {
-        return new CharacterRange(this.parentr, this.text, this.rand);
+        return new CharacterRange(this.parentr, this.text);
     }
 
     /**
      * Try to generate a random character from the range.
+     * @param context Generation context.
      * @return Random character.
      */
-    private Node tryGenerate() {
+    private Node tryGenerate(final Context context) {
         final String[] pair = CharacterRange.DOTS.split(
             CharacterRange.REDUNDANT.matcher(this.text).replaceAll("")
         );
@@ -153,9 +132,9 @@ public final class CharacterRange implements Rule, Negatable {
             start = CharacterRange.code(pair[0]);
             end = CharacterRange.code(pair[1]);
         }
-        return new TerminalNode(
+        return context.leaf(
             this,
-            String.valueOf(Character.toChars(this.rand.range(start, end)))
+            String.valueOf(Character.toChars(context.rand().range(start, end)))
         );
     }
 
@@ -24,7 +24,6 @@
 package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
-import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import com.github.lombrozo.jsmith.random.Multiplier;
 import java.util.ArrayList;
@@ -95,7 +94,7 @@ public final class Ebnf implements Rule {
                 "Ebnf should have at least one 'Block', but it's empty"
             );
         }
-        return new IntermediateNode(
+        return context.node(
             this, this.multiplier().repeat(this.children.get(0)).generate(context)
         );
     }
@@ -27,7 +27,6 @@ import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
 import com.github.lombrozo.jsmith.random.Multiplier;
-import com.github.lombrozo.jsmith.random.Rand;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -60,45 +59,11 @@ public final class EbnfSuffix implements Rule, Suffix {
      */
     private final String question;
 
-    /**
-     * Random generator.
-     */
-    private final Rand rand;
-
-    /**
-     * Constructor.
-     * @param operation Operation.
-     * @param random Random generator.
-     */
-    public EbnfSuffix(final String operation, final Rand random) {
-        this(new Empty(), operation, "", random);
-    }
-
     /**
      * Constructor.
-     * @param parent Parent rule.
      * @param operation Operation.
-     * @param question Question.
-     * @param rand Random generator.
-     * @checkstyle ParameterNumberCheck (5 lines)
      */
-    public EbnfSuffix(
-        final Rule parent,
-        final String operation,
-        final String question,
-        final Rand rand
-    ) {
-        this.top = parent;
-        this.operation = operation;
-        this.question = question;
-        this.rand = rand;
-    }
-
-    /**
-     * Constructor.
-     * @param operation Operation.
-     */
-    EbnfSuffix(final String operation) {
+    public EbnfSuffix(final String operation) {
         this(operation, "");
     }
 
@@ -117,8 +82,10 @@ public final class EbnfSuffix implements Rule, Suffix {
      * @param operation Operation.
      * @param question Question.
      */
-    private EbnfSuffix(final Rule parent, final String operation, final String question) {
-        this(parent, operation, question, new Rand());
+    public EbnfSuffix(final Rule parent, final String operation, final String question) {
+        this.top = parent;
+        this.operation = operation;
+        this.question = question;
     }
 
     @Override
@@ -160,7 +127,7 @@ public final class EbnfSuffix implements Rule, Suffix {
 
     @Override
     public Rule copy() {
-        return new EbnfSuffix(this.parent(), this.operation, this.question, this.rand);
+        return new EbnfSuffix(this.parent(), this.operation, this.question);
     }
 
     @Override
@@ -168,13 +135,13 @@ public final class EbnfSuffix implements Rule, Suffix {
         final Multiplier result;
         switch (this.operation) {
             case "?":
-                result = new Multiplier.ZeroOrOne(this.rand);
+                result = new Multiplier.ZeroOrOne();
                 break;
             case "+":
-                result = new Multiplier.OneOrMore(this.rand);
+                result = new Multiplier.OneOrMore();
                 break;
             case "*":
-                result = new Multiplier.ZeroOrMore(this.rand);
+                result = new Multiplier.ZeroOrMore();
                 break;
             default:
                 throw new IllegalArgumentException(
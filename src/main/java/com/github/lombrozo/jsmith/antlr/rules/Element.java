@@ -24,9 +24,7 @@
 package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
-import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
 import com.github.lombrozo.jsmith.antlr.view.Node;
-import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
 import com.github.lombrozo.jsmith.random.Multiplier;
 import java.util.ArrayList;
 import java.util.List;
@@ -93,9 +91,9 @@ public final class Element implements Rule {
         final Node result;
         final Rule first = this.children.get(0);
         if (Atom.isAtom(first) || LabeledElement.isLabeledElement(first) || Ebnf.isEbnf(first)) {
-            result = new IntermediateNode(this, this.multiplier().repeat(first).generate(context));
+            result = context.node(this, this.multiplier().repeat(first).generate(context));
         } else if (ActionBlock.isActionBlock(first)) {
-            result = new TerminalNode(this, "");
+            result = context.leaf(this, "");
         } else {
             throw new IllegalStateException(
                 String.format("Unknown element type: %s", first.name())
@@ -25,7 +25,6 @@ package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.view.Node;
-import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
 
 /**
  * Empty rule.
@@ -42,7 +41,7 @@ public final class Empty implements Rule {
 
     @Override
     public Node generate(final Context context) {
-        return new TerminalNode(this, "");
+        return context.leaf(this, "");
     }
 
     @Override
@@ -25,7 +25,6 @@ package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.view.Node;
-import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
 
 /**
  * Identifier rule.
@@ -78,7 +77,7 @@ public final class Identifier implements Rule {
 
     @Override
     public Node generate(final Context context) throws WrongPathException {
-        return new TerminalNode(this, this.ref);
+        return context.leaf(this, this.ref);
     }
 
     @Override
@@ -24,7 +24,6 @@
 package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
-import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import java.util.ArrayList;
 import java.util.List;
@@ -38,6 +37,9 @@ import java.util.List;
  * You can check it here: https://github.com/volodya-lombrozo/jsmith/tree/106_machine
  * So, we need to keep this class to correctly transfer context from one rule to another, from
  * left to right.
+ * If the size budget of the generation is limited, each rule gets an equal share
+ * of the tokens that remain before it, so a repetition of one rule can't take
+ * the tokens of the rules after it.
  * @since 0.1
  */
 public final class LeftToRight implements Rule {
@@ -72,13 +74,16 @@ public final class LeftToRight implements Rule {
     @Override
     public Node generate(final Context context) throws WrongPathException {
         Context current = context;
-        final List<Node> res = new ArrayList<>(this.all.size());
-        for (final Rule rule : this.all) {
-            final Node snippet = rule.generate(current);
+        final int size = this.all.size();
+        final List<Node> res = new ArrayList<>(size);
+        for (int index = 0; index < size; ++index) {
+            final Node snippet = this.all.get(index).generate(current.share(size - index));
             res.add(snippet);
-            current = current.withAttributes(snippet.attributes());
+            if (!context.plain()) {
+                current = current.withAttributes(snippet.attributes());
+            }
         }
-        return new IntermediateNode(this.author, res);
+        return context.node(this.author, res);
     }
 
     @Override
@@ -24,7 +24,6 @@
 package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
-import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import java.util.ArrayList;
 import java.util.List;
@@ -84,11 +83,12 @@ public final class LexerAltList implements Rule {
 
     @Override
     public Node generate(final Context context) throws WrongPathException {
-        return new IntermediateNode(
+        return context.node(
             this,
             new SeveralAttempts(
                 this.name(),
-                () -> context.strategy().choose(this, this.children).generate(context)
+                context,
+                inner -> inner.choose(this, this.children).generate(inner)
             ).choose()
         );
     }
@@ -24,7 +24,6 @@
 package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
-import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import java.util.ArrayList;
 import java.util.List;
@@ -88,9 +87,9 @@ public final class LexerAtom implements Rule {
 
     @Override
     public Node generate(final Context context) throws WrongPathException {
-        return new IntermediateNode(
+        return context.node(
             this,
-            context.strategy().choose(this, this.elems).generate(context)
+            context.choose(this, this.elems).generate(context)
         );
     }
 
@@ -25,8 +25,6 @@ package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.view.Node;
-import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
-import com.github.lombrozo.jsmith.random.Rand;
 
 /**
  * LexerCharSet rule.
@@ -45,11 +43,6 @@ public final class LexerCharSet implements Rule, Negatable {
      */
     private final String text;
 
-    /**
-     * Random generator.
-     */
-    private final Rand rand;
-
     /**
      * Constructor.
      * @param text Char set that might be a range or a set of characters.
@@ -64,20 +57,8 @@ public final class LexerCharSet implements Rule, Negatable {
      * @param text Text.
      */
     public LexerCharSet(final Rule parent, final String text) {
-        this(parent, text, new Rand());
-    }
-
-    /**
-     * Constructor.
-     *
-     * @param parent Parent rule.
-     * @param text Text.
-     * @param rand Random generator.
-     */
-    public LexerCharSet(final Rule parent, final String text, final Rand rand) {
         this.top = parent;
         this.text = text;
-        this.rand = rand;
     }
 
     @Override
@@ -87,9 +68,9 @@ public final class LexerCharSet implements Rule, Negatable {
 
     @Override
     public Node generate(final Context context) {
-        return new TerminalNode(
+        return context.leaf(
             this,
-            this.rand.regex(new AntlrString(this.text).asString())
+            context.rand().regex(new AntlrString(this.text).asString())
         );
     }
 
@@ -102,7 +83,7 @@ public final class LexerCharSet implements Rule, Negatable {
         } else {
             negated = String.format("[^%s]", replaced);
         }
-        return new TerminalNode(this, this.rand.regex(negated));
+        return context.leaf(this, context.rand().regex(negated));
     }
 
     @Override
@@ -117,6 +98,6 @@ public final class LexerCharSet implements Rule, Negatable {
 
     @Override
     public Rule copy() {
-        return new LexerCharSet(this.top, this.text, this.rand);
+        return new LexerCharSet(this.top, this.text);
     }
 }
@@ -24,7 +24,6 @@
 package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
-import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import com.github.lombrozo.jsmith.random.Multiplier;
 import java.util.ArrayList;
@@ -86,7 +85,7 @@ public final class LexerElement implements Rule {
 
     @Override
     public Node generate(final Context context) throws WrongPathException {
-        return new IntermediateNode(
+        return context.node(
             this,
             this.multiplier().repeat(this.children.get(0)).generate(context)
         );
@@ -25,8 +25,6 @@ package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.view.Node;
-import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
-import com.github.lombrozo.jsmith.random.Rand;
 
 /**
  * Literal rule.
@@ -50,11 +48,6 @@ public final class Literal implements Rule, Negatable {
      */
     private final String text;
 
-    /**
-     * Random generator.
-     */
-    private final Rand random;
-
     /**
      * Constructor.
      * @param text Text of the literal.
@@ -69,19 +62,8 @@ public final class Literal implements Rule, Negatable {
      * @param text Text of the literal.
      */
     public Literal(final Rule parent, final String text) {
-        this(parent, text, new Rand());
-    }
-
-    /**
-     * Constructor.
-     * @param top Parent rule.
-     * @param text Text of the literal.
-     * @param random Random generator.
-     */
-    public Literal(final Rule top, final String text, final Rand random) {
-        this.top = top;
+        this.top = parent;
         this.text = text;
-        this.random = random;
     }
 
     @Override
@@ -91,7 +73,7 @@ public final class Literal implements Rule, Negatable {
 
     @Override
     public Node generate(final Context context) {
-        return new TerminalNode(
+        return context.leaf(
             this,
             new AntlrString(this.text).asString()
         );
@@ -99,9 +81,9 @@ public final class Literal implements Rule, Negatable {
 
     @Override
     public Node negate(final Context context) {
-        return new TerminalNode(
+        return context.leaf(
             this,
-            this.random.regex(String.format("[^%s]", this.generate(context).text().output()))
+            context.rand().regex(String.format("[^%s]", this.generate(context).text().output()))
         );
     }
 
@@ -24,7 +24,6 @@
 package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
-import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import java.util.ArrayList;
 import java.util.List;
@@ -85,7 +84,7 @@ public final class NotSet implements Rule {
         }
         final Rule rule = this.children.get(0);
         if (rule instanceof Negatable) {
-            return new IntermediateNode(this, ((Negatable) rule).negate(context));
+            return context.node(this, ((Negatable) rule).negate(context));
         } else {
             throw new IllegalArgumentException(
                 String.format(
@@ -89,10 +89,17 @@ public final class ParserRuleSpec implements Rule {
 
     @Override
     public Node generate(final Context context) throws WrongPathException {
-        return new IntermediateNode(
-            Collections.singletonList(new LeftToRight(this, this.list).generate(context)),
-            new Labels(this).withRule(this.rname)
-        );
+        final Node generated = new LeftToRight(this, this.list).generate(context);
+        final Node result;
+        if (context.plain()) {
+            result = generated;
+        } else {
+            result = new IntermediateNode(
+                Collections.singletonList(generated),
+                new Labels(this).withRule(this.rname)
+            );
+        }
+        return result;
     }
 
     @Override
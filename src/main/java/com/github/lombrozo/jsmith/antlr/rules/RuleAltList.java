@@ -24,7 +24,6 @@
 package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
-import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import java.util.ArrayList;
 import java.util.List;
@@ -79,11 +78,12 @@ public final class RuleAltList implements Rule {
         if (this.alternatives.isEmpty()) {
             throw new IllegalStateException("RuleAltList should have at least one alternative");
         }
-        return new IntermediateNode(
+        return context.node(
             this,
             new SeveralAttempts(
                 this.name(),
-                () -> context.strategy().choose(this, this.alternatives).generate(context)
+                context,
+                inner -> inner.choose(this, this.alternatives).generate(inner)
             ).choose()
         );
     }
@@ -27,7 +27,6 @@ import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import com.github.lombrozo.jsmith.antlr.view.Trace;
 import com.github.lombrozo.jsmith.random.Multiplier;
-import java.util.List;
 
 /**
  * Safe rule.
@@ -39,8 +38,9 @@ public final class Safe implements Rule, Suffix, Negatable {
 
     /**
      * Default max recursion depth.
+     * It's the depth limit of the context unless another one is given.
      */
-    static final int DEFAULT = 600;
+    public static final int DEFAULT = 600;
 
     /**
      * Original rule.
@@ -50,6 +50,7 @@ public final class Safe implements Rule, Suffix, Negatable {
 
     /**
      * Max allowed recursion depth.
+     * The depth limit of the context applies as well.
      */
     private final int limit;
 
@@ -62,10 +63,11 @@ public final class Safe implements Rule, Suffix, Negatable {
 
     /**
      * Constructor.
+     * The rule is limited only by the depth limit of the context.
      * @param original Original rule.
      */
     public Safe(final Rule original) {
-        this(original, Safe.DEFAULT);
+        this(original, Integer.MAX_VALUE);
     }
 
     /**
@@ -85,13 +87,13 @@ public final class Safe implements Rule, Suffix, Negatable {
 
     @Override
     public Node generate(final Context context) throws WrongPathException {
-        final List<Rule> path = context.path();
-        if (path.size() >= this.limit) {
+        if (context.depth() >= Math.min(this.limit, context.limit())) {
             throw new WrongPathException(
-                String.format(
+                () -> String.format(
                     "Long generation path! Most probably you have a recursion here: %s",
-                    new Trace(path).line()
-                )
+                    new Trace(context.path()).line()
+                ),
+                !context.retried()
             );
         }
         return this.original.generate(context);
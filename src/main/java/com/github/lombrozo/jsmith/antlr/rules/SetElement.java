@@ -24,7 +24,6 @@
 package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
-import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import java.util.ArrayList;
 import java.util.List;
@@ -119,7 +118,7 @@ public final class SetElement implements Rule, Negatable {
                 )
             );
         }
-        return new IntermediateNode(
+        return context.node(
             this,
             this.children.stream()
                 .map(Negatable.class::cast)
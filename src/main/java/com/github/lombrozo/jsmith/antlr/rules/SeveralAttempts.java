@@ -23,6 +23,7 @@
  */
 package com.github.lombrozo.jsmith.antlr.rules;
 
+import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import com.jcabi.log.Logger;
 
@@ -57,6 +58,11 @@ public final class SeveralAttempts {
      */
     private final String author;
 
+    /**
+     * Context of the attempts.
+     */
+    private final Context context;
+
     /**
      * Original output generator.
      */
@@ -65,13 +71,15 @@ public final class SeveralAttempts {
     /**
      * Constructor.
      * @param author Author of the rule.
+     * @param context Context of the attempts.
      * @param generator Original output generator.
      */
     public SeveralAttempts(
         final String author,
+        final Context context,
         final Attempt generator
     ) {
-        this(SeveralAttempts.DEFAULT_ATTEMPTS, author, generator);
+        this(SeveralAttempts.DEFAULT_ATTEMPTS, author, context, generator);
     }
 
     /**
@@ -84,37 +92,62 @@ public final class SeveralAttempts {
         final int attempts,
         final String author,
         final Attempt original
+    ) {
+        this(attempts, author, new Context(), original);
+    }
+
+    /**
+     * Constructor.
+     * @param attempts Maximum attempts to generate output.
+     * @param author Author of the rule.
+     * @param context Context of the attempts.
+     * @param original Original output generator.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    SeveralAttempts(
+        final int attempts,
+        final String author,
+        final Context context,
+        final Attempt original
     ) {
         this.max = attempts;
         this.author = author;
+        this.context = context;
         this.generator = original;
     }
 
     /**
      * Choose output.
+     * Each attempt gets the context that retries the failed paths, so their
+     * failures skip the stack traces. The failure of all the attempts keeps
+     * its stack trace only if nobody retries it further.
      * @return Output.
      */
     public Node choose() throws WrongPathException {
+        final Context retried = this.context.withRetries();
         Node snippet = null;
         int attempt = 0;
         WrongPathException origin = null;
         do {
             try {
-                snippet = this.generator.make();
+                snippet = this.generator.make(retried);
             } catch (final WrongPathException exception) {
-                Logger.warn(this, exception.getMessage());
+                if (Logger.isDebugEnabled(this)) {
+                    Logger.debug(this, exception.getMessage());
+                }
                 origin = exception;
             }
             attempt = attempt + 1;
         } while (snippet == null && attempt < this.max);
         if (snippet == null) {
             throw new WrongPathException(
-                String.format(
+                () -> String.format(
                     "Can't generate output because constantly receive errors. I made %d attempts to generate output, but failed. The rule is '%s'",
                     this.max,
                     this.author
                 ),
-                origin
+                origin,
+                !this.context.retried()
             );
         }
         return snippet;
@@ -126,6 +159,13 @@ public final class SeveralAttempts {
      */
     @FunctionalInterface
     interface Attempt {
-        Node make() throws WrongPathException;
+
+        /**
+         * Make the output.
+         * @param context Context that retries the failed paths.
+         * @return Output.
+         * @throws WrongPathException If the path is wrong.
+         */
+        Node make(Context context) throws WrongPathException;
     }
 }
@@ -23,10 +23,14 @@
  */
 package com.github.lombrozo.jsmith.antlr.rules;
 
+import com.github.lombrozo.jsmith.antlr.Budget;
 import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.Unlexer;
+import com.github.lombrozo.jsmith.antlr.view.Labels;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
+import com.github.lombrozo.jsmith.antlr.view.Text;
+import com.github.lombrozo.jsmith.antlr.view.TokenText;
 
 /**
  * Terminal definition.
@@ -37,6 +41,11 @@ import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
  *     | STRING_LITERAL {@link ElementOptions}?
  *     ;
  * }
+ * Each generated terminal is counted as one token of the size {@link Budget}.
+ * The characters of the terminal are generated without any budget.
+ * If the context asks for it, see {@link Context#tokenized()}, a terminal of
+ * a parser rule is labeled as a token, see {@link Labels#token()}, so the
+ * generated text might be verified token by token without lexing.
  * @since 0.1
  */
 public final class TerminalDef implements Rule {
@@ -61,6 +70,12 @@ public final class TerminalDef implements Rule {
      */
     private final String text;
 
+    /**
+     * Whether the terminal is a part of a lexer rule.
+     * Such terminals are just fragments of a token.
+     */
+    private final boolean lexical;
+
     /**
      * Constructor.
      * @param parent Parent rule.
@@ -68,9 +83,7 @@ public final class TerminalDef implements Rule {
      * @param text Text.
      */
     public TerminalDef(final Rule parent, final Unlexer unlexer, final String text) {
-        this.parentr = parent;
-        this.unlexer = unlexer;
-        this.text = text;
+        this(parent, unlexer, text, TerminalDef.lexical(parent));
     }
 
     /**
@@ -82,6 +95,25 @@ public final class TerminalDef implements Rule {
         this(new Empty(), unlexer, text);
     }
 
+    /**
+     * Constructor.
+     * @param parent Parent rule.
+     * @param unlexer Unparser.
+     * @param text Text.
+     * @param lexical Whether the terminal is a part of a lexer rule.
+     */
+    private TerminalDef(
+        final Rule parent,
+        final Unlexer unlexer,
+        final String text,
+        final boolean lexical
+    ) {
+        this.parentr = parent;
+        this.unlexer = unlexer;
+        this.text = text;
+        this.lexical = lexical;
+    }
+
     @Override
     public Rule parent() {
         return this.parentr;
@@ -91,11 +123,28 @@ public final class TerminalDef implements Rule {
     public Node generate(final Context context) throws WrongPathException {
         final Node result;
         if (TerminalDef.END_OF_FILE.equals(this.text)) {
-            result = new TerminalNode(this, "");
+            result = context.leaf(this, "");
         } else {
-            result = this.unlexer.find(this.text)
+            final Budget budget = context.budget();
+            final Context token;
+            if (budget.limited()) {
+                token = context.withBudget(new Budget());
+            } else {
+                token = context;
+            }
+            final Node generated = this.unlexer.find(this.text)
                 .orElseGet(() -> new Literal(this.text))
-                .generate(context);
+                .generate(token);
+            if (this.lexical || !context.tokenized()) {
+                result = generated;
+            } else {
+                final Text chars = generated.text();
+                result = new TerminalNode(
+                    new TokenText(chars, chars.output(), new Labels(this).withToken(this.text)),
+                    generated.attributes()
+                );
+            }
+            budget.spend(result);
         }
         return result;
     }
@@ -115,7 +164,24 @@ public final class TerminalDef implements Rule {
         return new TerminalDef(
             this.parentr,
             this.unlexer,
-            this.text
+            this.text,
+            this.lexical
         );
     }
+
+    /**
+     * Is the terminal a part of a lexer rule?
+     * The parents never change, so it's found only once, on construction.
+     * @param parent Parent rule of the terminal.
+     * @return True if one of the parents is a lexer rule.
+     */
+    private static boolean lexical(final Rule parent) {
+        Rule rule = parent;
+        boolean res = false;
+        while (!res && rule.parent() != rule) {
+            res = rule instanceof LexerRuleSpec;
+            rule = rule.parent();
+        }
+        return res;
+    }
 }
@@ -23,19 +23,43 @@
  */
 package com.github.lombrozo.jsmith.antlr.rules;
 
+import java.util.function.Supplier;
+
 /**
  * This exception is used during the generation.
  * It indicates that the path is wrong and the rule cannot be generated.
+ * The generation tries other paths after it, so the exception is thrown
+ * very often and has to be cheap. In the stackless mode it doesn't fill in
+ * the stack trace, which is hundreds of frames deep in recursive grammars;
+ * the rules use this mode only when an enclosing attempt recovers the failure,
+ * see {@link com.github.lombrozo.jsmith.antlr.Context#retried()}.
+ * The message is built once, when somebody asks for it first, so the supplier
+ * has to capture only the values that don't change after the throw.
  * @since 0.1
  */
 public final class WrongPathException extends Exception {
 
+    /**
+     * Serialization marker.
+     */
+    private static final long serialVersionUID = -5327416549126593458L;
+
+    /**
+     * Message, built lazily.
+     */
+    private final transient Supplier<String> description;
+
+    /**
+     * Message built on the first request.
+     */
+    private transient String built;
+
     /**
      * Constructor.
      * @param message Message.
      */
     public WrongPathException(final String message) {
-        super(message);
+        this(() -> message, true);
     }
 
     /**
@@ -44,6 +68,42 @@ public final class WrongPathException extends Exception {
      * @param cause Cause.
      */
     public WrongPathException(final String message, final Throwable cause) {
-        super(message, cause);
+        this(() -> message, cause, true);
+    }
+
+    /**
+     * Constructor.
+     * @param message Message that is built only when it is requested.
+     * @param stack Whether to fill in the stack trace.
+     */
+    public WrongPathException(final Supplier<String> message, final boolean stack) {
+        this(message, null, stack);
+    }
+
+    /**
+     * Constructor.
+     * @param message Message that is built only when it is requested.
+     * @param cause Cause.
+     * @param stack Whether to fill in the stack trace.
+     */
+    public WrongPathException(
+        final Supplier<String> message,
+        final Throwable cause,
+        final boolean stack
+    ) {
+        super(null, cause, false, stack);
+        this.description = message;
+    }
+
+    @Override
+    public String getMessage() {
+        if (this.built == null) {
+            if (this.description == null) {
+                this.built = super.getMessage();
+            } else {
+                this.built = this.description.get();
+            }
+        }
+        return this.built;
     }
 }
@@ -75,7 +75,10 @@ public final class PredicateRule implements Rule {
                 res = this.origin.generate(context);
             } else {
                 throw new WrongPathException(
-                    String.format("Type mismatch, expected: %s, but got: %s", this.type, current)
+                    () -> String.format(
+                        "Type mismatch, expected: %s, but got: %s", this.type, current
+                    ),
+                    !context.retried()
                 );
             }
         } else {
@@ -25,8 +25,10 @@ package com.github.lombrozo.jsmith.antlr.semantic;
 
 import com.github.lombrozo.jsmith.random.Rand;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.ToString;
@@ -56,12 +58,19 @@ public final class Scope {
     @ToString.Exclude
     private final Rand rand;
 
+    /**
+     * Identifiers that were already used in the whole program.
+     * This set is shared between the scope and all its children.
+     */
+    @ToString.Exclude
+    private final Set<String> reserved;
+
     /**
      * Constructor.
      * @param rand Random generator.
      */
     public Scope(final Rand rand) {
-        this(null, new Variables(), rand);
+        this(null, rand);
     }
 
     /**
@@ -70,7 +79,12 @@ public final class Scope {
      * @param rand Random generator.
      */
     public Scope(final Scope parent, final Rand rand) {
-        this(parent, new Variables(), rand);
+        this(
+            parent,
+            new Variables(),
+            rand,
+            Optional.ofNullable(parent).map(p -> p.reserved).orElseGet(HashSet::new)
+        );
     }
 
     /**
@@ -78,15 +92,19 @@ public final class Scope {
      * @param parent Parent scope.
      * @param variables Variables in the scope.
      * @param rand Random generator.
+     * @param reserved Identifiers that were already used in the whole program.
+     * @checkstyle ParameterNumberCheck (5 lines)
      */
     private Scope(
         final Scope parent,
         final Variables variables,
-        final Rand rand
+        final Rand rand,
+        final Set<String> reserved
     ) {
         this.parent = parent;
         this.variables = variables;
         this.rand = rand;
+        this.reserved = reserved;
     }
 
     @ToString.Include
@@ -119,6 +137,15 @@ public final class Scope {
         this.variables.assign(name);
     }
 
+    /**
+     * Reserve an identifier for the whole program.
+     * @param identifier Identifier.
+     * @return True if the identifier wasn't used before.
+     */
+    boolean reserve(final String identifier) {
+        return this.reserved.add(identifier);
+    }
+
     /**
      * Get a random declared variable.
      * @return Random declared variable.
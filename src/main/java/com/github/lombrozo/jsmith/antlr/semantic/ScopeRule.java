@@ -27,7 +27,6 @@ import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.rules.Rule;
 import com.github.lombrozo.jsmith.antlr.rules.WrongPathException;
 import com.github.lombrozo.jsmith.antlr.view.Node;
-import com.github.lombrozo.jsmith.random.Rand;
 
 /**
  * Scope Rule.
@@ -46,13 +45,11 @@ public final class ScopeRule implements Rule {
     private final Rule origin;
 
     /**
-     * Random generator.
+     * Constructor.
+     * @param origin Origin rule.
      */
-    private final Rand random;
-
-    public ScopeRule(final Rule origin, final Rand random) {
+    public ScopeRule(final Rule origin) {
         this.origin = origin;
-        this.random = random;
     }
 
     @Override
@@ -62,7 +59,7 @@ public final class ScopeRule implements Rule {
 
     @Override
     public Node generate(final Context context) throws WrongPathException {
-        return this.origin.generate(context.withScope(new Scope(context.scope(), this.random)));
+        return this.origin.generate(context.withScope(new Scope(context.scope(), context.rand())));
     }
 
     @Override
@@ -77,6 +74,6 @@ public final class ScopeRule implements Rule {
 
     @Override
     public Rule copy() {
-        return new ScopeRule(this.origin.copy(), this.random);
+        return new ScopeRule(this.origin.copy());
     }
 }
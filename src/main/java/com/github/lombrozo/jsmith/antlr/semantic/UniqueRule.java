@@ -28,11 +28,13 @@ import com.github.lombrozo.jsmith.antlr.rules.Rule;
 import com.github.lombrozo.jsmith.antlr.rules.WrongPathException;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import com.jcabi.log.Logger;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
  * Unique Rule.
+ * The rule never generates reserved words and never repeats identifiers
+ * that were already generated in the same program.
+ * Generated identifiers are kept in the {@link Scope} of the current generation.
  * @since 0.1
  */
 public final class UniqueRule implements Rule {
@@ -48,18 +50,18 @@ public final class UniqueRule implements Rule {
     private final Rule original;
 
     /**
-     * All identifiers.
+     * Reserved words that can't be used as identifiers.
      */
-    private final Set<String> all;
+    private final Set<String> reserved;
 
     /**
      * Constructor.
      * @param original Origin rule.
-     * @param all All identifiers.
+     * @param reserved Reserved words that can't be used as identifiers.
      */
-    public UniqueRule(final Rule original, final Set<String> all) {
+    public UniqueRule(final Rule original, final Set<String> reserved) {
         this.original = original;
-        this.all = all;
+        this.reserved = reserved;
     }
 
     @Override
@@ -70,20 +72,20 @@ public final class UniqueRule implements Rule {
     @Override
     public Node generate(final Context context) throws WrongPathException {
         final Node snippet = this.original.generate(context);
+        final String output = snippet.text().output();
         final Node result;
-        if (this.all.contains(snippet.text().output())) {
+        if (this.reserved.contains(output) || !context.scope().reserve(output)) {
             final Node reattempt = this.generate(context);
             Logger.info(
                 this,
                 String.format(
                     "Collision happened: identifier '%s' was already generated, regenerate it to the '%s'.",
-                    snippet.text().output(),
+                    output,
                     reattempt.text().output()
                 )
             );
             result = reattempt;
         } else {
-            this.all.add(snippet.text().output());
             result = snippet;
         }
         return result;
@@ -101,6 +103,6 @@ public final class UniqueRule implements Rule {
 
     @Override
     public Rule copy() {
-        return new UniqueRule(this.original.copy(), new HashSet<>(0));
+        return new UniqueRule(this.original.copy(), this.reserved);
     }
 }
@@ -74,11 +74,12 @@ public final class VariableTarget implements Rule {
                     .withTarget(declared.get())
             );
         } else {
+            final String where = context.scope().identifier();
             throw new WrongPathException(
-                String.format(
-                    "We can't find any declared variable in the scope '%s'",
-                    context.scope()
-                )
+                () -> String.format(
+                    "We can't find any declared variable in the scope '%s'", where
+                ),
+                !context.retried()
             );
         }
     }
@@ -74,14 +74,7 @@ public final class VariableUsage implements Rule {
         }
         return initialized
             .map(output -> (Node) new TerminalNode(node.text().labels().author(), output))
-            .orElseThrow(
-                () -> new WrongPathException(
-                    String.format(
-                        "We cannot find any initialized variable in the scope '%s'",
-                        context.scope()
-                    )
-                )
-            );
+            .orElseThrow(() -> VariableUsage.missing(context, type));
     }
 
     @Override
@@ -98,4 +91,27 @@ public final class VariableUsage implements Rule {
     public Rule copy() {
         return new VariableUsage(this.origin.copy());
     }
+
+    /**
+     * Failure when there is no initialized variable in the scope.
+     * It captures only what doesn't change after the throw, since the
+     * scope keeps declaring and initializing variables later.
+     * @param context Context of the failure.
+     * @param type Expected type of the variable.
+     * @return Exception to throw.
+     */
+    private static WrongPathException missing(
+        final Context context,
+        final Optional<String> type
+    ) {
+        final String where = context.scope().identifier();
+        return new WrongPathException(
+            () -> String.format(
+                "We cannot find any initialized variable%s in the scope '%s'",
+                type.map(name -> String.format(" of type '%s'", name)).orElse(""),
+                where
+            ),
+            !context.retried()
+        );
+    }
 }
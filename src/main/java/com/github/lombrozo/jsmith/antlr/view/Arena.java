@@ -0,0 +1,478 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr.view;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generated text tree packed into flat arrays.
+ * Each node is an int id, the nodes are numbered in the pre-order, so the
+ * children of a node are the ids right after it, and each node keeps the
+ * id after the last node of its subtree.
+ * The authors, rules and tokens of the nodes are interned names.
+ * The output of all the leaves is kept in one shared buffer, and since
+ * the output of a node is the output of its children, it's always a
+ * contiguous slice of the buffer: from the start of the node to the start
+ * of the next node after its subtree.
+ * So a tree of any size takes several int arrays and one string, instead of
+ * a {@link ComposedText} and {@link Labels} with a map for each node.
+ * Use {@link #text()} to see the tree through the {@link Text} interface,
+ * for example to draw it with {@link DotText}.
+ * @since 0.2
+ */
+public final class Arena {
+
+    /**
+     * Id of a node without a name, or of the parent of the root.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * Number of nodes.
+     */
+    private final int size;
+
+    /**
+     * Parent of each node.
+     */
+    private final int[] parents;
+
+    /**
+     * Id after the last node of the subtree of each node.
+     */
+    private final int[] ends;
+
+    /**
+     * Author of each node.
+     */
+    private final int[] authors;
+
+    /**
+     * Rule of each node, if any.
+     */
+    private final int[] rules;
+
+    /**
+     * Token of each node, if any.
+     */
+    private final int[] tokens;
+
+    /**
+     * Start of the output of each node in the buffer.
+     */
+    private final int[] starts;
+
+    /**
+     * Interned names of authors, rules and tokens.
+     */
+    private final String[] names;
+
+    /**
+     * Output of all the leaves.
+     */
+    private final String chars;
+
+    /**
+     * Constructor.
+     * @param node Generated node.
+     */
+    public Arena(final Node node) {
+        this(Arena.built(node));
+    }
+
+    /**
+     * Constructor.
+     * @param text Generated text.
+     */
+    public Arena(final Text text) {
+        this(new Builder().add(text));
+    }
+
+    /**
+     * Constructor.
+     * @param builder Builder with all the nodes.
+     */
+    private Arena(final Builder builder) {
+        this.size = builder.size;
+        this.parents = Arrays.copyOf(builder.parents, builder.size);
+        this.ends = Arrays.copyOf(builder.ends, builder.size);
+        this.authors = Arrays.copyOf(builder.authors, builder.size);
+        this.rules = Arrays.copyOf(builder.rules, builder.size);
+        this.tokens = Arrays.copyOf(builder.tokens, builder.size);
+        this.starts = Arrays.copyOf(builder.starts, builder.size);
+        this.names = builder.names.toArray(new String[0]);
+        this.chars = builder.chars.toString();
+    }
+
+    /**
+     * Number of nodes in the tree.
+     * @return Number of nodes.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * The tree as a text.
+     * The views of the nodes are created on demand, they don't copy anything.
+     * @return Text of the root node.
+     */
+    public Text text() {
+        return new Element(this, 0);
+    }
+
+    /**
+     * Parent of the node.
+     * @param node Node id.
+     * @return Parent id, or -1 for the root.
+     */
+    public int parent(final int node) {
+        return this.parents[this.valid(node)];
+    }
+
+    /**
+     * Children of the node.
+     * @param node Node id.
+     * @return Ids of the children in their order.
+     */
+    public int[] children(final int node) {
+        final int end = this.ends[this.valid(node)];
+        int count = 0;
+        for (int child = node + 1; child < end; child = this.ends[child]) {
+            ++count;
+        }
+        final int[] res = new int[count];
+        int idx = 0;
+        for (int child = node + 1; child < end; child = this.ends[child]) {
+            res[idx] = child;
+            ++idx;
+        }
+        return res;
+    }
+
+    /**
+     * Output of the node.
+     * @param node Node id.
+     * @return Output.
+     */
+    public String output(final int node) {
+        return this.chars.substring(this.starts[this.valid(node)], this.stop(node));
+    }
+
+    /**
+     * Labels of the node.
+     * @param node Node id.
+     * @return Labels with the author, the rule and the token of the node.
+     */
+    public Labels labels(final int node) {
+        Labels res = new Labels(this.names[this.authors[this.valid(node)]]);
+        if (this.rules[node] != Arena.NONE) {
+            res = res.withRule(this.names[this.rules[node]]);
+        }
+        if (this.tokens[node] != Arena.NONE) {
+            res = res.withToken(this.names[this.tokens[node]]);
+        }
+        return res;
+    }
+
+    /**
+     * Write the output of the node.
+     * @param node Node id.
+     * @param out Where to write the output.
+     * @throws IOException If writing fails.
+     */
+    public void writeTo(final int node, final Appendable out) throws IOException {
+        out.append(this.chars, this.starts[this.valid(node)], this.stop(node));
+    }
+
+    /**
+     * End of the output of the node in the buffer.
+     * @param node Node id.
+     * @return End, exclusive.
+     */
+    private int stop(final int node) {
+        final int next = this.ends[node];
+        final int res;
+        if (next < this.size) {
+            res = this.starts[next];
+        } else {
+            res = this.chars.length();
+        }
+        return res;
+    }
+
+    /**
+     * Check the node id.
+     * @param node Node id.
+     * @return The same id.
+     */
+    private int valid(final int node) {
+        if (node < 0 || node >= this.size) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Node %d doesn't exist, the arena has %d nodes", node, this.size
+                )
+            );
+        }
+        return node;
+    }
+
+    /**
+     * Builder with all the nodes of the generated node.
+     * @param node Generated node.
+     * @return Builder.
+     */
+    private static Builder built(final Node node) {
+        final Builder res = new Builder();
+        node.addTo(res);
+        return res;
+    }
+
+    /**
+     * Nodes of the arena under construction.
+     * Nodes add themselves in the pre-order: an inner node opens itself,
+     * adds its children and closes itself, see {@link Node#addTo(Builder)}.
+     * @since 0.2
+     */
+    public static final class Builder {
+
+        /**
+         * Number of nodes.
+         */
+        private int size;
+
+        /**
+         * Currently open node.
+         */
+        private int current;
+
+        /**
+         * Parent of each node.
+         */
+        private int[] parents;
+
+        /**
+         * Id after the last node of the subtree of each node.
+         */
+        private int[] ends;
+
+        /**
+         * Author of each node.
+         */
+        private int[] authors;
+
+        /**
+         * Rule of each node.
+         */
+        private int[] rules;
+
+        /**
+         * Token of each node.
+         */
+        private int[] tokens;
+
+        /**
+         * Start of the output of each node.
+         */
+        private int[] starts;
+
+        /**
+         * Ids of the interned names.
+         */
+        private final Map<String, Integer> ids;
+
+        /**
+         * Interned names.
+         */
+        private final List<String> names;
+
+        /**
+         * Output of all the leaves.
+         */
+        private final StringBuilder chars;
+
+        /**
+         * Constructor.
+         */
+        Builder() {
+            this.size = 0;
+            this.current = Arena.NONE;
+            this.parents = new int[64];
+            this.ends = new int[64];
+            this.authors = new int[64];
+            this.rules = new int[64];
+            this.tokens = new int[64];
+            this.starts = new int[64];
+            this.ids = new HashMap<>(0);
+            this.names = new ArrayList<>(0);
+            this.chars = new StringBuilder(0);
+        }
+
+        /**
+         * Open an inner node, the next nodes are its children until it's closed.
+         * @param labels Labels of the node.
+         */
+        void open(final Labels labels) {
+            this.current = this.push(labels);
+        }
+
+        /**
+         * Close the currently open node.
+         */
+        void close() {
+            this.ends[this.current] = this.size;
+            this.current = this.parents[this.current];
+        }
+
+        /**
+         * Add the text with all its children.
+         * @param text Text.
+         * @return This builder.
+         */
+        Builder add(final Text text) {
+            final List<Text> children = text.children();
+            if (children.isEmpty()) {
+                final int leaf = this.push(text.labels());
+                this.ends[leaf] = this.size;
+                this.chars.append(text.output());
+            } else {
+                this.open(text.labels());
+                for (final Text child : children) {
+                    this.add(child);
+                }
+                this.close();
+            }
+            return this;
+        }
+
+        /**
+         * Add a node.
+         * @param labels Labels of the node.
+         * @return Id of the node.
+         */
+        private int push(final Labels labels) {
+            if (this.size == this.parents.length) {
+                final int grown = this.size * 2;
+                this.parents = Arrays.copyOf(this.parents, grown);
+                this.ends = Arrays.copyOf(this.ends, grown);
+                this.authors = Arrays.copyOf(this.authors, grown);
+                this.rules = Arrays.copyOf(this.rules, grown);
+                this.tokens = Arrays.copyOf(this.tokens, grown);
+                this.starts = Arrays.copyOf(this.starts, grown);
+            }
+            final int id = this.size;
+            this.parents[id] = this.current;
+            this.authors[id] = this.intern(labels.author());
+            this.rules[id] = this.intern(labels.rule().orElse(null));
+            this.tokens[id] = this.intern(labels.token().orElse(null));
+            this.starts[id] = this.chars.length();
+            this.size += 1;
+            return id;
+        }
+
+        /**
+         * Interned name.
+         * @param name Name or null.
+         * @return Id of the name, or -1 if there is no name.
+         */
+        private int intern(final String name) {
+            final int res;
+            if (name == null) {
+                res = Arena.NONE;
+            } else {
+                res = this.ids.computeIfAbsent(
+                    name,
+                    key -> {
+                        this.names.add(key);
+                        return this.names.size() - 1;
+                    }
+                );
+            }
+            return res;
+        }
+    }
+
+    /**
+     * View of a node of the arena.
+     * @since 0.2
+     */
+    private static final class Element implements Text {
+
+        /**
+         * Arena.
+         */
+        private final Arena arena;
+
+        /**
+         * Node id.
+         */
+        private final int node;
+
+        /**
+         * Constructor.
+         * @param arena Arena.
+         * @param node Node id.
+         */
+        private Element(final Arena arena, final int node) {
+            this.arena = arena;
+            this.node = node;
+        }
+
+        @Override
+        public List<Text> children() {
+            final int[] ids = this.arena.children(this.node);
+            final List<Text> res;
+            if (ids.length == 0) {
+                res = Collections.emptyList();
+            } else {
+                res = new ArrayList<>(ids.length);
+                for (final int id : ids) {
+                    res.add(new Element(this.arena, id));
+                }
+            }
+            return res;
+        }
+
+        @Override
+        public String output() {
+            return this.arena.output(this.node);
+        }
+
+        @Override
+        public void writeTo(final Appendable out) throws IOException {
+            this.arena.writeTo(this.node, out);
+        }
+
+        @Override
+        public Labels labels() {
+            return this.arena.labels(this.node);
+        }
+    }
+}
@@ -24,9 +24,9 @@
 package com.github.lombrozo.jsmith.antlr.view;
 
 import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
@@ -109,9 +109,28 @@ public final class ComposedText implements Text {
 
     @Override
     public String output() {
-        return this.kids.stream()
-            .map(Text::output)
-            .collect(Collectors.joining(this.delimiter));
+        final StringBuilder res = new StringBuilder(0);
+        try {
+            this.writeTo(res);
+        } catch (final IOException exception) {
+            throw new IllegalStateException(
+                "Something went wrong during the text building",
+                exception
+            );
+        }
+        return res.toString();
+    }
+
+    @Override
+    public void writeTo(final Appendable out) throws IOException {
+        boolean first = true;
+        for (final Text kid : this.kids) {
+            if (!first) {
+                out.append(this.delimiter);
+            }
+            kid.writeTo(out);
+            first = false;
+        }
     }
 
     @Override
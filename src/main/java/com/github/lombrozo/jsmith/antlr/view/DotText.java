@@ -23,6 +23,7 @@
  */
 package com.github.lombrozo.jsmith.antlr.view;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -83,6 +84,11 @@ public final class DotText implements Text {
         return this.origin.children();
     }
 
+    @Override
+    public void writeTo(final Appendable out) throws IOException {
+        out.append(this.output());
+    }
+
     @Override
     public String output() {
         final StringBuilder builder = new StringBuilder(
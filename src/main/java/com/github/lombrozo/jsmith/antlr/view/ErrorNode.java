@@ -25,6 +25,7 @@ package com.github.lombrozo.jsmith.antlr.view;
 
 import com.github.lombrozo.jsmith.antlr.Attributes;
 import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 
@@ -80,6 +81,11 @@ public final class ErrorNode implements Node {
         return this.message;
     }
 
+    @Override
+    public void writeTo(final Appendable out) throws IOException {
+        this.message.writeTo(out);
+    }
+
     @Override
     public boolean error() {
         return true;
@@ -121,6 +127,11 @@ public final class ErrorNode implements Node {
             return this.message;
         }
 
+        @Override
+        public void writeTo(final Appendable out) throws IOException {
+            out.append(this.message);
+        }
+
         @Override
         public Labels labels() {
             return new Labels(this.author);
@@ -25,6 +25,7 @@ package com.github.lombrozo.jsmith.antlr.view;
 
 import com.github.lombrozo.jsmith.antlr.Attributes;
 import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -123,6 +124,22 @@ public final class IntermediateNode implements Node {
         );
     }
 
+    @Override
+    public void writeTo(final Appendable out) throws IOException {
+        for (final Node snippet : this.snippets) {
+            snippet.writeTo(out);
+        }
+    }
+
+    @Override
+    public void addTo(final Arena.Builder arena) {
+        arena.open(this.labels);
+        for (final Node snippet : this.snippets) {
+            snippet.addTo(arena);
+        }
+        arena.close();
+    }
+
     @Override
     public boolean error() {
         return this.snippets.stream().anyMatch(Node::error);
@@ -49,6 +49,11 @@ public final class Labels {
      */
     private static final String AUTHOR = "$jsmith-author-label";
 
+    /**
+     * Token label.
+     */
+    private static final String TOKEN = "$jsmith-token-label";
+
     /**
      * Additional custom attributes.
      */
@@ -94,6 +99,15 @@ public final class Labels {
         return Optional.ofNullable(this.properties.get(Labels.RULE));
     }
 
+    /**
+     * Is the text a single token of the lexer?
+     * @return Token name as it's written in the parser grammar,
+     *  like {@code ID} or {@code '+'}.
+     */
+    public Optional<String> token() {
+        return Optional.ofNullable(this.properties.get(Labels.TOKEN));
+    }
+
     /**
      * With additional attribute - rule.
      * @param rule Rule name.
@@ -104,4 +118,15 @@ public final class Labels {
         copy.put(Labels.RULE, rule);
         return new Labels(copy);
     }
+
+    /**
+     * With additional attribute - token.
+     * @param token Token name as it's written in the parser grammar.
+     * @return Labels with the token.
+     */
+    public Labels withToken(final String token) {
+        final Map<String, String> copy = new HashMap<>(this.properties);
+        copy.put(Labels.TOKEN, token);
+        return new Labels(copy);
+    }
 }
@@ -24,6 +24,7 @@
 package com.github.lombrozo.jsmith.antlr.view;
 
 import com.github.lombrozo.jsmith.antlr.Attributes;
+import java.io.IOException;
 
 /**
  * There is a common interface for all outputs of the generation.
@@ -51,6 +52,24 @@ public interface Node {
      */
     Text text();
 
+    /**
+     * Write the generated text.
+     * The same as writing {@link #text()}, but without building the text tree.
+     * @param out Where to write the generated text.
+     * @throws IOException If writing fails.
+     */
+    void writeTo(Appendable out) throws IOException;
+
+    /**
+     * Add the generated text to the arena.
+     * The same as adding {@link #text()}, but nodes that build their text
+     * on demand add themselves without building it.
+     * @param arena Arena under construction.
+     */
+    default void addTo(final Arena.Builder arena) {
+        arena.add(this.text());
+    }
+
     /**
      * Check if the output is an error.
      * @return True if the text has an error.
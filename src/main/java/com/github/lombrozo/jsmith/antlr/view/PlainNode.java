@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr.view;
+
+import com.github.lombrozo.jsmith.antlr.Attributes;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Node of the plain text.
+ * It keeps only the generated characters: no labels, no attributes and no
+ * text tree, so it's the cheapest node to generate when nobody looks at the
+ * tree, see {@link com.github.lombrozo.jsmith.antlr.Context#plain()}.
+ * The text of the node is a single {@link PlainText} with the whole output.
+ * @since 0.2
+ */
+public final class PlainNode implements Node {
+
+    /**
+     * Attributes of all the plain nodes.
+     */
+    private static final Attributes NONE = new Attributes();
+
+    /**
+     * Characters of the leaf.
+     */
+    private final String chars;
+
+    /**
+     * Snippets of the inner node.
+     */
+    private final List<Node> snippets;
+
+    /**
+     * Constructor of a leaf.
+     * @param text Generated characters.
+     */
+    public PlainNode(final String text) {
+        this(text, Collections.emptyList());
+    }
+
+    /**
+     * Constructor of an inner node.
+     * @param snippets Snippets.
+     */
+    public PlainNode(final List<Node> snippets) {
+        this("", snippets);
+    }
+
+    /**
+     * Constructor.
+     * @param text Generated characters.
+     * @param snippets Snippets.
+     */
+    private PlainNode(final String text, final List<Node> snippets) {
+        this.chars = text;
+        this.snippets = snippets;
+    }
+
+    @Override
+    public Attributes attributes() {
+        return PlainNode.NONE;
+    }
+
+    @Override
+    public Node with(final Attributes attributes) {
+        return this;
+    }
+
+    @Override
+    public Text text() {
+        final StringBuilder res = new StringBuilder(0);
+        try {
+            this.writeTo(res);
+        } catch (final IOException exception) {
+            throw new IllegalStateException(
+                "Something went wrong during the plain text building",
+                exception
+            );
+        }
+        return new PlainText(res.toString());
+    }
+
+    @Override
+    public void writeTo(final Appendable out) throws IOException {
+        out.append(this.chars);
+        for (final Node snippet : this.snippets) {
+            snippet.writeTo(out);
+        }
+    }
+
+    @Override
+    public boolean error() {
+        return this.snippets.stream().anyMatch(Node::error);
+    }
+}
@@ -25,6 +25,7 @@ package com.github.lombrozo.jsmith.antlr.view;
 
 import com.github.lombrozo.jsmith.antlr.rules.Empty;
 import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import lombok.EqualsAndHashCode;
@@ -97,6 +98,11 @@ public final class PlainText implements Text {
         return this.original;
     }
 
+    @Override
+    public void writeTo(final Appendable out) throws IOException {
+        out.append(this.original);
+    }
+
     @Override
     public Labels labels() {
         return this.lbls;
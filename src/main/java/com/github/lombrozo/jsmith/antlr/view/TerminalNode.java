@@ -25,6 +25,7 @@ package com.github.lombrozo.jsmith.antlr.view;
 
 import com.github.lombrozo.jsmith.antlr.Attributes;
 import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import java.io.IOException;
 
 /**
  * Leaf snippet that does not contain any other snippets.
@@ -106,6 +107,11 @@ public final class TerminalNode implements Node {
         return this.txt;
     }
 
+    @Override
+    public void writeTo(final Appendable out) throws IOException {
+        this.txt.writeTo(out);
+    }
+
     @Override
     public boolean error() {
         return false;
@@ -23,6 +23,7 @@
  */
 package com.github.lombrozo.jsmith.antlr.view;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -43,6 +44,15 @@ public interface Text {
      */
     String output();
 
+    /**
+     * Write the output of the text.
+     * Unlike {@link #output()}, it doesn't build intermediate strings,
+     * so the whole output is written in linear time.
+     * @param out Where to write the output.
+     * @throws IOException If writing fails.
+     */
+    void writeTo(Appendable out) throws IOException;
+
     /**
      * Text output labels.
      * @return Attributes of the node.
@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr.view;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Text of a single token.
+ * It keeps the text generated by the lexer rule as its only child, so all
+ * the views of the text tree still see how the token was generated, but
+ * the output is built once, when the token is generated.
+ * So writing the whole text or collecting its {@link Tokens} never goes
+ * down to the characters of the tokens.
+ * @since 0.2
+ */
+public final class TokenText implements Text {
+
+    /**
+     * Text generated by the lexer rule.
+     */
+    private final Text origin;
+
+    /**
+     * Output of the token.
+     */
+    private final String chars;
+
+    /**
+     * Labels with the token name, see {@link Labels#token()}.
+     */
+    private final Labels lbls;
+
+    /**
+     * Constructor.
+     * @param origin Text generated by the lexer rule.
+     * @param output Output of the origin text.
+     * @param labels Labels with the token name.
+     */
+    public TokenText(final Text origin, final String output, final Labels labels) {
+        this.origin = origin;
+        this.chars = output;
+        this.lbls = labels;
+    }
+
+    @Override
+    public List<Text> children() {
+        return Collections.singletonList(this.origin);
+    }
+
+    @Override
+    public String output() {
+        return this.chars;
+    }
+
+    @Override
+    public void writeTo(final Appendable out) throws IOException {
+        out.append(this.chars);
+    }
+
+    @Override
+    public Labels labels() {
+        return this.lbls;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr.view;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.Vocabulary;
+
+/**
+ * Token types of a lexer.
+ * A token is referenced in a parser grammar either by its symbolic name,
+ * like {@code ID}, or by its literal, like {@code '+'}, so both of them
+ * are resolved against the vocabulary of the lexer.
+ * @since 0.2
+ */
+public final class TokenTypes {
+
+    /**
+     * Token types by their names.
+     */
+    private final Map<String, Integer> types;
+
+    /**
+     * Constructor.
+     * @param vocabulary Vocabulary of the lexer.
+     */
+    public TokenTypes(final Vocabulary vocabulary) {
+        this(TokenTypes.index(vocabulary));
+    }
+
+    /**
+     * Constructor.
+     * @param types Token types by their names.
+     */
+    private TokenTypes(final Map<String, Integer> types) {
+        this.types = types;
+    }
+
+    /**
+     * Type of the token.
+     * @param name Token name as it's written in the parser grammar.
+     * @return Token type or {@link Token#INVALID_TYPE} if the lexer doesn't have it.
+     */
+    public int type(final String name) {
+        return this.types.getOrDefault(name, Token.INVALID_TYPE);
+    }
+
+    /**
+     * Index the vocabulary.
+     * @param vocabulary Vocabulary of the lexer.
+     * @return Token types by their symbolic names and literals.
+     */
+    private static Map<String, Integer> index(final Vocabulary vocabulary) {
+        final int max = vocabulary.getMaxTokenType();
+        final Map<String, Integer> res = new HashMap<>(max * 4);
+        for (int type = 1; type <= max; ++type) {
+            final String symbolic = vocabulary.getSymbolicName(type);
+            if (symbolic != null) {
+                res.putIfAbsent(symbolic, type);
+            }
+            final String literal = vocabulary.getLiteralName(type);
+            if (literal != null) {
+                res.putIfAbsent(literal, type);
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.misc.Pair;
+
+/**
+ * Tokens of the generated text.
+ * The generator knows which terminal of the parser grammar produced each
+ * token, see {@link TokenText} and {@link Labels#token()}, so the text doesn't need to be lexed
+ * again before parsing: the tokens might go straight to a parser through
+ * {@link org.antlr.v4.runtime.ListTokenSource}.
+ * Parsing the tokens, not the text, also shows whether the parser and the
+ * lexer agree: if the tokens are parsed, but the text is not, the lexer
+ * splits the text into other tokens than the generator produced.
+ * The text that isn't labeled as a token, for example, the variable names
+ * chosen by the semantic rules, or a token the lexer doesn't know,
+ * is lexed by the lexer as usual.
+ * @since 0.2
+ */
+public final class Tokens {
+
+    /**
+     * Generated text.
+     */
+    private final Text text;
+
+    /**
+     * Constructor.
+     * @param text Generated text.
+     */
+    public Tokens(final Text text) {
+        this.text = text;
+    }
+
+    /**
+     * Tokens resolved against the vocabulary of the lexer.
+     * @param lexer Lexer of the grammar.
+     * @return Tokens without the end of file.
+     */
+    public List<Token> list(final Lexer lexer) {
+        return this.list(new TokenTypes(lexer.getVocabulary()), lexer);
+    }
+
+    /**
+     * Tokens resolved against the token types.
+     * @param types Token types of the lexer.
+     * @param lexer Lexer for the text that isn't labeled as a token.
+     * @return Tokens without the end of file.
+     */
+    public List<Token> list(final TokenTypes types, final Lexer lexer) {
+        final Walk walk = new Walk(types, lexer);
+        walk.visit(this.text);
+        walk.flush();
+        return walk.tokens;
+    }
+
+    /**
+     * Walk over the text tree.
+     * It keeps the position of the next token, so the parser reports
+     * the errors at the same lines and columns as for the text.
+     * @since 0.2
+     */
+    private static final class Walk {
+
+        /**
+         * Token types.
+         */
+        private final TokenTypes types;
+
+        /**
+         * Lexer for the text that isn't labeled as a token.
+         */
+        private final Lexer lexer;
+
+        /**
+         * Source of the generated tokens.
+         * The parser needs it to conjure up missing tokens while it recovers.
+         */
+        private final Pair<TokenSource, CharStream> source;
+
+        /**
+         * Collected tokens.
+         */
+        private final List<Token> tokens;
+
+        /**
+         * Text that isn't labeled as a token yet.
+         */
+        private final StringBuilder pending;
+
+        /**
+         * Line of the next token, starting from 1.
+         */
+        private int line;
+
+        /**
+         * Column of the next token, starting from 0.
+         */
+        private int column;
+
+        /**
+         * Constructor.
+         * @param types Token types.
+         * @param lexer Lexer for the text that isn't labeled as a token.
+         */
+        Walk(final TokenTypes types, final Lexer lexer) {
+            this.types = types;
+            this.lexer = lexer;
+            this.source = new Pair<>(lexer, null);
+            this.tokens = new ArrayList<>(64);
+            this.pending = new StringBuilder(0);
+            this.line = 1;
+            this.column = 0;
+        }
+
+        /**
+         * Visit the text and all its children.
+         * Only {@link TokenText} might be a token, so the labels of the
+         * other texts are never looked up: there are much more of them.
+         * @param current Text.
+         */
+        void visit(final Text current) {
+            final Optional<String> name;
+            if (current instanceof TokenText) {
+                name = current.labels().token();
+            } else {
+                name = Optional.empty();
+            }
+            if (name.isPresent()) {
+                final String output = current.output();
+                final int type = this.types.type(name.get());
+                if (type == Token.INVALID_TYPE) {
+                    this.pending.append(output);
+                } else {
+                    this.flush();
+                    final CommonToken token = new CommonToken(
+                        this.source, type, Token.DEFAULT_CHANNEL, -1, -1
+                    );
+                    token.setText(output);
+                    token.setLine(this.line);
+                    token.setCharPositionInLine(this.column);
+                    this.tokens.add(token);
+                    this.move(output);
+                }
+            } else {
+                final List<Text> children = current.children();
+                if (children.isEmpty()) {
+                    this.pending.append(current.output());
+                } else {
+                    for (final Text child : children) {
+                        this.visit(child);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Lex the pending text.
+         */
+        void flush() {
+            if (this.pending.length() > 0) {
+                final String rest = this.pending.toString();
+                this.pending.setLength(0);
+                this.lexer.setInputStream(CharStreams.fromString(rest));
+                for (final Token lexed : this.lexer.getAllTokens()) {
+                    final CommonToken token = new CommonToken(lexed);
+                    if (lexed.getLine() == 1) {
+                        token.setCharPositionInLine(
+                            this.column + lexed.getCharPositionInLine()
+                        );
+                    }
+                    token.setLine(this.line + lexed.getLine() - 1);
+                    this.tokens.add(token);
+                }
+                this.move(rest);
+            }
+        }
+
+        /**
+         * Move the position over the text.
+         * @param output Text.
+         */
+        private void move(final String output) {
+            final int size = output.length();
+            for (int idx = 0; idx < size; ++idx) {
+                if (output.charAt(idx) == '\n') {
+                    this.line += 1;
+                    this.column = 0;
+                } else {
+                    this.column += 1;
+                }
+            }
+        }
+    }
+}
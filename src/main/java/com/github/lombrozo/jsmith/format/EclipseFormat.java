@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.format;
+
+import com.github.lombrozo.jsmith.antlr.view.Text;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.formatter.CodeFormatter;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * Format of Java code with the Eclipse code formatter.
+ * Creation of the formatter costs more than formatting of a small class,
+ * so each thread creates its formatter once and then reuses it.
+ * @since 0.2
+ */
+public final class EclipseFormat implements Format {
+
+    /**
+     * Formatter options, the Eclipse defaults.
+     */
+    private static final Map<String, String> OPTIONS =
+        Collections.unmodifiableMap(new HashMap<>(0));
+
+    /**
+     * Formatters of the threads.
+     * {@link CodeFormatter} is not thread-safe, so it can't be shared.
+     */
+    private static final ThreadLocal<CodeFormatter> FORMATTERS = ThreadLocal.withInitial(
+        () -> ToolFactory.createCodeFormatter(EclipseFormat.OPTIONS)
+    );
+
+    @Override
+    public String apply(final Text text) {
+        final String output = text.output();
+        final TextEdit edit = EclipseFormat.FORMATTERS.get().format(
+            CodeFormatter.K_COMPILATION_UNIT,
+            output,
+            0,
+            output.length(),
+            0,
+            System.lineSeparator()
+        );
+        final String result;
+        if (edit == null) {
+            result = output;
+        } else {
+            final IDocument document = new Document(output);
+            try {
+                edit.apply(document);
+            } catch (final BadLocationException exception) {
+                throw new IllegalStateException(
+                    String.format("Failed to format source code %n%s%n", output), exception
+                );
+            }
+            result = document.get();
+        }
+        return result;
+    }
+
+    @Override
+    public boolean tree() {
+        return false;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.format;
+
+import com.github.lombrozo.jsmith.antlr.view.Text;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Format that indents the generated text.
+ * It doesn't parse the code, it relies on the rule labels of the text tree instead:
+ * everything generated by a block rule is indented one level deeper, except the closing brace.
+ * Line breaks are taken from the text itself, so the grammar decides where the lines end.
+ * Much cheaper than {@link EclipseFormat}, though it doesn't change anything but indentation.
+ * @since 0.2
+ */
+public final class IndentFormat implements Format {
+
+    /**
+     * Block rules of the Java grammar.
+     */
+    private static final List<String> JAVA = Arrays.asList(
+        "classBody", "interfaceBody", "methodBlock"
+    );
+
+    /**
+     * Names of the rules that open a block.
+     */
+    private final Set<String> blocks;
+
+    /**
+     * Indentation of a single level.
+     */
+    private final String indent;
+
+    /**
+     * Default constructor.
+     * Indents the blocks of the Java grammar by four spaces.
+     */
+    public IndentFormat() {
+        this(IndentFormat.JAVA, "    ");
+    }
+
+    /**
+     * Constructor.
+     * @param blocks Names of the rules that open a block.
+     * @param indent Indentation of a single level.
+     */
+    public IndentFormat(final Collection<String> blocks, final String indent) {
+        this.blocks = new HashSet<>(blocks);
+        this.indent = indent;
+    }
+
+    @Override
+    public String apply(final Text text) {
+        final Lines lines = new Lines(this.indent);
+        this.write(text, 0, lines);
+        return lines.toString();
+    }
+
+    @Override
+    public boolean tree() {
+        return true;
+    }
+
+    /**
+     * Write the text with all its children.
+     * @param text Text to write.
+     * @param depth Depth of the text.
+     * @param lines Where to write.
+     */
+    private void write(final Text text, final int depth, final Lines lines) {
+        final List<Text> children = text.children();
+        if (children.isEmpty()) {
+            lines.append(text.output(), depth);
+        } else {
+            final int next;
+            if (text.labels().rule().filter(this.blocks::contains).isPresent()) {
+                next = depth + 1;
+            } else {
+                next = depth;
+            }
+            for (final Text child : children) {
+                this.write(child, next, lines);
+            }
+        }
+    }
+
+    /**
+     * Indented lines.
+     * @since 0.2
+     */
+    private static final class Lines {
+
+        /**
+         * Indentation of a single level.
+         */
+        private final String indent;
+
+        /**
+         * Output.
+         */
+        private final StringBuilder out;
+
+        /**
+         * Is the output at the beginning of a line?
+         */
+        private boolean start;
+
+        /**
+         * Constructor.
+         * @param indent Indentation of a single level.
+         */
+        Lines(final String indent) {
+            this.indent = indent;
+            this.out = new StringBuilder(0);
+            this.start = true;
+        }
+
+        /**
+         * Append a piece of text.
+         * Indentation is written lazily, right before the first visible
+         * character of a line, so empty lines stay empty.
+         * @param text Text to append.
+         * @param depth Depth of the text.
+         */
+        void append(final String text, final int depth) {
+            final int length = text.length();
+            for (int idx = 0; idx < length; ++idx) {
+                final char chr = text.charAt(idx);
+                if (chr == '\n') {
+                    this.out.append(chr);
+                    this.start = true;
+                } else if (!this.start) {
+                    this.out.append(chr);
+                } else if (chr != ' ') {
+                    int level = depth;
+                    if (chr == '}' && level > 0) {
+                        level -= 1;
+                    }
+                    for (int step = 0; step < level; ++step) {
+                        this.out.append(this.indent);
+                    }
+                    this.out.append(chr);
+                    this.start = false;
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return this.out.toString();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of fingerprints.
+ * The bit positions are derived from the two halves of the fingerprint
+ * by double hashing, so no more hashing is needed.
+ * The bits are set by compare-and-swap, so the filter might be shared
+ * by many threads without any locks.
+ * @since 0.2
+ */
+final class BloomFilter {
+
+    /**
+     * Number of bits in a word of the bitmap.
+     */
+    private static final int WORD = 64;
+
+    /**
+     * Bitmap.
+     */
+    private final AtomicLongArray bits;
+
+    /**
+     * Number of bits set for each fingerprint.
+     */
+    private final int hashes;
+
+    /**
+     * Constructor.
+     * @param size Number of bits, rounded up to a power of two.
+     * @param hashes Number of bits set for each fingerprint.
+     */
+    BloomFilter(final long size, final int hashes) {
+        if (size < 1L || size > 1L << 36) {
+            throw new IllegalArgumentException(
+                String.format("Bloom filter size must be in [1, 2^36] bits, but was %d", size)
+            );
+        }
+        if (hashes < 1) {
+            throw new IllegalArgumentException(
+                String.format("Number of hashes must be positive, but was %d", hashes)
+            );
+        }
+        final long words = Math.max(
+            1L, Long.highestOneBit(size * 2L - 1L) / BloomFilter.WORD
+        );
+        this.bits = new AtomicLongArray((int) words);
+        this.hashes = hashes;
+    }
+
+    /**
+     * Whether the fingerprint might have been added.
+     * @param print Fingerprint.
+     * @return False if it was never added, true if it probably was.
+     */
+    boolean mightContain(final Fingerprint print) {
+        boolean res = true;
+        for (int idx = 0; idx < this.hashes && res; ++idx) {
+            final long bit = this.bit(print, idx);
+            res = (this.bits.get((int) (bit / BloomFilter.WORD)) & 1L << bit) != 0L;
+        }
+        return res;
+    }
+
+    /**
+     * Add the fingerprint.
+     * @param print Fingerprint.
+     * @return True if it was never added before, false if it probably was.
+     */
+    boolean put(final Fingerprint print) {
+        boolean res = false;
+        for (int idx = 0; idx < this.hashes; ++idx) {
+            final long bit = this.bit(print, idx);
+            final int word = (int) (bit / BloomFilter.WORD);
+            final long mask = 1L << bit;
+            long current = this.bits.get(word);
+            while ((current & mask) == 0L) {
+                if (this.bits.compareAndSet(word, current, current | mask)) {
+                    res = true;
+                    break;
+                }
+                current = this.bits.get(word);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Bit position of the fingerprint for the given hash function.
+     * @param print Fingerprint.
+     * @param index Index of the hash function.
+     * @return Bit position.
+     */
+    private long bit(final Fingerprint print, final int index) {
+        return print.first() + index * (print.second() | 1L)
+            & (long) this.bits.length() * BloomFilter.WORD - 1L;
+    }
+}
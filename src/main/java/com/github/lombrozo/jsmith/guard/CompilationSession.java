@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.Unchecked;
+
+/**
+ * Compilation session for long compilation campaigns.
+ * Each compiled class keeps its class loader, and the class loader keeps
+ * the bytecode of the classes that aren't loaded yet. The session tracks all
+ * the class loaders of the classes it compiles and releases them explicitly,
+ * so they hold no bytecode and can be unloaded as soon as the classes
+ * aren't used anymore. The class loaders are tracked weakly, so a session
+ * never keeps a class that nobody else uses, even without a budget.
+ * If the used metaspace exceeds the budget of the session, the session
+ * releases all the class loaders and asks the JVM to collect them.
+ * The classes compiled before the release can't load their nested classes
+ * that weren't loaded yet.
+ * @since 0.2
+ */
+public final class CompilationSession implements AutoCloseable {
+
+    /**
+     * Name of the metaspace memory pool.
+     */
+    private static final String METASPACE = "Metaspace";
+
+    /**
+     * Compiler.
+     */
+    private final InMemoryCompiler compiler;
+
+    /**
+     * Metaspace budget in bytes.
+     */
+    private final long budget;
+
+    /**
+     * Used metaspace in bytes.
+     */
+    private final Unchecked<Long> metaspace;
+
+    /**
+     * Class loaders of the compiled classes that aren't released yet.
+     * Guarded by itself.
+     */
+    private final Set<ClassLoader> loaders;
+
+    /**
+     * Used metaspace that triggers recycling, in bytes.
+     */
+    private final AtomicLong threshold;
+
+    /**
+     * Number of recyclings.
+     */
+    private final AtomicLong recycled;
+
+    /**
+     * Constructor without a metaspace budget.
+     */
+    public CompilationSession() {
+        this(Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructor.
+     * @param budget Metaspace budget in bytes.
+     */
+    public CompilationSession(final long budget) {
+        this(new InMemoryCompiler(), budget, CompilationSession::used);
+    }
+
+    /**
+     * Constructor.
+     * @param compiler Compiler.
+     * @param budget Metaspace budget in bytes.
+     * @param metaspace Used metaspace in bytes.
+     */
+    CompilationSession(
+        final InMemoryCompiler compiler,
+        final long budget,
+        final Scalar<Long> metaspace
+    ) {
+        this.compiler = compiler;
+        this.budget = budget;
+        this.metaspace = new Unchecked<>(metaspace);
+        this.loaders = Collections.newSetFromMap(new WeakHashMap<>());
+        this.threshold = new AtomicLong(budget);
+        this.recycled = new AtomicLong();
+    }
+
+    /**
+     * Compile source code.
+     * @param src Source code.
+     * @return Compiled class.
+     */
+    public Class<?> compile(final String src) {
+        final Class<?> res = this.compiler.compile(src);
+        synchronized (this.loaders) {
+            this.loaders.add(res.getClassLoader());
+        }
+        this.recycle();
+        return res;
+    }
+
+    /**
+     * Compile many sources in one javac task.
+     * See {@link InMemoryCompiler#compileAll(List)}.
+     * @param sources Source codes, each with one top-level class.
+     * @return Compilation results in the order of the sources.
+     */
+    public List<Compiled> compileAll(final List<String> sources) {
+        final List<Compiled> res = this.compiler.compileAll(sources);
+        synchronized (this.loaders) {
+            for (final Compiled compiled : res) {
+                if (compiled.successful()) {
+                    this.loaders.add(compiled.type().getClassLoader());
+                }
+            }
+        }
+        this.recycle();
+        return res;
+    }
+
+    /**
+     * Release all the class loaders of the compiled classes.
+     */
+    public void release() {
+        final List<ClassLoader> released;
+        synchronized (this.loaders) {
+            released = new ArrayList<>(this.loaders);
+            this.loaders.clear();
+        }
+        for (final ClassLoader loader : released) {
+            ((MemoryClassLoader) loader).release();
+        }
+    }
+
+    /**
+     * Number of recyclings caused by the metaspace budget.
+     * @return Number of recyclings.
+     */
+    public long recycles() {
+        return this.recycled.get();
+    }
+
+    @Override
+    public void close() {
+        this.release();
+    }
+
+    /**
+     * Release the class loaders and collect them if the metaspace budget is exceeded.
+     * If the metaspace is still over the budget after the collection,
+     * the classes are held somewhere else, so the threshold is raised
+     * to avoid collections after each compilation.
+     */
+    @SuppressWarnings("PMD.DoNotCallGarbageCollectionExplicitly")
+    private void recycle() {
+        if (this.metaspace.value() > this.threshold.get()) {
+            synchronized (this.recycled) {
+                if (this.metaspace.value() > this.threshold.get()) {
+                    this.release();
+                    System.gc();
+                    this.threshold.set(
+                        Math.max(this.budget, this.metaspace.value() + this.budget / 4L)
+                    );
+                    this.recycled.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Used metaspace of the JVM.
+     * @return Used metaspace in bytes, zero if the JVM has no metaspace pool.
+     */
+    private static long used() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> CompilationSession.METASPACE.equals(pool.getName()))
+            .map(MemoryPoolMXBean::getUsage)
+            .mapToLong(MemoryUsage::getUsed)
+            .sum();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Result of compilation of one source in a batch.
+ * See {@link InMemoryCompiler#compileAll(List)}.
+ * @since 0.2
+ */
+public final class Compiled {
+
+    /**
+     * Source code.
+     */
+    private final String src;
+
+    /**
+     * Compiled class, empty if the source is broken.
+     */
+    private final Optional<Class<?>> clazz;
+
+    /**
+     * Compilation errors of the source.
+     */
+    private final List<String> messages;
+
+    /**
+     * Constructor of a compiled source.
+     * @param src Source code.
+     * @param clazz Compiled class.
+     */
+    Compiled(final String src, final Class<?> clazz) {
+        this(src, Optional.of(clazz), Collections.emptyList());
+    }
+
+    /**
+     * Constructor of a broken source.
+     * @param src Source code.
+     * @param errors Compilation errors of the source.
+     */
+    Compiled(final String src, final List<String> errors) {
+        this(src, Optional.empty(), Collections.unmodifiableList(errors));
+    }
+
+    /**
+     * Constructor.
+     * @param src Source code.
+     * @param clazz Compiled class, empty if the source is broken.
+     * @param errors Compilation errors of the source.
+     */
+    private Compiled(
+        final String src,
+        final Optional<Class<?>> clazz,
+        final List<String> errors
+    ) {
+        this.src = src;
+        this.clazz = clazz;
+        this.messages = errors;
+    }
+
+    /**
+     * Source code.
+     * @return Source code.
+     */
+    public String source() {
+        return this.src;
+    }
+
+    /**
+     * Whether the source is compiled.
+     * @return True if the source is compiled without errors.
+     */
+    public boolean successful() {
+        return this.clazz.isPresent();
+    }
+
+    /**
+     * Compiled class.
+     * @return Class.
+     * @throws IllegalStateException If the source is broken.
+     */
+    public Class<?> type() {
+        return this.clazz.orElseThrow(
+            () -> new IllegalStateException(
+                String.format(
+                    "Compilation failed with errors %s for source:%n%s",
+                    this.messages,
+                    this.src
+                )
+            )
+        );
+    }
+
+    /**
+     * Compilation errors of the source.
+     * @return Errors, empty if the source is compiled.
+     */
+    public List<String> errors() {
+        return this.messages;
+    }
+}
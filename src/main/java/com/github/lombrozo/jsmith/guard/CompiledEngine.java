@@ -0,0 +1,467 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.antlr.v4.Tool;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.cactoos.Input;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.Sticky;
+import org.cactoos.scalar.Synced;
+import org.cactoos.scalar.Unchecked;
+import org.cactoos.text.TextOf;
+import org.cactoos.text.UncheckedText;
+
+/**
+ * Engine with generated and compiled lexer and parser.
+ * It generates default ANTLR lexer and parser, compiles them and then
+ * uses them through reflection. Supports any grammar ANTLR can generate
+ * Java code for, embedded actions included.
+ * Compiled classes are kept in a {@link ParserCache}, so the engines
+ * for the same grammars skip code generation and compilation next time.
+ * @since 0.2
+ * @checkstyle IllegalCatchCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public final class CompiledEngine implements Engine {
+
+    /**
+     * Lexer and parser of the current thread.
+     * The compiled classes behind them are created only once and then cached.
+     */
+    private final ThreadLocal<Reusable> reusable;
+
+    /**
+     * Constructor.
+     * @param temp Temporary directory.
+     * @param grammars ANTLR grammar input.
+     */
+    public CompiledEngine(final Path temp, final Input... grammars) {
+        this(new ParserCache(), temp, grammars);
+    }
+
+    /**
+     * Constructor.
+     * @param cache Cache of compiled lexers and parsers.
+     * @param temp Temporary directory.
+     * @param grammars ANTLR grammar input.
+     */
+    public CompiledEngine(final ParserCache cache, final Path temp, final Input... grammars) {
+        this(
+            cache,
+            temp,
+            Arrays.stream(grammars)
+                .map(TextOf::new)
+                .map(UncheckedText::new)
+                .map(UncheckedText::asString)
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param cache Cache of compiled lexers and parsers.
+     * @param temp Temporary directory.
+     * @param grammars ANTLR grammar texts.
+     */
+    CompiledEngine(final ParserCache cache, final Path temp, final List<String> grammars) {
+        this(CompiledEngine.prestructor(cache, temp, grammars));
+    }
+
+    /**
+     * Constructor.
+     * @param recognizers Lexer and parser of the compiled classes.
+     */
+    private CompiledEngine(final Scalar<Recognizers> recognizers) {
+        this.reusable = ThreadLocal.withInitial(
+            () -> new Reusable(new Unchecked<>(recognizers).value())
+        );
+    }
+
+    /**
+     * Lexer of the current thread, reset to the code.
+     * @param code Code to parse.
+     * @return Lexer instance.
+     */
+    @Override
+    public Lexer lexer(final String code) {
+        final Lexer lexer = this.reusable.get().lexer;
+        lexer.setInputStream(CharStreams.fromString(code));
+        return lexer;
+    }
+
+    /**
+     * Parser of the current thread, reset to the tokens.
+     * The token stream is reused too, so its buffer doesn't grow for each program.
+     * @param tokens Tokens of the code.
+     * @return Parser instance.
+     */
+    @Override
+    public Parser parser(final TokenSource tokens) {
+        final Reusable current = this.reusable.get();
+        current.tokens.setTokenSource(tokens);
+        current.parser.setTokenStream(current.tokens);
+        return current.parser;
+    }
+
+    @Override
+    public void parse(final Parser parser, final String top) {
+        this.reusable.get().recognizers.parse(parser, top);
+    }
+
+    /**
+     * Prepare compiled classes.
+     * @param cache Cache of compiled lexers and parsers.
+     * @param temp Temporary directory where to store generated classes.
+     * @param grammars ANTLR grammar texts.
+     * @return Lexer and parser of the compiled classes.
+     * @todo #89:30min This method is overcomplicated because it uses ANTLR Tool.
+     *  The Tool can only create Parser and Lexer classes as Java files on the disk.
+     *  If it is possible to create Parser and Lexer classes in memory, we should do it.
+     *  But for now, it's not possible, so we need to save generated classes to the disk.
+     */
+    private static Scalar<Recognizers> prestructor(
+        final ParserCache cache,
+        final Path temp,
+        final List<String> grammars
+    ) {
+        return new Synced<>(
+            new Sticky<>(
+                () -> new Recognizers(
+                    CompiledEngine.load(
+                        cache.bytecode(
+                            grammars,
+                            () -> {
+                                final Tool tool = new Tool(
+                                    grammars.stream()
+                                        .map(grammar -> CompiledEngine.save(grammar, temp))
+                                        .toArray(String[]::new)
+                                );
+                                tool.processGrammarsOnCommandLine();
+                                if (tool.getNumErrors() > 0) {
+                                    throw new IllegalStateException(
+                                        String.format(
+                                            "ANTLR failed to generate lexer and parser in '%s' with %d errors",
+                                            temp,
+                                            tool.getNumErrors()
+                                        )
+                                    );
+                                }
+                                return new InMemoryCompiler().bytecode(
+                                    Files.list(temp)
+                                        .filter(Files::isRegularFile)
+                                        .filter(
+                                            java -> java.getFileName().toString().endsWith(".java")
+                                        )
+                                        .toArray(Path[]::new)
+                                );
+                            }
+                        )
+                    )
+                )
+            )
+        );
+    }
+
+    /**
+     * Load top-level classes.
+     * @param bytecode Bytecode of all the classes by binary names.
+     * @return Loaded top-level classes.
+     * @throws ClassNotFoundException If a class can't be loaded.
+     */
+    private static List<Class<?>> load(
+        final Map<String, byte[]> bytecode
+    ) throws ClassNotFoundException {
+        final ClassLoader loader = new MemoryClassLoader(bytecode);
+        final List<Class<?>> res = new ArrayList<>(0);
+        for (final String name : bytecode.keySet()) {
+            if (name.indexOf('$') < 0) {
+                res.add(loader.loadClass(name));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Save grammar to the file.
+     * @param grammar Grammar text.
+     * @param where Where to save.
+     * @return Path to the saved grammar.
+     */
+    private static String save(final String grammar, final Path where) {
+        try {
+            return Files.write(
+                where.resolve(String.format("%s.g4", CompiledEngine.grammarName(grammar))),
+                grammar.getBytes(StandardCharsets.UTF_8)
+            ).toString();
+        } catch (final IOException exception) {
+            throw new IllegalStateException(
+                "Something went wrong during grammar saving",
+                exception
+            );
+        }
+    }
+
+    /**
+     * Get grammar name.
+     * @param grammar Grammar text.
+     * @return Grammar name.
+     */
+    private static String grammarName(final String grammar) {
+        final Matcher matcher = Pattern.compile("grammar\\s+(\\w+);").matcher(grammar);
+        if (matcher.find()) {
+            return matcher.group(1);
+        } else {
+            throw new IllegalStateException("Grammar name not found");
+        }
+    }
+
+    /**
+     * Lexer and parser of the compiled classes.
+     * Constructors and start rules are resolved into method handles only once.
+     * @since 0.2
+     */
+    private static final class Recognizers {
+
+        /**
+         * Parser class.
+         */
+        private final Class<?> clazz;
+
+        /**
+         * Lexer constructor.
+         */
+        private final MethodHandle lexing;
+
+        /**
+         * Parser constructor.
+         */
+        private final MethodHandle parsing;
+
+        /**
+         * Start rules by their names.
+         */
+        private final Map<String, MethodHandle> rules;
+
+        /**
+         * Constructor.
+         * @param classes Compiled top-level classes.
+         * @throws ReflectiveOperationException If constructors can't be found.
+         */
+        Recognizers(final List<Class<?>> classes) throws ReflectiveOperationException {
+            this(
+                Recognizers.find(classes, "Lexer"),
+                Recognizers.find(classes, "Parser")
+            );
+        }
+
+        /**
+         * Constructor.
+         * @param lexer Lexer class.
+         * @param parser Parser class.
+         * @throws ReflectiveOperationException If constructors can't be found.
+         */
+        private Recognizers(
+            final Class<?> lexer,
+            final Class<?> parser
+        ) throws ReflectiveOperationException {
+            this.clazz = parser;
+            this.lexing = MethodHandles.publicLookup().findConstructor(
+                lexer, MethodType.methodType(void.class, CharStream.class)
+            ).asType(MethodType.methodType(Lexer.class, CharStream.class));
+            this.parsing = MethodHandles.publicLookup().findConstructor(
+                parser, MethodType.methodType(void.class, TokenStream.class)
+            ).asType(MethodType.methodType(Parser.class, TokenStream.class));
+            this.rules = new ConcurrentHashMap<>(0);
+        }
+
+        /**
+         * Create lexer.
+         * @return Lexer of empty code.
+         */
+        Lexer lexer() {
+            try {
+                return (Lexer) this.lexing.invokeExact((CharStream) CharStreams.fromString(""));
+            } catch (final Throwable exception) {
+                throw new IllegalStateException(
+                    "Something went wrong during lexer creation",
+                    exception
+                );
+            }
+        }
+
+        /**
+         * Create parser.
+         * Parse trees are not needed for verification, so the parser doesn't build them.
+         * @param tokens Tokens.
+         * @return Parser of the tokens.
+         */
+        Parser parser(final TokenStream tokens) {
+            try {
+                final Parser parser = (Parser) this.parsing.invokeExact(tokens);
+                parser.setBuildParseTree(false);
+                return parser;
+            } catch (final Throwable exception) {
+                throw new IllegalStateException(
+                    "Something went wrong during parser creation",
+                    exception
+                );
+            }
+        }
+
+        /**
+         * Parse the code by using top rule.
+         * @param parser Parser instance.
+         * @param top Top rule name.
+         */
+        void parse(final Parser parser, final String top) {
+            try {
+                this.rules.computeIfAbsent(top, this::rule).invokeExact(parser);
+            } catch (final ParseCancellationException exception) {
+                throw exception;
+            } catch (final Throwable exception) {
+                throw new IllegalStateException(
+                    "Something went wrong during parsing",
+                    exception
+                );
+            }
+        }
+
+        /**
+         * Resolve the start rule.
+         * @param top Top rule name.
+         * @return Method handle of the rule.
+         */
+        private MethodHandle rule(final String top) {
+            try {
+                return MethodHandles.publicLookup()
+                    .unreflect(this.clazz.getMethod(top))
+                    .asType(MethodType.methodType(void.class, Parser.class));
+            } catch (final ReflectiveOperationException exception) {
+                throw new IllegalStateException(
+                    String.format("Rule '%s' not found", top),
+                    exception
+                );
+            }
+        }
+
+        /**
+         * Find class by suffix.
+         * @param classes Classes.
+         * @param suffix Suffix.
+         * @return Class.
+         */
+        private static Class<?> find(final List<Class<?>> classes, final String suffix) {
+            return classes.stream()
+                .filter(clazz -> clazz.getName().endsWith(suffix))
+                .findFirst()
+                .orElseThrow();
+        }
+    }
+
+    /**
+     * Lexer and parser of a single thread.
+     * They are not thread-safe, so each thread creates them once
+     * and then resets them for every program.
+     * @since 0.2
+     */
+    private static final class Reusable {
+
+        /**
+         * Lexer and parser of the compiled classes.
+         */
+        private final Recognizers recognizers;
+
+        /**
+         * Lexer.
+         */
+        private final Lexer lexer;
+
+        /**
+         * Tokens of the lexer.
+         */
+        private final CommonTokenStream tokens;
+
+        /**
+         * Parser.
+         */
+        private final Parser parser;
+
+        /**
+         * Constructor.
+         * @param recognizers Lexer and parser of the compiled classes.
+         */
+        Reusable(final Recognizers recognizers) {
+            this(recognizers, recognizers.lexer());
+        }
+
+        /**
+         * Constructor.
+         * @param recognizers Lexer and parser of the compiled classes.
+         * @param lexer Lexer.
+         */
+        private Reusable(final Recognizers recognizers, final Lexer lexer) {
+            this(recognizers, lexer, new CommonTokenStream(lexer));
+        }
+
+        /**
+         * Constructor.
+         * @param recognizers Lexer and parser of the compiled classes.
+         * @param lexer Lexer.
+         * @param tokens Tokens of the lexer.
+         */
+        private Reusable(
+            final Recognizers recognizers,
+            final Lexer lexer,
+            final CommonTokenStream tokens
+        ) {
+            this.recognizers = recognizers;
+            this.lexer = lexer;
+            this.tokens = tokens;
+            this.parser = recognizers.parser(tokens);
+        }
+    }
+}
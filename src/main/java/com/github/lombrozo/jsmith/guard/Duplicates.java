@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import com.github.lombrozo.jsmith.antlr.view.Text;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filter of duplicate programs.
+ * Small grammars produce the same programs over and over, and it's much
+ * cheaper to drop a duplicate right after the generation than to verify
+ * and compile it again.
+ * Each program is hashed while its text is streamed, see {@link RollingHash},
+ * so the whole text is never built as a string.
+ * The fingerprints of the recently seen programs are kept exactly, and
+ * a Bloom filter remembers many more of them beyond that window.
+ * A program is a duplicate if either of them has seen it. So a false
+ * positive of the filter drops a new program now and then, but the filter
+ * is renewed each time it takes {@link #SPAN} windows of programs, which
+ * keeps the rate of such drops below 0.1%. The exact window survives the
+ * renewal, so a recent duplicate is never missed.
+ * The filter is thread-safe, but two equal programs checked at the very same
+ * moment by different threads might both pass.
+ * <p>Drop duplicates before the verification with:</p>
+ * <pre>{@code
+ * final Duplicates duplicates = new Duplicates();
+ * new Pipeline<>("generate", 2, idx -> script.generate(top, idx))
+ *     .filter("dedup", 1, 64, duplicates::unique)
+ *     .then("verify", 2, 64, text -> {
+ *         guard.verifySilently(text);
+ *         return text;
+ *     })
+ *     .run(1000);
+ * System.out.println(duplicates);
+ * }</pre>
+ * @since 0.2
+ */
+public final class Duplicates {
+
+    /**
+     * Default number of the recently seen programs to remember exactly.
+     */
+    private static final int CAPACITY = 1 << 16;
+
+    /**
+     * Number of windows of programs the Bloom filter remembers before renewal.
+     */
+    private static final int SPAN = 16;
+
+    /**
+     * Bits of the Bloom filter per remembered program.
+     */
+    private static final int BITS = 16;
+
+    /**
+     * Number of hash functions of the Bloom filter.
+     * It's close to the optimal number for {@link #BITS} bits per program.
+     */
+    private static final int HASHES = 7;
+
+    /**
+     * Bloom filter of the programs seen since its renewal.
+     */
+    private final AtomicReference<BloomFilter> bloom;
+
+    /**
+     * Number of programs the Bloom filter takes before renewal.
+     */
+    private final long horizon;
+
+    /**
+     * Number of programs added to the Bloom filter.
+     */
+    private final AtomicLong added;
+
+    /**
+     * Exact set of the recently seen programs.
+     */
+    private final Recent recent;
+
+    /**
+     * Number of checked programs.
+     */
+    private final LongAdder checked;
+
+    /**
+     * Number of dropped duplicates.
+     */
+    private final LongAdder dropped;
+
+    /**
+     * Default constructor.
+     */
+    public Duplicates() {
+        this(Duplicates.CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     * @param capacity Number of the recently seen programs to remember exactly.
+     */
+    public Duplicates(final int capacity) {
+        this(new Recent(capacity), (long) capacity * Duplicates.SPAN);
+    }
+
+    /**
+     * Constructor.
+     * @param recent Exact set of the recently seen programs.
+     * @param horizon Number of programs the Bloom filter takes before renewal.
+     */
+    private Duplicates(final Recent recent, final long horizon) {
+        this.bloom = new AtomicReference<>(Duplicates.filter(horizon));
+        this.horizon = horizon;
+        this.added = new AtomicLong();
+        this.recent = recent;
+        this.checked = new LongAdder();
+        this.dropped = new LongAdder();
+    }
+
+    /**
+     * Check the program and remember it.
+     * @param program Program.
+     * @return True if the program is new, false if it's a duplicate.
+     */
+    public boolean unique(final Text program) {
+        final RollingHash hash = new RollingHash();
+        try {
+            program.writeTo(hash);
+        } catch (final IOException exception) {
+            throw new IllegalStateException("Can't hash the program", exception);
+        }
+        return this.unique(hash.fingerprint());
+    }
+
+    /**
+     * Check the program and remember it.
+     * @param program Program source.
+     * @return True if the program is new, false if it's a duplicate.
+     */
+    public boolean unique(final CharSequence program) {
+        return this.unique(new RollingHash().append(program).fingerprint());
+    }
+
+    /**
+     * Number of checked programs.
+     * @return Number of programs.
+     */
+    public long programs() {
+        return this.checked.sum();
+    }
+
+    /**
+     * Number of dropped duplicates.
+     * @return Number of duplicates.
+     */
+    public long duplicates() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Share of the duplicates among the checked programs.
+     * @return Rate between 0 and 1.
+     */
+    public double rate() {
+        final long programs = this.checked.sum();
+        final double res;
+        if (programs == 0L) {
+            res = 0.0;
+        } else {
+            res = (double) this.dropped.sum() / programs;
+        }
+        return res;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%d of %d programs are duplicates (%.1f%%)",
+            this.duplicates(),
+            this.programs(),
+            this.rate() * 100.0
+        );
+    }
+
+    /**
+     * Check the fingerprint and remember it.
+     * @param print Fingerprint of the program.
+     * @return True if the program is new.
+     */
+    private boolean unique(final Fingerprint print) {
+        final boolean recently = !this.recent.add(print);
+        final BloomFilter filter = this.bloom.get();
+        final boolean res = filter.put(print) && !recently;
+        if (res && this.added.incrementAndGet() % this.horizon == 0L) {
+            this.bloom.compareAndSet(filter, Duplicates.filter(this.horizon));
+        }
+        this.checked.increment();
+        if (!res) {
+            this.dropped.increment();
+        }
+        return res;
+    }
+
+    /**
+     * Empty Bloom filter.
+     * @param programs Number of programs the filter takes.
+     * @return Filter.
+     */
+    private static BloomFilter filter(final long programs) {
+        return new BloomFilter(programs * Duplicates.BITS, Duplicates.HASHES);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.TokenSource;
+
+/**
+ * Verification engine of {@link SyntaxGuard}.
+ * Provides lexers and parsers for the grammars the guard checks.
+ * @since 0.2
+ */
+public interface Engine {
+
+    /**
+     * Create lexer.
+     * @param code Code to lex.
+     * @return Lexer of the code.
+     */
+    Lexer lexer(String code);
+
+    /**
+     * Create parser.
+     * @param tokens Tokens of the code, usually the lexer of the code.
+     * @return Parser of the code.
+     */
+    Parser parser(TokenSource tokens);
+
+    /**
+     * Parse the code starting from the top rule.
+     * Errors thrown by the error strategy of the parser, like
+     * {@link org.antlr.v4.runtime.misc.ParseCancellationException}, are not wrapped.
+     * @param parser Parser of the code.
+     * @param top Top rule name.
+     */
+    void parse(Parser parser, String top);
+}
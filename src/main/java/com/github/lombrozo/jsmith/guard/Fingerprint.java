@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+/**
+ * 128-bit fingerprint of a program text.
+ * See {@link RollingHash}.
+ * @since 0.2
+ */
+final class Fingerprint {
+
+    /**
+     * The first half of the fingerprint.
+     */
+    private final long high;
+
+    /**
+     * The second half of the fingerprint.
+     */
+    private final long low;
+
+    /**
+     * Constructor.
+     * @param high The first half of the fingerprint.
+     * @param low The second half of the fingerprint.
+     */
+    Fingerprint(final long high, final long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * The first half of the fingerprint.
+     * @return Hash.
+     */
+    long first() {
+        return this.high;
+    }
+
+    /**
+     * The second half of the fingerprint.
+     * @return Hash.
+     */
+    long second() {
+        return this.low;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        final boolean res;
+        if (this == other) {
+            res = true;
+        } else if (other instanceof Fingerprint) {
+            final Fingerprint that = (Fingerprint) other;
+            res = this.high == that.high && this.low == that.low;
+        } else {
+            res = false;
+        }
+        return res;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.high);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", this.high, this.low);
+    }
+}
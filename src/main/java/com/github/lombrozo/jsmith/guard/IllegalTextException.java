@@ -23,6 +23,7 @@
  */
 package com.github.lombrozo.jsmith.guard;
 
+import com.github.lombrozo.jsmith.antlr.view.Arena;
 import com.github.lombrozo.jsmith.antlr.view.DotText;
 import com.github.lombrozo.jsmith.antlr.view.RulesOnly;
 import com.github.lombrozo.jsmith.antlr.view.Text;
@@ -58,9 +59,11 @@ public final class IllegalTextException extends IllegalStateException {
     private static final Logger LOG = Logger.getLogger(SyntaxGuard.class.getSimpleName());
 
     /**
-     * Illegal text.
+     * Illegal text tree.
+     * The exception might live long, so it keeps the tree packed into the arena
+     * instead of the whole graph of the text nodes.
      */
-    private final Text origin;
+    private final Arena origin;
 
     /**
      * Constructor.
@@ -70,7 +73,7 @@ public final class IllegalTextException extends IllegalStateException {
      */
     IllegalTextException(final String message, final Text output, final Throwable cause) {
         super(message, cause);
-        this.origin = output;
+        this.origin = new Arena(output);
     }
 
     /**
@@ -82,7 +85,7 @@ public final class IllegalTextException extends IllegalStateException {
             Files.write(
                 file,
                 new DotText(
-                    this.origin,
+                    this.origin.text(),
                     new RulesOnly()
                 ).output().getBytes(StandardCharsets.UTF_8)
             );
@@ -23,6 +23,7 @@
  */
 package com.github.lombrozo.jsmith.guard;
 
+import com.sun.source.util.JavacTask;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -30,23 +31,45 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
 import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 import lombok.ToString;
 
 /**
  * In-memory compiler.
+ * Creating a standard file manager scans the platform classes and the class path,
+ * so each batch of sources creates it once, shares it between all the sources
+ * of the batch, and closes it afterward, together with the jar files it opened.
  * @since 0.2
  */
 public final class InMemoryCompiler {
 
+    /**
+     * Options of javac.
+     * By default, javac keeps the names of all the compiled classes and
+     * their members in a name table that is shared between compilations,
+     * so the table grows with each new generated class.
+     */
+    private static final List<String> OPTIONS = Collections.singletonList(
+        "-XDuseUnsharedTable=true"
+    );
+
     /**
      * Java compiler.
      */
@@ -76,6 +99,130 @@ public final class InMemoryCompiler {
         return this.compile(new CompilationUnit(src)).get(0);
     }
 
+    /**
+     * Check source code without generating bytecode.
+     * The source passes the parse, attribute and flow phases of javac only,
+     * so no class files are written and no classes are loaded.
+     * @param src Source code.
+     * @return Diagnostics of javac, the source is correct if there are no errors among them.
+     */
+    public List<Diagnostic<? extends JavaFileObject>> check(final String src) {
+        return this.checkAll(Collections.singletonList(src)).get(0);
+    }
+
+    /**
+     * Check many sources in one javac task without generating bytecode.
+     * Diagnostics that aren't bound to any source are added to all of them.
+     * A source without a class gets a single error and isn't passed to javac,
+     * so it doesn't fail the whole batch.
+     * @param sources Source codes, each with one top-level class.
+     * @return Diagnostics of javac for each source in the order of the sources.
+     */
+    public List<List<Diagnostic<? extends JavaFileObject>>> checkAll(
+        final List<String> sources
+    ) {
+        final List<List<Diagnostic<? extends JavaFileObject>>> res =
+            new ArrayList<>(sources.size());
+        final Map<JavaFileObject, List<Diagnostic<? extends JavaFileObject>>> units =
+            new LinkedHashMap<>(sources.size());
+        for (final String src : sources) {
+            final List<Diagnostic<? extends JavaFileObject>> bound = new ArrayList<>(0);
+            try {
+                units.put(new CompilationUnit(src).source(), bound);
+            } catch (final IllegalStateException exception) {
+                bound.add(new Unnamed(exception.getMessage()));
+            }
+            res.add(bound);
+        }
+        if (!units.isEmpty()) {
+            final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            try (StandardJavaFileManager files = this.files()) {
+                ((JavacTask) this.compiler.getTask(
+                    null,
+                    files,
+                    diagnostics,
+                    InMemoryCompiler.OPTIONS,
+                    null,
+                    units.keySet()
+                )).analyze();
+            } catch (final IOException exception) {
+                throw new IllegalStateException(
+                    String.format("I/O error during analysis of sources %s", sources),
+                    exception
+                );
+            }
+            for (final Diagnostic<? extends JavaFileObject> diagnostic
+                : diagnostics.getDiagnostics()) {
+                if (units.containsKey(diagnostic.getSource())) {
+                    units.get(diagnostic.getSource()).add(diagnostic);
+                } else {
+                    units.values().forEach(bound -> bound.add(diagnostic));
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Compile many sources in one javac task.
+     * If some of the sources are broken, their errors are kept and the rest
+     * of the sources are compiled again without them, so one broken source
+     * doesn't fail the whole batch. The sources are passed to javac in their
+     * order, so of two classes with the same name the second one is broken.
+     * @param sources Source codes, each with one top-level class.
+     * @return Compilation results in the order of the sources.
+     */
+    public List<Compiled> compileAll(final List<String> sources) {
+        final int size = sources.size();
+        final Compiled[] res = new Compiled[size];
+        final CompilationUnit[] units = new CompilationUnit[size];
+        final Map<JavaFileObject, Integer> pending = new LinkedHashMap<>(size);
+        for (int index = 0; index < size; ++index) {
+            final String src = sources.get(index);
+            try {
+                units[index] = new CompilationUnit(src);
+                pending.put(units[index].source(), index);
+            } catch (final IllegalStateException exception) {
+                res[index] = new Compiled(src, Collections.singletonList(exception.getMessage()));
+            }
+        }
+        try (StandardJavaFileManager files = this.files()) {
+            while (!pending.isEmpty()) {
+                final DiagnosticCollector<JavaFileObject> diagnostics =
+                    new DiagnosticCollector<>();
+                final MemoryJavaFileManager manager = new MemoryJavaFileManager(files);
+                if (this.compiler.getTask(
+                    null, manager, diagnostics, InMemoryCompiler.OPTIONS, null, pending.keySet()
+                )
+                    .call()) {
+                    final ClassLoader loader = manager.loader();
+                    for (final int index : pending.values()) {
+                        res[index] = new Compiled(
+                            sources.get(index),
+                            InMemoryCompiler.load(loader, units[index])
+                        );
+                    }
+                    pending.clear();
+                } else {
+                    final Map<JavaFileObject, List<String>> errors = InMemoryCompiler.errors(
+                        diagnostics.getDiagnostics(), pending.keySet()
+                    );
+                    for (final Map.Entry<JavaFileObject, List<String>> broken
+                        : errors.entrySet()) {
+                        final int index = pending.remove(broken.getKey());
+                        res[index] = new Compiled(sources.get(index), broken.getValue());
+                    }
+                }
+            }
+        } catch (final IOException exception) {
+            throw new IllegalStateException(
+                String.format("I/O error during compilation of sources %s", sources),
+                exception
+            );
+        }
+        return Arrays.asList(res);
+    }
+
     /**
      * Compile source code.
      * @param files Files with source code.
@@ -83,15 +230,17 @@ public final class InMemoryCompiler {
      * @throws IOException If an I/O error occurs
      */
     List<Class<?>> compile(final Path... files) throws IOException {
-        final int length = files.length;
-        final CompilationUnit[] units = new CompilationUnit[length];
-        for (int index = 0; index < length; ++index) {
-            final Path file = files[index];
-            final String name = file.getFileName().toString().replace(".java", "");
-            final String src = Files.readString(file);
-            units[index] = new CompilationUnit(name, src);
-        }
-        return this.compile(units);
+        return this.compile(InMemoryCompiler.units(files));
+    }
+
+    /**
+     * Compile source code without loading the classes.
+     * @param files Files with source code.
+     * @return Bytecode of all the compiled classes, nested ones included, by binary names.
+     * @throws IOException If an I/O error occurs
+     */
+    Map<String, byte[]> bytecode(final Path... files) throws IOException {
+        return this.compiled(InMemoryCompiler.units(files));
     }
 
     /**
@@ -133,23 +282,7 @@ public final class InMemoryCompiler {
     private List<Class<?>> tryCompile(
         final CompilationUnit... units
     ) throws IOException, ClassNotFoundException, MalformedURLException {
-        final MemoryJavaFileManager manager = new MemoryJavaFileManager(
-            this.compiler.getStandardFileManager(null, null, null)
-        );
-        final boolean success = this.compiler.getTask(
-            null,
-            manager,
-            null,
-            null,
-            null,
-            Arrays.stream(units).map(CompilationUnit::source).collect(Collectors.toList())
-        ).call();
-        if (!success) {
-            throw new IllegalStateException(
-                String.format("Compilation failed for units %s", Arrays.asList(units))
-            );
-        }
-        final ClassLoader loader = manager.loader();
+        final ClassLoader loader = new MemoryClassLoader(this.compiled(units));
         final List<Class<?>> res = new ArrayList<>(0);
         for (final CompilationUnit unit : units) {
             res.add(loader.loadClass(unit.fullName()));
@@ -157,6 +290,117 @@ public final class InMemoryCompiler {
         return res;
     }
 
+    /**
+     * Compile source code in memory.
+     * @param units Compilation units to compile.
+     * @return Bytecode of all the compiled classes by binary names.
+     * @throws IOException If the file manager can't be closed.
+     */
+    private Map<String, byte[]> compiled(final CompilationUnit... units) throws IOException {
+        try (StandardJavaFileManager files = this.files()) {
+            final MemoryJavaFileManager manager = new MemoryJavaFileManager(files);
+            final boolean success = this.compiler.getTask(
+                null,
+                manager,
+                null,
+                InMemoryCompiler.OPTIONS,
+                null,
+                Arrays.stream(units).map(CompilationUnit::source).collect(Collectors.toList())
+            ).call();
+            if (!success) {
+                throw new IllegalStateException(
+                    String.format("Compilation failed for units %s", Arrays.asList(units))
+                );
+            }
+            return manager.bytecode();
+        }
+    }
+
+    /**
+     * New standard file manager of the compiler.
+     * It keeps the jar files of the class path open, so close it after use.
+     * @return File manager.
+     */
+    private StandardJavaFileManager files() {
+        return this.compiler.getStandardFileManager(null, null, null);
+    }
+
+    /**
+     * Load the compiled class of a unit.
+     * @param loader Class loader with the compiled classes.
+     * @param unit Compilation unit.
+     * @return Class.
+     */
+    private static Class<?> load(final ClassLoader loader, final CompilationUnit unit) {
+        try {
+            return loader.loadClass(unit.fullName());
+        } catch (final ClassNotFoundException exception) {
+            throw new IllegalStateException(
+                String.format("Class of the unit %s not found", unit),
+                exception
+            );
+        }
+    }
+
+    /**
+     * Compilation errors by the broken sources.
+     * If an error isn't bound to any of the sources, all the sources are
+     * considered broken, otherwise the compilation would never succeed.
+     * @param diagnostics Diagnostics of the compilation.
+     * @param sources All the compiled sources.
+     * @return Errors by the broken sources.
+     */
+    private static Map<JavaFileObject, List<String>> errors(
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics,
+        final Collection<JavaFileObject> sources
+    ) {
+        final Map<JavaFileObject, List<String>> res = new IdentityHashMap<>(0);
+        final List<String> unbound = new ArrayList<>(0);
+        for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                final String message = String.format(
+                    "%d:%d: %s",
+                    diagnostic.getLineNumber(),
+                    diagnostic.getColumnNumber(),
+                    diagnostic.getMessage(Locale.ENGLISH)
+                );
+                final JavaFileObject source = diagnostic.getSource();
+                if (sources.contains(source)) {
+                    res.computeIfAbsent(source, file -> new ArrayList<>(1)).add(message);
+                } else {
+                    unbound.add(message);
+                }
+            }
+        }
+        if (res.isEmpty()) {
+            if (unbound.isEmpty()) {
+                unbound.add("Compilation failed without errors");
+            }
+            for (final JavaFileObject source : sources) {
+                res.put(source, unbound);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Read compilation units from files.
+     * @param files Files with source code.
+     * @return Compilation units.
+     * @throws IOException If an I/O error occurs
+     */
+    private static CompilationUnit[] units(final Path... files) throws IOException {
+        final int length = files.length;
+        final CompilationUnit[] units = new CompilationUnit[length];
+        for (int index = 0; index < length; ++index) {
+            final Path file = files[index];
+            final String name = file.getFileName().toString().replace(".java", "");
+            final String src = Files.readString(file);
+            units[index] = new CompilationUnit(name, src);
+        }
+        return units;
+    }
+
     /**
      * Compilation unit.
      * @since 0.2
@@ -257,6 +501,76 @@ public final class InMemoryCompiler {
 
     }
 
+    /**
+     * Error of a source that javac can't even take, since it has no class.
+     * @since 0.2
+     */
+    private static final class Unnamed implements Diagnostic<JavaFileObject> {
+
+        /**
+         * Error message.
+         */
+        private final String message;
+
+        /**
+         * Constructor.
+         * @param message Error message.
+         */
+        Unnamed(final String message) {
+            this.message = message;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.ERROR;
+        }
+
+        @Override
+        public JavaFileObject getSource() {
+            return null;
+        }
+
+        @Override
+        public long getPosition() {
+            return Diagnostic.NOPOS;
+        }
+
+        @Override
+        public long getStartPosition() {
+            return Diagnostic.NOPOS;
+        }
+
+        @Override
+        public long getEndPosition() {
+            return Diagnostic.NOPOS;
+        }
+
+        @Override
+        public long getLineNumber() {
+            return Diagnostic.NOPOS;
+        }
+
+        @Override
+        public long getColumnNumber() {
+            return Diagnostic.NOPOS;
+        }
+
+        @Override
+        public String getCode() {
+            return "jsmith.err.no.class";
+        }
+
+        @Override
+        public String getMessage(final Locale locale) {
+            return this.message;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("error: %s", this.message);
+        }
+    }
+
     /**
      * Java source code.
      * @since 0.2
@@ -0,0 +1,309 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.LexerInterpreter;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserInterpreter;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.atn.ATN;
+import org.antlr.v4.runtime.atn.LexerATNSimulator;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.antlr.v4.runtime.atn.PredictionContextCache;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.tool.Grammar;
+import org.antlr.v4.tool.LexerGrammar;
+import org.antlr.v4.tool.Rule;
+import org.cactoos.Input;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.Sticky;
+import org.cactoos.scalar.Synced;
+import org.cactoos.scalar.Unchecked;
+import org.cactoos.text.TextOf;
+import org.cactoos.text.UncheckedText;
+
+/**
+ * Engine that interprets grammars.
+ * It loads grammars with ANTLR {@link Grammar} and parses the code with
+ * {@link LexerInterpreter} and {@link ParserInterpreter},
+ * so there is no code generation and no compilation at all.
+ * Embedded actions are not executed and predicates are always true,
+ * so use {@link CompiledEngine} for grammars that rely on them.
+ * @since 0.2
+ */
+public final class InterpretedEngine implements Engine {
+
+    /**
+     * Lexer grammar header.
+     */
+    private static final Pattern LEXER = Pattern.compile("(^|\\s)lexer\\s+grammar\\s");
+
+    /**
+     * Token vocabulary option of a parser grammar.
+     * The vocabulary is taken from the lexer grammar itself, while ANTLR
+     * would look for a '.tokens' file on the disk.
+     */
+    private static final Pattern VOCAB = Pattern.compile("tokenVocab\\s*=\\s*\\w+\\s*;");
+
+    /**
+     * Lexer and parser grammars.
+     * Loaded only once and then cached.
+     */
+    private final Scalar<Grammars> grammars;
+
+    /**
+     * Constructor.
+     * @param grammars ANTLR grammar input.
+     */
+    public InterpretedEngine(final Input... grammars) {
+        this(
+            Arrays.stream(grammars)
+                .map(TextOf::new)
+                .map(UncheckedText::new)
+                .map(UncheckedText::asString)
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param grammars ANTLR grammar texts.
+     */
+    InterpretedEngine(final List<String> grammars) {
+        this(new Synced<>(new Sticky<>(() -> InterpretedEngine.loaded(grammars))));
+    }
+
+    /**
+     * Constructor.
+     * @param grammars Lexer and parser grammars.
+     */
+    private InterpretedEngine(final Scalar<Grammars> grammars) {
+        this.grammars = grammars;
+    }
+
+    @Override
+    public Lexer lexer(final String code) {
+        return new Unchecked<>(this.grammars).value().lexer(code);
+    }
+
+    @Override
+    public Parser parser(final TokenSource tokens) {
+        return new Unchecked<>(this.grammars).value().parser(tokens);
+    }
+
+    @Override
+    public void parse(final Parser parser, final String top) {
+        ((ParserInterpreter) parser).parse(new Unchecked<>(this.grammars).value().rule(top));
+    }
+
+    /**
+     * Load grammars.
+     * @param grammars Either one combined grammar, or lexer and parser grammars.
+     * @return Lexer and parser grammars.
+     * @throws Exception If grammars can't be loaded.
+     */
+    private static Grammars loaded(final List<String> grammars) throws Exception {
+        final Grammars result;
+        if (grammars.size() == 1) {
+            final Grammar combined = InterpretedEngine.checked(new Grammar(grammars.get(0)));
+            result = new Grammars(combined, combined);
+        } else if (grammars.size() == 2) {
+            final String lexer = grammars.stream()
+                .filter(text -> InterpretedEngine.LEXER.matcher(text).find())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Lexer grammar not found"));
+            final String parser = grammars.stream()
+                .filter(text -> !text.equals(lexer))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Parser grammar not found"));
+            final LexerGrammar tokens = InterpretedEngine.checked(new LexerGrammar(lexer));
+            result = new Grammars(
+                tokens,
+                InterpretedEngine.checked(
+                    new Grammar(InterpretedEngine.VOCAB.matcher(parser).replaceAll(""), tokens)
+                )
+            );
+        } else {
+            throw new IllegalStateException(
+                String.format(
+                    "Expected either one combined grammar, or lexer and parser grammars, but got %d",
+                    grammars.size()
+                )
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Check that the grammar was loaded without errors.
+     * @param grammar Loaded grammar.
+     * @param <T> Type of the grammar.
+     * @return The same grammar.
+     */
+    private static <T extends Grammar> T checked(final T grammar) {
+        if (grammar.tool.getNumErrors() > 0) {
+            throw new IllegalStateException(
+                String.format(
+                    "ANTLR failed to load grammar with %d errors",
+                    grammar.tool.getNumErrors()
+                )
+            );
+        }
+        return grammar;
+    }
+
+    /**
+     * Loaded lexer and parser grammars.
+     * {@link Grammar} deserializes its ATN each time it creates an interpreter
+     * and each interpreter starts with empty DFA, so here interpreters are created
+     * from prototypes and share the DFA, just like generated lexers and parsers do.
+     * @since 0.2
+     */
+    private static final class Grammars {
+
+        /**
+         * Parser grammar.
+         */
+        private final Grammar grammar;
+
+        /**
+         * Lexer prototype.
+         */
+        private final LexerInterpreter lexing;
+
+        /**
+         * Parser prototype.
+         */
+        private final ParserInterpreter parsing;
+
+        /**
+         * Lexer DFA shared by all lexers.
+         */
+        private final DFA[] lexers;
+
+        /**
+         * Parser DFA shared by all parsers.
+         */
+        private final DFA[] parsers;
+
+        /**
+         * Prediction contexts shared by all lexers.
+         */
+        private final PredictionContextCache tokens;
+
+        /**
+         * Prediction contexts shared by all parsers.
+         */
+        private final PredictionContextCache rules;
+
+        /**
+         * Constructor.
+         * @param lexer Lexer grammar, or combined grammar.
+         * @param parser Parser grammar, or combined grammar.
+         */
+        Grammars(final Grammar lexer, final Grammar parser) {
+            this.grammar = parser;
+            this.lexing = lexer.createLexerInterpreter(CharStreams.fromString(""));
+            this.parsing = parser.createParserInterpreter(new CommonTokenStream(this.lexing));
+            this.lexers = Grammars.dfa(this.lexing.getATN());
+            this.parsers = Grammars.dfa(this.parsing.getATN());
+            this.tokens = new PredictionContextCache();
+            this.rules = new PredictionContextCache();
+        }
+
+        /**
+         * Create lexer.
+         * @param code Code to lex.
+         * @return Lexer.
+         */
+        Lexer lexer(final String code) {
+            final LexerInterpreter lexer = new LexerInterpreter(
+                this.lexing.getGrammarFileName(),
+                this.lexing.getVocabulary(),
+                Arrays.asList(this.lexing.getRuleNames()),
+                Arrays.asList(this.lexing.getChannelNames()),
+                Arrays.asList(this.lexing.getModeNames()),
+                this.lexing.getATN(),
+                CharStreams.fromString(code)
+            );
+            lexer.setInterpreter(
+                new LexerATNSimulator(lexer, lexer.getATN(), this.lexers, this.tokens)
+            );
+            return lexer;
+        }
+
+        /**
+         * Create parser.
+         * @param tokens Tokens of the code.
+         * @return Parser.
+         */
+        Parser parser(final TokenSource tokens) {
+            final ParserInterpreter parser = new ParserInterpreter(
+                this.parsing.getGrammarFileName(),
+                this.parsing.getVocabulary(),
+                Arrays.asList(this.parsing.getRuleNames()),
+                this.parsing.getATN(),
+                new CommonTokenStream(tokens)
+            );
+            parser.setInterpreter(
+                new ParserATNSimulator(parser, parser.getATN(), this.parsers, this.rules)
+            );
+            return parser;
+        }
+
+        /**
+         * Index of the rule.
+         * @param name Rule name.
+         * @return Rule index.
+         */
+        int rule(final String name) {
+            final Rule rule = this.grammar.getRule(name);
+            if (Objects.isNull(rule)) {
+                throw new IllegalStateException(String.format("Rule '%s' not found", name));
+            }
+            return rule.index;
+        }
+
+        /**
+         * Empty DFA for each decision of the ATN.
+         * @param atn ATN.
+         * @return DFA.
+         */
+        private static DFA[] dfa(final ATN atn) {
+            final DFA[] result = new DFA[atn.getNumberOfDecisions()];
+            for (int idx = 0; idx < result.length; ++idx) {
+                result[idx] = new DFA(atn.getDecisionState(idx), idx);
+            }
+            return result;
+        }
+    }
+}
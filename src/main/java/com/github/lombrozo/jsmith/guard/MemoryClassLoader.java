@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class loader that loads classes from memory.
+ * The bytecode of a class is dropped as soon as the class is defined.
+ * Its own classes are defined without asking the parent class loader first,
+ * since the application class loader keeps a lock for each requested name
+ * forever, and it would grow with each new generated class.
+ * The bytecode might be released by another thread while the classes are
+ * being loaded, so it is kept in a concurrent map.
+ * @since 0.1
+ */
+final class MemoryClassLoader extends ClassLoader {
+
+    /**
+     * Bytecode of the classes that aren't defined yet.
+     */
+    private final Map<String, byte[]> classes;
+
+    /**
+     * Constructor.
+     * @param all Bytecode of all the classes by their binary names.
+     */
+    MemoryClassLoader(final Map<String, byte[]> all) {
+        this.classes = new ConcurrentHashMap<>(all);
+    }
+
+    @Override
+    public Class<?> loadClass(
+        final String name,
+        final boolean resolve
+    ) throws ClassNotFoundException {
+        synchronized (this.getClassLoadingLock(name)) {
+            Class<?> result = this.findLoadedClass(name);
+            if (Objects.isNull(result) && this.classes.containsKey(name)) {
+                result = this.findClass(name);
+            }
+            if (Objects.isNull(result)) {
+                result = super.loadClass(name, false);
+            }
+            if (resolve) {
+                this.resolveClass(result);
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public Class<?> findClass(final String name) throws ClassNotFoundException {
+        final byte[] bytes = this.classes.remove(name);
+        final Class<?> result;
+        if (Objects.nonNull(bytes)) {
+            result = this.defineClass(name, bytes, 0, bytes.length);
+        } else {
+            result = super.findClass(name);
+        }
+        return result;
+    }
+
+    /**
+     * Drop the bytecode of all the classes that aren't defined yet.
+     * They can't be loaded after that.
+     */
+    void release() {
+        this.classes.clear();
+    }
+}
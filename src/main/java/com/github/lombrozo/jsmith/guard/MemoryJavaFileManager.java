@@ -27,10 +27,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.stream.Collectors;
 import javax.tools.FileObject;
 import javax.tools.ForwardingJavaFileManager;
@@ -75,7 +73,19 @@ public final class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaF
      * @return The class loader.
      */
     ClassLoader loader() {
-        return new MemoryClassLoader(this.compiled);
+        return new MemoryClassLoader(this.bytecode());
+    }
+
+    /**
+     * Take the bytecode of all the compiled classes.
+     * The output buffers are released, so it can be taken only once.
+     * @return Bytecode by binary class names.
+     */
+    Map<String, byte[]> bytecode() {
+        final Map<String, byte[]> res = this.compiled.stream()
+            .collect(Collectors.toMap(JavaClass::fullName, JavaClass::bytes));
+        this.compiled.clear();
+        return res;
     }
 
     /**
@@ -132,44 +142,4 @@ public final class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaF
             return this.baos.toByteArray();
         }
     }
-
-    /**
-     * A class loader that loads classes from memory.
-     * @since 0.1
-     */
-    private static final class MemoryClassLoader extends ClassLoader {
-
-        /**
-         * All the classes.
-         */
-        private final Map<String, byte[]> classes;
-
-        /**
-         * Constructor.
-         * @param classes The classes.
-         */
-        MemoryClassLoader(final List<? extends JavaClass> classes) {
-            this(classes.stream().collect(Collectors.toMap(JavaClass::fullName, JavaClass::bytes)));
-        }
-
-        /**
-         * Constructor.
-         * @param all All the classes.
-         */
-        private MemoryClassLoader(final Map<String, byte[]> all) {
-            this.classes = new HashMap<>(all);
-        }
-
-        @Override
-        public Class<?> findClass(final String name) throws ClassNotFoundException {
-            final byte[] bytes = this.classes.get(name);
-            final Class<?> result;
-            if (Objects.nonNull(bytes)) {
-                result = this.defineClass(name, bytes, 0, bytes.length);
-            } else {
-                result = super.findClass(name);
-            }
-            return result;
-        }
-    }
 }
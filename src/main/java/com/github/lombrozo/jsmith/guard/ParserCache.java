@@ -0,0 +1,386 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipalNotFoundException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.antlr.v4.Tool;
+import org.cactoos.Scalar;
+
+/**
+ * On-disk cache of compiled ANTLR lexers and parsers.
+ * Entries are addressed by a hash of the grammar texts, the ANTLR version and
+ * the Java version, so a change of any of them just leads to a new entry.
+ * Each entry is a directory with '.class' files. It is written under a temporary
+ * name and then atomically renamed, so readers never see a half-written entry,
+ * and several processes that miss the same entry at once simply race to rename it.
+ * Since the classes are loaded into the process, an entry is used only if it
+ * belongs to the current user, nobody else can write to it, and its classes
+ * still match the SHA-256 digest stored with them. Otherwise the entry is
+ * moved aside and removed, and the classes are generated and stored again
+ * as if the entry were missing.
+ * @since 0.2
+ */
+public final class ParserCache {
+
+    /**
+     * Extension of the cached class files.
+     */
+    private static final String CLASS = ".class";
+
+    /**
+     * Name of the file with the digest of the cached classes.
+     */
+    private static final String DIGEST = "sha256";
+
+    /**
+     * Permissions of the cache directories: only the owner has access.
+     */
+    private static final Set<PosixFilePermission> PRIVATE =
+        PosixFilePermissions.fromString("rwx------");
+
+    /**
+     * Directory of the cache.
+     */
+    private final Path dir;
+
+    /**
+     * Default constructor.
+     * Keeps the cache in the home directory of the current user, since
+     * the system temporary directory is shared by all the users.
+     */
+    public ParserCache() {
+        this(Paths.get(System.getProperty("user.home"), ".cache", "jsmith", "parsers"));
+    }
+
+    /**
+     * Constructor.
+     * @param dir Directory of the cache.
+     */
+    public ParserCache(final Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Bytecode of the lexer and parser for the grammars.
+     * @param grammars Grammar texts.
+     * @param origin Generates and compiles the classes if they aren't cached yet.
+     * @return Bytecode of the classes by binary names.
+     * @throws Exception If the classes can't be read, generated or stored.
+     */
+    Map<String, byte[]> bytecode(
+        final List<String> grammars,
+        final Scalar<? extends Map<String, byte[]>> origin
+    ) throws Exception {
+        final Path entry = this.dir.resolve(ParserCache.key(grammars));
+        final Optional<Map<String, byte[]>> cached = this.cached(entry);
+        final Map<String, byte[]> result;
+        if (cached.isPresent()) {
+            Logger.debug(this, "Parser classes are found in the cache '%s'", entry);
+            result = cached.get();
+        } else {
+            if (Files.exists(entry, LinkOption.NOFOLLOW_LINKS)) {
+                this.discard(entry);
+            }
+            result = origin.value();
+            this.store(entry, result);
+        }
+        return result;
+    }
+
+    /**
+     * Read the bytecode from the cache if the entry can be trusted.
+     * @param entry Entry directory.
+     * @return Bytecode by binary class names or empty if it isn't cached.
+     * @throws IOException If the bytecode can't be read.
+     */
+    private Optional<Map<String, byte[]>> cached(final Path entry) throws IOException {
+        Optional<Map<String, byte[]>> result = Optional.empty();
+        if (Files.isDirectory(entry)) {
+            if (ParserCache.trusted(this.dir) && ParserCache.trusted(entry)) {
+                final Map<String, byte[]> bytecode = ParserCache.read(entry);
+                final Path digest = entry.resolve(ParserCache.DIGEST);
+                if (Files.isRegularFile(digest)
+                    && ParserCache.trusted(digest)
+                    && new String(Files.readAllBytes(digest), StandardCharsets.UTF_8)
+                    .equals(ParserCache.digest(bytecode))) {
+                    result = Optional.of(bytecode);
+                } else {
+                    Logger.warn(
+                        this, "Parser classes in '%s' don't match their digest, ignoring", entry
+                    );
+                }
+            } else {
+                Logger.warn(
+                    this,
+                    "Parser classes in '%s' can be modified by other users, ignoring",
+                    entry
+                );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Remove the entry that can't be used.
+     * The entry is atomically renamed first, so no reader ever sees it half-removed,
+     * and a new entry can be stored under its name right away.
+     * @param entry Entry directory.
+     * @throws IOException If the directory of the cache can't be modified.
+     */
+    private void discard(final Path entry) throws IOException {
+        final Path tombstone = Files.createTempDirectory(
+            this.dir, String.format("%s.stale.", entry.getFileName())
+        );
+        try {
+            Files.move(entry, tombstone.resolve("entry"), StandardCopyOption.ATOMIC_MOVE);
+            Logger.debug(this, "Parser classes in '%s' are removed from the cache", entry);
+        } catch (final NoSuchFileException exception) {
+            Logger.debug(this, "Parser classes in '%s' are already removed", entry);
+        } finally {
+            ParserCache.delete(tombstone);
+        }
+    }
+
+    /**
+     * Store the bytecode in the cache.
+     * @param entry Entry directory.
+     * @param bytecode Bytecode by binary class names.
+     * @throws IOException If the bytecode can't be stored.
+     */
+    private void store(final Path entry, final Map<String, byte[]> bytecode) throws IOException {
+        ParserCache.directories(this.dir);
+        final Path tmp = Files.createTempDirectory(
+            this.dir, String.format("%s.", entry.getFileName())
+        );
+        try {
+            for (final Map.Entry<String, byte[]> clazz : bytecode.entrySet()) {
+                ParserCache.write(
+                    tmp.resolve(String.format("%s%s", clazz.getKey(), ParserCache.CLASS)),
+                    clazz.getValue()
+                );
+            }
+            ParserCache.write(
+                tmp.resolve(ParserCache.DIGEST),
+                ParserCache.digest(bytecode).getBytes(StandardCharsets.UTF_8)
+            );
+            Files.move(tmp, entry, StandardCopyOption.ATOMIC_MOVE);
+            Logger.debug(this, "Parser classes are stored in the cache '%s'", entry);
+        } catch (final IOException exception) {
+            if (!Files.isDirectory(entry)) {
+                throw exception;
+            }
+            Logger.debug(this, "Parser classes are already stored in '%s'", entry);
+        } finally {
+            ParserCache.delete(tmp);
+        }
+    }
+
+    /**
+     * Read the bytecode from the cache.
+     * @param entry Entry directory.
+     * @return Bytecode by binary class names.
+     * @throws IOException If the bytecode can't be read.
+     */
+    private static Map<String, byte[]> read(final Path entry) throws IOException {
+        final Map<String, byte[]> result = new HashMap<>(0);
+        try (Stream<Path> files = Files.list(entry)) {
+            for (final Path file : files.collect(Collectors.toList())) {
+                final String name = file.getFileName().toString();
+                if (name.endsWith(ParserCache.CLASS) && ParserCache.trusted(file)) {
+                    result.put(
+                        name.substring(0, name.length() - ParserCache.CLASS.length()),
+                        Files.readAllBytes(file)
+                    );
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Create the directory and its parents that are only accessible by the owner.
+     * @param dir Directory.
+     * @throws IOException If the directory can't be created.
+     */
+    private static void directories(final Path dir) throws IOException {
+        if (ParserCache.posix(dir)) {
+            Files.createDirectories(
+                dir, PosixFilePermissions.asFileAttribute(ParserCache.PRIVATE)
+            );
+        } else {
+            Files.createDirectories(dir);
+        }
+    }
+
+    /**
+     * Write the new file that only the owner can modify.
+     * @param file File.
+     * @param bytes Content.
+     * @throws IOException If the file can't be written.
+     */
+    private static void write(final Path file, final byte[] bytes) throws IOException {
+        if (ParserCache.posix(file)) {
+            Files.createFile(
+                file,
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))
+            );
+        }
+        Files.write(file, bytes);
+    }
+
+    /**
+     * Whether the file belongs to the current user and nobody else can modify it.
+     * @param file File or directory.
+     * @return True if the file can be trusted.
+     * @throws IOException If the file attributes can't be read.
+     */
+    private static boolean trusted(final Path file) throws IOException {
+        boolean result;
+        try {
+            result = file.getFileSystem()
+                .getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"))
+                .equals(Files.getOwner(file, LinkOption.NOFOLLOW_LINKS));
+        } catch (final UserPrincipalNotFoundException exception) {
+            result = false;
+        }
+        if (result && ParserCache.posix(file)) {
+            final Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(
+                file, LinkOption.NOFOLLOW_LINKS
+            );
+            result = !permissions.contains(PosixFilePermission.GROUP_WRITE)
+                && !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+        }
+        return result;
+    }
+
+    /**
+     * Whether the file system of the path supports POSIX permissions.
+     * @param path Path.
+     * @return True if the permissions are supported.
+     */
+    private static boolean posix(final Path path) {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    /**
+     * Remove a temporary directory if it is still there.
+     * @param tmp Temporary directory.
+     * @throws IOException If the directory can't be listed.
+     */
+    private static void delete(final Path tmp) throws IOException {
+        if (Files.exists(tmp)) {
+            try (Stream<Path> files = Files.walk(tmp)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Key of the cache entry.
+     * @param grammars Grammar texts.
+     * @return Hex SHA-256 of the grammars, ANTLR and Java versions.
+     */
+    private static String key(final List<String> grammars) {
+        final MessageDigest digest = ParserCache.sha();
+        digest.update(
+            String.format(
+                "antlr:%s;java:%d;", Tool.VERSION, Runtime.version().feature()
+            ).getBytes(StandardCharsets.UTF_8)
+        );
+        for (final String grammar : grammars) {
+            ParserCache.update(digest, grammar.getBytes(StandardCharsets.UTF_8));
+        }
+        return ParserCache.hex(digest);
+    }
+
+    /**
+     * Digest of the bytecode.
+     * @param bytecode Bytecode by binary class names.
+     * @return Hex SHA-256 of the class names and their bytecode.
+     */
+    private static String digest(final Map<String, byte[]> bytecode) {
+        final MessageDigest digest = ParserCache.sha();
+        for (final Map.Entry<String, byte[]> clazz : new TreeMap<>(bytecode).entrySet()) {
+            ParserCache.update(digest, clazz.getKey().getBytes(StandardCharsets.UTF_8));
+            ParserCache.update(digest, clazz.getValue());
+        }
+        return ParserCache.hex(digest);
+    }
+
+    /**
+     * Add the length-prefixed bytes to the digest.
+     * @param digest Digest.
+     * @param bytes Bytes.
+     */
+    private static void update(final MessageDigest digest, final byte[] bytes) {
+        digest.update(String.format("%d:", bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update(bytes);
+    }
+
+    /**
+     * Hex representation of the digest.
+     * @param digest Digest.
+     * @return Hex string of 64 characters.
+     */
+    private static String hex(final MessageDigest digest) {
+        return String.format("%064x", new BigInteger(1, digest.digest()));
+    }
+
+    /**
+     * New SHA-256 digest.
+     * @return Digest.
+     */
+    private static MessageDigest sha() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not supported", exception);
+        }
+    }
+}
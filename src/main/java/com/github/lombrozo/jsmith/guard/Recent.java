@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Set of the most recently seen fingerprints.
+ * When the set is full, the least recently seen fingerprint is evicted.
+ * @since 0.2
+ */
+final class Recent {
+
+    /**
+     * Fingerprints in the order of access, from the oldest to the newest.
+     */
+    private final Map<Fingerprint, Boolean> prints;
+
+    /**
+     * Maximum number of fingerprints.
+     */
+    private final int capacity;
+
+    /**
+     * Constructor.
+     * @param capacity Maximum number of fingerprints.
+     */
+    Recent(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                String.format("Capacity must be positive, but was %d", capacity)
+            );
+        }
+        this.prints = new LinkedHashMap<>(16, 0.75f, true);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Add the fingerprint or mark it as the most recently seen one.
+     * @param print Fingerprint.
+     * @return True if the set didn't contain the fingerprint.
+     */
+    synchronized boolean add(final Fingerprint print) {
+        final boolean res = this.prints.put(print, Boolean.TRUE) == null;
+        if (this.prints.size() > this.capacity) {
+            final Iterator<Fingerprint> oldest = this.prints.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+        }
+        return res;
+    }
+
+    /**
+     * Number of fingerprints in the set.
+     * @return Size.
+     */
+    synchronized int size() {
+        return this.prints.size();
+    }
+}
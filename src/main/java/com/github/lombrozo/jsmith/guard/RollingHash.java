@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+/**
+ * Rolling hash of a program text.
+ * It's an {@link Appendable}, so a program is hashed right while it's written
+ * by {@link com.github.lombrozo.jsmith.antlr.view.Text#writeTo(Appendable)}
+ * and the whole text is never built as a string.
+ * It keeps two independent 64-bit hashes, FNV-1a and a polynomial one,
+ * and the length of the text, so two different programs get the same
+ * {@link Fingerprint} with a negligible probability.
+ * @since 0.2
+ */
+final class RollingHash implements Appendable {
+
+    /**
+     * Offset basis of FNV-1a.
+     */
+    private static final long BASIS = 0xCBF2_9CE4_8422_2325L;
+
+    /**
+     * Prime of FNV-1a.
+     */
+    private static final long PRIME = 0x0000_0100_0000_01B3L;
+
+    /**
+     * Multiplier of the polynomial hash.
+     */
+    private static final long BASE = 0x9E37_79B9_7F4A_7C15L;
+
+    /**
+     * FNV-1a hash.
+     */
+    private long fnv;
+
+    /**
+     * Polynomial hash.
+     */
+    private long poly;
+
+    /**
+     * Number of hashed chars.
+     */
+    private long length;
+
+    /**
+     * Constructor.
+     */
+    RollingHash() {
+        this.fnv = RollingHash.BASIS;
+        this.poly = 0L;
+        this.length = 0L;
+    }
+
+    @Override
+    public RollingHash append(final CharSequence chars) {
+        final CharSequence text;
+        if (chars == null) {
+            text = "null";
+        } else {
+            text = chars;
+        }
+        return this.append(text, 0, text.length());
+    }
+
+    @Override
+    public RollingHash append(final CharSequence chars, final int start, final int end) {
+        final CharSequence text;
+        if (chars == null) {
+            text = "null";
+        } else {
+            text = chars;
+        }
+        for (int idx = start; idx < end; ++idx) {
+            this.append(text.charAt(idx));
+        }
+        return this;
+    }
+
+    @Override
+    public RollingHash append(final char chr) {
+        this.fnv = (this.fnv ^ chr) * RollingHash.PRIME;
+        this.poly = this.poly * RollingHash.BASE + chr;
+        this.length += 1L;
+        return this;
+    }
+
+    /**
+     * Fingerprint of the text hashed so far.
+     * @return Fingerprint.
+     */
+    Fingerprint fingerprint() {
+        return new Fingerprint(
+            RollingHash.mix(this.fnv ^ this.length),
+            RollingHash.mix(this.poly + this.length * RollingHash.PRIME)
+        );
+    }
+
+    /**
+     * Spread the bits of the hash, so all of them depend on all the chars.
+     * It's the finalizer of MurmurHash3.
+     * @param hash Hash.
+     * @return Mixed hash.
+     */
+    private static long mix(final long hash) {
+        long res = hash;
+        res ^= res >>> 33;
+        res *= 0xFF51_AFD7_ED55_8CCDL;
+        res ^= res >>> 33;
+        res *= 0xC4CE_B9FE_1A85_EC53L;
+        res ^= res >>> 33;
+        return res;
+    }
+}
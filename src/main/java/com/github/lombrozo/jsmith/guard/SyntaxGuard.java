@@ -24,34 +24,37 @@
 package com.github.lombrozo.jsmith.guard;
 
 import com.github.lombrozo.jsmith.antlr.view.Text;
+import com.github.lombrozo.jsmith.antlr.view.TokenTypes;
+import com.github.lombrozo.jsmith.antlr.view.Tokens;
 import com.jcabi.log.Logger;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.antlr.v4.Tool;
-import org.antlr.v4.runtime.CharStream;
-import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
 import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.ListTokenSource;
 import org.antlr.v4.runtime.Parser;
-import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.Vocabulary;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.cactoos.Input;
 import org.cactoos.scalar.Sticky;
 import org.cactoos.scalar.Synced;
 import org.cactoos.scalar.Unchecked;
-import org.cactoos.text.TextOf;
-import org.cactoos.text.UncheckedText;
 
 /**
  * This class is responsible for checking the syntax of the generated code.
- * It tries to generate default ANTLR lexer and parser and parse the code.
+ * It parses the code with lexer and parser of an {@link Engine}.
  * If the code is incorrect, it throws an exception.
+ * By default, it uses {@link CompiledEngine}.
+ * In the fast mode, see {@link #fast()}, the code is parsed in SLL mode first
+ * and only the code that SLL can't parse is parsed again in full LL mode.
+ * In the token mode, see {@link #tokenized()}, the generated tokens go
+ * straight to the parser, so the code isn't lexed again.
  * @since 0.1
  */
 public final class SyntaxGuard {
@@ -62,10 +65,24 @@ public final class SyntaxGuard {
     private final String top;
 
     /**
-     * Environment with lexer and parser.
-     * Created only once and then cached.
+     * Engine that provides lexer and parser.
      */
-    private final Sticky<Environment> environment;
+    private final Engine engine;
+
+    /**
+     * Whether to try SLL parsing before full LL parsing.
+     */
+    private final boolean sll;
+
+    /**
+     * Whether to parse the generated tokens instead of the code.
+     */
+    private final boolean direct;
+
+    /**
+     * Token types of the lexer.
+     */
+    private final Unchecked<TokenTypes> types;
 
     /**
      * Constructor.
@@ -75,39 +92,88 @@ public final class SyntaxGuard {
      * @param grammars ANTLR grammar input.
      */
     public SyntaxGuard(final Path temp, final String top, final Input... grammars) {
-        this(
-            temp,
-            top,
-            Arrays.stream(grammars)
-                .map(TextOf::new)
-                .map(UncheckedText::new)
-                .map(UncheckedText::asString)
-                .collect(Collectors.toList())
-        );
+        this(new ParserCache(), temp, top, grammars);
     }
 
     /**
      * Constructor.
      *
+     * @param cache Cache of compiled lexers and parsers.
      * @param temp Temporary directory.
      * @param top Top rule name.
-     * @param grammar ANTLR grammar text.
+     * @param grammars ANTLR grammar input.
+     */
+    public SyntaxGuard(
+        final ParserCache cache,
+        final Path temp,
+        final String top,
+        final Input... grammars
+    ) {
+        this(top, new CompiledEngine(cache, temp, grammars));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param top Top rule name.
+     * @param engine Engine that provides lexer and parser.
      */
-    SyntaxGuard(final Path temp, final String top, final List<String> grammar) {
-        this(top, SyntaxGuard.prestructor(temp, grammar));
+    public SyntaxGuard(final String top, final Engine engine) {
+        this(top, engine, false, false);
     }
 
     /**
      * Constructor.
+     *
      * @param top Top rule name.
-     * @param environment Environment.
+     * @param engine Engine that provides lexer and parser.
+     * @param sll Whether to try SLL parsing before full LL parsing.
+     * @param direct Whether to parse the generated tokens instead of the code.
+     * @checkstyle ParameterNumberCheck (5 lines)
      */
     private SyntaxGuard(
         final String top,
-        final Sticky<Environment> environment
+        final Engine engine,
+        final boolean sll,
+        final boolean direct
     ) {
         this.top = top;
-        this.environment = environment;
+        this.engine = engine;
+        this.sll = sll;
+        this.direct = direct;
+        this.types = new Unchecked<>(
+            new Sticky<>(
+                new Synced<>(() -> new TokenTypes(engine.lexer("").getVocabulary()))
+            )
+        );
+    }
+
+    /**
+     * The same guard in the fast mode.
+     * The code is parsed with SLL prediction and bail-out error strategy first.
+     * Most of the correct programs pass this stage without full-context prediction.
+     * Only if SLL fails, the code is parsed again with full LL prediction and
+     * default error recovery, so the reported errors are the same as in
+     * the default mode.
+     * @return Guard in the fast mode.
+     */
+    public SyntaxGuard fast() {
+        return new SyntaxGuard(this.top, this.engine, true, this.direct);
+    }
+
+    /**
+     * The same guard in the token mode.
+     * The generated code is not lexed again, instead, the tokens that
+     * the generator produced, see {@link Tokens}, are parsed directly.
+     * Only the code that isn't labeled as a token, like the variable names
+     * chosen by the semantic rules, is lexed.
+     * If the code passes this guard but fails the default one, the lexer
+     * splits the code into other tokens than the generator produced,
+     * and the error message shows the generated tokens.
+     * @return Guard in the token mode.
+     */
+    public SyntaxGuard tokenized() {
+        return new SyntaxGuard(this.top, this.engine, this.sll, true);
     }
 
     /**
@@ -118,7 +184,11 @@ public final class SyntaxGuard {
      */
     public void verifySilently(final Text code) {
         try {
-            this.verify(code.output());
+            if (this.direct) {
+                this.verify(code);
+            } else {
+                this.verify(code.output());
+            }
             Logger.debug(this, "Generated code is correct");
         } catch (final InvalidSyntax exception) {
             Logger.error(
@@ -137,170 +207,136 @@ public final class SyntaxGuard {
     }
 
     /**
-     * Verify the generated code.
+     * Tokens of the generated code.
+     * They are exactly the tokens the token mode parses, see {@link #tokenized()}.
      * @param code Generated code.
-     * @throws InvalidSyntax If the code is incorrect or contains syntax errors.
+     * @return Tokens without the end of file.
      */
-    void verify(final String code) throws InvalidSyntax {
-        final Environment env = new Unchecked<>(this.environment).value();
-        final Lexer lexer = env.lexer(code);
-        final Parser parser = env.parser(lexer);
-        final SyntaxErrorListener errors = new SyntaxErrorListener();
-        parser.addErrorListener(errors);
-        lexer.addErrorListener(errors);
-        env.parse(parser, this.top);
-        errors.report();
+    public List<Token> tokens(final Text code) {
+        return new Tokens(code).list(
+            this.types.value(), this.lexer("", new SyntaxErrorListener())
+        );
     }
 
     /**
-     * Prepare environment.
-     * @param temp Temporary directory where to store generated classes.
-     * @param grammars ANTLR grammar texts.
-     * @return Environment that contains lexer and parser classes.
-     * @todo #89:30min This method is overcomplicated because it uses ANTLR Tool.
-     *  The Tool can only create Parser and Lexer classes as Java files on the disk.
-     *  If it is possible to create Parser and Lexer classes in memory, we should do it.
-     *  But for now, it's not possible, so we need to save generated classes to the disk.
+     * Verify the generated code.
+     * Engines may reuse lexers and parsers, so the listeners, the prediction
+     * mode and the error strategy of the previous verification are reset first.
+     * @param code Generated code.
+     * @throws InvalidSyntax If the code is incorrect or contains syntax errors.
      */
-    private static Sticky<Environment> prestructor(final Path temp, final List<String> grammars) {
-        return new Sticky<>(
-            new Synced<>(
-                () -> {
-                    new Tool(
-                        grammars.stream()
-                            .map(grammar -> SyntaxGuard.save(grammar, temp))
-                            .toArray(String[]::new)
-                    ).processGrammarsOnCommandLine();
-                    return new Environment(
-                        new InMemoryCompiler().compile(
-                            Files.list(temp)
-                                .filter(Files::isRegularFile)
-                                .filter(java -> java.getFileName().toString().endsWith(".java"))
-                                .toArray(Path[]::new)
-                        )
-                    );
-                }
-            )
-        );
+    void verify(final String code) throws InvalidSyntax {
+        this.verify(errors -> this.lexer(code, errors));
     }
 
     /**
-     * Save grammar to the file.
-     * @param grammar Grammar text.
-     * @param where Where to save.
-     * @return Path to the saved grammar.
+     * Verify the generated tokens of the code.
+     * @param code Generated code.
+     * @throws InvalidSyntax If the tokens are incorrect or contain syntax errors.
      */
-    private static String save(final String grammar, final Path where) {
+    void verify(final Text code) throws InvalidSyntax {
+        final SyntaxErrorListener errors = new SyntaxErrorListener();
+        final List<Token> tokens = new Tokens(code).list(
+            this.types.value(), this.lexer("", errors)
+        );
+        errors.report();
         try {
-            return Files.write(
-                where.resolve(String.format("%s.g4", SyntaxGuard.grammarName(grammar))),
-                grammar.getBytes(StandardCharsets.UTF_8)
-            ).toString();
-        } catch (final IOException exception) {
-            throw new IllegalStateException(
-                "Something went wrong during grammar saving",
-                exception
+            this.verify(listener -> new ListTokenSource(tokens));
+        } catch (final InvalidSyntax exception) {
+            throw new InvalidSyntax(
+                String.format(
+                    "%s%nGenerated tokens: %s",
+                    exception.getMessage(),
+                    SyntaxGuard.names(tokens, this.engine.lexer("").getVocabulary())
+                )
             );
         }
     }
 
     /**
-     * Get grammar name.
-     * @param grammar Grammar text.
-     * @return Grammar name.
+     * Verify the tokens.
+     * @param source Tokens, the lexer errors go to the given listener.
+     * @throws InvalidSyntax If the tokens are incorrect or contain syntax errors.
      */
-    private static String grammarName(final String grammar) {
-        final Matcher matcher = Pattern.compile("grammar\\s+(\\w+);").matcher(grammar);
-        if (matcher.find()) {
-            return matcher.group(1);
-        } else {
-            throw new IllegalStateException("Grammar name not found");
+    private void verify(
+        final Function<SyntaxErrorListener, TokenSource> source
+    ) throws InvalidSyntax {
+        if (!this.sll || !this.simple(source)) {
+            this.full(source);
         }
     }
 
     /**
-     * Compiled lexer and parser classes.
-     * This class encapsulates lexer and parser instances.
-     * @since 0.1
-     * @checkstyle IllegalCatchCheck (500 lines)
+     * Parse the tokens with SLL prediction, bailing out at the first syntax error.
+     * @param source Tokens, the lexer errors go to the given listener.
+     * @return True if the tokens are parsed, false if they have to be parsed again in LL mode.
+     * @throws InvalidSyntax If the lexer finds errors in the code.
      */
-    @SuppressWarnings("PMD.AvoidCatchingGenericException")
-    private static class Environment {
-
-        /**
-         * All compiled classes.
-         */
-        private final List<Class<?>> all;
-
-        /**
-         * Constructor.
-         * @param all All compiled classes.
-         */
-        Environment(final List<Class<?>> all) {
-            this.all = all;
+    private boolean simple(
+        final Function<SyntaxErrorListener, TokenSource> source
+    ) throws InvalidSyntax {
+        final SyntaxErrorListener errors = new SyntaxErrorListener();
+        final Parser parser = this.engine.parser(source.apply(errors));
+        parser.removeErrorListeners();
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
+        boolean parsed;
+        try {
+            this.engine.parse(parser, this.top);
+            parsed = true;
+        } catch (final ParseCancellationException exception) {
+            parsed = false;
         }
-
-        /**
-         * Create lexer instance.
-         * @param code Code to parse.
-         * @return Lexer instance.
-         * @checkstyle CascadeIndentationCheck (50 lines)
-         */
-        Lexer lexer(final String code) {
-            try {
-                return (Lexer) this.find("Lexer").getDeclaredConstructor(CharStream.class)
-                    .newInstance(CharStreams.fromString(code));
-            } catch (final Exception exception) {
-                throw new IllegalStateException(
-                    "Something went wrong during lexer creation",
-                    exception
-                );
-            }
+        if (parsed) {
+            errors.report();
         }
+        return parsed;
+    }
 
-        /**
-         * Create parser instance.
-         * @param lexer Lexer instance.
-         * @return Parser instance.
-         */
-        Parser parser(final Lexer lexer) {
-            try {
-                return (Parser) this.find("Parser").getDeclaredConstructor(TokenStream.class)
-                    .newInstance(new CommonTokenStream(lexer));
-            } catch (final Exception exception) {
-                throw new IllegalStateException(
-                    "Something went wrong during parser creation",
-                    exception
-                );
-            }
-        }
+    /**
+     * Parse the tokens with full LL prediction and default error recovery.
+     * @param source Tokens, the lexer errors go to the given listener.
+     * @throws InvalidSyntax If the tokens are incorrect or contain syntax errors.
+     */
+    private void full(
+        final Function<SyntaxErrorListener, TokenSource> source
+    ) throws InvalidSyntax {
+        final SyntaxErrorListener errors = new SyntaxErrorListener();
+        final Parser parser = this.engine.parser(source.apply(errors));
+        parser.removeErrorListeners();
+        parser.addErrorListener(errors);
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        parser.setErrorHandler(new DefaultErrorStrategy());
+        this.engine.parse(parser, this.top);
+        errors.report();
+    }
 
-        /**
-         * Parse the code by using top rule.
-         * @param parser Parser instance.
-         * @param top Top rule name.
-         */
-        void parse(final Parser parser, final String top) {
-            try {
-                this.find("Parser").getMethod(top).invoke(parser);
-            } catch (final Exception exception) {
-                throw new IllegalStateException(
-                    "Something went wrong during parsing",
-                    exception
-                );
-            }
-        }
+    /**
+     * Lexer of the code that reports its errors to the listener.
+     * @param code Code.
+     * @param errors Listener of the lexer errors.
+     * @return Lexer.
+     */
+    private Lexer lexer(final String code, final SyntaxErrorListener errors) {
+        final Lexer lexer = this.engine.lexer(code);
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errors);
+        return lexer;
+    }
 
-        /**
-         * Find class by suffix.
-         * @param suffix Suffix.
-         * @return Class.
-         */
-        private Class<?> find(final String suffix) {
-            return this.all.stream()
-                .filter(clazz -> clazz.getName().endsWith(suffix))
-                .findFirst()
-                .orElseThrow();
-        }
+    /**
+     * Readable names of the tokens, like {@code ID:'x'}.
+     * @param tokens Tokens.
+     * @param vocabulary Vocabulary of the lexer.
+     * @return Names separated by spaces.
+     */
+    private static String names(final List<Token> tokens, final Vocabulary vocabulary) {
+        return tokens.stream()
+            .map(
+                token -> String.format(
+                    "%s:'%s'", vocabulary.getDisplayName(token.getType()), token.getText()
+                )
+            )
+            .collect(Collectors.joining(" "));
     }
 }
@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.pipeline;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cactoos.Proc;
+import org.cactoos.Scalar;
+
+/**
+ * Stage of a running pipeline.
+ * It connects the stage to its input and output and counts its live workers,
+ * so the last worker to finish tells all the consumers of the stage that
+ * there are no more items.
+ * @since 0.2
+ */
+final class Link {
+
+    /**
+     * Marker of the end of items.
+     */
+    static final Object END = new Object();
+
+    /**
+     * Marker of an item dropped by the stage.
+     */
+    static final Object SKIP = new Object();
+
+    /**
+     * Stage.
+     */
+    private final Stage stage;
+
+    /**
+     * Where to take the next item from.
+     */
+    private final Scalar<Object> input;
+
+    /**
+     * Where to put the processed items.
+     */
+    private final Proc<Object> output;
+
+    /**
+     * Number of workers that consume the output.
+     */
+    private final int consumers;
+
+    /**
+     * Number of live workers of the stage.
+     */
+    private final AtomicInteger alive;
+
+    /**
+     * Counters of the stage.
+     */
+    private final Metrics counters;
+
+    /**
+     * Constructor.
+     * @param stage Stage.
+     * @param input Where to take the next item from, returns {@link #END} at the end.
+     * @param output Where to put the processed items.
+     * @param consumers Number of workers that consume the output.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    Link(
+        final Stage stage,
+        final Scalar<Object> input,
+        final Proc<Object> output,
+        final int consumers
+    ) {
+        this.stage = stage;
+        this.input = input;
+        this.output = output;
+        this.consumers = consumers;
+        this.alive = new AtomicInteger(stage.workers());
+        this.counters = new Metrics(stage.name());
+    }
+
+    /**
+     * Stage name.
+     * @return Name.
+     */
+    String name() {
+        return this.stage.name();
+    }
+
+    /**
+     * Number of concurrent workers.
+     * @return Number of workers.
+     */
+    int workers() {
+        return this.stage.workers();
+    }
+
+    /**
+     * Counters of the stage.
+     * @return Metrics.
+     */
+    Metrics metrics() {
+        return this.counters;
+    }
+
+    /**
+     * Process items until the end of the input.
+     * Each worker of the stage runs this method in its own thread.
+     * @throws Exception If an item can't be processed or the worker is interrupted.
+     * @throws IllegalStateException If the stage returns {@code null}.
+     */
+    void work() throws Exception {
+        Object item = this.input.value();
+        while (item != Link.END) {
+            final long start = System.nanoTime();
+            final Object res = this.stage.apply(item);
+            this.counters.record(start, System.nanoTime());
+            if (res == null) {
+                throw new IllegalStateException(
+                    String.format("Stage '%s' returned null for item %s", this.name(), item)
+                );
+            }
+            if (res != Link.SKIP) {
+                this.output.exec(res);
+            }
+            item = this.input.value();
+        }
+        if (this.alive.decrementAndGet() == 0) {
+            for (int idx = 0; idx < this.consumers; ++idx) {
+                this.output.exec(Link.END);
+            }
+        }
+    }
+}
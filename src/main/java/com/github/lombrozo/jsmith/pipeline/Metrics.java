@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.pipeline;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and latency counters of one pipeline stage.
+ * All the workers of the stage record their items here concurrently.
+ * @since 0.2
+ */
+public final class Metrics {
+
+    /**
+     * Stage name.
+     */
+    private final String label;
+
+    /**
+     * Number of processed items.
+     */
+    private final LongAdder processed;
+
+    /**
+     * Total time spent on processing, in nanoseconds.
+     */
+    private final LongAdder busy;
+
+    /**
+     * The longest processing of one item, in nanoseconds.
+     */
+    private final AtomicLong longest;
+
+    /**
+     * When the stage started the first item, in nanoseconds.
+     */
+    private final AtomicLong first;
+
+    /**
+     * When the stage finished the last item, in nanoseconds.
+     */
+    private final AtomicLong last;
+
+    /**
+     * Constructor.
+     * @param name Stage name.
+     */
+    Metrics(final String name) {
+        this.label = name;
+        this.processed = new LongAdder();
+        this.busy = new LongAdder();
+        this.longest = new AtomicLong();
+        this.first = new AtomicLong(Long.MAX_VALUE);
+        this.last = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Stage name.
+     * @return Name.
+     */
+    public String name() {
+        return this.label;
+    }
+
+    /**
+     * Number of processed items.
+     * @return Number of items.
+     */
+    public long items() {
+        return this.processed.sum();
+    }
+
+    /**
+     * Throughput of the stage.
+     * It's the number of items divided by the time between the start of
+     * the first item and the end of the last one, so all the workers
+     * of the stage are taken into account.
+     * @return Items per second.
+     */
+    public double throughput() {
+        final long items = this.processed.sum();
+        final double res;
+        if (items == 0L) {
+            res = 0.0;
+        } else {
+            res = items * (double) TimeUnit.SECONDS.toNanos(1L)
+                / Math.max(1L, this.last.get() - this.first.get());
+        }
+        return res;
+    }
+
+    /**
+     * Mean latency of one item.
+     * @return Mean time spent on processing of one item.
+     */
+    public Duration latency() {
+        final long items = this.processed.sum();
+        final Duration res;
+        if (items == 0L) {
+            res = Duration.ZERO;
+        } else {
+            res = Duration.ofNanos(this.busy.sum() / items);
+        }
+        return res;
+    }
+
+    /**
+     * Maximum latency of one item.
+     * @return The longest time spent on processing of one item.
+     */
+    public Duration maxLatency() {
+        return Duration.ofNanos(this.longest.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s: %d items, %.1f items/s, mean latency %.3f ms, max latency %.3f ms",
+            this.label,
+            this.items(),
+            this.throughput(),
+            this.latency().toNanos() / 1e6,
+            this.maxLatency().toNanos() / 1e6
+        );
+    }
+
+    /**
+     * Record one processed item.
+     * @param start When the processing started, in nanoseconds.
+     * @param finish When the processing finished, in nanoseconds.
+     */
+    void record(final long start, final long finish) {
+        final long spent = finish - start;
+        this.processed.increment();
+        this.busy.add(spent);
+        this.longest.accumulateAndGet(spent, Math::max);
+        this.first.accumulateAndGet(start, Math::min);
+        this.last.accumulateAndGet(finish, Math::max);
+    }
+}
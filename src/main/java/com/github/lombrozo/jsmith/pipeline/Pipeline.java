@@ -0,0 +1,303 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.cactoos.Func;
+import org.cactoos.Proc;
+import org.cactoos.Scalar;
+
+/**
+ * Pipeline of concurrent stages.
+ * The first stage produces items by their indexes, for example generates
+ * random scripts, and each next stage processes the items of the previous one,
+ * for example verifies or compiles them.
+ * Each stage has its own workers and a bounded queue in front of it,
+ * so a fast stage blocks when the next one can't keep up, and the throughput
+ * of the whole pipeline is the throughput of its slowest stage instead of
+ * the sum of all of them.
+ * <p>Generate, verify and compile programs with:</p>
+ * <pre>{@code
+ * final RandomScript script = new RandomScript(grammar);
+ * final List<Metrics> metrics = new Pipeline<>("generate", 2, idx -> script.generate(top, idx))
+ *     .filter("dedup", 1, 64, new Duplicates()::unique)
+ *     .then("verify", 2, 64, text -> {
+ *         guard.verifySilently(text);
+ *         return text;
+ *     })
+ *     .then("compile", 4, 64, text -> compiler.compile(text.output()))
+ *     .run(1000);
+ * }</pre>
+ * <p>A filter stage, see {@link #filter(String, int, int, Func)}, drops some
+ * of the items, so the next stages never see them. A stage can't return
+ * {@code null}, it's a failure of the stage, use a filter to drop items.</p>
+ * <p>The items of the last stage go to the sink given to
+ * {@link #run(long, Proc)}.</p>
+ * @param <T> Type of the items of the last stage.
+ * @since 0.2
+ * @checkstyle IllegalCatchCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public final class Pipeline<T> {
+
+    /**
+     * Stages in the order of processing.
+     */
+    private final List<Stage> stages;
+
+    /**
+     * Constructor.
+     * @param name Name of the first stage.
+     * @param workers Number of concurrent workers of the first stage.
+     * @param source Produces an item by its index.
+     */
+    public Pipeline(final String name, final int workers, final Func<Long, ? extends T> source) {
+        this(
+            Collections.singletonList(
+                new Stage(name, workers, 1, index -> source.apply((Long) index))
+            )
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param stages Stages in the order of processing.
+     */
+    private Pipeline(final List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * Add the next stage.
+     * @param name Stage name.
+     * @param workers Number of concurrent workers.
+     * @param capacity Capacity of the queue between the previous stage and this one.
+     * @param func What the stage does with each item of the previous stage.
+     * @param <R> Type of the processed items.
+     * @return New pipeline with the stage at the end.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    @SuppressWarnings("unchecked")
+    public <R> Pipeline<R> then(
+        final String name,
+        final int workers,
+        final int capacity,
+        final Func<? super T, ? extends R> func
+    ) {
+        final List<Stage> next = new ArrayList<>(this.stages);
+        next.add(new Stage(name, workers, capacity, item -> func.apply((T) item)));
+        return new Pipeline<>(Collections.unmodifiableList(next));
+    }
+
+    /**
+     * Add the next stage that drops some of the items.
+     * For example, it drops the duplicate programs before their verification,
+     * see {@link com.github.lombrozo.jsmith.guard.Duplicates}.
+     * @param name Stage name.
+     * @param workers Number of concurrent workers.
+     * @param capacity Capacity of the queue between the previous stage and this one.
+     * @param func Tells whether the item goes to the next stage.
+     * @return New pipeline with the stage at the end.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    @SuppressWarnings("unchecked")
+    public Pipeline<T> filter(
+        final String name,
+        final int workers,
+        final int capacity,
+        final Func<? super T, Boolean> func
+    ) {
+        final List<Stage> next = new ArrayList<>(this.stages);
+        next.add(
+            new Stage(
+                name,
+                workers,
+                capacity,
+                item -> {
+                    final Object res;
+                    if (func.apply((T) item)) {
+                        res = item;
+                    } else {
+                        res = Link.SKIP;
+                    }
+                    return res;
+                }
+            )
+        );
+        return new Pipeline<>(Collections.unmodifiableList(next));
+    }
+
+    /**
+     * Run the pipeline until all the stages process the given number of items.
+     * The items of the last stage are dropped.
+     * The first failure stops all the stages and is rethrown.
+     * @param count Number of items to produce by the first stage.
+     * @return Counters of all the stages in the order of processing.
+     */
+    public List<Metrics> run(final long count) {
+        return this.run(count, item -> { });
+    }
+
+    /**
+     * Run the pipeline until all the stages process the given number of items.
+     * The items of the last stage go to the sink.
+     * The workers of the last stage call the sink concurrently,
+     * so it must be thread-safe.
+     * The first failure stops all the stages and is rethrown.
+     * @param count Number of items to produce by the first stage.
+     * @param sink Consumer of the items of the last stage.
+     * @return Counters of all the stages in the order of processing.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Metrics> run(final long count, final Proc<? super T> sink) {
+        if (count < 0L) {
+            throw new IllegalArgumentException(
+                String.format("Number of items can't be negative, but was %d", count)
+            );
+        }
+        this.stages.forEach(Pipeline::validate);
+        final AtomicLong next = new AtomicLong();
+        Scalar<Object> input = () -> {
+            final long index = next.getAndIncrement();
+            final Object res;
+            if (index < count) {
+                res = index;
+            } else {
+                res = Link.END;
+            }
+            return res;
+        };
+        final int size = this.stages.size();
+        final List<Link> links = new ArrayList<>(size);
+        for (int idx = 0; idx < size; ++idx) {
+            final Stage stage = this.stages.get(idx);
+            if (idx + 1 < size) {
+                final Stage following = this.stages.get(idx + 1);
+                final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(following.capacity());
+                links.add(new Link(stage, input, queue::put, following.workers()));
+                input = queue::take;
+            } else {
+                links.add(new Link(stage, input, item -> sink.exec((T) item), 0));
+            }
+        }
+        Pipeline.execute(links);
+        return links.stream().map(Link::metrics).collect(Collectors.toList());
+    }
+
+    /**
+     * Check the stage settings.
+     * @param stage Stage.
+     */
+    private static void validate(final Stage stage) {
+        if (stage.workers() < 1) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Number of workers of stage '%s' must be positive, but was %d",
+                    stage.name(),
+                    stage.workers()
+                )
+            );
+        }
+        if (stage.capacity() < 1) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Queue capacity of stage '%s' must be positive, but was %d",
+                    stage.name(),
+                    stage.capacity()
+                )
+            );
+        }
+    }
+
+    /**
+     * Run all the workers of all the stages and wait for them.
+     * @param links Stages of the running pipeline.
+     */
+    private static void execute(final List<Link> links) {
+        final ExecutorService pool = Executors.newFixedThreadPool(
+            links.stream().mapToInt(Link::workers).sum()
+        );
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        for (final Link link : links) {
+            for (int worker = 0; worker < link.workers(); ++worker) {
+                pool.execute(() -> Pipeline.work(link, pool, failure));
+            }
+        }
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException exception) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pipeline was interrupted", exception);
+        }
+        final RuntimeException cause = failure.get();
+        if (cause != null) {
+            throw cause;
+        }
+    }
+
+    /**
+     * Run one worker of a stage.
+     * If the worker fails, all the other workers are interrupted.
+     * Errors are caught too, otherwise the stages after the failed one
+     * would wait for its items forever.
+     * @param link Stage of the running pipeline.
+     * @param pool Pool of all the workers.
+     * @param failure The first failure of the pipeline.
+     */
+    private static void work(
+        final Link link,
+        final ExecutorService pool,
+        final AtomicReference<RuntimeException> failure
+    ) {
+        try {
+            link.work();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (final RuntimeException exception) {
+            failure.compareAndSet(null, exception);
+            pool.shutdownNow();
+        } catch (final Exception | Error exception) {
+            failure.compareAndSet(
+                null,
+                new IllegalStateException(
+                    String.format("Stage '%s' failed", link.name()),
+                    exception
+                )
+            );
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.pipeline;
+
+import org.cactoos.Func;
+
+/**
+ * Description of one pipeline stage.
+ * @since 0.2
+ */
+final class Stage {
+
+    /**
+     * Stage name.
+     */
+    private final String label;
+
+    /**
+     * Number of concurrent workers.
+     */
+    private final int threads;
+
+    /**
+     * Capacity of the queue in front of the stage.
+     */
+    private final int size;
+
+    /**
+     * What the stage does with each item.
+     */
+    private final Func<Object, Object> func;
+
+    /**
+     * Constructor.
+     * @param name Stage name.
+     * @param workers Number of concurrent workers.
+     * @param capacity Capacity of the queue in front of the stage.
+     * @param func What the stage does with each item.
+     */
+    Stage(
+        final String name,
+        final int workers,
+        final int capacity,
+        final Func<Object, Object> func
+    ) {
+        this.label = name;
+        this.threads = workers;
+        this.size = capacity;
+        this.func = func;
+    }
+
+    /**
+     * Stage name.
+     * @return Name.
+     */
+    String name() {
+        return this.label;
+    }
+
+    /**
+     * Number of concurrent workers.
+     * @return Number of workers.
+     */
+    int workers() {
+        return this.threads;
+    }
+
+    /**
+     * Capacity of the queue in front of the stage.
+     * @return Capacity.
+     */
+    int capacity() {
+        return this.size;
+    }
+
+    /**
+     * Process one item.
+     * @param item Input item.
+     * @return Output item.
+     * @throws Exception If the item can't be processed.
+     */
+    Object apply(final Object item) throws Exception {
+        return this.func.apply(item);
+    }
+}
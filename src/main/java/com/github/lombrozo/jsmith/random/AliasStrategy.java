@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import com.github.lombrozo.jsmith.Params;
+import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import java.util.List;
+
+/**
+ * Strategy for static weights.
+ * When the convergence factor is 1.0, the weights of the children never
+ * decay, so there is no state to keep between the choices.
+ * The strategy samples the children from the alias tables shared by all
+ * the generations of the grammar, which costs O(1) and allocates nothing.
+ * All the children have equal weights, so it chooses exactly as
+ * {@link ArrayConvergenceStrategy} with the factor 1.0 and the same seed.
+ * @since 0.2
+ */
+public final class AliasStrategy implements ChoosingStrategy {
+
+    /**
+     * Alias tables of the parent rules.
+     */
+    private final AliasTables<Rule> tables;
+
+    /**
+     * Random generator.
+     */
+    private final Rand rand;
+
+    /**
+     * Constructor.
+     * @param params Generation params, only the seed is used.
+     * @param tables Alias tables, might be shared by many generations.
+     */
+    public AliasStrategy(final Params params, final AliasTables<Rule> tables) {
+        this(tables, new Rand(params.seed()));
+    }
+
+    /**
+     * Constructor.
+     * @param tables Alias tables.
+     * @param rand Random generator.
+     */
+    AliasStrategy(final AliasTables<Rule> tables, final Rand rand) {
+        this.tables = tables;
+        this.rand = rand;
+    }
+
+    @Override
+    public Rule choose(final Rule parent, final List<Rule> children) {
+        if (children.isEmpty()) {
+            throw new IllegalArgumentException(
+                String.format("No elements to choose from for '%s' element", parent)
+            );
+        }
+        return children.get(
+            this.tables.table(parent, children.size()).sample(this.rand.floating())
+        );
+    }
+
+    @Override
+    public ChoosingStrategy copy() {
+        return this;
+    }
+}
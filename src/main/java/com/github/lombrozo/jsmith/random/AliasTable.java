@@ -0,0 +1,172 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import java.util.Arrays;
+
+/**
+ * Walker's alias table built by Vose's method.
+ * It samples an index with probability proportional to its static weight
+ * in O(1) with a single random number and no allocation.
+ * The table is built once in O(n) and never changes, so it might be shared
+ * by any number of threads.
+ * @since 0.2
+ */
+final class AliasTable {
+
+    /**
+     * Probability to keep the index of each column.
+     */
+    private final double[] prob;
+
+    /**
+     * Alias of each column, taken when the index isn't kept.
+     */
+    private final int[] alias;
+
+    /**
+     * Constructor of a table with equal weights.
+     * @param size Number of indexes.
+     */
+    AliasTable(final int size) {
+        this(AliasTable.uniform(size));
+    }
+
+    /**
+     * Constructor.
+     * @param weights Positive weights of the indexes.
+     */
+    AliasTable(final double... weights) {
+        this(new double[weights.length], new int[weights.length]);
+        AliasTable.build(weights, this.prob, this.alias);
+    }
+
+    /**
+     * Constructor.
+     * @param prob Probability to keep the index of each column.
+     * @param alias Alias of each column.
+     */
+    private AliasTable(final double[] prob, final int[] alias) {
+        this.prob = prob;
+        this.alias = alias;
+    }
+
+    /**
+     * Number of indexes.
+     * @return Size.
+     */
+    int size() {
+        return this.prob.length;
+    }
+
+    /**
+     * Sample an index.
+     * The integer part of the scaled number picks the column and
+     * the fractional part decides between the column and its alias.
+     * @param uniform Uniform random number in [0, 1).
+     * @return Index.
+     */
+    int sample(final double uniform) {
+        final double scaled = uniform * this.prob.length;
+        final int column = (int) scaled;
+        final int res;
+        if (scaled - column < this.prob[column]) {
+            res = column;
+        } else {
+            res = this.alias[column];
+        }
+        return res;
+    }
+
+    /**
+     * Equal weights.
+     * @param size Number of weights.
+     * @return Weights.
+     */
+    private static double[] uniform(final int size) {
+        final double[] res = new double[size];
+        Arrays.fill(res, 1.0d);
+        return res;
+    }
+
+    /**
+     * Fill the table by Vose's method.
+     * Columns with less than the average weight are paired with
+     * a column with more than the average weight, which gives them its surplus.
+     * @param weights Positive weights.
+     * @param prob Probability to keep the index of each column.
+     * @param alias Alias of each column.
+     */
+    private static void build(final double[] weights, final double[] prob, final int[] alias) {
+        final int size = weights.length;
+        if (size == 0) {
+            throw new IllegalArgumentException("Alias table needs at least one weight");
+        }
+        final double sum = Arrays.stream(weights).sum();
+        final double[] scaled = new double[size];
+        final int[] small = new int[size];
+        final int[] large = new int[size];
+        int smalls = 0;
+        int larges = 0;
+        for (int index = 0; index < size; ++index) {
+            if (weights[index] <= 0.0d) {
+                throw new IllegalArgumentException(
+                    String.format("Weights must be positive, but %s", Arrays.toString(weights))
+                );
+            }
+            scaled[index] = weights[index] * size / sum;
+            if (scaled[index] < 1.0d) {
+                small[smalls] = index;
+                ++smalls;
+            } else {
+                large[larges] = index;
+                ++larges;
+            }
+        }
+        while (smalls > 0 && larges > 0) {
+            --smalls;
+            --larges;
+            final int less = small[smalls];
+            final int more = large[larges];
+            prob[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0d;
+            if (scaled[more] < 1.0d) {
+                small[smalls] = more;
+                ++smalls;
+            } else {
+                large[larges] = more;
+                ++larges;
+            }
+        }
+        for (int index = 0; index < larges; ++index) {
+            prob[large[index]] = 1.0d;
+            alias[large[index]] = large[index];
+        }
+        for (int index = 0; index < smalls; ++index) {
+            prob[small[index]] = 1.0d;
+            alias[small[index]] = small[index];
+        }
+    }
+}
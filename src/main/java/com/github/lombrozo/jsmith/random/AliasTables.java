@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Alias tables of parent elements.
+ * Each parent element gets its {@link AliasTable} the first time it makes
+ * a choice, and all the next choices of all the generations reuse the table.
+ * This class is thread-safe.
+ * @param <T> Type of elements.
+ * @since 0.2
+ */
+public final class AliasTables<T> {
+
+    /**
+     * Tables of known parent elements.
+     */
+    private final Map<T, AliasTable> tables;
+
+    /**
+     * Constructor.
+     */
+    public AliasTables() {
+        this.tables = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Table of the parent element.
+     * Pay attention, the number of children of the same parent must always be the same.
+     * @param parent Parent element.
+     * @param size Number of its children.
+     * @return Table.
+     */
+    AliasTable table(final T parent, final int size) {
+        AliasTable res = this.tables.get(parent);
+        if (res == null) {
+            res = this.tables.computeIfAbsent(parent, key -> new AliasTable(size));
+        }
+        return res;
+    }
+}
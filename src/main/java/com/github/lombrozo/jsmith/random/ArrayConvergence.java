@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import com.github.lombrozo.jsmith.Params;
+import java.util.List;
+
+/**
+ * Array-backed version of {@link Convergence}.
+ * Chooses elements by the same rules, but each parent element is addressed
+ * by a dense int identifier and weights of its children are kept in
+ * primitive arrays together with their prefix sums (see {@link Row}).
+ * So, the choice doesn't box any numbers: finding the element costs O(log n)
+ * and decaying its weight copies the short row of its siblings.
+ * @param <T> Type of the elements.
+ * @since 0.2
+ */
+final class ArrayConvergence<T> {
+
+    /**
+     * Factor of convergence.
+     * Each time when one of the elements is chosen, its weight is multiplied by this factor.
+     * Must be between 0 and 1.
+     */
+    private final double factor;
+
+    /**
+     * Initial weight of the elements.
+     */
+    private final double weight;
+
+    /**
+     * Identifiers of parent elements.
+     */
+    private final Ids<T> ids;
+
+    /**
+     * Random generator.
+     */
+    private final Rand rand;
+
+    /**
+     * Weights of the children for each parent.
+     * The rows are persistent, so each choice replaces them with a new version,
+     * while all the copies of this object keep their own versions.
+     */
+    private Rows<T> rows;
+
+    /**
+     * Constructor.
+     * @param params Generation params.
+     * @param ids Identifiers of parent elements.
+     */
+    ArrayConvergence(final Params params, final Ids<T> ids) {
+        this(params.factor(), 1.0d, ids, new Rand(params.seed()), new Rows<>());
+    }
+
+    /**
+     * Constructor.
+     * @param factor Factor of convergence.
+     * @param ids Identifiers of parent elements.
+     */
+    ArrayConvergence(final double factor, final Ids<T> ids) {
+        this(factor, 1.0d, ids, new Rand(), new Rows<>());
+    }
+
+    /**
+     * Constructor.
+     * @param factor Factor of convergence.
+     * @param weight Initial weight of the elements.
+     * @param ids Identifiers of parent elements.
+     * @param rand Random generator.
+     * @param rows Weights of the children for each parent.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private ArrayConvergence(
+        final double factor,
+        final double weight,
+        final Ids<T> ids,
+        final Rand rand,
+        final Rows<T> rows
+    ) {
+        this.factor = factor;
+        this.weight = weight;
+        this.ids = ids;
+        this.rand = rand;
+        this.rows = rows;
+    }
+
+    /**
+     * Copy this object.
+     * The copy shares the current weights, so it costs O(1).
+     * @return Copy of this object.
+     */
+    ArrayConvergence<T> copy() {
+        return new ArrayConvergence<>(this.factor, this.weight, this.ids, this.rand, this.rows);
+    }
+
+    /**
+     * Choose one of the child elements from a parent element.
+     * Each time when we choose an element, its weight is multiplied by the factor.
+     * Pay attention, the children of the same parent must always be the same.
+     * @param from The main parent element which has child elements.
+     * @param elements Child elements.
+     * @return Chosen element.
+     */
+    T choose(final T from, final List<T> elements) {
+        if (this.factor < 0 || this.factor > 1) {
+            throw new IllegalArgumentException("Factor must be between 0 and 1");
+        }
+        if (elements.isEmpty()) {
+            throw new IllegalArgumentException(
+                String.format("No elements to choose from for '%s' element", from)
+            );
+        }
+        final int id = this.ids.id(from);
+        Row<T> row = this.rows.get(id);
+        if (row == null) {
+            row = new Row<>(elements, this.weight);
+        }
+        final int index = row.find(this.rand.floating() * row.total());
+        this.rows = this.rows.with(id, row.decay(index, this.factor));
+        return row.element(index);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import com.github.lombrozo.jsmith.Params;
+import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import java.util.List;
+
+/**
+ * Convergence strategy backed by primitive arrays.
+ * Chooses rules the same way as {@link ConvergenceStrategy}, but faster.
+ * @since 0.2
+ */
+public final class ArrayConvergenceStrategy implements ChoosingStrategy {
+
+    /**
+     * Convergence state.
+     */
+    private final ArrayConvergence<Rule> convergence;
+
+    /**
+     * Constructor.
+     * @param params The convergence params.
+     * @param ids Identifiers of the rules, might be shared by many generations.
+     */
+    public ArrayConvergenceStrategy(final Params params, final Ids<Rule> ids) {
+        this(new ArrayConvergence<>(params, ids));
+    }
+
+    /**
+     * Constructor.
+     * @param convergence The convergence state.
+     */
+    private ArrayConvergenceStrategy(final ArrayConvergence<Rule> convergence) {
+        this.convergence = convergence;
+    }
+
+    @Override
+    public Rule choose(final Rule parent, final List<Rule> children) {
+        return this.convergence.choose(parent, children);
+    }
+
+    @Override
+    public ChoosingStrategy copy() {
+        return new ArrayConvergenceStrategy(this.convergence.copy());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of compiled regular expressions.
+ * Each regex is compiled into an automaton only once and then reused by all
+ * the {@link Rand}s that share this cache.
+ * The cache is bounded: when it is full, an arbitrary regex is evicted.
+ * This class is thread-safe.
+ * @since 0.2
+ */
+public final class Automata {
+
+    /**
+     * Default max number of cached regexes.
+     */
+    private static final int DEFAULT = 1024;
+
+    /**
+     * Max number of cached regexes.
+     */
+    private final int limit;
+
+    /**
+     * Compiled regexes.
+     */
+    private final Map<String, CompiledRegex> compiled;
+
+    /**
+     * Number of cache hits.
+     */
+    private final LongAdder hit;
+
+    /**
+     * Number of cache misses.
+     */
+    private final LongAdder miss;
+
+    /**
+     * Constructor.
+     */
+    public Automata() {
+        this(Automata.DEFAULT);
+    }
+
+    /**
+     * Constructor.
+     * @param limit Max number of cached regexes.
+     */
+    public Automata(final int limit) {
+        this.limit = limit;
+        this.compiled = new ConcurrentHashMap<>(0);
+        this.hit = new LongAdder();
+        this.miss = new LongAdder();
+    }
+
+    /**
+     * Number of cache hits.
+     * @return Hits.
+     */
+    public long hits() {
+        return this.hit.sum();
+    }
+
+    /**
+     * Number of cache misses, i.e. how many times regexes were compiled.
+     * @return Misses.
+     */
+    public long misses() {
+        return this.miss.sum();
+    }
+
+    /**
+     * Compiled regex.
+     * @param regex Regular expression.
+     * @return Compiled regex.
+     */
+    CompiledRegex regex(final String regex) {
+        CompiledRegex res = this.compiled.get(regex);
+        if (res == null) {
+            this.miss.increment();
+            res = new CompiledRegex(regex);
+            if (this.compiled.size() >= this.limit) {
+                final Iterator<String> keys = this.compiled.keySet().iterator();
+                if (keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
+            this.compiled.putIfAbsent(regex, res);
+        } else {
+            this.hit.increment();
+        }
+        return res;
+    }
+}
@@ -50,6 +50,8 @@ public interface ChoosingStrategy {
      * Pay attention!
      * Strategy must be used only for single generation branch.
      * So, we need to copy the strategy for each new generation branch.
+     * The copy is taken on each step of the generation, so it has to be cheap:
+     * share the internal state with the copy and never change it in place.
      * @return New instance of the strategy.
      */
     ChoosingStrategy copy();
@@ -0,0 +1,206 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import com.mifmif.common.regex.Generex;
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.RegExp;
+import dk.brics.automaton.State;
+import dk.brics.automaton.Transition;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Regular expression compiled into an automaton.
+ * Generates exactly the same strings as {@link Generex} does for the same
+ * regex and the same random, but the automaton is built only once.
+ * If the regex matches a single character only, like {@code [a-zA-Z_]},
+ * the automaton is further compiled into a table of character ranges.
+ * @since 0.2
+ */
+final class CompiledRegex {
+
+    /**
+     * Predefined character classes that {@link Generex} replaces before compilation.
+     */
+    private static final Map<String, String> PREDEFINED = Map.of(
+        "\\\\d", "[0-9]",
+        "\\\\D", "[^0-9]",
+        "\\\\s", "[ \t\n\f\r]",
+        "\\\\S", "[^ \t\n\f\r]",
+        "\\\\w", "[a-zA-Z_0-9]",
+        "\\\\W", "[^a-zA-Z_0-9]"
+    );
+
+    /**
+     * Quoted part of the regex, like {@code \Q*+\E}.
+     */
+    private static final Pattern QUOTED = Pattern.compile("\\\\Q(.*?)\\\\E");
+
+    /**
+     * Characters that have to be escaped inside the quoted part of the regex.
+     */
+    private static final Pattern SPECIAL = Pattern.compile("[.^$*+?(){|\\[\\\\@]");
+
+    /**
+     * Compiled automaton.
+     */
+    private final Automaton automaton;
+
+    /**
+     * The lowest characters of the ranges, or null if the regex is not a single character.
+     */
+    private final char[] lows;
+
+    /**
+     * Sizes of the ranges, or null if the regex is not a single character.
+     */
+    private final int[] sizes;
+
+    /**
+     * Constructor.
+     * @param regex Regular expression.
+     */
+    CompiledRegex(final String regex) {
+        this(CompiledRegex.automaton(regex));
+    }
+
+    /**
+     * Constructor.
+     * @param automaton Compiled automaton.
+     */
+    private CompiledRegex(final Automaton automaton) {
+        this(automaton, CompiledRegex.ranges(automaton));
+    }
+
+    /**
+     * Constructor.
+     * @param automaton Compiled automaton.
+     * @param ranges Character ranges or null.
+     */
+    private CompiledRegex(final Automaton automaton, final List<Transition> ranges) {
+        this.automaton = automaton;
+        if (ranges == null) {
+            this.lows = null;
+            this.sizes = null;
+        } else {
+            this.lows = new char[ranges.size()];
+            this.sizes = new int[ranges.size()];
+            for (int index = 0; index < this.lows.length; ++index) {
+                final Transition range = ranges.get(index);
+                this.lows[index] = range.getMin();
+                this.sizes[index] = range.getMax() - range.getMin() + 1;
+            }
+        }
+    }
+
+    /**
+     * Is it compiled to a table of character ranges?
+     * @return True if the regex matches a single character only.
+     */
+    boolean simple() {
+        return this.lows != null;
+    }
+
+    /**
+     * Generate a random string that matches the regex.
+     * The character ranges are chosen in the same way as {@link Generex} chooses
+     * automaton transitions, so the result for the same random is the same.
+     * @param random Random.
+     * @return Random string.
+     */
+    String random(final Random random) {
+        final String res;
+        if (this.lows == null) {
+            res = new Generex(this.automaton, random).random();
+        } else {
+            final int range = random.nextInt(this.lows.length);
+            res = String.valueOf(
+                (char) (this.lows[range] + random.nextInt(this.sizes[range]))
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Compile the regex into an automaton in the same way as {@link Generex} does.
+     * @param regex Regular expression.
+     * @return Automaton ready to be shared between threads.
+     */
+    private static Automaton automaton(final String regex) {
+        String prepared = CompiledRegex.requote(regex);
+        for (final Map.Entry<String, String> entry : CompiledRegex.PREDEFINED.entrySet()) {
+            prepared = prepared.replaceAll(entry.getKey(), entry.getValue());
+        }
+        final Automaton res = new RegExp(prepared).toAutomaton();
+        res.getInitialState();
+        return res;
+    }
+
+    /**
+     * Replace the quoted parts of the regex with escaped characters,
+     * exactly as {@link Generex} does, since the automaton doesn't
+     * support {@code \Q...\E}.
+     * @param regex Regular expression.
+     * @return Regular expression without quotes.
+     */
+    private static String requote(final String regex) {
+        final StringBuilder res = new StringBuilder(regex);
+        final Matcher matcher = CompiledRegex.QUOTED.matcher(res);
+        while (matcher.find()) {
+            res.replace(
+                matcher.start(),
+                matcher.end(),
+                CompiledRegex.SPECIAL.matcher(matcher.group(1)).replaceAll("\\\\$0")
+            );
+        }
+        return res.toString();
+    }
+
+    /**
+     * Character ranges of an automaton that matches a single character only.
+     * @param automaton Automaton.
+     * @return Ranges in the order {@link Generex} uses, or null if the
+     *  automaton matches something else.
+     */
+    private static List<Transition> ranges(final Automaton automaton) {
+        final State initial = automaton.getInitialState();
+        List<Transition> res = initial.getSortedTransitions(false);
+        if (initial.isAccept() || res.isEmpty()) {
+            res = null;
+        } else {
+            for (final Transition transition : res) {
+                final State dest = transition.getDest();
+                if (!dest.isAccept() || !dest.getTransitions().isEmpty()) {
+                    res = null;
+                    break;
+                }
+            }
+        }
+        return res;
+    }
+}
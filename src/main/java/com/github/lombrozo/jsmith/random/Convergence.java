@@ -25,7 +25,6 @@ package com.github.lombrozo.jsmith.random;
 
 import com.github.lombrozo.jsmith.Params;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -60,8 +59,10 @@ final class Convergence<T> {
 
     /**
      * Weights of the elements.
+     * The weights are persistent, so each choice replaces them with a new version,
+     * while all the copies of this object keep their own versions.
      */
-    private final Map<T, Map<T, Double>> weights;
+    private Weights<T> weights;
 
     /**
      * Random generator.
@@ -111,7 +112,7 @@ final class Convergence<T> {
         final Rand rand,
         final boolean verbose
     ) {
-        this(factor, weight, new HashMap<>(0), rand, verbose);
+        this(factor, weight, new Weights<>(), rand, verbose);
     }
 
     /**
@@ -126,7 +127,7 @@ final class Convergence<T> {
     private Convergence(
         final double factor,
         final double weight,
-        final Map<T, Map<T, Double>> weights,
+        final Weights<T> weights,
         final Rand rand,
         final boolean verbose
     ) {
@@ -139,13 +140,14 @@ final class Convergence<T> {
 
     /**
      * Copy this object.
+     * The copy shares the current weights, so it costs O(1).
      * @return Copy of this object.
      */
     public Convergence<T> copy() {
         return new Convergence<>(
             this.factor,
             this.weight,
-            this.weightsCopy(),
+            this.weights,
             this.rand,
             this.verbose
         );
@@ -179,9 +181,10 @@ final class Convergence<T> {
                 String.format("No elements to choose from for '%s' element", from)
             );
         }
-        final Map<T, Double> current = this.weights.computeIfAbsent(
-            from, key -> this.init(elements)
-        );
+        Map<T, Double> current = this.weights.get(from);
+        if (current == null) {
+            current = this.init(elements);
+        }
         this.info(String.format("Weights for '%s': '%s'", from, current));
         final double[] cumulative = new double[current.size()];
         final Object[] all = new Object[current.size()];
@@ -201,7 +204,9 @@ final class Convergence<T> {
                 this.info(
                     String.format("Chosen '%s' with weight '%s'", element, current.get(element))
                 );
-                current.put(element, current.get(element) * this.factor);
+                final Map<T, Double> updated = new LinkedHashMap<>(current);
+                updated.put(element, current.get(element) * this.factor);
+                this.weights = this.weights.with(from, updated);
                 return element;
             }
         }
@@ -222,18 +227,6 @@ final class Convergence<T> {
         return res;
     }
 
-    /**
-     * Copy weights deeply.
-     * @return Copy of the weights deeply.
-     */
-    private Map<T, Map<T, Double>> weightsCopy() {
-        final Map<T, Map<T, Double>> copy = new LinkedHashMap<>(0);
-        for (final Map.Entry<T, Map<T, Double>> entry : this.weights.entrySet()) {
-            copy.put(entry.getKey(), new LinkedHashMap<>(entry.getValue()));
-        }
-        return copy;
-    }
-
     /**
      * Log a message if verbose mode is enabled.
      * @param msg Message to print.
@@ -0,0 +1,223 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Coverage of the alternatives across many generations.
+ * It keeps two bitmaps: one of the chosen alternatives and one of the
+ * edges between the alternatives, where the edge is a pair of the previous
+ * alternative on the generation path and the next one.
+ * Each alternative gets a dense identifier from {@link Ids}, the edges
+ * are hashed into a fixed number of bits, just like fuzzers do it,
+ * so a rare collision might hide an uncovered edge.
+ * The bits are set by compare-and-swap, so the coverage might be shared
+ * by all the generations that run concurrently without any locks.
+ * @param <T> Type of the alternatives.
+ * @since 0.2
+ */
+public final class Coverage<T> {
+
+    /**
+     * Number of bits for the edges.
+     */
+    private static final int EDGES = 1 << 16;
+
+    /**
+     * Number of bits in a word of the bitmap.
+     */
+    private static final int WORD = 64;
+
+    /**
+     * Identifiers of the alternatives.
+     */
+    private final Ids<T> ids;
+
+    /**
+     * Number of alternatives in the grammar.
+     */
+    private final int total;
+
+    /**
+     * Bitmap of the chosen alternatives.
+     */
+    private final AtomicLongArray chosen;
+
+    /**
+     * Bitmap of the passed edges.
+     */
+    private final AtomicLongArray passed;
+
+    /**
+     * Number of the chosen alternatives.
+     */
+    private final AtomicInteger alternatives;
+
+    /**
+     * Number of the passed edges.
+     */
+    private final AtomicInteger edges;
+
+    /**
+     * Constructor.
+     * @param total Number of alternatives in the grammar.
+     */
+    public Coverage(final int total) {
+        this.ids = new Ids<>();
+        this.total = total;
+        this.chosen = new AtomicLongArray(
+            Math.max(1, Integer.highestOneBit(Math.max(1, total) * 2 - 1) / Coverage.WORD)
+        );
+        this.passed = new AtomicLongArray(Coverage.EDGES / Coverage.WORD);
+        this.alternatives = new AtomicInteger(0);
+        this.edges = new AtomicInteger(0);
+    }
+
+    /**
+     * Percentage of the alternatives of the grammar that were chosen at least once.
+     * @return Percentage between 0 and 100.
+     */
+    public double percentage() {
+        final double result;
+        if (this.total == 0) {
+            result = 100.0;
+        } else {
+            result = Math.min(100.0, this.alternatives.get() * 100.0 / this.total);
+        }
+        return result;
+    }
+
+    /**
+     * Number of the alternatives that were chosen at least once.
+     * @return Number of alternatives.
+     */
+    public int alternatives() {
+        return this.alternatives.get();
+    }
+
+    /**
+     * Number of the edges that were passed at least once.
+     * @return Number of edges.
+     */
+    public int edges() {
+        return this.edges.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%.1f%% of %d alternatives, %d edges",
+            this.percentage(),
+            this.total,
+            this.edges()
+        );
+    }
+
+    /**
+     * Identifier of the alternative.
+     * @param alternative Alternative.
+     * @return Identifier.
+     */
+    int slot(final T alternative) {
+        return this.ids.id(alternative);
+    }
+
+    /**
+     * Whether the alternative was chosen.
+     * @param slot Identifier of the alternative.
+     * @return True if it was chosen at least once.
+     */
+    boolean covered(final int slot) {
+        return Coverage.test(this.chosen, slot);
+    }
+
+    /**
+     * Whether the edge was passed.
+     * @param from Identifier of the previous alternative.
+     * @param slot Identifier of the next alternative.
+     * @return True if it was passed at least once.
+     */
+    boolean covered(final int from, final int slot) {
+        return Coverage.test(this.passed, Coverage.edge(from, slot));
+    }
+
+    /**
+     * Mark the alternative and the edge that leads to it.
+     * @param from Identifier of the previous alternative.
+     * @param slot Identifier of the chosen alternative.
+     */
+    void visit(final int from, final int slot) {
+        if (Coverage.set(this.chosen, slot)) {
+            this.alternatives.incrementAndGet();
+        }
+        if (Coverage.set(this.passed, Coverage.edge(from, slot))) {
+            this.edges.incrementAndGet();
+        }
+    }
+
+    /**
+     * Bit of the edge.
+     * @param from Identifier of the previous alternative.
+     * @param slot Identifier of the next alternative.
+     * @return Bit.
+     */
+    private static int edge(final int from, final int slot) {
+        return (from * 0x9E37_79B1 ^ slot) & Coverage.EDGES - 1;
+    }
+
+    /**
+     * Check the bit.
+     * @param bitmap Bitmap.
+     * @param bit Bit, wrapped around the bitmap size.
+     * @return True if the bit is set.
+     */
+    private static boolean test(final AtomicLongArray bitmap, final int bit) {
+        final int wrapped = bit & bitmap.length() * Coverage.WORD - 1;
+        return (bitmap.get(wrapped / Coverage.WORD) & 1L << wrapped) != 0;
+    }
+
+    /**
+     * Set the bit.
+     * @param bitmap Bitmap.
+     * @param bit Bit, wrapped around the bitmap size.
+     * @return True if the bit was not set before.
+     */
+    private static boolean set(final AtomicLongArray bitmap, final int bit) {
+        final int wrapped = bit & bitmap.length() * Coverage.WORD - 1;
+        final long mask = 1L << wrapped;
+        final int word = wrapped / Coverage.WORD;
+        boolean result = false;
+        long current = bitmap.get(word);
+        while ((current & mask) == 0) {
+            if (bitmap.compareAndSet(word, current, current | mask)) {
+                result = true;
+                break;
+            }
+            current = bitmap.get(word);
+        }
+        return result;
+    }
+}
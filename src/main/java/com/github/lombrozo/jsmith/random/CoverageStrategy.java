@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import com.github.lombrozo.jsmith.Params;
+import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import java.util.List;
+
+/**
+ * Coverage-guided strategy.
+ * It prefers the alternatives that no generation has chosen yet, then the
+ * alternatives that no generation has reached from the previous alternative
+ * on the current path. When everything is covered, the choice is made by
+ * {@link ArrayConvergenceStrategy}.
+ * All the choices are recorded in the {@link Coverage} shared by all the
+ * generations of the grammar, so each next generation goes where the
+ * previous ones have never been.
+ * @since 0.2
+ */
+public final class CoverageStrategy implements ChoosingStrategy {
+
+    /**
+     * Identifier of the path start, before the first choice.
+     */
+    private static final int START = -1;
+
+    /**
+     * Coverage of all the generations.
+     */
+    private final Coverage<Rule> coverage;
+
+    /**
+     * Strategy for the covered alternatives.
+     */
+    private final ChoosingStrategy origin;
+
+    /**
+     * Random generator.
+     */
+    private final Rand rand;
+
+    /**
+     * Identifier of the previous alternative on the path.
+     */
+    private int last;
+
+    /**
+     * Constructor.
+     * @param params Generation params.
+     * @param ids Identifiers of the rules, might be shared by many generations.
+     * @param coverage Coverage shared by many generations.
+     */
+    public CoverageStrategy(
+        final Params params,
+        final Ids<Rule> ids,
+        final Coverage<Rule> coverage
+    ) {
+        this(coverage, new ArrayConvergenceStrategy(params, ids), new Rand(params.seed()));
+    }
+
+    /**
+     * Constructor.
+     * @param coverage Coverage of all the generations.
+     * @param origin Strategy for the covered alternatives.
+     * @param rand Random generator.
+     */
+    CoverageStrategy(
+        final Coverage<Rule> coverage,
+        final ChoosingStrategy origin,
+        final Rand rand
+    ) {
+        this(coverage, origin, rand, CoverageStrategy.START);
+    }
+
+    /**
+     * Constructor.
+     * @param coverage Coverage of all the generations.
+     * @param origin Strategy for the covered alternatives.
+     * @param rand Random generator.
+     * @param last Identifier of the previous alternative on the path.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CoverageStrategy(
+        final Coverage<Rule> coverage,
+        final ChoosingStrategy origin,
+        final Rand rand,
+        final int last
+    ) {
+        this.coverage = coverage;
+        this.origin = origin;
+        this.rand = rand;
+        this.last = last;
+    }
+
+    @Override
+    public Rule choose(final Rule parent, final List<Rule> children) {
+        if (children.isEmpty()) {
+            throw new IllegalArgumentException(
+                String.format("No elements to choose from for '%s' element", parent)
+            );
+        }
+        final int size = children.size();
+        final int[] slots = new int[size];
+        int fresh = 0;
+        int unseen = 0;
+        for (int index = 0; index < size; ++index) {
+            slots[index] = this.coverage.slot(children.get(index));
+            if (!this.coverage.covered(slots[index])) {
+                ++fresh;
+            }
+            if (!this.coverage.covered(this.last, slots[index])) {
+                ++unseen;
+            }
+        }
+        int chosen = -1;
+        if (fresh > 0) {
+            chosen = this.pick(slots, this.rand.range(fresh), false);
+        }
+        if (chosen < 0 && unseen > 0) {
+            chosen = this.pick(slots, this.rand.range(unseen), true);
+        }
+        if (chosen < 0) {
+            chosen = children.indexOf(this.origin.choose(parent, children));
+        }
+        this.coverage.visit(this.last, slots[chosen]);
+        this.last = slots[chosen];
+        return children.get(chosen);
+    }
+
+    @Override
+    public ChoosingStrategy copy() {
+        return new CoverageStrategy(this.coverage, this.origin.copy(), this.rand, this.last);
+    }
+
+    /**
+     * Find the uncovered alternative by its number among the uncovered ones.
+     * Other generations might cover it concurrently, then nothing is found.
+     * @param slots Identifiers of the alternatives.
+     * @param number Number of the uncovered alternative.
+     * @param edges Whether to look for the uncovered edges or the uncovered alternatives.
+     * @return Index of the alternative or -1 if it's already covered.
+     */
+    private int pick(final int[] slots, final int number, final boolean edges) {
+        int remaining = number;
+        int result = -1;
+        for (int index = 0; index < slots.length; ++index) {
+            final boolean covered;
+            if (edges) {
+                covered = this.coverage.covered(this.last, slots[index]);
+            } else {
+                covered = this.coverage.covered(slots[index]);
+            }
+            if (!covered) {
+                if (remaining == 0) {
+                    result = index;
+                    break;
+                }
+                --remaining;
+            }
+        }
+        return result;
+    }
+}
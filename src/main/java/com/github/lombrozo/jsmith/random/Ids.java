@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dense int identifiers of elements.
+ * Each new element gets the next free identifier, starting from zero.
+ * Identifiers are stable, so they might be shared by all the generations
+ * of the same grammar. The grammar assigns them while loading its rules,
+ * see {@link #assign(Object)}, so the generation only reads the known ones.
+ * This class is thread-safe.
+ * @param <T> Type of elements.
+ * @since 0.2
+ */
+public final class Ids<T> {
+
+    /**
+     * Identifiers of known elements.
+     */
+    private final Map<T, Integer> known;
+
+    /**
+     * The next free identifier.
+     */
+    private final AtomicInteger next;
+
+    /**
+     * Constructor.
+     */
+    public Ids() {
+        this.known = new ConcurrentHashMap<>(0);
+        this.next = new AtomicInteger(0);
+    }
+
+    /**
+     * Identifier of the element.
+     * @param element Element.
+     * @return Identifier.
+     */
+    int id(final T element) {
+        Integer res = this.known.get(element);
+        if (res == null) {
+            res = this.known.computeIfAbsent(element, key -> this.next.getAndIncrement());
+        }
+        return res;
+    }
+
+    /**
+     * Assign the identifier to the element in advance.
+     * @param element Element.
+     */
+    public void assign(final T element) {
+        this.id(element);
+    }
+}
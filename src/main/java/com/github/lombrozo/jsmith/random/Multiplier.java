@@ -23,16 +23,16 @@
  */
 package com.github.lombrozo.jsmith.random;
 
-import com.github.lombrozo.jsmith.antlr.rules.Empty;
 import com.github.lombrozo.jsmith.antlr.rules.Rule;
-import java.util.Collections;
 
 /**
  * Multiplier of rules.
  * For example, the rule {@code a+} can be represented as
- * {@code new OneOrMore(new Rand(), new LexerAtom("a"))}.
+ * {@code new OneOrMore().repeat(new LexerAtom("a"))}.
  * The idea is to generate a random number of repetitions of the rule based on EBNF suffix
  * like {@code +}, {@code *}, {@code ?}.
+ * The number of repetitions is chosen only during the generation by using the random
+ * generator of the {@link com.github.lombrozo.jsmith.antlr.Context}.
  * @since 0.1
  */
 @FunctionalInterface
@@ -46,6 +46,15 @@ public interface Multiplier {
      */
     Rule repeat(Rule element);
 
+    /**
+     * Average number of repetitions.
+     * It's used to estimate the expected size of the generated text.
+     * @return Average number of repetitions.
+     */
+    default double average() {
+        return 1.0;
+    }
+
     /**
      * Exactly one repetition.
      * @since 0.1
@@ -64,35 +73,14 @@ public interface Multiplier {
      */
     final class ZeroOrOne implements Multiplier {
 
-        /**
-         * Random generator.
-         */
-        private final Rand rand;
-
-        /**
-         * Constructor.
-         * @param rand Random generator.
-         */
-        public ZeroOrOne(final Rand rand) {
-            this.rand = rand;
-        }
-
-        /**
-         * Constructor.
-         */
-        ZeroOrOne() {
-            this(new Rand());
+        @Override
+        public Rule repeat(final Rule element) {
+            return new Several(element, 0, 1);
         }
 
         @Override
-        public Rule repeat(final Rule element) {
-            final Rule res;
-            if (this.rand.flip()) {
-                res = element;
-            } else {
-                res = new Empty();
-            }
-            return res;
+        public double average() {
+            return 0.5;
         }
     }
 
@@ -102,11 +90,6 @@ public interface Multiplier {
      */
     final class OneOrMore implements Multiplier {
 
-        /**
-         * Random generator.
-         */
-        private final Rand rand;
-
         /**
          * Limit of repetitions.
          */
@@ -115,31 +98,26 @@ public interface Multiplier {
         /**
          * Constructor.
          */
-        OneOrMore() {
-            this(new Rand());
-        }
-
-        /**
-         * Constructor.
-         * @param rand Random generator.
-         */
-        public OneOrMore(final Rand rand) {
-            this(rand, 5);
+        public OneOrMore() {
+            this(5);
         }
 
         /**
          * Constructor.
-         * @param rand Random generator.
          * @param limit Limit of repetitions.
          */
-        OneOrMore(final Rand rand, final int limit) {
-            this.rand = rand;
+        OneOrMore(final int limit) {
             this.limit = limit;
         }
 
         @Override
         public Rule repeat(final Rule element) {
-            return new Several(Collections.nCopies(this.rand.range(this.limit) + 1, element));
+            return new Several(element, 1, this.limit, true);
+        }
+
+        @Override
+        public double average() {
+            return (1 + this.limit) / 2.0;
         }
     }
 
@@ -149,44 +127,34 @@ public interface Multiplier {
      */
     final class ZeroOrMore implements Multiplier {
 
-        /**
-         * Random generator.
-         */
-        private final Rand rand;
-
         /**
          * Limit of repetitions.
          */
         private final int limit;
 
-        /**
-         * Constructor.
-         * @param rand Random generator.
-         */
-        public ZeroOrMore(final Rand rand) {
-            this(rand, 5);
-        }
-
         /**
          * Constructor.
          */
-        ZeroOrMore() {
-            this(new Rand());
+        public ZeroOrMore() {
+            this(5);
         }
 
         /**
          * Constructor.
-         * @param rand Random generator.
          * @param limit Limit of repetitions.
          */
-        ZeroOrMore(final Rand rand, final int limit) {
-            this.rand = rand;
+        ZeroOrMore(final int limit) {
             this.limit = limit;
         }
 
         @Override
         public Rule repeat(final Rule element) {
-            return new Several(Collections.nCopies(this.rand.range(this.limit), element));
+            return new Several(element, 0, this.limit - 1, true);
+        }
+
+        @Override
+        public double average() {
+            return (this.limit - 1) / 2.0;
         }
     }
 }
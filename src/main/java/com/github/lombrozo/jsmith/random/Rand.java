@@ -23,7 +23,6 @@
  */
 package com.github.lombrozo.jsmith.random;
 
-import com.mifmif.common.regex.Generex;
 import java.security.SecureRandom;
 import java.util.Random;
 
@@ -41,11 +40,16 @@ public final class Rand {
      */
     private final Random random;
 
+    /**
+     * Compiled regexes.
+     */
+    private final Automata automata;
+
     /**
      * Default constructor.
      */
     public Rand() {
-        this(new Random());
+        this(new Random(), new Automata());
     }
 
     /**
@@ -53,15 +57,26 @@ public final class Rand {
      * @param seed Random seed.
      */
     public Rand(final long seed) {
-        this(new Random(seed));
+        this(seed, new Automata());
+    }
+
+    /**
+     * Constructor.
+     * @param seed Random seed.
+     * @param automata Compiled regexes, might be shared by many generators.
+     */
+    public Rand(final long seed, final Automata automata) {
+        this(new Random(seed), automata);
     }
 
     /**
      * Constructor.
      * @param rand Java random.
+     * @param automata Compiled regexes.
      */
-    private Rand(final Random rand) {
+    private Rand(final Random rand, final Automata automata) {
         this.random = rand;
+        this.automata = automata;
     }
 
     /**
@@ -100,11 +115,12 @@ public final class Rand {
 
     /**
      * Generates a random string for a given regex.
+     * The regex is compiled only once, see {@link Automata}.
      * @param regex Regex for which to generate a string.
      * @return Random string.
      */
     public String regex(final String regex) {
-        return new Generex(regex, this.random).random();
+        return this.automata.regex(regex).random(this.random);
     }
 
     /**
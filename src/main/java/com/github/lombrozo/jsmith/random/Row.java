@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weights of child elements of a single parent element.
+ * Weights are kept together with their prefix sums, so choosing an element
+ * is a binary search that costs O(log n).
+ * This class is immutable, each change returns a new row with copies of
+ * the weights and the sums, so changing a weight costs O(n). A grammar rule
+ * has only a few alternatives, and copying two short arrays is cheaper
+ * than keeping a persistent tree of boxed nodes.
+ * @param <T> Type of elements.
+ * @since 0.2
+ */
+final class Row<T> {
+
+    /**
+     * Distinct child elements.
+     */
+    private final Object[] elements;
+
+    /**
+     * Current weights of the elements.
+     */
+    private final double[] weights;
+
+    /**
+     * Prefix sums of the weights.
+     * The last one is the sum of all the weights.
+     */
+    private final double[] sums;
+
+    /**
+     * Constructor.
+     * Equal elements are merged and their weights are summed up.
+     * @param children Child elements.
+     * @param weight Initial weight of each child.
+     */
+    Row(final List<T> children, final double weight) {
+        this(children.stream().distinct().toArray(), children, weight);
+    }
+
+    /**
+     * Constructor.
+     * @param elements Distinct elements in the order of their first appearance.
+     * @param children Child elements.
+     * @param weight Initial weight of each child.
+     */
+    private Row(final Object[] elements, final List<T> children, final double weight) {
+        this(elements, Row.merged(elements, children, weight));
+    }
+
+    /**
+     * Constructor.
+     * @param elements Distinct elements.
+     * @param weights Weights of the elements.
+     */
+    private Row(final Object[] elements, final double[] weights) {
+        this(elements, weights, Row.prefix(weights));
+    }
+
+    /**
+     * Constructor.
+     * @param elements Distinct elements.
+     * @param weights Weights of the elements.
+     * @param sums Prefix sums of the weights.
+     */
+    private Row(final Object[] elements, final double[] weights, final double[] sums) {
+        this.elements = elements;
+        this.weights = weights;
+        this.sums = sums;
+    }
+
+    /**
+     * Sum of all the weights.
+     * @return Total weight.
+     */
+    double total() {
+        return this.sums[this.sums.length - 1];
+    }
+
+    /**
+     * Element by its position.
+     * @param index Position of the element.
+     * @return Element.
+     */
+    @SuppressWarnings("unchecked")
+    T element(final int index) {
+        return (T) this.elements[index];
+    }
+
+    /**
+     * Position of the first element whose cumulative weight reaches the point.
+     * @param point Point between zero and the total weight.
+     * @return Position of the element.
+     */
+    int find(final double point) {
+        int low = 0;
+        int high = this.sums.length - 1;
+        while (low < high) {
+            final int middle = low + high >>> 1;
+            if (this.sums[middle] < point) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Row with the weight of one element multiplied by the factor.
+     * It copies the weights and shifts the prefix sums after the element.
+     * @param index Position of the element.
+     * @param factor Factor.
+     * @return New row.
+     */
+    Row<T> decay(final int index, final double factor) {
+        final double[] updated = this.weights.clone();
+        updated[index] *= factor;
+        final double[] shifted = this.sums.clone();
+        double sum;
+        if (index == 0) {
+            sum = 0.0;
+        } else {
+            sum = shifted[index - 1];
+        }
+        for (int pos = index; pos < shifted.length; ++pos) {
+            sum += updated[pos];
+            shifted[pos] = sum;
+        }
+        return new Row<>(this.elements, updated, shifted);
+    }
+
+    /**
+     * Prefix sums of the weights.
+     * @param weights Weights.
+     * @return Prefix sums.
+     */
+    private static double[] prefix(final double[] weights) {
+        final double[] res = new double[weights.length];
+        double sum = 0.0;
+        for (int pos = 0; pos < weights.length; ++pos) {
+            sum += weights[pos];
+            res[pos] = sum;
+        }
+        return res;
+    }
+
+    /**
+     * Merge equal elements summing up their weights.
+     * @param elements Distinct elements.
+     * @param children Child elements.
+     * @param weight Weight of a single child.
+     * @return Weights of the distinct elements.
+     */
+    private static double[] merged(
+        final Object[] elements,
+        final List<?> children,
+        final double weight
+    ) {
+        final Map<Object, Integer> positions = new HashMap<>(elements.length << 1);
+        for (int pos = 0; pos < elements.length; ++pos) {
+            positions.put(elements[pos], pos);
+        }
+        final double[] res = new double[elements.length];
+        for (final Object child : children) {
+            res[positions.get(child)] += weight;
+        }
+        return res;
+    }
+}
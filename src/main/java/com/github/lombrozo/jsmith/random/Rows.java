@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+/**
+ * Persistent array of {@link Row}s indexed by int identifiers.
+ * This is an immutable trie: each update copies only the path from the root
+ * to the changed row, all the other nodes are shared with the previous version.
+ * So, the copy is free and replacing a row costs O(log n) besides
+ * building the new row itself.
+ * @param <T> Type of elements.
+ * @since 0.2
+ */
+final class Rows<T> {
+
+    /**
+     * Number of identifier bits used on each level of the trie.
+     */
+    private static final int BITS = 5;
+
+    /**
+     * Number of slots in each node.
+     */
+    private static final int WIDTH = 1 << Rows.BITS;
+
+    /**
+     * Mask of a slot index.
+     */
+    private static final int MASK = Rows.WIDTH - 1;
+
+    /**
+     * Root node.
+     */
+    private final Object[] root;
+
+    /**
+     * Shift of the identifier bits for the root level.
+     */
+    private final int shift;
+
+    /**
+     * Constructor of empty rows.
+     */
+    Rows() {
+        this(new Object[Rows.WIDTH], 0);
+    }
+
+    /**
+     * Constructor.
+     * @param root Root node.
+     * @param shift Shift of the identifier bits for the root level.
+     */
+    private Rows(final Object[] root, final int shift) {
+        this.root = root;
+        this.shift = shift;
+    }
+
+    /**
+     * Row by identifier.
+     * @param id Identifier.
+     * @return Row or null if there is no such row yet.
+     */
+    @SuppressWarnings("unchecked")
+    Row<T> get(final int id) {
+        Object[] node = null;
+        if (id >>> this.shift + Rows.BITS == 0) {
+            node = this.root;
+        }
+        for (int level = this.shift; level > 0 && node != null; level -= Rows.BITS) {
+            node = (Object[]) node[id >>> level & Rows.MASK];
+        }
+        Row<T> res = null;
+        if (node != null) {
+            res = (Row<T>) node[id & Rows.MASK];
+        }
+        return res;
+    }
+
+    /**
+     * New rows with the row replaced.
+     * The current rows remain unchanged.
+     * @param id Identifier.
+     * @param row New row.
+     * @return New rows.
+     */
+    Rows<T> with(final int id, final Row<T> row) {
+        Object[] top = this.root;
+        int level = this.shift;
+        while (id >>> level + Rows.BITS != 0) {
+            final Object[] grown = new Object[Rows.WIDTH];
+            grown[0] = top;
+            top = grown;
+            level += Rows.BITS;
+        }
+        return new Rows<>(Rows.put(top, level, id, row), level);
+    }
+
+    /**
+     * Put the row into a copy of the node.
+     * @param node Node or null.
+     * @param level Shift of the identifier bits for the node level.
+     * @param id Identifier.
+     * @param row Row.
+     * @return Updated copy of the node.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static Object[] put(
+        final Object[] node,
+        final int level,
+        final int id,
+        final Object row
+    ) {
+        final Object[] res;
+        if (node == null) {
+            res = new Object[Rows.WIDTH];
+        } else {
+            res = node.clone();
+        }
+        final int index = id >>> level & Rows.MASK;
+        if (level == 0) {
+            res[index] = row;
+        } else {
+            res[index] = Rows.put((Object[]) res[index], level - Rows.BITS, id, row);
+        }
+        return res;
+    }
+}
@@ -23,34 +23,72 @@
  */
 package com.github.lombrozo.jsmith.random;
 
+import com.github.lombrozo.jsmith.antlr.Budget;
 import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.rules.Rule;
 import com.github.lombrozo.jsmith.antlr.rules.WrongPathException;
-import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
 import com.github.lombrozo.jsmith.antlr.view.Node;
-import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
- * Rule that has several children.
+ * Rule that repeats the same element several times.
+ * The exact number of repetitions is chosen during the generation.
+ * If the element doesn't fit the depth budget of the generation and
+ * the repetition is optional, the element is skipped.
+ * If the size budget of the generation is limited, each repetition gets
+ * an equal share of the remaining tokens, and unbounded repetitions
+ * like {@code *} and {@code +} then grow one element at a time while
+ * the remaining tokens fit the next one. The growth stops as soon as an
+ * element generates no tokens.
  * WARNING: This is NOT a part of the ANTLR grammar!
  * @since 0.1
  */
 final class Several implements Rule {
 
     /**
-     * All children of the current node.
+     * Element to repeat.
      */
-    private final List<Rule> all;
+    private final Rule element;
+
+    /**
+     * Minimum number of repetitions.
+     */
+    private final int min;
+
+    /**
+     * Maximum number of repetitions (inclusive).
+     */
+    private final int max;
+
+    /**
+     * Whether the grammar allows more repetitions than max.
+     * Only such repetitions are extended to fill a large size budget.
+     */
+    private final boolean unbounded;
+
+    /**
+     * Constructor.
+     * @param element Element to repeat.
+     * @param min Minimum number of repetitions.
+     * @param max Maximum number of repetitions (inclusive).
+     */
+    Several(final Rule element, final int min, final int max) {
+        this(element, min, max, false);
+    }
 
     /**
      * Constructor.
-     * @param all All children of the current node.
+     * @param element Element to repeat.
+     * @param min Minimum number of repetitions.
+     * @param max Usual maximum number of repetitions (inclusive).
+     * @param unbounded Whether the grammar allows more repetitions than max.
      */
-    Several(final List<Rule> all) {
-        this.all = all;
+    Several(final Rule element, final int min, final int max, final boolean unbounded) {
+        this.element = element;
+        this.min = min;
+        this.max = max;
+        this.unbounded = unbounded;
     }
 
     @Override
@@ -60,15 +98,23 @@ final class Several implements Rule {
 
     @Override
     public Node generate(final Context context) throws WrongPathException {
+        final int times = context.repetitions(this.element, this.min, this.max);
+        final List<Node> res = new ArrayList<>(Math.min(times, this.max));
+        for (int index = 0; index < times; ++index) {
+            res.add(this.element.generate(context.share(times - index)));
+        }
+        final Budget budget = context.budget();
+        boolean grows = this.unbounded;
+        while (grows && context.more(this.element)) {
+            final long before = budget.tokens();
+            res.add(this.element.generate(context));
+            grows = budget.tokens() > before;
+        }
         final Node result;
-        if (this.all.isEmpty()) {
-            result = new TerminalNode(this, "");
+        if (res.isEmpty()) {
+            result = context.leaf(this, "");
         } else {
-            final List<Node> res = new ArrayList<>(0);
-            for (final Rule rule : this.all) {
-                res.add(rule.generate(context));
-            }
-            result = new IntermediateNode(this, res);
+            result = context.node(this, res);
         }
         return result;
     }
@@ -85,7 +131,6 @@ final class Several implements Rule {
 
     @Override
     public Rule copy() {
-        return this.all.stream().map(Rule::copy)
-            .collect(Collectors.collectingAndThen(Collectors.toList(), Several::new));
+        return new Several(this.element.copy(), this.min, this.max, this.unbounded);
     }
 }
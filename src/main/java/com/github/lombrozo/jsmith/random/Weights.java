@@ -0,0 +1,235 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import java.util.Map;
+
+/**
+ * Persistent weights of {@link Convergence}.
+ * Keeps the weights of child elements for each parent element.
+ * This is an immutable hash trie: each update copies only the path from the root
+ * to the changed entry, all the other nodes are shared with the previous version.
+ * So, the copy of the weights is free and the update costs O(log n).
+ * @param <T> Type of elements.
+ * @since 0.2
+ */
+final class Weights<T> {
+
+    /**
+     * Number of hash bits used on each level of the trie.
+     */
+    private static final int BITS = 5;
+
+    /**
+     * Number of slots in each node.
+     */
+    private static final int WIDTH = 1 << Weights.BITS;
+
+    /**
+     * Root node.
+     * Each slot is either null, or {@link Entry}, or another node.
+     */
+    private final Object[] root;
+
+    /**
+     * Constructor of empty weights.
+     */
+    Weights() {
+        this(new Object[Weights.WIDTH]);
+    }
+
+    /**
+     * Constructor.
+     * @param root Root node.
+     */
+    private Weights(final Object[] root) {
+        this.root = root;
+    }
+
+    /**
+     * Weights of the children for the parent element.
+     * The returned map must not be changed.
+     * @param parent Parent element.
+     * @return Weights of children or null if there are no weights yet.
+     */
+    @SuppressWarnings("unchecked")
+    Map<T, Double> get(final T parent) {
+        final int hash = Weights.hash(parent);
+        Object[] node = this.root;
+        Map<T, Double> res = null;
+        for (int shift = 0; node != null; shift += Weights.BITS) {
+            final Object slot = node[Weights.index(hash, shift)];
+            if (slot instanceof Entry) {
+                res = ((Entry<T>) slot).find(hash, parent);
+                node = null;
+            } else {
+                node = (Object[]) slot;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * New weights with the children weights replaced for the parent element.
+     * The current weights remain unchanged.
+     * @param parent Parent element.
+     * @param children Weights of children, must not be changed afterward.
+     * @return New weights.
+     */
+    Weights<T> with(final T parent, final Map<T, Double> children) {
+        return new Weights<>(
+            Weights.put(this.root, 0, new Entry<>(Weights.hash(parent), parent, children, null))
+        );
+    }
+
+    /**
+     * Put the entry into a copy of the node.
+     * @param node Node.
+     * @param shift Shift of the hash bits for the node level.
+     * @param entry Entry to put.
+     * @param <T> Type of elements.
+     * @return Updated copy of the node.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Object[] put(final Object[] node, final int shift, final Entry<T> entry) {
+        final Object[] res = node.clone();
+        final int index = Weights.index(entry.hash, shift);
+        final Object slot = node[index];
+        if (slot == null) {
+            res[index] = entry;
+        } else if (slot instanceof Entry) {
+            final Entry<T> existing = (Entry<T>) slot;
+            if (existing.hash == entry.hash) {
+                res[index] = existing.replace(entry);
+            } else {
+                res[index] = Weights.put(
+                    Weights.put(new Object[Weights.WIDTH], shift + Weights.BITS, existing),
+                    shift + Weights.BITS,
+                    entry
+                );
+            }
+        } else {
+            res[index] = Weights.put((Object[]) slot, shift + Weights.BITS, entry);
+        }
+        return res;
+    }
+
+    /**
+     * Slot index in a node.
+     * @param hash Hash of the element.
+     * @param shift Shift of the hash bits for the node level.
+     * @return Index.
+     */
+    private static int index(final int hash, final int shift) {
+        return hash >>> shift & Weights.WIDTH - 1;
+    }
+
+    /**
+     * Spread hash of the element.
+     * @param element Element.
+     * @return Hash.
+     */
+    private static int hash(final Object element) {
+        final int hash = element.hashCode();
+        return hash ^ hash >>> 16;
+    }
+
+    /**
+     * Trie entry.
+     * Entries with the same hash are chained.
+     * @param <T> Type of elements.
+     * @since 0.2
+     */
+    private static final class Entry<T> {
+
+        /**
+         * Hash of the parent element.
+         */
+        private final int hash;
+
+        /**
+         * Parent element.
+         */
+        private final T parent;
+
+        /**
+         * Weights of the children.
+         */
+        private final Map<T, Double> children;
+
+        /**
+         * The next entry with the same hash.
+         */
+        private final Entry<T> next;
+
+        /**
+         * Constructor.
+         * @param hash Hash of the parent element.
+         * @param parent Parent element.
+         * @param children Weights of the children.
+         * @param next The next entry with the same hash.
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Entry(final int hash, final T parent, final Map<T, Double> children, final Entry<T> next) {
+            this.hash = hash;
+            this.parent = parent;
+            this.children = children;
+            this.next = next;
+        }
+
+        /**
+         * Find children weights in the chain.
+         * @param code Hash of the parent.
+         * @param element Parent element.
+         * @return Weights of children or null.
+         */
+        Map<T, Double> find(final int code, final T element) {
+            Map<T, Double> res = null;
+            for (Entry<T> entry = this; entry != null; entry = entry.next) {
+                if (entry.hash == code && entry.parent.equals(element)) {
+                    res = entry.children;
+                    break;
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Copy of the chain with the entry replaced or added.
+         * @param entry Entry with the same hash.
+         * @return New chain.
+         */
+        Entry<T> replace(final Entry<T> entry) {
+            final Entry<T> res;
+            if (this.parent.equals(entry.parent)) {
+                res = new Entry<>(this.hash, this.parent, entry.children, this.next);
+            } else if (this.next == null) {
+                res = new Entry<>(this.hash, this.parent, this.children, entry);
+            } else {
+                res = new Entry<>(this.hash, this.parent, this.children, this.next.replace(entry));
+            }
+            return res;
+        }
+    }
+}
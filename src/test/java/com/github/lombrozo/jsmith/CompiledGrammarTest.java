@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith;
+
+import com.github.lombrozo.jsmith.antlr.Context;
+import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import com.github.lombrozo.jsmith.antlr.rules.WrongPathException;
+import com.github.lombrozo.jsmith.antlr.semantic.Scope;
+import com.github.lombrozo.jsmith.random.ChoosingStrategy;
+import com.github.lombrozo.jsmith.random.Rand;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.cactoos.io.ResourceOf;
+import org.cactoos.text.TextOf;
+import org.cactoos.text.UncheckedText;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CompiledGrammar}.
+ * @since 0.2
+ */
+final class CompiledGrammarTest {
+
+    @Test
+    void generatesTheSameOutputAsFreshlyCompiledGrammar() {
+        final CompiledGrammar grammar = new CompiledGrammar(
+            Arrays.stream(new String[]{"grammars/Arithmetic.g4"})
+                .map(ResourceOf::new)
+                .map(TextOf::new)
+                .map(UncheckedText::new)
+                .map(UncheckedText::asString)
+                .collect(Collectors.toList())
+        );
+        new RandomScript(new Params(1L), grammar).generate("prog");
+        MatcherAssert.assertThat(
+            "We expect that reused compiled grammar generates the same output as a new one",
+            new RandomScript(new Params(7L), grammar).generate("prog").output(),
+            Matchers.equalTo(
+                new RandomScript(new Params(7L), new ResourceOf("grammars/Arithmetic.g4"))
+                    .generate("prog")
+                    .output()
+            )
+        );
+    }
+
+    @Test
+    void detectsSemanticAnnotations() {
+        MatcherAssert.assertThat(
+            "We expect that only the grammar with '$jsmith-*' comments is annotated",
+            new boolean[] {
+                CompiledGrammarTest.compiled("grammars/Java8ReducedParser.g4").annotated(),
+                CompiledGrammarTest.compiled("grammars/Json.g4").annotated(),
+            },
+            Matchers.equalTo(new boolean[] {true, false})
+        );
+    }
+
+    @Test
+    void finishesEndlessRecursionWithinDepthBudget() throws WrongPathException {
+        final Rand rand = new Rand(1L);
+        MatcherAssert.assertThat(
+            "We expect that the always recursive choice is cut by the depth budget without failures",
+            new CompiledGrammar(
+                Arrays.asList(
+                    new UncheckedText(new TextOf(new ResourceOf("grammars/Arithmetic.g4")))
+                        .asString()
+                )
+            ).generate("expr", new Context(new Scope(rand), new Last(), rand)).text().output(),
+            Matchers.matchesPattern("(\\(\\s*)+[a-zA-Z0-9]+(\\s*\\))+")
+        );
+    }
+
+    @Test
+    void finishesEndlessRecursionWithinDepthOfContext() throws WrongPathException {
+        final Rand rand = new Rand(1L);
+        MatcherAssert.assertThat(
+            "We expect that the recursion is cut by the depth limit of the context",
+            CompiledGrammarTest.compiled("grammars/Arithmetic.g4")
+                .generate("expr", new Context(new Scope(rand), new Last(), rand).withDepth(40))
+                .text()
+                .output()
+                .chars()
+                .filter(chr -> chr == '(')
+                .count(),
+            Matchers.allOf(Matchers.greaterThan(0L), Matchers.lessThan(40L))
+        );
+    }
+
+    /**
+     * Compiled grammar from the resource.
+     * @param resource Grammar resource.
+     * @return Compiled grammar.
+     */
+    private static CompiledGrammar compiled(final String resource) {
+        return new CompiledGrammar(
+            Arrays.asList(new UncheckedText(new TextOf(new ResourceOf(resource))).asString())
+        );
+    }
+
+    /**
+     * Strategy that always chooses the last alternative.
+     * For the 'expr' rule of the arithmetic grammar it is the endless '(' expr ')' recursion.
+     * @since 0.2
+     */
+    private static final class Last implements ChoosingStrategy {
+
+        @Override
+        public Rule choose(final Rule parent, final List<Rule> children) {
+            return children.get(children.size() - 1);
+        }
+
+        @Override
+        public ChoosingStrategy copy() {
+            return this;
+        }
+    }
+}
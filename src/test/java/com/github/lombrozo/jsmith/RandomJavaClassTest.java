@@ -23,10 +23,15 @@
  */
 package com.github.lombrozo.jsmith;
 
+import com.github.lombrozo.jsmith.format.IndentFormat;
+import com.github.lombrozo.jsmith.format.RawFormat;
 import com.github.lombrozo.jsmith.guard.InMemoryCompiler;
 import com.jcabi.log.Logger;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.hamcrest.MatcherAssert;
@@ -104,6 +109,39 @@ final class RandomJavaClassTest {
         );
     }
 
+    @ParameterizedTest
+    @ValueSource(longs = {1_038_792_632_350_611_846L, 2_257_151_642_642_236_899L})
+    void generatesCompilableClassWithCheaperFormats(final long seed) {
+        final String indented = new RandomJavaClass(new Params(seed), new IndentFormat()).src();
+        final String raw = new RandomJavaClass(new Params(seed), new RawFormat()).src();
+        Assertions.assertDoesNotThrow(
+            () -> {
+                new InMemoryCompiler().compile(indented);
+                new InMemoryCompiler().compile(raw);
+            },
+            String.format(
+                "The source code should be compilable with any format:%n%s%n%s", indented, raw
+            )
+        );
+    }
+
+    @Test
+    void indentsClassOfUnannotatedGrammar() {
+        MatcherAssert.assertThat(
+            "We expect that the format reads the tree even if the grammar has no annotations",
+            Arrays.stream(
+                new RandomJavaClass(
+                    "grammars/separated/WordsAndNumbersParser.g4",
+                    "grammars/separated/WordsAndNumbersLexer.g4",
+                    "words",
+                    new Params(7L),
+                    new IndentFormat(Collections.singleton("line"), "\t")
+                ).src().split("\n")
+            ).collect(Collectors.toList()),
+            Matchers.everyItem(Matchers.startsWith("\t"))
+        );
+    }
+
     @ParameterizedTest
     @MethodSource("programs")
     void createsCompilableJavaSourceCode(final Params params, final String src) {
@@ -24,11 +24,23 @@
 package com.github.lombrozo.jsmith;
 
 import com.github.lombrozo.jsmith.antlr.view.Text;
+import com.github.lombrozo.jsmith.guard.InterpretedEngine;
+import com.github.lombrozo.jsmith.guard.SyntaxGuard;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.antlr.v4.runtime.Token;
+import org.cactoos.Input;
+import org.cactoos.io.InputOf;
 import org.cactoos.io.ResourceOf;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Tests for {@link RandomScript}.
@@ -82,6 +94,94 @@ final class RandomScriptTest {
         );
     }
 
+    @Test
+    void generatesTheSameScriptWithoutTree() {
+        final Input grammar = new ResourceOf("grammars/Json.g4");
+        MatcherAssert.assertThat(
+            "We expect that the plain text is the same as the text of the tree",
+            LongStream.range(0L, 20L)
+                .mapToObj(
+                    seed -> new RandomScript(new Params(seed), grammar).generate("json").output()
+                )
+                .collect(Collectors.toList()),
+            Matchers.equalTo(
+                LongStream.range(0L, 20L)
+                    .mapToObj(
+                        seed -> new RandomScript(new Params(seed).tree(), grammar)
+                            .generate("json")
+                            .output()
+                    )
+                    .collect(Collectors.toList())
+            )
+        );
+    }
+
+    @Test
+    void buildsTreeOnlyOnDemand() {
+        final Input grammar = new ResourceOf("grammars/Json.g4");
+        MatcherAssert.assertThat(
+            "We expect that the tree is built only if the params ask for it",
+            new boolean[] {
+                new RandomScript(new Params(3L), grammar).generate("json").children().isEmpty(),
+                new RandomScript(new Params(3L).tree(), grammar)
+                    .generate("json")
+                    .children()
+                    .isEmpty(),
+            },
+            Matchers.equalTo(new boolean[] {true, false})
+        );
+    }
+
+    @Test
+    void buildsTreeOfUnannotatedGrammarOnRequest() {
+        final Input grammar = new ResourceOf("grammars/Json.g4");
+        final Text tree = new RandomScript(new Params(3L), grammar).tree("json");
+        MatcherAssert.assertThat(
+            "We expect the labeled tree with the same text as the plain one",
+            new Object[] {tree.children().isEmpty(), tree.output()},
+            Matchers.equalTo(
+                new Object[] {
+                    false,
+                    new RandomScript(new Params(3L), grammar).generate("json").output(),
+                }
+            )
+        );
+    }
+
+    @Test
+    void generatesTheSameScriptWithTokenLabels() {
+        final Input grammar = new ResourceOf("grammars/Arithmetic.g4");
+        MatcherAssert.assertThat(
+            "We expect that the labeled tokens don't change the script",
+            new RandomScript(new Params(5L).tokenized(), grammar).generate("prog").output(),
+            Matchers.equalTo(new RandomScript(new Params(5L), grammar).generate("prog").output())
+        );
+    }
+
+    @Test
+    void generatesTheSameScriptInArena() {
+        final Input grammar = new ResourceOf("grammars/Arithmetic.g4");
+        MatcherAssert.assertThat(
+            "We expect that the arena keeps the same script as the text",
+            new RandomScript(new Params(11L), grammar).arena("prog").text().output(),
+            Matchers.equalTo(new RandomScript(new Params(11L), grammar).generate("prog").output())
+        );
+    }
+
+    @RepeatedTest(10)
+    void generatesTokensOfArithmeticGrammar() {
+        final Input grammar = new ResourceOf("grammars/Arithmetic.g4");
+        MatcherAssert.assertThat(
+            "We expect that all the generated tokens have known types",
+            new RandomScript(grammar)
+                .tokens("stat", new InterpretedEngine(grammar).lexer(""))
+                .stream()
+                .map(Token::getType)
+                .collect(Collectors.toList()),
+            Matchers.everyItem(Matchers.greaterThan(Token.INVALID_TYPE))
+        );
+    }
+
     @RepeatedTest(10)
     void generatesLetterGrammarUsingCombinedGrammar() {
         final RandomScript script = new RandomScript(
@@ -177,4 +277,173 @@ final class RandomScriptTest {
             Matchers.not(Matchers.emptyString())
         );
     }
+
+    @Test
+    void generatesTheSameBatchRegardlessOfParallelism() {
+        final RandomScript script = new RandomScript(
+            new Params(42L),
+            new ResourceOf("grammars/Arithmetic.g4")
+        );
+        MatcherAssert.assertThat(
+            "We expect that the batch depends only on the seed, not on the number of threads",
+            script.generate("prog", 32, 4).stream()
+                .map(Text::output)
+                .collect(Collectors.toList()),
+            Matchers.equalTo(
+                script.generate("prog", 32, 1).stream()
+                    .map(Text::output)
+                    .collect(Collectors.toList())
+            )
+        );
+    }
+
+    @Test
+    void generatesDifferentScriptsInBatch() {
+        MatcherAssert.assertThat(
+            "We expect that scripts in the batch are generated with different seeds",
+            new RandomScript(new Params(7L), new ResourceOf("grammars/Arithmetic.g4"))
+                .generate("prog", 16, 2)
+                .stream()
+                .map(Text::output)
+                .distinct()
+                .count(),
+            Matchers.greaterThan(1L)
+        );
+    }
+
+    @Test
+    void generatesTheSameScriptByIndexAsInBatch() {
+        final RandomScript script = new RandomScript(
+            new Params(21L),
+            new ResourceOf("grammars/Arithmetic.g4")
+        );
+        MatcherAssert.assertThat(
+            "We expect that the script with an index is the same as in the batch",
+            script.generate("prog", 5L).output(),
+            Matchers.equalTo(script.generate("prog", 8, 2).get(5).output())
+        );
+    }
+
+    @Test
+    void writesTheSameScriptToAppendable() throws IOException {
+        final RandomScript script = new RandomScript(
+            new Params(13L),
+            new ResourceOf("grammars/Json.g4")
+        );
+        final StringBuilder out = new StringBuilder(0);
+        script.generate("json", out);
+        MatcherAssert.assertThat(
+            "We expect that streamed script is the same as the script text",
+            out.toString(),
+            Matchers.equalTo(script.generate("json").output())
+        );
+    }
+
+    @Test
+    void generatesScriptWithStaticWeights() {
+        MatcherAssert.assertThat(
+            "We expect that alias sampling without decay generates a script",
+            new RandomScript(new Params(1.0d), new ResourceOf("grammars/Arithmetic.g4"))
+                .generate("prog")
+                .output(),
+            Matchers.not(Matchers.emptyString())
+        );
+    }
+
+    @Test
+    void generatesScriptOfRequestedBytes() {
+        MatcherAssert.assertThat(
+            "We expect that the script is about the requested size in bytes",
+            new RandomScript(new Params(13L).bytes(4096), new ResourceOf("grammars/Arithmetic.g4"))
+                .generate("prog")
+                .output()
+                .length(),
+            Matchers.allOf(Matchers.greaterThan(2048), Matchers.lessThan(6144))
+        );
+    }
+
+    @Test
+    void generatesLargerScriptsForLargerTokenBudgets() {
+        final Params params = new Params(17L);
+        MatcherAssert.assertThat(
+            "We expect that ten times more tokens give about ten times longer script",
+            (double) new RandomScript(params.tokens(2000), new ResourceOf("grammars/Arithmetic.g4"))
+                .generate("prog")
+                .output()
+                .length()
+                / new RandomScript(params.tokens(200), new ResourceOf("grammars/Arithmetic.g4"))
+                .generate("prog")
+                .output()
+                .length(),
+            Matchers.allOf(Matchers.greaterThan(5.0), Matchers.lessThan(20.0))
+        );
+    }
+
+    @Test
+    void generatesShortestScriptForTinyBudget() {
+        MatcherAssert.assertThat(
+            "We expect that the tiny budget still gives a complete script",
+            new RandomScript(new Params(19L).tokens(1), new ResourceOf("grammars/Arithmetic.g4"))
+                .generate("prog")
+                .output(),
+            Matchers.not(Matchers.emptyString())
+        );
+    }
+
+    @Test
+    void keepsStackTraceOfFailedGeneration() {
+        MatcherAssert.assertThat(
+            "We expect that the failure escaping the generation keeps its stack trace",
+            Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> new RandomScript(
+                    new InputOf(
+                        "grammar Fail;\nprog : /* $jsmith-var-use */ ID ;\nID : [a-z]+ ;\n"
+                    )
+                ).generate("prog")
+            ).getCause().getStackTrace(),
+            Matchers.not(Matchers.emptyArray())
+        );
+    }
+
+    @RepeatedTest(10)
+    void sharesBudgetBetweenSiblingRepetitions() {
+        final String script = new RandomScript(
+            new Params().tokens(100),
+            new InputOf("grammar Split;\nprog : 'a'* 'b'* EOF ;\n")
+        ).generate("prog").output().replaceAll("\\s", "");
+        MatcherAssert.assertThat(
+            "We expect that the first repetition leaves tokens for the second one",
+            script.chars().filter(chr -> chr == 'b').count(),
+            Matchers.greaterThan(0L)
+        );
+    }
+
+    @RepeatedTest(10)
+    void keepsOptionalElementsOptionalUnderLargeBudget(@TempDir final Path temp) {
+        final Input grammar = new InputOf("grammar Opt;\nprog : 'a' (';' 'c')? 'b' EOF ;\n");
+        final Text text = new RandomScript(new Params().tokens(100), grammar).generate("prog");
+        new SyntaxGuard(temp, "prog", grammar).verifySilently(text);
+        MatcherAssert.assertThat(
+            "We expect that the large budget never repeats the optional element",
+            text.output(),
+            Matchers.matchesPattern("a(;c)?b")
+        );
+    }
+
+    @Test
+    void coversGrammarWithGuidedGeneration() {
+        final RandomScript script = new RandomScript(
+            new Params(23L).coverage(),
+            new ResourceOf("grammars/Arithmetic.g4")
+        );
+        for (int index = 0; index < 10; ++index) {
+            script.generate("prog", index);
+        }
+        MatcherAssert.assertThat(
+            "We expect that guided generations cover most of the grammar alternatives",
+            script.coverage(),
+            Matchers.greaterThan(80.0)
+        );
+    }
 }
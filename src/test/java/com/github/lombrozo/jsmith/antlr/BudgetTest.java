@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr;
+
+import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Budget}.
+ * @since 0.2
+ */
+final class BudgetTest {
+
+    @Test
+    void neverLimitsByDefault() {
+        final Budget budget = new Budget();
+        budget.spend(new TerminalNode("token", "abc"));
+        MatcherAssert.assertThat(
+            "We expect that the unlimited budget neither limits nor counts",
+            budget.remaining() == Long.MAX_VALUE && budget.tokens() == 0L,
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void countsSpentTokens() {
+        final Budget budget = new Budget(10L, Long.MAX_VALUE);
+        budget.spend(new TerminalNode("token", "a"));
+        budget.spend(new TerminalNode("token", "b"));
+        MatcherAssert.assertThat(
+            "We expect that each spent token decreases the remaining budget",
+            budget.remaining(),
+            Matchers.equalTo(8L)
+        );
+    }
+
+    @Test
+    void convertsBytesToTokensByAverageLength() {
+        final Budget budget = new Budget(Long.MAX_VALUE, 100L);
+        budget.spend(new TerminalNode("token", "abcdefghij"));
+        MatcherAssert.assertThat(
+            "We expect that the remaining bytes are divided by the average token length",
+            budget.remaining(),
+            Matchers.equalTo(9L)
+        );
+    }
+
+    @Test
+    void sharesRemainingTokens() {
+        final Budget budget = new Budget(12L, Long.MAX_VALUE);
+        final Budget part = budget.share(3);
+        part.spend(new TerminalNode("token", "x"));
+        MatcherAssert.assertThat(
+            "We expect that the part gets a third of the budget and spends the common counter",
+            new long[] {part.remaining(), budget.remaining()},
+            Matchers.equalTo(new long[] {3L, 11L})
+        );
+    }
+
+    @Test
+    void sharesRemainingBytes() {
+        final Budget budget = new Budget(Long.MAX_VALUE, 100L);
+        final Budget part = budget.share(2);
+        part.spend(new TerminalNode("token", "ab"));
+        MatcherAssert.assertThat(
+            "We expect that the part gets half of the bytes, measured by the average token",
+            new long[] {part.remaining(), budget.remaining()},
+            Matchers.equalTo(new long[] {24L, 49L})
+        );
+    }
+
+    @Test
+    void rejectsNegativeBudget() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new Budget(-1L, 10L),
+            "We expect that negative budget is rejected"
+        );
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr;
+
+import com.github.lombrozo.jsmith.antlr.rules.Literal;
+import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import java.util.Arrays;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link Path}.
+ * @since 0.2
+ */
+final class PathTest {
+
+    @Test
+    void keepsRulesInOrderOfVisiting() {
+        final List<Rule> rules = Arrays.asList(
+            new Literal("first"), new Literal("second"), new Literal("third")
+        );
+        MatcherAssert.assertThat(
+            "We expect that the path keeps rules in the order of visiting",
+            new Path(rules.subList(0, 2)).with(rules.get(2)).rules(),
+            Matchers.equalTo(rules)
+        );
+    }
+
+    @Test
+    void sharesPrefixWithoutChangingIt() {
+        final Path prefix = new Path().with(new Literal("root"));
+        prefix.with(new Literal("left"));
+        prefix.with(new Literal("right"));
+        MatcherAssert.assertThat(
+            "We expect that extending the path doesn't change the original one",
+            prefix.depth(),
+            Matchers.equalTo(1)
+        );
+    }
+}
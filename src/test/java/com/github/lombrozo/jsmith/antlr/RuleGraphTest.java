@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr;
+
+import com.github.lombrozo.jsmith.ANTLRv4Lexer;
+import com.github.lombrozo.jsmith.ANTLRv4Parser;
+import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.cactoos.io.ResourceOf;
+import org.cactoos.text.TextOf;
+import org.cactoos.text.UncheckedText;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RuleGraph}.
+ * @since 0.2
+ */
+final class RuleGraphTest {
+
+    @Test
+    void computesShortestDerivationOfRecursiveRule() {
+        final Unparser unparser = new Unparser();
+        final Derivations derivations = RuleGraphTest.derivations(
+            RuleGraphTest.resource("grammars/Recursive.g4"), unparser
+        );
+        MatcherAssert.assertThat(
+            "We expect that the shortest derivation of 'expr' is the single '0'",
+            derivations.size(RuleGraphTest.rule(unparser, "expr")),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            "We expect that 'recur' derives '1' and eight shortest 'expr'",
+            derivations.size(RuleGraphTest.rule(unparser, "recur")),
+            Matchers.equalTo(9)
+        );
+        MatcherAssert.assertThat(
+            "We expect that 'recur' requires a deeper path than 'expr'",
+            derivations.depth(RuleGraphTest.rule(unparser, "recur")),
+            Matchers.greaterThan(derivations.depth(RuleGraphTest.rule(unparser, "expr")))
+        );
+    }
+
+    @Test
+    void findsFiniteDerivationsForAllArithmeticRules() {
+        final Unparser unparser = new Unparser();
+        final Derivations derivations = RuleGraphTest.derivations(
+            RuleGraphTest.resource("grammars/Arithmetic.g4"), unparser
+        );
+        for (final String name : new String[]{"prog", "stat", "expr"}) {
+            MatcherAssert.assertThat(
+                String.format("We expect that '%s' has a finite derivation", name),
+                derivations.depth(RuleGraphTest.rule(unparser, name)),
+                Matchers.lessThan(RuleGraph.INFINITY)
+            );
+        }
+    }
+
+    @Test
+    void marksRulesWithoutTerminationAsInfinite() {
+        final Unparser unparser = new Unparser();
+        final Derivations derivations = RuleGraphTest.derivations(
+            "grammar Endless;\nloop: '(' loop ')' ;\n", unparser
+        );
+        MatcherAssert.assertThat(
+            "We expect that the rule without a base case never terminates",
+            derivations.depth(RuleGraphTest.rule(unparser, "loop")),
+            Matchers.equalTo(RuleGraph.INFINITY)
+        );
+    }
+
+    @Test
+    void countsMinimalTokensOfArithmeticRules() {
+        final Unparser unparser = new Unparser();
+        final Derivations derivations = RuleGraphTest.derivations(
+            RuleGraphTest.resource("grammars/Arithmetic.g4"), unparser
+        );
+        MatcherAssert.assertThat(
+            "We expect that the shortest 'stat' is the single NEWLINE token",
+            derivations.tokens(RuleGraphTest.rule(unparser, "stat")),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void expectsMoreTokensFromRepetitions() {
+        final Unparser unparser = new Unparser();
+        final Derivations derivations = RuleGraphTest.derivations(
+            RuleGraphTest.resource("grammars/Arithmetic.g4"), unparser
+        );
+        MatcherAssert.assertThat(
+            "We expect that 'stat+' gives more tokens than a single 'stat'",
+            derivations.expected(RuleGraphTest.rule(unparser, "prog")),
+            Matchers.greaterThan(derivations.expected(RuleGraphTest.rule(unparser, "stat")))
+        );
+    }
+
+    @Test
+    void expectsFiniteTokensOfRecursiveRule() {
+        final Unparser unparser = new Unparser();
+        final Derivations derivations = RuleGraphTest.derivations(
+            RuleGraphTest.resource("grammars/Recursive.g4"), unparser
+        );
+        MatcherAssert.assertThat(
+            "We expect that the expected size of the recursive rule is bounded",
+            derivations.expected(RuleGraphTest.rule(unparser, "expr")),
+            Matchers.allOf(Matchers.greaterThan(1.0), Matchers.lessThan(1000.0))
+        );
+    }
+
+    @Test
+    void countsAlternativesOfChoiceRules() {
+        final Unparser unparser = new Unparser();
+        final Unlexer unlexer = new Unlexer();
+        final RuleGraph graph = new RuleGraph();
+        final CommonTokenStream tokens = new CommonTokenStream(
+            new ANTLRv4Lexer(
+                CharStreams.fromString("grammar Pair;\npair: 'a' | 'b' ('c' | 'd' | 'e') ;\n")
+            )
+        );
+        new ParseTreeWalker().walk(
+            new AntlrListener(tokens, unparser, unlexer, graph),
+            new ANTLRv4Parser(tokens).grammarSpec()
+        );
+        MatcherAssert.assertThat(
+            "We expect that all the alternatives of all the choices are counted",
+            graph.alternatives(),
+            Matchers.equalTo(5)
+        );
+    }
+
+    /**
+     * Compute derivations of the grammar.
+     * @param grammar ANTLR grammar.
+     * @param unparser Unparser to fill.
+     * @return Derivations.
+     */
+    private static Derivations derivations(final String grammar, final Unparser unparser) {
+        final Unlexer unlexer = new Unlexer();
+        final RuleGraph graph = new RuleGraph();
+        final CommonTokenStream tokens = new CommonTokenStream(
+            new ANTLRv4Lexer(CharStreams.fromString(grammar))
+        );
+        new ParseTreeWalker().walk(
+            new AntlrListener(tokens, unparser, unlexer, graph),
+            new ANTLRv4Parser(tokens).grammarSpec()
+        );
+        return graph.derivations(unparser, unlexer);
+    }
+
+    /**
+     * Read the grammar from resources.
+     * @param path Path to the grammar.
+     * @return Grammar.
+     */
+    private static String resource(final String path) {
+        return new UncheckedText(new TextOf(new ResourceOf(path))).asString();
+    }
+
+    /**
+     * Find the parser rule.
+     * @param unparser Unparser.
+     * @param name Rule name.
+     * @return Rule.
+     */
+    private static Rule rule(final Unparser unparser, final String name) {
+        return unparser.find(name).orElseThrow(() -> new IllegalStateException(name));
+    }
+}
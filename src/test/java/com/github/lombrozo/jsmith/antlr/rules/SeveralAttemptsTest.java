@@ -23,9 +23,11 @@
  */
 package com.github.lombrozo.jsmith.antlr.rules;
 
+import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.view.Node;
 import com.github.lombrozo.jsmith.antlr.view.PlainText;
 import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
+import java.util.Arrays;
 import java.util.concurrent.CountDownLatch;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -74,7 +76,7 @@ final class SeveralAttemptsTest {
             () -> new SeveralAttempts(
                 1,
                 "test",
-                () -> {
+                context -> {
                     throw new WrongPathException("Mock failure");
                 }
             ).choose().text().output(),
@@ -82,6 +84,48 @@ final class SeveralAttemptsTest {
         );
     }
 
+    @Test
+    void keepsStackTraceOfFinalFailure() {
+        MatcherAssert.assertThat(
+            "We expect that the failure nobody retries keeps its stack trace",
+            Assertions.assertThrows(
+                WrongPathException.class,
+                () -> new SeveralAttempts(2, "test", new Context(), new Failing()).choose()
+            ).getStackTrace(),
+            Matchers.not(Matchers.emptyArray())
+        );
+    }
+
+    @Test
+    void skipsStackTracesOfRetriedFailures() {
+        final WrongPathException failure = Assertions.assertThrows(
+            WrongPathException.class,
+            () -> new SeveralAttempts(
+                2, "test", new Context().withRetries(), new Failing()
+            ).choose()
+        );
+        MatcherAssert.assertThat(
+            "We expect that both the retried failure and its cause skip the stack traces",
+            Arrays.asList(
+                failure.getStackTrace().length,
+                failure.getCause().getStackTrace().length
+            ),
+            Matchers.contains(0, 0)
+        );
+    }
+
+    /**
+     * Attempt that always fails in the stackless mode when it is retried.
+     * @since 0.2
+     */
+    private static final class Failing implements SeveralAttempts.Attempt {
+
+        @Override
+        public Node make(final Context context) throws WrongPathException {
+            throw new WrongPathException(() -> "Always fails", !context.retried());
+        }
+    }
+
     /**
      * Mock text generation that starts to work only from the third attempt.
      * @since 0.1
@@ -94,7 +138,7 @@ final class SeveralAttemptsTest {
         private final CountDownLatch attempts = new CountDownLatch(2);
 
         @Override
-        public Node make() throws WrongPathException {
+        public Node make(final Context context) throws WrongPathException {
             final Node result;
             if (this.attempts.getCount() == 0) {
                 result = new TerminalNode(new PlainText("success"));
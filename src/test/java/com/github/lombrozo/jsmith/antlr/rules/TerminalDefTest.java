@@ -25,6 +25,8 @@ package com.github.lombrozo.jsmith.antlr.rules;
 
 import com.github.lombrozo.jsmith.antlr.Context;
 import com.github.lombrozo.jsmith.antlr.Unlexer;
+import java.util.Arrays;
+import java.util.Optional;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -60,6 +62,19 @@ final class TerminalDefTest {
         );
     }
 
+    @Test
+    void labelsTokensOnlyOnDemand() throws WrongPathException {
+        final TerminalDef terminal = new TerminalDef(new Unlexer(), "'-'");
+        MatcherAssert.assertThat(
+            "We expect that the terminal is labeled as a token only if the context asks for it",
+            Arrays.asList(
+                terminal.generate(new Context()).text().labels().token(),
+                terminal.generate(new Context().withTokens()).text().labels().token()
+            ),
+            Matchers.contains(Optional.empty(), Optional.of("'-'"))
+        );
+    }
+
     @Test
     void ignoresEndOfFile() throws WrongPathException {
         MatcherAssert.assertThat(
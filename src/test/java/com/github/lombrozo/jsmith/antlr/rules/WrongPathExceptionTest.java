@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr.rules;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link WrongPathException}.
+ * @since 0.2
+ */
+final class WrongPathExceptionTest {
+
+    @Test
+    void doesNotFillInStackTraceInStacklessMode() {
+        MatcherAssert.assertThat(
+            "We expect that the exception is thrown without a stack trace",
+            new WrongPathException(() -> "No stack trace", false).getStackTrace(),
+            Matchers.emptyArray()
+        );
+    }
+
+    @Test
+    void keepsStackTraceByDefault() {
+        MatcherAssert.assertThat(
+            "We expect that the exception keeps the stack trace by default",
+            new WrongPathException("Stack trace").getStackTrace(),
+            Matchers.not(Matchers.emptyArray())
+        );
+    }
+
+    @Test
+    void buildsMessageOnlyWhenRequested() {
+        final AtomicInteger built = new AtomicInteger(0);
+        final WrongPathException exception = new WrongPathException(
+            () -> String.format("Built %d times", built.incrementAndGet()),
+            false
+        );
+        MatcherAssert.assertThat(
+            "We expect that the message isn't built until it is requested",
+            built.get(),
+            Matchers.is(0)
+        );
+        MatcherAssert.assertThat(
+            "We expect that the message is built on request",
+            exception.getMessage(),
+            Matchers.equalTo("Built 1 times")
+        );
+    }
+
+    @Test
+    void buildsMessageOnce() {
+        final AtomicInteger built = new AtomicInteger(0);
+        final WrongPathException exception = new WrongPathException(
+            () -> String.format("Built %d times", built.incrementAndGet()),
+            false
+        );
+        exception.getMessage();
+        MatcherAssert.assertThat(
+            "We expect that the message is the same on each request",
+            exception.getMessage(),
+            Matchers.equalTo("Built 1 times")
+        );
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr.view;
+
+import com.github.lombrozo.jsmith.antlr.rules.Literal;
+import com.github.lombrozo.jsmith.antlr.rules.Root;
+import java.util.Arrays;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Arena}.
+ * @since 0.2
+ */
+final class ArenaTest {
+
+    @Test
+    void keepsOutputOfEachNode() {
+        final Arena arena = new Arena(ArenaTest.tree());
+        MatcherAssert.assertThat(
+            "We expect that each node has the output of its subtree",
+            new String[] {arena.output(0), arena.output(1), arena.output(3), arena.output(7)},
+            Matchers.equalTo(new String[] {"x=42;", "x", "42", ";"})
+        );
+    }
+
+    @Test
+    void keepsStructureOfTree() {
+        final Arena arena = new Arena(ArenaTest.tree());
+        MatcherAssert.assertThat(
+            "We expect that the children and the parents are the same as in the tree",
+            new int[][] {
+                arena.children(0),
+                arena.children(4),
+                arena.children(5),
+                {arena.parent(0), arena.parent(5), arena.parent(7)},
+            },
+            Matchers.equalTo(new int[][] {{1, 2, 3, 7}, {5, 6}, {}, {-1, 4, 0}})
+        );
+    }
+
+    @Test
+    void keepsLabelsOfNodes() {
+        final Arena arena = new Arena(ArenaTest.tree());
+        MatcherAssert.assertThat(
+            "We expect that the authors, the rules and the tokens are kept",
+            new Object[] {
+                arena.labels(0).author(),
+                arena.labels(0).rule().get(),
+                arena.labels(3).token().get(),
+                arena.labels(2).rule().isPresent(),
+            },
+            Matchers.equalTo(new Object[] {"root", "assignment", "NUMBER", false})
+        );
+    }
+
+    @Test
+    void buildsTheSameTextAsNodes() {
+        final Node node = new IntermediateNode(
+            new Root(),
+            new TerminalNode("name", "x"),
+            new IntermediateNode(
+                new Literal("="),
+                new TerminalNode("eq", "="),
+                new TerminalNode("value", "1")
+            )
+        );
+        final Arena arena = new Arena(node);
+        MatcherAssert.assertThat(
+            "We expect that the arena of the node has the same output and size",
+            new Object[] {arena.text().output(), arena.size()},
+            Matchers.equalTo(new Object[] {node.text().output(), 5})
+        );
+    }
+
+    @Test
+    void drawsTreeInDotFormat() {
+        MatcherAssert.assertThat(
+            "We expect that the arena text might be drawn as the original tree",
+            new DotText(new Arena(ArenaTest.tree()).text()).output(),
+            Matchers.allOf(
+                Matchers.containsString("root -> name -> x"),
+                Matchers.containsString("number -> digit -> 4"),
+                Matchers.containsString("number -> digit -> 2")
+            )
+        );
+    }
+
+    @Test
+    void rejectsUnknownNode() {
+        MatcherAssert.assertThat(
+            "We expect that the arena reports the nodes it doesn't have",
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new Arena(ArenaTest.tree()).output(8)
+            ).getMessage(),
+            Matchers.equalTo("Node 8 doesn't exist, the arena has 8 nodes")
+        );
+    }
+
+    /**
+     * Text tree of {@code x=42;}.
+     * @return Text tree.
+     */
+    private static Text tree() {
+        return new ComposedText(
+            Arrays.asList(
+                new PlainText("name", "x"),
+                new PlainText("eq", "="),
+                new TokenText(
+                    new ComposedText(
+                        Arrays.asList(new PlainText("digit", "4"), new PlainText("digit", "2")),
+                        new Labels("number")
+                    ),
+                    "42",
+                    new Labels("number").withToken("NUMBER")
+                ),
+                new PlainText("semi", ";")
+            ),
+            new Labels("root").withRule("assignment")
+        );
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr.view;
+
+import com.github.lombrozo.jsmith.antlr.rules.Root;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link IntermediateNode}.
+ * @since 0.2
+ */
+final class IntermediateNodeTest {
+
+    @Test
+    void writesTheSameOutputAsText() throws IOException {
+        final Node node = new IntermediateNode(
+            new Root(),
+            new TerminalNode("first", "a"),
+            new IntermediateNode(
+                new Root(),
+                new TerminalNode("second", "b"),
+                new TerminalNode("third", "c")
+            ),
+            new TerminalNode("fourth", "d")
+        );
+        final StringWriter writer = new StringWriter();
+        node.writeTo(writer);
+        MatcherAssert.assertThat(
+            "We expect that streamed output is the same as the text output",
+            writer.toString(),
+            Matchers.allOf(
+                Matchers.equalTo(node.text().output()),
+                Matchers.equalTo("abcd")
+            )
+        );
+    }
+
+    @Test
+    void writesComposedTextOutput() throws IOException {
+        final Text text = new IntermediateNode(
+            new Root(),
+            new TerminalNode("left", "left"),
+            new TerminalNode("right", "right")
+        ).text();
+        final StringBuilder builder = new StringBuilder(0);
+        text.writeTo(builder);
+        MatcherAssert.assertThat(
+            "We expect that composed text writes all its children in order",
+            builder.toString(),
+            Matchers.equalTo("leftright")
+        );
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr.view;
+
+import com.github.lombrozo.jsmith.antlr.Attributes;
+import java.util.Arrays;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PlainNode}.
+ * @since 0.2
+ */
+final class PlainNodeTest {
+
+    @Test
+    void writesSnippetsInOrder() {
+        MatcherAssert.assertThat(
+            "We expect that the plain node has the output of all its snippets",
+            new PlainNode(
+                Arrays.asList(
+                    new PlainNode("x"),
+                    new PlainNode(Arrays.asList(new PlainNode("="), new PlainNode("42"))),
+                    new TerminalNode("semi", ";")
+                )
+            ).text().output(),
+            Matchers.equalTo("x=42;")
+        );
+    }
+
+    @Test
+    void buildsTextWithoutTree() {
+        MatcherAssert.assertThat(
+            "We expect that the text of the plain node is a single leaf",
+            new PlainNode(Arrays.asList(new PlainNode("a"), new PlainNode("b")))
+                .text()
+                .children(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void dropsAttributes() {
+        MatcherAssert.assertThat(
+            "We expect that the plain node never keeps the attributes",
+            new PlainNode("int")
+                .with(new Attributes().withType("int"))
+                .attributes()
+                .currentType()
+                .isPresent(),
+            Matchers.is(false)
+        );
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr.view;
+
+import com.github.lombrozo.jsmith.antlr.rules.Root;
+import java.io.IOException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TokenText}.
+ * @since 0.2
+ */
+final class TokenTextTest {
+
+    @Test
+    void writesTheOutputOfToken() throws IOException {
+        final StringBuilder out = new StringBuilder(0);
+        new TokenText(
+            new IntermediateNode(
+                new Root(),
+                new TerminalNode("first", "4"),
+                new TerminalNode("second", "2")
+            ).text(),
+            "42",
+            new Labels(new Root()).withToken("NUMBER")
+        ).writeTo(out);
+        MatcherAssert.assertThat(
+            "We expect that the token writes its output without visiting the characters",
+            out.toString(),
+            Matchers.equalTo("42")
+        );
+    }
+
+    @Test
+    void keepsCharactersAsChild() {
+        MatcherAssert.assertThat(
+            "We expect that the characters of the token are still in the tree",
+            new TokenText(
+                new PlainText("+"), "+", new Labels(new Root()).withToken("'+'")
+            ).children().get(0).output(),
+            Matchers.equalTo("+")
+        );
+    }
+}
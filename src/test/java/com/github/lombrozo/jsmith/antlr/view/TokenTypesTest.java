@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr.view;
+
+import com.github.lombrozo.jsmith.guard.InterpretedEngine;
+import org.antlr.v4.runtime.Token;
+import org.cactoos.io.ResourceOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TokenTypes}.
+ * @since 0.2
+ */
+final class TokenTypesTest {
+
+    @Test
+    void resolvesSymbolicNamesAndLiterals() {
+        final TokenTypes types = new TokenTypes(
+            new InterpretedEngine(new ResourceOf("grammars/Simple.g4")).lexer("").getVocabulary()
+        );
+        MatcherAssert.assertThat(
+            "We expect that a token is resolved both by its name and by its literal",
+            new int[] {types.type("PLUS"), types.type("'+'"), types.type("NUMBER")},
+            Matchers.equalTo(new int[] {1, 1, 2})
+        );
+    }
+
+    @Test
+    void returnsInvalidTypeForUnknownToken() {
+        MatcherAssert.assertThat(
+            "We expect that an unknown token has the invalid type",
+            new TokenTypes(
+                new InterpretedEngine(new ResourceOf("grammars/Simple.g4"))
+                    .lexer("")
+                    .getVocabulary()
+            ).type("MINUS"),
+            Matchers.equalTo(Token.INVALID_TYPE)
+        );
+    }
+}
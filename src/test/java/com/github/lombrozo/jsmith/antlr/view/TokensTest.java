@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.antlr.view;
+
+import com.github.lombrozo.jsmith.CompiledGrammar;
+import com.github.lombrozo.jsmith.antlr.Context;
+import com.github.lombrozo.jsmith.antlr.rules.WrongPathException;
+import com.github.lombrozo.jsmith.guard.InterpretedEngine;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.Token;
+import org.cactoos.io.ResourceOf;
+import org.cactoos.text.TextOf;
+import org.cactoos.text.UncheckedText;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Tokens}.
+ * @since 0.2
+ */
+final class TokensTest {
+
+    @Test
+    void resolvesTheSameTokensAsLexer() throws WrongPathException {
+        final ResourceOf grammar = new ResourceOf("grammars/Arithmetic.g4");
+        final Text text = TokensTest.labeled(grammar);
+        final Lexer lexer = new InterpretedEngine(grammar).lexer(text.output());
+        MatcherAssert.assertThat(
+            "We expect that the generated tokens are the same as the lexed ones",
+            TokensTest.readable(
+                new Tokens(text).list(new InterpretedEngine(grammar).lexer("")), lexer
+            ),
+            Matchers.equalTo(TokensTest.readable(lexer.getAllTokens(), lexer))
+        );
+    }
+
+    @Test
+    void lexesUnlabeledText() {
+        final Lexer lexer = new InterpretedEngine(new ResourceOf("grammars/Simple.g4"))
+            .lexer("");
+        MatcherAssert.assertThat(
+            "We expect that the text without token labels is lexed",
+            TokensTest.readable(new Tokens(new PlainText("1+23")).list(lexer), lexer),
+            Matchers.equalTo("NUMBER:1 PLUS:+ NUMBER:23")
+        );
+    }
+
+    @Test
+    void keepsPositionsOfTokens() throws WrongPathException {
+        final ResourceOf grammar = new ResourceOf("grammars/Arithmetic.g4");
+        final Text text = TokensTest.labeled(grammar);
+        final Lexer lexer = new InterpretedEngine(grammar).lexer(text.output());
+        MatcherAssert.assertThat(
+            "We expect that the tokens have the same lines and columns as in the text",
+            TokensTest.positions(
+                new Tokens(text).list(new InterpretedEngine(grammar).lexer(""))
+            ),
+            Matchers.equalTo(TokensTest.positions(lexer.getAllTokens()))
+        );
+    }
+
+    /**
+     * Generated text with the tokens labeled.
+     * @param grammar Grammar.
+     * @return Text.
+     * @throws WrongPathException If the generation fails.
+     */
+    private static Text labeled(final ResourceOf grammar) throws WrongPathException {
+        return new CompiledGrammar(
+            Collections.singletonList(new UncheckedText(new TextOf(grammar)).asString())
+        ).generate("prog", new Context().withTokens()).text();
+    }
+
+    /**
+     * Readable tokens, like {@code NUMBER:1}.
+     * @param tokens Tokens.
+     * @param lexer Lexer with the vocabulary.
+     * @return Readable tokens separated by spaces.
+     */
+    private static String readable(final List<? extends Token> tokens, final Lexer lexer) {
+        return tokens.stream()
+            .map(
+                token -> String.format(
+                    "%s:%s",
+                    lexer.getVocabulary().getSymbolicName(token.getType()),
+                    token.getText()
+                )
+            )
+            .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Positions of the tokens, like {@code 1:0}.
+     * @param tokens Tokens.
+     * @return Positions separated by spaces.
+     */
+    private static String positions(final List<? extends Token> tokens) {
+        return tokens.stream()
+            .map(token -> String.format("%d:%d", token.getLine(), token.getCharPositionInLine()))
+            .collect(Collectors.joining(" "));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.format;
+
+import com.github.lombrozo.jsmith.antlr.view.PlainText;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link EclipseFormat}.
+ * @since 0.2
+ */
+final class EclipseFormatTest {
+
+    /**
+     * Unformatted class.
+     */
+    private static final String CLASS = "class A{void a(){int b=1;}}";
+
+    @Test
+    void formatsJavaClass() {
+        MatcherAssert.assertThat(
+            "We expect that the class will be formatted by the Eclipse formatter",
+            new EclipseFormat().apply(new PlainText(EclipseFormatTest.CLASS)),
+            Matchers.containsString("int b = 1;")
+        );
+    }
+
+    @Test
+    void formatsTheSameWayTwice() {
+        final EclipseFormat format = new EclipseFormat();
+        MatcherAssert.assertThat(
+            "We expect that the reused formatter will give the same result",
+            format.apply(new PlainText(EclipseFormatTest.CLASS)),
+            Matchers.equalTo(format.apply(new PlainText(EclipseFormatTest.CLASS)))
+        );
+    }
+
+    @Test
+    void formatsInAnotherThread() throws Exception {
+        final ExecutorService service = Executors.newSingleThreadExecutor();
+        try {
+            final Future<String> other = service.submit(
+                () -> new EclipseFormat().apply(new PlainText(EclipseFormatTest.CLASS))
+            );
+            MatcherAssert.assertThat(
+                "We expect that formatters of different threads give the same result",
+                other.get(),
+                Matchers.equalTo(new EclipseFormat().apply(new PlainText(EclipseFormatTest.CLASS)))
+            );
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
+    @Test
+    void leavesInvalidCodeAsIs() {
+        final String src = "not a java class {";
+        MatcherAssert.assertThat(
+            "We expect that the code the formatter can't parse will be left as is",
+            new EclipseFormat().apply(new PlainText(src)),
+            Matchers.equalTo(src)
+        );
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.format;
+
+import com.github.lombrozo.jsmith.RandomScript;
+import com.github.lombrozo.jsmith.antlr.view.PlainText;
+import com.github.lombrozo.jsmith.antlr.view.Text;
+import com.github.lombrozo.jsmith.guard.InMemoryCompiler;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import org.cactoos.io.ResourceOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link IndentFormat}.
+ * @since 0.2
+ */
+final class IndentFormatTest {
+
+    @Test
+    void indentsMethodsOfClass() {
+        MatcherAssert.assertThat(
+            "We expect that the methods of a class will be indented",
+            Arrays.stream(new IndentFormat().apply(IndentFormatTest.java()).split("\n"))
+                .filter(line -> line.trim().startsWith("public void "))
+                .collect(Collectors.toList()),
+            Matchers.everyItem(Matchers.startsWith("    public void "))
+        );
+    }
+
+    @Test
+    void changesOnlyIndentation() {
+        final Text text = IndentFormatTest.java();
+        MatcherAssert.assertThat(
+            "We expect that the format changes nothing but indentation",
+            IndentFormatTest.stripped(new IndentFormat().apply(text)),
+            Matchers.equalTo(IndentFormatTest.stripped(text.output()))
+        );
+    }
+
+    @Test
+    void keepsClassCompilable() {
+        final String src = new IndentFormat().apply(IndentFormatTest.java());
+        Assertions.assertDoesNotThrow(
+            () -> new InMemoryCompiler().compile(src),
+            String.format("The indented source code should be compilable:%n%s", src)
+        );
+    }
+
+    @Test
+    void leavesEmptyLinesEmpty() {
+        MatcherAssert.assertThat(
+            "We expect that empty lines won't get trailing spaces",
+            new IndentFormat(Collections.singleton("block"), "\t").apply(
+                new PlainText("a\n\n b")
+            ),
+            Matchers.equalTo("a\n\nb")
+        );
+    }
+
+    /**
+     * Generate a random Java class.
+     * @return Generated text.
+     */
+    private static Text java() {
+        return new RandomScript(
+            new ResourceOf("grammars/Java8ReducedParser.g4"),
+            new ResourceOf("grammars/Java8ReducedLexer.g4")
+        ).generate("compilationUnit");
+    }
+
+    /**
+     * Remove leading spaces of each line.
+     * @param src Source code.
+     * @return Source code without indentation.
+     */
+    private static String stripped(final String src) {
+        return Arrays.stream(src.split("\n", -1))
+            .map(line -> line.replaceAll("^ +", ""))
+            .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BloomFilter}.
+ * @since 0.2
+ */
+final class BloomFilterTest {
+
+    @Test
+    void remembersAddedFingerprints() {
+        final BloomFilter bloom = new BloomFilter(1024L, 3);
+        bloom.put(new RollingHash().append("added").fingerprint());
+        MatcherAssert.assertThat(
+            "We expect that the filter never forgets a fingerprint",
+            bloom.mightContain(new RollingHash().append("added").fingerprint()),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void tellsWhetherFingerprintIsNew() {
+        final BloomFilter bloom = new BloomFilter(1024L, 3);
+        final Fingerprint print = new RollingHash().append("new").fingerprint();
+        MatcherAssert.assertThat(
+            "We expect that only the first put of a fingerprint is new",
+            new boolean[] {bloom.put(print), bloom.put(print)},
+            Matchers.equalTo(new boolean[] {true, false})
+        );
+    }
+
+    @Test
+    void keepsFalsePositivesRare() {
+        final BloomFilter bloom = new BloomFilter(16_000L, 7);
+        for (int idx = 0; idx < 1000; ++idx) {
+            bloom.put(new RollingHash().append(String.format("in %d", idx)).fingerprint());
+        }
+        int positives = 0;
+        for (int idx = 0; idx < 10_000; ++idx) {
+            if (bloom.mightContain(
+                new RollingHash().append(String.format("out %d", idx)).fingerprint()
+            )) {
+                positives += 1;
+            }
+        }
+        MatcherAssert.assertThat(
+            "We expect about 0.1% of false positives with 16 bits per fingerprint",
+            positives,
+            Matchers.lessThan(50)
+        );
+    }
+
+    @Test
+    void rejectsWrongSize() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new BloomFilter(0L, 3),
+            "We expect that the filter needs at least one bit"
+        );
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CompilationSession}.
+ * @since 0.2
+ */
+final class CompilationSessionTest {
+
+    @Test
+    void compilesClassInSession() throws Exception {
+        try (CompilationSession session = new CompilationSession()) {
+            MatcherAssert.assertThat(
+                "We expect that the session compiles and loads the class",
+                session.compile(
+                    "public class Session { public static int value() { return 42; } }"
+                ).getDeclaredMethod("value").invoke(null),
+                Matchers.equalTo(42)
+            );
+        }
+    }
+
+    @Test
+    void releasesBytecodeOfClassLoaders() {
+        final CompilationSession session = new CompilationSession();
+        final Class<?> outer = session.compile(
+            "public class Outer { static class Inner { } }"
+        );
+        session.release();
+        Assertions.assertThrows(
+            ClassNotFoundException.class,
+            () -> outer.getClassLoader().loadClass("Outer$Inner"),
+            "We expect that the released class loader keeps no bytecode"
+        );
+    }
+
+    @Test
+    void keepsBytecodeUntilRelease() throws Exception {
+        try (CompilationSession session = new CompilationSession()) {
+            MatcherAssert.assertThat(
+                "We expect that nested classes are loaded before the release",
+                session.compile("public class Keeper { static class Kept { } }")
+                    .getClassLoader()
+                    .loadClass("Keeper$Kept")
+                    .getName(),
+                Matchers.equalTo("Keeper$Kept")
+            );
+        }
+    }
+
+    @Test
+    @SuppressWarnings("PMD.DoNotCallGarbageCollectionExplicitly")
+    void keepsNoDroppedClassesWithoutBudget() throws Exception {
+        try (CompilationSession session = new CompilationSession()) {
+            final WeakReference<Class<?>> dropped = new WeakReference<>(
+                session.compile("public class Dropped { }")
+            );
+            for (int attempt = 0; attempt < 10 && dropped.get() != null; ++attempt) {
+                System.gc();
+                Thread.sleep(10L);
+            }
+            MatcherAssert.assertThat(
+                "We expect that the session doesn't keep a class nobody uses",
+                dropped.get(),
+                Matchers.nullValue()
+            );
+        }
+    }
+
+    @Test
+    void recyclesWhenBudgetIsExceeded() {
+        final AtomicLong used = new AtomicLong(100L);
+        final CompilationSession session = new CompilationSession(
+            new InMemoryCompiler(), 10L, used::get
+        );
+        session.compileAll(Arrays.asList("class First { }", "class Second { }"));
+        used.set(1L);
+        session.compile("class Third { }");
+        MatcherAssert.assertThat(
+            "We expect one recycling while the metaspace is over the budget",
+            session.recycles(),
+            Matchers.equalTo(1L)
+        );
+    }
+
+    @Test
+    void doesNotRecycleWithinBudget() {
+        final CompilationSession session = new CompilationSession(
+            new InMemoryCompiler(), 1000L, () -> 10L
+        );
+        session.compile("class Small { }");
+        MatcherAssert.assertThat(
+            "We expect no recycling while the metaspace is within the budget",
+            session.recycles(),
+            Matchers.equalTo(0L)
+        );
+    }
+}
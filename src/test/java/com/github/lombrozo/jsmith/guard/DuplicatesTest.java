@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import com.github.lombrozo.jsmith.RandomScript;
+import com.github.lombrozo.jsmith.antlr.view.PlainText;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cactoos.io.InputOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Duplicates}.
+ * @since 0.2
+ */
+final class DuplicatesTest {
+
+    @Test
+    void dropsRepeatedPrograms() {
+        final Duplicates duplicates = new Duplicates();
+        MatcherAssert.assertThat(
+            "We expect that only the first copy of each program passes",
+            new boolean[] {
+                duplicates.unique(new PlainText("1 + 2")),
+                duplicates.unique(new PlainText("1 + 3")),
+                duplicates.unique(new PlainText("1 + 2")),
+                duplicates.unique("1 + 3"),
+            },
+            Matchers.equalTo(new boolean[] {true, true, false, false})
+        );
+    }
+
+    @Test
+    void reportsDuplicateRate() {
+        final Duplicates duplicates = new Duplicates();
+        duplicates.unique("a");
+        duplicates.unique("a");
+        duplicates.unique("b");
+        duplicates.unique("a");
+        MatcherAssert.assertThat(
+            "We expect that the rate is the share of dropped programs",
+            duplicates.toString(),
+            Matchers.equalTo("2 of 4 programs are duplicates (50.0%)")
+        );
+    }
+
+    @Test
+    void dropsDuplicatesEvictedFromWindow() {
+        final Duplicates duplicates = new Duplicates(1);
+        duplicates.unique("first");
+        duplicates.unique("second");
+        MatcherAssert.assertThat(
+            "We expect that the filter remembers a program evicted from the exact window",
+            duplicates.unique("first"),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void forgetsProgramsAfterRenewal() {
+        final Duplicates duplicates = new Duplicates(1);
+        duplicates.unique("first");
+        for (int idx = 0; idx < 100; ++idx) {
+            duplicates.unique(String.format("x = %d;", idx));
+        }
+        MatcherAssert.assertThat(
+            "We expect that the renewed filter forgets the programs beyond its horizon",
+            duplicates.unique("first"),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void keepsAlmostAllDistinctPrograms() {
+        final Duplicates duplicates = new Duplicates(16);
+        int passed = 0;
+        for (int idx = 0; idx < 10_000; ++idx) {
+            if (duplicates.unique(String.format("x = %d;", idx))) {
+                passed += 1;
+            }
+        }
+        MatcherAssert.assertThat(
+            "We expect that false positives of the filter drop less than 0.1% of the programs",
+            passed,
+            Matchers.greaterThan(9990)
+        );
+    }
+
+    @Test
+    void dropsDuplicatesConcurrently() throws InterruptedException {
+        final Duplicates duplicates = new Duplicates();
+        final AtomicInteger passed = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; ++thread) {
+            pool.execute(
+                () -> {
+                    for (int idx = 0; idx < 1000; ++idx) {
+                        if (duplicates.unique(String.valueOf(idx))) {
+                            passed.incrementAndGet();
+                        }
+                    }
+                }
+            );
+        }
+        pool.shutdown();
+        pool.awaitTermination(1L, TimeUnit.MINUTES);
+        MatcherAssert.assertThat(
+            "We expect that each program passes about once, whatever the number of threads",
+            passed.get(),
+            Matchers.allOf(
+                Matchers.greaterThanOrEqualTo(1000),
+                Matchers.lessThan(1100)
+            )
+        );
+    }
+
+    @Test
+    void findsDuplicatesOfSmallGrammar() {
+        final RandomScript script = new RandomScript(
+            new InputOf("grammar Pair;\npair : ('a' | 'b') ('a' | 'b') ;\n")
+        );
+        final Duplicates duplicates = new Duplicates();
+        for (long idx = 0L; idx < 200L; ++idx) {
+            duplicates.unique(script.generate("pair", idx));
+        }
+        MatcherAssert.assertThat(
+            String.format("We expect that a small grammar repeats its programs, %s", duplicates),
+            duplicates.duplicates(),
+            Matchers.greaterThanOrEqualTo(196L)
+        );
+    }
+}
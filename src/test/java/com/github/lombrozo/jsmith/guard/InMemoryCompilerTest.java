@@ -23,6 +23,10 @@
  */
 package com.github.lombrozo.jsmith.guard;
 
+import java.util.Arrays;
+import java.util.List;
+import javax.tools.Diagnostic;
+import java.util.stream.Collectors;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -58,4 +62,144 @@ final class InMemoryCompilerTest {
             Matchers.equalTo("Hello world with package")
         );
     }
+
+    @Test
+    void compilesManySourcesInOneBatch() {
+        MatcherAssert.assertThat(
+            "We expect that all the sources of the batch are compiled",
+            new InMemoryCompiler().compileAll(
+                Arrays.asList(
+                    "public class First { }",
+                    "package batch; public class Second { }",
+                    "package batch; interface Third { }"
+                )
+            ).stream().map(compiled -> compiled.type().getName()).collect(Collectors.toList()),
+            Matchers.contains("First", "batch.Second", "batch.Third")
+        );
+    }
+
+    @Test
+    void compilesTheRestOfBatchWithBrokenSource() {
+        MatcherAssert.assertThat(
+            "We expect that one broken source doesn't fail the whole batch",
+            new InMemoryCompiler().compileAll(
+                Arrays.asList(
+                    "public class Good { }",
+                    "public class Broken { int value() { return \"no\"; } }",
+                    "public class Fine { }"
+                )
+            ).stream().map(Compiled::successful).collect(Collectors.toList()),
+            Matchers.contains(true, false, true)
+        );
+    }
+
+    @Test
+    void mapsErrorsToTheirSource() {
+        MatcherAssert.assertThat(
+            "We expect that the errors of the broken source point to its lines",
+            new InMemoryCompiler().compileAll(
+                Arrays.asList(
+                    "public class Valid { }",
+                    "public class Invalid {\n int value() { return \"no\"; }\n}"
+                )
+            ).get(1).errors(),
+            Matchers.contains(Matchers.startsWith("2:"))
+        );
+    }
+
+    @Test
+    void reportsDuplicateClassInBatch() {
+        MatcherAssert.assertThat(
+            "We expect that only the second class with the same name is broken",
+            new InMemoryCompiler().compileAll(
+                Arrays.asList("public class Twin { }", "public class Twin { }")
+            ).stream().map(Compiled::successful).collect(Collectors.toList()),
+            Matchers.contains(true, false)
+        );
+    }
+
+    @Test
+    void reportsSourceWithoutClass() {
+        MatcherAssert.assertThat(
+            "We expect that the source without a class is broken",
+            new InMemoryCompiler().compileAll(Arrays.asList("int value;", "class Some { }"))
+                .get(0)
+                .errors(),
+            Matchers.contains("Can't find class name")
+        );
+    }
+
+    @Test
+    void checksCorrectSourceWithoutDiagnostics() {
+        MatcherAssert.assertThat(
+            "We expect that the correct source passes the analysis without diagnostics",
+            new InMemoryCompiler().check(
+                "package check; public class Correct { int value() { return 1; } }"
+            ),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void checksBrokenSourceWithErrors() {
+        MatcherAssert.assertThat(
+            "We expect that the analysis finds the error on the second line",
+            new InMemoryCompiler().check(
+                "public class Wrong {\n int value() { return \"no\"; }\n}"
+            ).stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(Diagnostic::getLineNumber)
+                .collect(Collectors.toList()),
+            Matchers.contains(2L)
+        );
+    }
+
+    @Test
+    void checksFlowOfSource() {
+        MatcherAssert.assertThat(
+            "We expect that the flow analysis finds a missing return statement",
+            new InMemoryCompiler().check(
+                "public class NoReturn { int value(boolean flag) { if (flag) { return 1; } } }"
+            ).stream()
+                .map(Diagnostic::getCode)
+                .collect(Collectors.toList()),
+            Matchers.contains("compiler.err.missing.ret.stmt")
+        );
+    }
+
+    @Test
+    void checksManySourcesInOneTask() {
+        MatcherAssert.assertThat(
+            "We expect that the diagnostics are bound to their sources",
+            new InMemoryCompiler().checkAll(
+                Arrays.asList(
+                    "public class Left { }",
+                    "public class Right { int value() { return \"no\"; } }",
+                    "public class Center { }"
+                )
+            ).stream().map(List::size).collect(Collectors.toList()),
+            Matchers.contains(0, 1, 0)
+        );
+    }
+
+    @Test
+    void reportsSourceWithoutClassAsError() {
+        MatcherAssert.assertThat(
+            "We expect that the source without a class fails alone, not the whole batch",
+            new InMemoryCompiler().checkAll(
+                Arrays.asList(
+                    "public class First { }",
+                    "int value = 1;",
+                    "public class Last { int value() { return \"no\"; } }"
+                )
+            ).stream()
+                .map(
+                    diagnostics -> diagnostics.stream()
+                        .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                        .count()
+                )
+                .collect(Collectors.toList()),
+            Matchers.contains(0L, 1L, 1L)
+        );
+    }
 }
@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import com.github.lombrozo.jsmith.RandomScript;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.cactoos.Input;
+import org.cactoos.io.ResourceOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Tests for {@link InterpretedEngine}.
+ * @since 0.2
+ */
+final class InterpretedEngineTest {
+
+    /**
+     * Grammar file.
+     */
+    private static final Input GRAMMAR = new ResourceOf("grammars/Simple.g4");
+
+    /**
+     * Top rule.
+     */
+    private static final String TOP = "expr";
+
+    @Test
+    void validatesCorrectSyntax() {
+        Assertions.assertDoesNotThrow(
+            () -> new SyntaxGuard(
+                InterpretedEngineTest.TOP,
+                new InterpretedEngine(InterpretedEngineTest.GRAMMAR)
+            ).verify("1 + 1"),
+            "We expect that the code will be verified without errors"
+        );
+    }
+
+    @Test
+    void reportsTheSameErrorsAsCompiledParser() {
+        MatcherAssert.assertThat(
+            "We expect that the interpreted parser reports the same errors as the generated one",
+            Assertions.assertThrows(
+                InvalidSyntax.class,
+                () -> new SyntaxGuard(
+                    InterpretedEngineTest.TOP,
+                    new InterpretedEngine(InterpretedEngineTest.GRAMMAR)
+                ).verify("1 - 1"),
+                "We expect that the code will be verified with errors"
+            ).getMessage(),
+            Matchers.equalTo("token recognition error at: '-'")
+        );
+    }
+
+    @Test
+    void validatesSeparatedGrammars() {
+        Assertions.assertDoesNotThrow(
+            () -> new SyntaxGuard(
+                "sentences",
+                new InterpretedEngine(
+                    new ResourceOf("grammars/separated/LettersParser.g4"),
+                    new ResourceOf("grammars/separated/LettersLexer.g4")
+                )
+            ).verify("abc"),
+            "We expect that lexer and parser grammars will be interpreted together"
+        );
+    }
+
+    @Test
+    void loadsGrammarsOnceForManyThreads() throws Exception {
+        final Engine engine = new InterpretedEngine(InterpretedEngineTest.GRAMMAR);
+        final Set<Object> atns = ConcurrentHashMap.newKeySet();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService service = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> results = new ArrayList<>(0);
+            for (int task = 0; task < 8; ++task) {
+                results.add(
+                    service.submit(
+                        () -> {
+                            start.await();
+                            return atns.add(engine.lexer("1 + 2").getATN());
+                        }
+                    )
+                );
+            }
+            start.countDown();
+            for (final Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            service.shutdownNow();
+        }
+        MatcherAssert.assertThat(
+            "We expect that all the threads share the grammars loaded only once",
+            atns,
+            Matchers.hasSize(1)
+        );
+    }
+
+    @Test
+    void failsOnUnknownRule() {
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new SyntaxGuard(
+                "unknown",
+                new InterpretedEngine(InterpretedEngineTest.GRAMMAR)
+            ).verify("1 + 1"),
+            "We expect that the unknown top rule will be reported"
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("grammars")
+    void verifiesGeneratedPrograms(final List<String> definitions, final String top) {
+        final Input[] grammars = definitions.stream().map(ResourceOf::new)
+            .toArray(Input[]::new);
+        final SyntaxGuard guard = new SyntaxGuard(top, new InterpretedEngine(grammars));
+        Assertions.assertDoesNotThrow(
+            () -> IntStream.range(0, 10)
+                .mapToObj(idx -> new RandomScript(grammars).generate(top))
+                .forEach(guard::verifySilently),
+            String.format("We expect that programs of %s will be verified without errors", definitions)
+        );
+    }
+
+    /**
+     * Grammars with top rules.
+     * @return Stream of arguments.
+     */
+    static Stream<Arguments> grammars() {
+        return Stream.of(
+            Arguments.of(Arrays.asList("grammars/Simple.g4"), "expr"),
+            Arguments.of(Arrays.asList("grammars/Arithmetic.g4"), "prog"),
+            Arguments.of(Arrays.asList("grammars/labeled/Assignments.g4"), "prog"),
+            Arguments.of(Arrays.asList("grammars/Json.g4"), "json"),
+            Arguments.of(Arrays.asList("grammars/CSV.g4"), "csvFile"),
+            Arguments.of(Arrays.asList("grammars/http.g4"), "http_message")
+        );
+    }
+}
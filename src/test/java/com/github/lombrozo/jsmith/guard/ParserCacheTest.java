@@ -0,0 +1,244 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.cactoos.io.ResourceOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link ParserCache}.
+ * @since 0.2
+ */
+final class ParserCacheTest {
+
+    /**
+     * Grammars.
+     */
+    private static final List<String> GRAMMARS = Collections.singletonList("grammar A;");
+
+    @Test
+    void generatesClassesOnlyOnce(@TempDir final Path dir) throws Exception {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final ParserCache cache = new ParserCache(dir);
+        for (int attempt = 0; attempt < 3; ++attempt) {
+            cache.bytecode(
+                ParserCacheTest.GRAMMARS,
+                () -> {
+                    calls.incrementAndGet();
+                    return Collections.singletonMap("ALexer", new byte[]{1, 2, 3});
+                }
+            );
+        }
+        MatcherAssert.assertThat(
+            "We expect that the classes will be generated only once",
+            calls.get(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void readsStoredBytecode(@TempDir final Path dir) throws Exception {
+        final Map<String, byte[]> bytecode = Collections.singletonMap(
+            "AParser$RuleContext", new byte[]{4, 5}
+        );
+        new ParserCache(dir).bytecode(ParserCacheTest.GRAMMARS, () -> bytecode);
+        MatcherAssert.assertThat(
+            "We expect that the cache will return exactly the stored bytecode",
+            new ParserCache(dir).bytecode(
+                ParserCacheTest.GRAMMARS, Collections::<String, byte[]>emptyMap
+            ),
+            Matchers.hasEntry(
+                Matchers.equalTo("AParser$RuleContext"),
+                Matchers.equalTo(new byte[]{4, 5})
+            )
+        );
+    }
+
+    @Test
+    void keepsDifferentGrammarsApart(@TempDir final Path dir) throws Exception {
+        final ParserCache cache = new ParserCache(dir);
+        cache.bytecode(
+            ParserCacheTest.GRAMMARS,
+            () -> Collections.singletonMap("ALexer", new byte[]{1})
+        );
+        MatcherAssert.assertThat(
+            "We expect that another grammar won't get classes of the first one",
+            cache.bytecode(
+                Collections.singletonList("grammar B;"),
+                () -> Collections.singletonMap("BLexer", new byte[]{2})
+            ),
+            Matchers.hasKey("BLexer")
+        );
+    }
+
+    @Test
+    void leavesNoTemporaryFiles(@TempDir final Path dir) throws Exception {
+        new ParserCache(dir).bytecode(
+            ParserCacheTest.GRAMMARS,
+            () -> Collections.singletonMap("ALexer", new byte[]{1})
+        );
+        try (Stream<Path> entries = Files.list(dir)) {
+            MatcherAssert.assertThat(
+                "We expect that only the cache entry will be left in the directory",
+                entries.count(),
+                Matchers.equalTo(1L)
+            );
+        }
+    }
+
+    @Test
+    void regeneratesTamperedClasses(@TempDir final Path dir) throws Exception {
+        final ParserCache cache = new ParserCache(dir);
+        cache.bytecode(
+            ParserCacheTest.GRAMMARS,
+            () -> Collections.singletonMap("ALexer", new byte[]{1})
+        );
+        try (Stream<Path> entries = Files.list(dir)) {
+            Files.write(
+                entries.findFirst().orElseThrow(IllegalStateException::new)
+                    .resolve("ALexer.class"),
+                new byte[]{6, 6, 6}
+            );
+        }
+        MatcherAssert.assertThat(
+            "We expect that the modified classes won't be loaded",
+            cache.bytecode(
+                ParserCacheTest.GRAMMARS,
+                () -> Collections.singletonMap("ALexer", new byte[]{1})
+            ),
+            Matchers.hasEntry(Matchers.equalTo("ALexer"), Matchers.equalTo(new byte[]{1}))
+        );
+    }
+
+    @Test
+    void repairsTamperedEntry(@TempDir final Path dir) throws Exception {
+        final ParserCache cache = new ParserCache(dir);
+        cache.bytecode(
+            ParserCacheTest.GRAMMARS,
+            () -> Collections.singletonMap("ALexer", new byte[]{1})
+        );
+        try (Stream<Path> entries = Files.list(dir)) {
+            Files.write(
+                entries.findFirst().orElseThrow(IllegalStateException::new)
+                    .resolve("ALexer.class"),
+                new byte[]{6, 6, 6}
+            );
+        }
+        cache.bytecode(
+            ParserCacheTest.GRAMMARS,
+            () -> Collections.singletonMap("ALexer", new byte[]{1})
+        );
+        final AtomicInteger calls = new AtomicInteger(0);
+        cache.bytecode(
+            ParserCacheTest.GRAMMARS,
+            () -> {
+                calls.incrementAndGet();
+                return Collections.singletonMap("ALexer", new byte[]{1});
+            }
+        );
+        try (Stream<Path> entries = Files.list(dir)) {
+            MatcherAssert.assertThat(
+                "We expect that the tampered entry is replaced by the fresh classes",
+                new long[] {calls.get(), entries.count()},
+                Matchers.equalTo(new long[] {0L, 1L})
+            );
+        }
+    }
+
+    @Test
+    void ignoresEntriesWritableByOthers(@TempDir final Path dir) throws Exception {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final ParserCache cache = new ParserCache(dir);
+        for (int attempt = 0; attempt < 2; ++attempt) {
+            cache.bytecode(
+                ParserCacheTest.GRAMMARS,
+                () -> {
+                    calls.incrementAndGet();
+                    return Collections.singletonMap("ALexer", new byte[]{1});
+                }
+            );
+            try (Stream<Path> entries = Files.list(dir)) {
+                Files.setPosixFilePermissions(
+                    entries.findFirst().orElseThrow(IllegalStateException::new),
+                    PosixFilePermissions.fromString("rwxrwxrwx")
+                );
+            }
+        }
+        MatcherAssert.assertThat(
+            "We expect that the classes writable by other users are generated again",
+            calls.get(),
+            Matchers.equalTo(2)
+        );
+    }
+
+    @Test
+    void createsPrivateDirectory(@TempDir final Path dir) throws Exception {
+        final Path cache = dir.resolve("parsers");
+        new ParserCache(cache).bytecode(
+            ParserCacheTest.GRAMMARS,
+            () -> Collections.singletonMap("ALexer", new byte[]{1})
+        );
+        MatcherAssert.assertThat(
+            "We expect that only the owner has access to the cache",
+            PosixFilePermissions.toString(Files.getPosixFilePermissions(cache)),
+            Matchers.equalTo("rwx------")
+        );
+    }
+
+    @Test
+    void verifiesSyntaxWithCachedParser(
+        @TempDir final Path dir,
+        @TempDir final Path first,
+        @TempDir final Path second
+    ) throws Exception {
+        final ParserCache cache = new ParserCache(dir);
+        final ResourceOf grammar = new ResourceOf("grammars/Simple.g4");
+        new SyntaxGuard(cache, first, "expr", grammar).verify("1 + 1");
+        new SyntaxGuard(cache, second, "expr", grammar).verify("2 + 2");
+        try (Stream<Path> generated = Files.list(second)) {
+            MatcherAssert.assertThat(
+                "We expect that the second guard won't generate the parser again",
+                generated.count(),
+                Matchers.equalTo(0L)
+            );
+        }
+        Assertions.assertThrows(
+            InvalidSyntax.class,
+            () -> new SyntaxGuard(cache, second, "expr", grammar).verify("1 - 1"),
+            "We expect that the cached parser still reports syntax errors"
+        );
+    }
+}
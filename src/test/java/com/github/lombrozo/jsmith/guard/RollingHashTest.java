@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.guard;
+
+import com.github.lombrozo.jsmith.RandomScript;
+import com.github.lombrozo.jsmith.antlr.view.Text;
+import java.io.IOException;
+import org.cactoos.io.ResourceOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RollingHash}.
+ * @since 0.2
+ */
+final class RollingHashTest {
+
+    @Test
+    void hashesStreamedTextAsWhole() throws IOException {
+        final Text text = new RandomScript(new ResourceOf("grammars/Arithmetic.g4"))
+            .generate("prog");
+        final RollingHash streamed = new RollingHash();
+        text.writeTo(streamed);
+        MatcherAssert.assertThat(
+            "We expect that the hash of the streamed text equals the hash of its output",
+            streamed.fingerprint(),
+            Matchers.equalTo(new RollingHash().append(text.output()).fingerprint())
+        );
+    }
+
+    @Test
+    void hashesSplitTextAsWhole() {
+        MatcherAssert.assertThat(
+            "We expect that the hash doesn't depend on how the text is split",
+            new RollingHash().append("int x").append(' ').append("= 42;!", 0, 5)
+                .fingerprint(),
+            Matchers.equalTo(new RollingHash().append("int x = 42;").fingerprint())
+        );
+    }
+
+    @Test
+    void distinguishesDifferentTexts() {
+        MatcherAssert.assertThat(
+            "We expect that different texts have different fingerprints",
+            new RollingHash().append("ab").fingerprint(),
+            Matchers.not(Matchers.equalTo(new RollingHash().append("ba").fingerprint()))
+        );
+    }
+
+    @Test
+    void distinguishesTextsWithTrailingZeros() {
+        MatcherAssert.assertThat(
+            "We expect that the length of the text is a part of the fingerprint",
+            new RollingHash().append("a").fingerprint(),
+            Matchers.not(Matchers.equalTo(new RollingHash().append("a\0").fingerprint()))
+        );
+    }
+}
@@ -23,13 +23,35 @@
  */
 package com.github.lombrozo.jsmith.guard;
 
+import com.github.lombrozo.jsmith.CompiledGrammar;
+import com.github.lombrozo.jsmith.RandomJavaClass;
+import com.github.lombrozo.jsmith.antlr.Context;
+import com.github.lombrozo.jsmith.antlr.rules.Root;
+import com.github.lombrozo.jsmith.antlr.rules.WrongPathException;
+import com.github.lombrozo.jsmith.antlr.view.IntermediateNode;
+import com.github.lombrozo.jsmith.antlr.view.Labels;
 import com.github.lombrozo.jsmith.antlr.view.PlainText;
+import com.github.lombrozo.jsmith.antlr.view.TerminalNode;
+import com.github.lombrozo.jsmith.antlr.view.Text;
+import com.github.lombrozo.jsmith.antlr.view.TokenText;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.cactoos.Input;
 import org.cactoos.io.ResourceOf;
+import org.cactoos.text.TextOf;
+import org.cactoos.text.UncheckedText;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -85,4 +107,235 @@ final class SyntaxGuardTest {
             Matchers.equalTo("missing NUMBER at '<EOF>'")
         );
     }
+
+    @Test
+    void verifiesCorrectCodeAfterIncorrect(@TempDir final Path temp) {
+        final SyntaxGuard guard = new SyntaxGuard(
+            temp, SyntaxGuardTest.TOP, SyntaxGuardTest.GRAMMAR
+        );
+        Assertions.assertThrows(
+            InvalidSyntax.class,
+            () -> guard.verify("1 +"),
+            "We expect that the incorrect code will be verified with errors"
+        );
+        Assertions.assertDoesNotThrow(
+            () -> guard.verify("1 + 1"),
+            "We expect that reused lexer and parser keep no errors of the previous code"
+        );
+    }
+
+    @Test
+    void verifiesCodeInManyThreads(@TempDir final Path temp) throws Exception {
+        final SyntaxGuard guard = new SyntaxGuard(
+            temp, SyntaxGuardTest.TOP, SyntaxGuardTest.GRAMMAR
+        );
+        final ExecutorService service = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>(0);
+            for (int task = 0; task < 100; ++task) {
+                final boolean valid = task % 2 == 0;
+                results.add(
+                    service.submit(
+                        () -> {
+                            boolean correct;
+                            try {
+                                guard.verify(valid ? "1 + 2" : "1 + ");
+                                correct = true;
+                            } catch (final InvalidSyntax ignored) {
+                                correct = false;
+                            }
+                            return correct == valid;
+                        }
+                    )
+                );
+            }
+            for (final Future<Boolean> result : results) {
+                MatcherAssert.assertThat(
+                    "We expect that each thread gets the right verdict",
+                    result.get(),
+                    Matchers.is(true)
+                );
+            }
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
+    @Test
+    void compilesParserOnceForManyThreads(@TempDir final Path temp) throws Exception {
+        final Engine engine = new CompiledEngine(temp, SyntaxGuardTest.GRAMMAR);
+        final Set<Class<?>> lexers = ConcurrentHashMap.newKeySet();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService service = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> results = new ArrayList<>(0);
+            for (int task = 0; task < 8; ++task) {
+                results.add(
+                    service.submit(
+                        () -> {
+                            start.await();
+                            return lexers.add(engine.lexer("1 + 2").getClass());
+                        }
+                    )
+                );
+            }
+            start.countDown();
+            for (final Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            service.shutdownNow();
+        }
+        MatcherAssert.assertThat(
+            "We expect that all the threads share the lexer class compiled only once",
+            lexers,
+            Matchers.hasSize(1)
+        );
+    }
+
+    @Test
+    void verifiesCorrectCodeInFastMode(@TempDir final Path temp) {
+        Assertions.assertDoesNotThrow(
+            () -> new SyntaxGuard(temp, SyntaxGuardTest.TOP, SyntaxGuardTest.GRAMMAR)
+                .fast()
+                .verify("1 + 2 + 3"),
+            "We expect that the correct code will be verified in SLL mode without errors"
+        );
+    }
+
+    @Test
+    void reportsTheSameErrorsInFastMode(@TempDir final Path temp) {
+        MatcherAssert.assertThat(
+            "We expect that the fast mode falls back to LL and reports the same error",
+            Assertions.assertThrows(
+                InvalidSyntax.class,
+                () -> new SyntaxGuard(temp, SyntaxGuardTest.TOP, SyntaxGuardTest.GRAMMAR)
+                    .fast()
+                    .verify(""),
+                "We expect that the empty code will be verified with errors"
+            ).getMessage(),
+            Matchers.equalTo("missing NUMBER at '<EOF>'")
+        );
+    }
+
+    @Test
+    void reportsLexerErrorsInFastMode() {
+        MatcherAssert.assertThat(
+            "We expect that lexer errors are reported even if SLL parsing succeeds",
+            Assertions.assertThrows(
+                InvalidSyntax.class,
+                () -> new SyntaxGuard(
+                    SyntaxGuardTest.TOP, new InterpretedEngine(SyntaxGuardTest.GRAMMAR)
+                ).fast().verify("1 - 1"),
+                "We expect that the code will be verified with errors"
+            ).getMessage(),
+            Matchers.equalTo("token recognition error at: '-'")
+        );
+    }
+
+    @Test
+    void verifiesJavaClassesInFastMode() {
+        final SyntaxGuard guard = new SyntaxGuard(
+            "compilationUnit",
+            new InterpretedEngine(
+                new ResourceOf("grammars/Java8Lexer.g4"),
+                new ResourceOf("grammars/Java8Parser.g4")
+            )
+        ).fast();
+        Assertions.assertDoesNotThrow(
+            () -> {
+                for (long seed = 0L; seed < 10L; ++seed) {
+                    guard.verify(new RandomJavaClass(seed).src());
+                }
+            },
+            "We expect that the full Java 8 grammar accepts random classes in SLL mode"
+        );
+    }
+
+    @Test
+    void reportsTheSameJavaErrorsInFastMode() {
+        final Engine engine = new InterpretedEngine(
+            new ResourceOf("grammars/Java8Lexer.g4"),
+            new ResourceOf("grammars/Java8Parser.g4")
+        );
+        final String code = "class A { void f() { int x = ; } }";
+        MatcherAssert.assertThat(
+            "We expect that the fast mode reports the same Java 8 error as the default mode",
+            Assertions.assertThrows(
+                InvalidSyntax.class,
+                () -> new SyntaxGuard("compilationUnit", engine).fast().verify(code),
+                "We expect that the incorrect Java code will be rejected in the fast mode"
+            ).getMessage(),
+            Matchers.equalTo(
+                Assertions.assertThrows(
+                    InvalidSyntax.class,
+                    () -> new SyntaxGuard("compilationUnit", engine).verify(code),
+                    "We expect that the incorrect Java code will be rejected in the default mode"
+                ).getMessage()
+            )
+        );
+    }
+
+    @Test
+    void verifiesInDefaultModeAfterFastMode(@TempDir final Path temp) {
+        final Engine engine = new CompiledEngine(temp, SyntaxGuardTest.GRAMMAR);
+        Assertions.assertThrows(
+            InvalidSyntax.class,
+            () -> new SyntaxGuard(SyntaxGuardTest.TOP, engine).fast().verify("1 +"),
+            "We expect that the incorrect code will be rejected in the fast mode"
+        );
+        MatcherAssert.assertThat(
+            "We expect that reused parser recovers from errors in the default mode again",
+            Assertions.assertThrows(
+                InvalidSyntax.class,
+                () -> new SyntaxGuard(SyntaxGuardTest.TOP, engine).verify("1 + + 1"),
+                "We expect that the incorrect code will be rejected in the default mode"
+            ).getMessage(),
+            Matchers.equalTo("extraneous input '+' expecting NUMBER")
+        );
+    }
+
+    @RepeatedTest(10)
+    void verifiesGeneratedTokens() throws WrongPathException {
+        final Text code = new CompiledGrammar(
+            Collections.singletonList(
+                new UncheckedText(new TextOf(SyntaxGuardTest.GRAMMAR)).asString()
+            )
+        ).generate(SyntaxGuardTest.TOP, new Context().withTokens()).text();
+        Assertions.assertDoesNotThrow(
+            () -> new SyntaxGuard(
+                SyntaxGuardTest.TOP, new InterpretedEngine(SyntaxGuardTest.GRAMMAR)
+            )
+                .fast()
+                .tokenized()
+                .verifySilently(code),
+            "We expect that the generated tokens will be accepted without re-lexing"
+        );
+    }
+
+    @Test
+    void reportsGeneratedTokensOnDisagreement() {
+        final Text code = new IntermediateNode(
+            new Root(),
+            new TerminalNode(
+                new TokenText(new PlainText("1"), "1", new Labels(new Root()).withToken("PLUS"))
+            )
+        ).text();
+        final SyntaxGuard guard = new SyntaxGuard(
+            SyntaxGuardTest.TOP, new InterpretedEngine(SyntaxGuardTest.GRAMMAR)
+        );
+        Assertions.assertDoesNotThrow(
+            () -> guard.verifySilently(code),
+            "We expect that the lexer reads the generated plus as a number"
+        );
+        MatcherAssert.assertThat(
+            "We expect that the token mode shows the generated tokens",
+            Assertions.assertThrows(
+                InvalidSyntax.class,
+                () -> guard.tokenized().verify(code),
+                "We expect that the generated plus will be rejected in the token mode"
+            ).getMessage(),
+            Matchers.containsString("Generated tokens: '+':'1'")
+        );
+    }
 }
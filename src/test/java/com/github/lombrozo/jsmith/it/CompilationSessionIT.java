@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.it;
+
+import com.github.lombrozo.jsmith.guard.CompilationSession;
+import com.github.lombrozo.jsmith.guard.Compiled;
+import com.jcabi.log.Logger;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Soak test of {@link CompilationSession}.
+ * It compiles a hundred thousand classes and checks that neither
+ * the metaspace nor the heap grow with the number of compiled classes,
+ * both with a metaspace budget and without it.
+ * @since 0.2
+ */
+final class CompilationSessionIT {
+
+    /**
+     * Number of classes to compile.
+     */
+    private static final int CLASSES = 100_000;
+
+    /**
+     * Number of classes in one batch.
+     */
+    private static final int BATCH = 1000;
+
+    /**
+     * Metaspace budget of the session.
+     */
+    private static final long BUDGET = 64L << 20;
+
+    /**
+     * Allowed growth of the used memory.
+     */
+    private static final long GROWTH = 32L << 20;
+
+    @Test
+    @SuppressWarnings("PMD.DoNotCallGarbageCollectionExplicitly")
+    void compilesManyClassesWithFlatMemory() {
+        try (CompilationSession session = new CompilationSession(CompilationSessionIT.BUDGET)) {
+            for (int batch = 0; batch < 5; ++batch) {
+                this.compile(session, batch);
+            }
+            session.release();
+            System.gc();
+            final long metaspace = CompilationSessionIT.metaspace();
+            final long heap = CompilationSessionIT.heap();
+            long peak = 0L;
+            for (int batch = 5; batch < CompilationSessionIT.CLASSES / CompilationSessionIT.BATCH;
+                ++batch) {
+                this.compile(session, batch);
+                peak = Math.max(peak, CompilationSessionIT.metaspace());
+            }
+            session.release();
+            System.gc();
+            Logger.info(
+                this,
+                "Metaspace %d -> %d bytes (peak %d), heap %d -> %d bytes, %d recyclings",
+                metaspace,
+                CompilationSessionIT.metaspace(),
+                peak,
+                heap,
+                CompilationSessionIT.heap(),
+                session.recycles()
+            );
+            MatcherAssert.assertThat(
+                "We expect that the metaspace doesn't grow with the number of classes",
+                CompilationSessionIT.metaspace(),
+                Matchers.lessThan(metaspace + CompilationSessionIT.GROWTH)
+            );
+            MatcherAssert.assertThat(
+                "We expect that the metaspace never exceeds the budget much",
+                peak,
+                Matchers.lessThan(CompilationSessionIT.BUDGET + CompilationSessionIT.GROWTH)
+            );
+            MatcherAssert.assertThat(
+                "We expect that the heap doesn't grow with the number of classes",
+                CompilationSessionIT.heap(),
+                Matchers.lessThan(heap + CompilationSessionIT.GROWTH)
+            );
+        }
+    }
+
+    @Test
+    @SuppressWarnings("PMD.DoNotCallGarbageCollectionExplicitly")
+    void compilesManyClassesWithoutBudget() {
+        try (CompilationSession session = new CompilationSession()) {
+            for (int batch = 0; batch < 5; ++batch) {
+                this.compile(session, batch);
+            }
+            System.gc();
+            final long metaspace = CompilationSessionIT.metaspace();
+            final long heap = CompilationSessionIT.heap();
+            for (int batch = 5; batch < CompilationSessionIT.CLASSES / CompilationSessionIT.BATCH;
+                ++batch) {
+                this.compile(session, batch);
+            }
+            System.gc();
+            Logger.info(
+                this,
+                "Without budget, metaspace %d -> %d bytes, heap %d -> %d bytes",
+                metaspace,
+                CompilationSessionIT.metaspace(),
+                heap,
+                CompilationSessionIT.heap()
+            );
+            MatcherAssert.assertThat(
+                "We expect that a session without budget doesn't keep the dropped classes",
+                CompilationSessionIT.metaspace(),
+                Matchers.lessThan(metaspace + CompilationSessionIT.GROWTH)
+            );
+            MatcherAssert.assertThat(
+                "We expect that the heap doesn't grow without budget either",
+                CompilationSessionIT.heap(),
+                Matchers.lessThan(heap + CompilationSessionIT.GROWTH)
+            );
+        }
+    }
+
+    /**
+     * Compile one batch of classes and load all of them.
+     * @param session Compilation session.
+     * @param batch Index of the batch.
+     */
+    private void compile(final CompilationSession session, final int batch) {
+        final List<Compiled> compiled = session.compileAll(
+            IntStream.range(0, CompilationSessionIT.BATCH)
+                .map(index -> batch * CompilationSessionIT.BATCH + index)
+                .mapToObj(CompilationSessionIT::source)
+                .collect(Collectors.toList())
+        );
+        MatcherAssert.assertThat(
+            "We expect that all the classes of the batch are compiled",
+            compiled.stream().filter(Compiled::successful).count(),
+            Matchers.equalTo((long) CompilationSessionIT.BATCH)
+        );
+    }
+
+    /**
+     * Source of a generated class.
+     * @param index Index of the class.
+     * @return Source code.
+     */
+    private static String source(final int index) {
+        return String.format(
+            String.join(
+                "\n",
+                "package soak.p%1$d;",
+                "public class Generated%2$d {",
+                "  private final int field%2$d = %2$d;",
+                "  public int value(final int arg) {",
+                "    return arg * this.field%2$d + %3$d;",
+                "  }",
+                "  static final class Nested { String text() { return \"%2$d\"; } }",
+                "}"
+            ),
+            index % 97,
+            index,
+            index % 13
+        );
+    }
+
+    /**
+     * Used metaspace.
+     * @return Bytes.
+     */
+    private static long metaspace() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> "Metaspace".equals(pool.getName()))
+            .map(MemoryPoolMXBean::getUsage)
+            .mapToLong(MemoryUsage::getUsed)
+            .sum();
+    }
+
+    /**
+     * Used heap.
+     * @return Bytes.
+     */
+    private static long heap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.it;
+
+import com.github.lombrozo.jsmith.RandomScript;
+import com.github.lombrozo.jsmith.antlr.view.Text;
+import com.github.lombrozo.jsmith.guard.Duplicates;
+import com.github.lombrozo.jsmith.guard.SyntaxGuard;
+import com.github.lombrozo.jsmith.pipeline.Pipeline;
+import com.jcabi.log.Logger;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.cactoos.Input;
+import org.cactoos.io.ResourceOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * End-to-end test of {@link Pipeline}.
+ * It generates, deduplicates and verifies programs of the same grammars
+ * as {@link SyntaxGenerationIT}, but concurrently, so it also checks that
+ * the generator and the guard can be shared by many threads.
+ * @since 0.2
+ */
+final class PipelineIT {
+
+    @ParameterizedTest(name = "Generates programs for {0} grammar in pipeline")
+    @MethodSource("com.github.lombrozo.jsmith.it.SyntaxGenerationIT#syntax")
+    void verifiesProgramsConcurrently(
+        final List<String> definitions,
+        final String top,
+        @TempDir final Path temp
+    ) {
+        final Input[] grammars = definitions.stream().map(ResourceOf::new)
+            .toArray(Input[]::new);
+        final SyntaxGuard guard = new SyntaxGuard(temp, top, grammars);
+        final RandomScript script = new RandomScript(grammars);
+        final Duplicates duplicates = new Duplicates();
+        final Collection<Text> verified = new ConcurrentLinkedQueue<>();
+        new Pipeline<Text>("generate", 2, index -> script.generate(top, index))
+            .filter("dedup", 1, 8, duplicates::unique)
+            .then(
+                "verify",
+                2,
+                8,
+                program -> {
+                    guard.verifySilently(program);
+                    return program;
+                }
+            )
+            .run(200L, verified::add)
+            .forEach(stage -> Logger.info(this, stage.toString()));
+        MatcherAssert.assertThat(
+            String.format("We expect that all the unique programs are verified, %s", duplicates),
+            (long) verified.size(),
+            Matchers.equalTo(200L - duplicates.duplicates())
+        );
+    }
+}
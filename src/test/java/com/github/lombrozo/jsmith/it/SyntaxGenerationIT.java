@@ -91,7 +91,7 @@ final class SyntaxGenerationIT {
             Assertions.assertDoesNotThrow(
                 () -> Stream.generate(() -> top)
                     .peek(this::logStart)
-                    .map(rule -> new RandomScript(grammars).generate(rule))
+                    .map(rule -> new RandomScript(grammars).tree(rule))
                     .limit(50)
                     .peek(this::logProgram)
                     .forEach(guard::verifySilently),
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.pipeline;
+
+import java.time.Duration;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Metrics}.
+ * @since 0.2
+ */
+final class MetricsTest {
+
+    @Test
+    void calculatesThroughputAndLatency() {
+        final Metrics metrics = new Metrics("stage");
+        metrics.record(0L, 100_000_000L);
+        metrics.record(100_000_000L, 500_000_000L);
+        MatcherAssert.assertThat(
+            "We expect two items per half a second and mean latency of 250 ms",
+            metrics.toString(),
+            Matchers.equalTo(
+                "stage: 2 items, 4.0 items/s, mean latency 250.000 ms, max latency 400.000 ms"
+            )
+        );
+    }
+
+    @Test
+    void hasNoLatencyWithoutItems() {
+        MatcherAssert.assertThat(
+            "We expect zero latency when nothing is processed",
+            new Metrics("empty").latency(),
+            Matchers.equalTo(Duration.ZERO)
+        );
+    }
+}
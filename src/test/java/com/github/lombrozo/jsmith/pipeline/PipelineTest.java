@@ -0,0 +1,271 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.pipeline;
+
+import com.github.lombrozo.jsmith.RandomJavaClass;
+import com.github.lombrozo.jsmith.RandomScript;
+import com.github.lombrozo.jsmith.antlr.view.Text;
+import com.github.lombrozo.jsmith.guard.Duplicates;
+import com.github.lombrozo.jsmith.guard.InMemoryCompiler;
+import com.github.lombrozo.jsmith.guard.SyntaxGuard;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.cactoos.io.InputOf;
+import org.cactoos.io.ResourceOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link Pipeline}.
+ * @since 0.2
+ */
+final class PipelineTest {
+
+    @Test
+    void processesAllItems() {
+        final Collection<Long> res = new ConcurrentLinkedQueue<>();
+        new Pipeline<>("source", 3, index -> index)
+            .then("double", 2, 4, item -> item * 2)
+            .then(
+                "collect", 1, 4, item -> {
+                    res.add(item);
+                    return item;
+                }
+            )
+            .run(100L);
+        MatcherAssert.assertThat(
+            "We expect that each item passes all the stages exactly once",
+            res.stream().sorted().collect(Collectors.toList()),
+            Matchers.equalTo(
+                LongStream.range(0L, 100L).map(item -> item * 2).boxed()
+                    .collect(Collectors.toList())
+            )
+        );
+    }
+
+    @Test
+    void countsItemsOfEachStage() {
+        final List<Metrics> metrics = new Pipeline<>("first", 2, index -> index)
+            .then("second", 2, 8, item -> item + 1)
+            .run(42L);
+        MatcherAssert.assertThat(
+            "We expect counters for each stage in the order of processing",
+            metrics.stream()
+                .map(stage -> String.format("%s=%d", stage.name(), stage.items()))
+                .collect(Collectors.toList()),
+            Matchers.contains("first=42", "second=42")
+        );
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void boundsQueueBetweenStages() {
+        final AtomicLong produced = new AtomicLong();
+        final AtomicLong consumed = new AtomicLong();
+        final AtomicLong ahead = new AtomicLong();
+        new Pipeline<>("fast", 1, index -> produced.incrementAndGet())
+            .then(
+                "slow", 1, 2, item -> {
+                    ahead.accumulateAndGet(produced.get() - consumed.incrementAndGet(), Math::max);
+                    TimeUnit.MILLISECONDS.sleep(1L);
+                    return item;
+                }
+            )
+            .run(50L);
+        MatcherAssert.assertThat(
+            "We expect that the fast stage waits for the slow one when the queue is full",
+            ahead.get(),
+            Matchers.lessThanOrEqualTo(3L)
+        );
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void rethrowsFailureOfStage() {
+        MatcherAssert.assertThat(
+            "We expect that the first failure stops the pipeline and is rethrown",
+            Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> new Pipeline<>("source", 2, index -> index)
+                    .then(
+                        "failing", 2, 1, item -> {
+                            if (item == 7L) {
+                                throw new IllegalStateException("Item 7 is broken");
+                            }
+                            return item;
+                        }
+                    )
+                    .then("last", 1, 1, item -> item)
+                    .run(1000L),
+                "We expect that the failure is rethrown"
+            ).getMessage(),
+            Matchers.equalTo("Item 7 is broken")
+        );
+    }
+
+    @Test
+    void passesItemsOfLastStageToSink() {
+        final Collection<Long> res = new ConcurrentLinkedQueue<>();
+        new Pipeline<>("source", 2, index -> index)
+            .then("square", 3, 4, item -> item * item)
+            .run(5L, res::add);
+        MatcherAssert.assertThat(
+            "We expect that the sink gets each item of the last stage exactly once",
+            res.stream().sorted().collect(Collectors.toList()),
+            Matchers.contains(0L, 1L, 4L, 9L, 16L)
+        );
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void failsWhenStageReturnsNull() {
+        MatcherAssert.assertThat(
+            "We expect that a null item is reported as a failure of its stage",
+            Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> new Pipeline<>("source", 2, index -> index)
+                    .then(
+                        "nullable", 2, 1, item -> {
+                            final Long res;
+                            if (item == 3L) {
+                                res = null;
+                            } else {
+                                res = item;
+                            }
+                            return res;
+                        }
+                    )
+                    .then("last", 1, 1, item -> item)
+                    .run(100L),
+                "We expect that the pipeline doesn't hang on a null item"
+            ).getMessage(),
+            Matchers.equalTo("Stage 'nullable' returned null for item 3")
+        );
+    }
+
+    @Test
+    void rejectsStageWithoutWorkers() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new Pipeline<>("source", 1, index -> index)
+                .then("idle", 0, 1, item -> item)
+                .run(1L),
+            "We expect that a stage needs at least one worker"
+        );
+    }
+
+    @Test
+    void dropsFilteredItems() {
+        final Collection<Long> res = new ConcurrentLinkedQueue<>();
+        new Pipeline<>("source", 2, index -> index)
+            .filter("even", 2, 4, item -> item % 2 == 0)
+            .then(
+                "collect", 1, 4, item -> {
+                    res.add(item);
+                    return item;
+                }
+            )
+            .run(10L);
+        MatcherAssert.assertThat(
+            "We expect that the next stage never sees the dropped items",
+            res.stream().sorted().collect(Collectors.toList()),
+            Matchers.contains(0L, 2L, 4L, 6L, 8L)
+        );
+    }
+
+    @Test
+    void dropsDuplicateProgramsBeforeVerification(@TempDir final Path temp) {
+        final InputOf grammar = new InputOf("grammar Pair;\npair : ('a' | 'b') ('a' | 'b') ;\n");
+        final RandomScript script = new RandomScript(grammar);
+        final SyntaxGuard guard = new SyntaxGuard(temp, "pair", grammar).fast();
+        final Duplicates duplicates = new Duplicates();
+        final List<Metrics> metrics = new Pipeline<Text>(
+            "generate", 2, index -> script.generate("pair", index)
+        )
+            .filter("dedup", 1, 8, duplicates::unique)
+            .then(
+                "verify", 2, 8, text -> {
+                    guard.verifySilently(text);
+                    return text;
+                }
+            )
+            .run(100L);
+        MatcherAssert.assertThat(
+            String.format("We expect that only the unique programs are verified, %s", duplicates),
+            metrics.get(2).items(),
+            Matchers.allOf(
+                Matchers.equalTo(100L - duplicates.duplicates()),
+                Matchers.lessThan(100L)
+            )
+        );
+    }
+
+    @Test
+    void generatesAndVerifiesPrograms(@TempDir final Path temp) {
+        final ResourceOf grammar = new ResourceOf("grammars/Json.g4");
+        final RandomScript script = new RandomScript(grammar);
+        final SyntaxGuard guard = new SyntaxGuard(temp, "json", grammar).fast();
+        MatcherAssert.assertThat(
+            "We expect that all the generated programs are verified",
+            new Pipeline<Text>("generate", 2, index -> script.generate("json", index))
+                .then(
+                    "verify", 2, 8, text -> {
+                        guard.verifySilently(text);
+                        return text;
+                    }
+                )
+                .run(20L)
+                .get(1)
+                .items(),
+            Matchers.equalTo(20L)
+        );
+    }
+
+    @Test
+    void generatesAndCompilesClasses() {
+        final long[] seeds = {1_038_792_632_350_611_846L, 2_257_151_642_642_236_899L};
+        final InMemoryCompiler compiler = new InMemoryCompiler();
+        MatcherAssert.assertThat(
+            "We expect that all the generated classes are compiled",
+            new Pipeline<>(
+                "generate", 2, index -> new RandomJavaClass(seeds[index.intValue()]).src()
+            )
+                .then("compile", 2, 2, compiler::compile)
+                .run(seeds.length)
+                .get(1)
+                .items(),
+            Matchers.equalTo((long) seeds.length)
+        );
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import com.github.lombrozo.jsmith.antlr.rules.Literal;
+import com.github.lombrozo.jsmith.antlr.rules.Root;
+import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link AliasStrategy}.
+ * @since 0.2
+ */
+final class AliasStrategyTest {
+
+    @Test
+    void choosesChildrenEqually() {
+        final ChoosingStrategy strategy = new AliasStrategy(new AliasTables<>(), new Rand(11L));
+        final Rule root = new Root();
+        final List<Rule> children = Arrays.asList(
+            new Literal("a"), new Literal("b"), new Literal("c")
+        );
+        final Map<Rule, Integer> frequency = new HashMap<>(0);
+        for (int index = 0; index < 3000; ++index) {
+            frequency.merge(strategy.choose(root, children), 1, Integer::sum);
+        }
+        MatcherAssert.assertThat(
+            "We expect that all elements were chosen more-or-less equally",
+            frequency.values(),
+            Matchers.everyItem(Matchers.allOf(Matchers.greaterThan(900), Matchers.lessThan(1100)))
+        );
+    }
+
+    @Test
+    void sharesTablesBetweenStrategies() {
+        final AliasTables<Rule> tables = new AliasTables<>();
+        final Rule root = new Root();
+        final List<Rule> children = Arrays.asList(new Literal("x"), new Literal("y"));
+        new AliasStrategy(tables, new Rand(1L)).choose(root, children);
+        MatcherAssert.assertThat(
+            "We expect that the table of the parent is built only once",
+            tables.table(root, children.size()),
+            Matchers.sameInstance(tables.table(root, children.size()))
+        );
+    }
+}
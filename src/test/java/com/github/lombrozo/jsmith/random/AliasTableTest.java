@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link AliasTable}.
+ * @since 0.2
+ */
+final class AliasTableTest {
+
+    @Test
+    void samplesEqualWeightsByIntegerPart() {
+        final AliasTable table = new AliasTable(4);
+        MatcherAssert.assertThat(
+            "We expect that equal weights split [0, 1) into equal intervals",
+            IntStream.of(0, 24, 25, 49, 50, 99).mapToObj(
+                percent -> table.sample(percent / 100.0d)
+            ).collect(Collectors.toList()),
+            Matchers.contains(0, 0, 1, 1, 2, 3)
+        );
+    }
+
+    @Test
+    void samplesProportionallyToWeights() {
+        final AliasTable table = new AliasTable(1.0d, 1.0d, 2.0d);
+        final int samples = 8000;
+        final int[] counts = new int[table.size()];
+        for (int index = 0; index < samples; ++index) {
+            ++counts[table.sample((index + 0.5d) / samples)];
+        }
+        MatcherAssert.assertThat(
+            "We expect that evenly spread numbers give exact proportions of the weights",
+            counts,
+            Matchers.equalTo(new int[]{2000, 2000, 4000})
+        );
+    }
+
+    @Test
+    void rejectsNonPositiveWeights() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new AliasTable(1.0d, 0.0d),
+            "We expect that zero weight is rejected"
+        );
+    }
+}
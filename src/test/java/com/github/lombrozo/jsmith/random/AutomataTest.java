@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link Automata}.
+ * @since 0.2
+ */
+final class AutomataTest {
+
+    @Test
+    void compilesEachRegexOnlyOnce() {
+        final Automata automata = new Automata();
+        final Rand first = new Rand(1L, automata);
+        final Rand second = new Rand(2L, automata);
+        for (int index = 0; index < 10; ++index) {
+            first.regex("[a-z]");
+            second.regex("[a-z]");
+            second.regex("[0-9]+");
+        }
+        MatcherAssert.assertThat(
+            "We expect that each regex is compiled only once",
+            automata.misses(),
+            Matchers.equalTo(2L)
+        );
+        MatcherAssert.assertThat(
+            "We expect that all the other generations reuse compiled regexes",
+            automata.hits(),
+            Matchers.equalTo(28L)
+        );
+    }
+
+    @Test
+    void evictsRegexesWhenFull() {
+        final Automata automata = new Automata(2);
+        final Rand rand = new Rand(1L, automata);
+        rand.regex("a");
+        rand.regex("b");
+        rand.regex("c");
+        rand.regex("a");
+        rand.regex("b");
+        rand.regex("c");
+        MatcherAssert.assertThat(
+            "We expect that the cache keeps no more regexes than allowed",
+            automata.misses(),
+            Matchers.greaterThan(3L)
+        );
+    }
+}
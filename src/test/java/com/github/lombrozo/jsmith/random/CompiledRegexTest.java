@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import com.mifmif.common.regex.Generex;
+import java.util.Random;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link CompiledRegex}.
+ * @since 0.2
+ */
+final class CompiledRegexTest {
+
+    @ParameterizedTest
+    @ValueSource(
+        strings = {
+            "[a-z]",
+            "[a-zA-Z_$]",
+            "[^a]",
+            "[^\\r\\n]",
+            "\\d",
+            "[0-9]+",
+            "[a-z][0-9]*",
+            "abc",
+            "(x|y)?z",
+            "\\Q.*+\\E",
+            "a\\Q(b)?\\E[0-9]\\Q$\\E",
+        }
+    )
+    void generatesTheSameStringsAsGenerex(final String regex) {
+        final CompiledRegex compiled = new CompiledRegex(regex);
+        for (long seed = 0; seed < 100; ++seed) {
+            MatcherAssert.assertThat(
+                String.format("We expect the same output as Generex for '%s' and seed %d", regex, seed),
+                compiled.random(new Random(seed)),
+                Matchers.equalTo(new Generex(regex, new Random(seed)).random())
+            );
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[a-z]", "[a-zA-Z_$]", "[^a]", "\\w"})
+    void compilesSingleCharactersToRanges(final String regex) {
+        MatcherAssert.assertThat(
+            String.format("We expect that '%s' is compiled to a table of ranges", regex),
+            new CompiledRegex(regex).simple(),
+            Matchers.is(true)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[a-z]+", "ab", "[a-z]?"})
+    void keepsAutomatonForComplexRegexes(final String regex) {
+        MatcherAssert.assertThat(
+            String.format("We expect that '%s' is not compiled to a table of ranges", regex),
+            new CompiledRegex(regex).simple(),
+            Matchers.is(false)
+        );
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import com.github.lombrozo.jsmith.antlr.rules.Literal;
+import com.github.lombrozo.jsmith.antlr.rules.Root;
+import com.github.lombrozo.jsmith.antlr.rules.Rule;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link CoverageStrategy}.
+ * @since 0.2
+ */
+final class CoverageStrategyTest {
+
+    @Test
+    void choosesUncoveredAlternativesFirst() {
+        final Coverage<Rule> coverage = new Coverage<>(3);
+        final Rule root = new Root();
+        final List<Rule> children = Arrays.asList(
+            new Literal("a"), new Literal("b"), new Literal("c")
+        );
+        final Set<Rule> chosen = new HashSet<>(0);
+        for (int index = 0; index < children.size(); ++index) {
+            chosen.add(
+                new CoverageStrategy(coverage, new Last(), new Rand(5L)).choose(root, children)
+            );
+        }
+        MatcherAssert.assertThat(
+            "We expect that each generation chooses an alternative that wasn't chosen before",
+            chosen,
+            Matchers.hasSize(children.size())
+        );
+    }
+
+    @Test
+    void delegatesWhenEverythingIsCovered() {
+        final Coverage<Rule> coverage = new Coverage<>(2);
+        final Rule root = new Root();
+        final List<Rule> children = Arrays.asList(new Literal("first"), new Literal("second"));
+        for (final Rule child : children) {
+            coverage.visit(-1, coverage.slot(child));
+        }
+        MatcherAssert.assertThat(
+            "We expect that covered alternatives and edges are chosen by the original strategy",
+            new CoverageStrategy(coverage, new Last(), new Rand(7L)).choose(root, children),
+            Matchers.sameInstance(children.get(1))
+        );
+    }
+
+    /**
+     * Strategy that always chooses the last alternative.
+     * @since 0.2
+     */
+    private static final class Last implements ChoosingStrategy {
+
+        @Override
+        public Rule choose(final Rule parent, final List<Rule> children) {
+            return children.get(children.size() - 1);
+        }
+
+        @Override
+        public ChoosingStrategy copy() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link Coverage}.
+ * @since 0.2
+ */
+final class CoverageTest {
+
+    @Test
+    void countsEachAlternativeOnce() {
+        final Coverage<String> coverage = new Coverage<>(4);
+        final int first = coverage.slot("first");
+        final int second = coverage.slot("second");
+        coverage.visit(-1, first);
+        coverage.visit(first, second);
+        coverage.visit(-1, first);
+        MatcherAssert.assertThat(
+            "We expect that the repeated visit doesn't change the coverage",
+            coverage.percentage(),
+            Matchers.equalTo(50.0)
+        );
+    }
+
+    @Test
+    void distinguishesEdges() {
+        final Coverage<String> coverage = new Coverage<>(2);
+        final int first = coverage.slot("first");
+        final int second = coverage.slot("second");
+        coverage.visit(first, second);
+        MatcherAssert.assertThat(
+            "We expect that only the passed edge is covered",
+            new boolean[] {coverage.covered(first, second), coverage.covered(second, first)},
+            Matchers.equalTo(new boolean[] {true, false})
+        );
+    }
+
+    @Test
+    void countsConcurrentVisitsWithoutLosses() throws InterruptedException {
+        final int total = 1000;
+        final Coverage<Integer> coverage = new Coverage<>(total);
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; ++thread) {
+            pool.submit(
+                () -> {
+                    for (int index = 0; index < total; ++index) {
+                        coverage.visit(-1, coverage.slot(index));
+                    }
+                }
+            );
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        MatcherAssert.assertThat(
+            "We expect that each alternative is counted exactly once by all the threads",
+            coverage.alternatives(),
+            Matchers.equalTo(total)
+        );
+    }
+
+    @Test
+    void printsCoverage() {
+        final Coverage<String> coverage = new Coverage<>(8);
+        coverage.visit(-1, coverage.slot("only"));
+        MatcherAssert.assertThat(
+            "We expect that the coverage is printed as a metric",
+            coverage.toString(),
+            Matchers.equalTo("12.5% of 8 alternatives, 1 edges")
+        );
+    }
+}
@@ -23,9 +23,14 @@
  */
 package com.github.lombrozo.jsmith.random;
 
+import com.github.lombrozo.jsmith.antlr.Budget;
 import com.github.lombrozo.jsmith.antlr.Context;
+import com.github.lombrozo.jsmith.antlr.Unlexer;
 import com.github.lombrozo.jsmith.antlr.rules.Literal;
+import com.github.lombrozo.jsmith.antlr.rules.Root;
+import com.github.lombrozo.jsmith.antlr.rules.TerminalDef;
 import com.github.lombrozo.jsmith.antlr.rules.WrongPathException;
+import java.util.Collections;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -91,4 +96,45 @@ final class MultiplierTest {
             Matchers.equalTo("a")
         );
     }
+
+    @Test
+    void cutsRepetitionsToSizeBudget() throws WrongPathException {
+        MatcherAssert.assertThat(
+            "We expect that repetitions never exceed the tokens that fit the budget",
+            new Multiplier.ZeroOrMore()
+                .repeat(new TerminalDef(new Root(), new Unlexer(), "'a'"))
+                .generate(new Context().withBudget(new Budget(2L, Long.MAX_VALUE)))
+                .text()
+                .output()
+                .length(),
+            Matchers.lessThanOrEqualTo(2)
+        );
+    }
+
+    @Test
+    void extendsRepetitionsToFillSizeBudget() throws WrongPathException {
+        MatcherAssert.assertThat(
+            "We expect that repetitions fill the budget that is much larger than the limit",
+            new Multiplier.OneOrMore()
+                .repeat(new TerminalDef(new Root(), new Unlexer(), "'a'"))
+                .generate(new Context().withBudget(new Budget(40L, Long.MAX_VALUE)))
+                .text()
+                .output(),
+            Matchers.equalTo(String.join("", Collections.nCopies(40, "a")))
+        );
+    }
+
+    @Test
+    void averagesRepetitions() {
+        MatcherAssert.assertThat(
+            "We expect that average repetitions follow the multiplier bounds",
+            new double[] {
+                new Multiplier.One().average(),
+                new Multiplier.ZeroOrOne().average(),
+                new Multiplier.ZeroOrMore().average(),
+                new Multiplier.OneOrMore().average(),
+            },
+            Matchers.equalTo(new double[] {1.0, 0.5, 2.0, 3.0})
+        );
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import java.util.Arrays;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link Row}.
+ * @since 0.2
+ */
+final class RowTest {
+
+    @Test
+    void findsElementByCumulativeWeight() {
+        final Row<String> row = new Row<>(Arrays.asList("a", "b", "c", "d", "e"), 1.0);
+        MatcherAssert.assertThat(
+            "We expect that the point 2.5 falls into the third element",
+            row.element(row.find(2.5)),
+            Matchers.equalTo("c")
+        );
+    }
+
+    @Test
+    void mergesEqualElements() {
+        final Row<String> row = new Row<>(Arrays.asList("a", "b", "a"), 1.0);
+        MatcherAssert.assertThat(
+            "We expect that equal elements are merged and their weights summed up",
+            row.element(row.find(2.5)),
+            Matchers.equalTo("b")
+        );
+    }
+
+    @Test
+    void decaysWeightWithoutChangingOriginalRow() {
+        final Row<String> row = new Row<>(Arrays.asList("a", "b", "c"), 1.0);
+        final Row<String> decayed = row.decay(0, 0.5);
+        MatcherAssert.assertThat(
+            "We expect that the decayed row has a smaller total weight",
+            decayed.total(),
+            Matchers.closeTo(2.5, 0.000_001)
+        );
+        MatcherAssert.assertThat(
+            "We expect that the original row is not changed",
+            row.total(),
+            Matchers.closeTo(3.0, 0.000_001)
+        );
+        MatcherAssert.assertThat(
+            "We expect that cumulative weights are shifted after the decay",
+            decayed.element(decayed.find(1.0)),
+            Matchers.equalTo("b")
+        );
+    }
+
+    @Test
+    void findsElementsAfterManyDecays() {
+        final Row<String> initial = new Row<>(Arrays.asList("a", "b", "c", "d", "e"), 1.0);
+        Row<String> row = initial;
+        for (int index = 0; index < 5; ++index) {
+            row = row.decay(index, 0.5);
+        }
+        row = row.decay(4, 0.5).decay(0, 0.5);
+        MatcherAssert.assertThat(
+            "We expect that each point falls into the element whose weight covers it",
+            Arrays.asList(
+                row.element(row.find(0.2)),
+                row.element(row.find(0.3)),
+                row.element(row.find(1.2)),
+                row.element(row.find(1.3)),
+                row.element(row.find(row.total()))
+            ),
+            Matchers.contains("a", "b", "c", "d", "e")
+        );
+    }
+}
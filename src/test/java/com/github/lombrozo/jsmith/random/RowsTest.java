@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import java.util.Collections;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link Rows}.
+ * @since 0.2
+ */
+final class RowsTest {
+
+    @Test
+    void storesRowsForManyIdentifiers() {
+        Rows<Integer> rows = new Rows<>();
+        for (int id = 0; id < 50_000; id += 7) {
+            rows = rows.with(id, new Row<>(Collections.singletonList(id), 1.0));
+        }
+        for (int id = 0; id < 50_000; id += 7) {
+            MatcherAssert.assertThat(
+                String.format("We expect that the row with id '%d' is stored", id),
+                rows.get(id).element(0),
+                Matchers.equalTo(id)
+            );
+        }
+    }
+
+    @Test
+    void keepsPreviousVersionUnchanged() {
+        final Rows<String> before = new Rows<>();
+        before.with(1_000, new Row<>(Collections.singletonList("row"), 1.0));
+        MatcherAssert.assertThat(
+            "We expect that the previous version of rows is not changed by updates",
+            before.get(1_000),
+            Matchers.nullValue()
+        );
+    }
+}
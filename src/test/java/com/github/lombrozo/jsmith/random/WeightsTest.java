@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023-2025 Volodya Lombrozo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.lombrozo.jsmith.random;
+
+import java.util.Collections;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link Weights}.
+ * @since 0.2
+ */
+final class WeightsTest {
+
+    @Test
+    void keepsPreviousVersionUnchanged() {
+        final Weights<String> before = new Weights<String>()
+            .with("parent", Collections.singletonMap("child", 1.0));
+        before.with("parent", Collections.singletonMap("child", 0.5));
+        MatcherAssert.assertThat(
+            "We expect that the previous version of weights is not changed by updates",
+            before.get("parent"),
+            Matchers.hasEntry("child", 1.0)
+        );
+    }
+
+    @Test
+    void storesManyParents() {
+        Weights<Integer> weights = new Weights<>();
+        for (int index = 0; index < 10_000; ++index) {
+            weights = weights.with(index, Collections.singletonMap(index, (double) index));
+        }
+        for (int index = 0; index < 10_000; ++index) {
+            MatcherAssert.assertThat(
+                String.format("We expect that weights for parent '%d' are stored", index),
+                weights.get(index),
+                Matchers.hasEntry(index, (double) index)
+            );
+        }
+    }
+
+    @Test
+    void distinguishesParentsWithTheSameHash() {
+        final Map<String, Double> first = Collections.singletonMap("first", 1.0);
+        final Map<String, Double> second = Collections.singletonMap("second", 2.0);
+        final Weights<String> weights = new Weights<String>()
+            .with("Aa", first)
+            .with("BB", second);
+        MatcherAssert.assertThat(
+            "We expect that parents with colliding hash codes have their own weights",
+            weights.get("Aa"),
+            Matchers.equalTo(first)
+        );
+        MatcherAssert.assertThat(
+            "We expect that the second parent with colliding hash code is also found",
+            weights.get("BB"),
+            Matchers.equalTo(second)
+        );
+    }
+
+    @Test
+    void returnsNullForUnknownParent() {
+        MatcherAssert.assertThat(
+            "We expect that there are no weights for unknown parent",
+            new Weights<String>().with("known", Collections.emptyMap()).get("unknown"),
+            Matchers.nullValue()
+        );
+    }
+}